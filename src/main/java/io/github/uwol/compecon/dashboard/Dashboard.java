@@ -34,6 +34,7 @@ import io.github.uwol.compecon.dashboard.panel.IndustriesPanel;
 import io.github.uwol.compecon.dashboard.panel.LogPanel;
 import io.github.uwol.compecon.dashboard.panel.MoneyPanel;
 import io.github.uwol.compecon.dashboard.panel.NationalAccountsPanel;
+import io.github.uwol.compecon.dashboard.panel.ResourcesPanel;
 import io.github.uwol.compecon.dashboard.panel.StatesPanel;
 import io.github.uwol.compecon.dashboard.panel.TradersPanel;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
@@ -58,6 +59,8 @@ public class Dashboard extends JFrame implements ModelListener {
 
 	protected final NationalAccountsPanel nationalAccountsPanel = new NationalAccountsPanel();
 
+	protected final ResourcesPanel resourcesPanel = new ResourcesPanel();
+
 	protected final StatesPanel statesPanel = new StatesPanel();
 
 	protected final TradersPanel tradersPanel = new TradersPanel();
@@ -86,6 +89,7 @@ public class Dashboard extends JFrame implements ModelListener {
 		jTabbedPane.addTab("States", statesPanel);
 		jTabbedPane.addTab("Money", moneyPanel);
 		jTabbedPane.addTab("National Accounts", nationalAccountsPanel);
+		jTabbedPane.addTab("Resources", resourcesPanel);
 		jTabbedPane.addTab("Logs", logPanel);
 
 		jTabbedPane.addChangeListener(new ChangeListener() {
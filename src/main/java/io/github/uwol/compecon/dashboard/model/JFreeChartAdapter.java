@@ -0,0 +1,185 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.dashboard.model;
+
+import java.util.Date;
+
+import org.jfree.data.statistics.HistogramDataset;
+import org.jfree.data.statistics.SimpleHistogramBin;
+import org.jfree.data.statistics.SimpleHistogramDataset;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.xy.IntervalXYDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+import io.github.uwol.compecon.engine.statistics.QuantileSketch;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage.PeriodDataStorageListener;
+
+/**
+ * Creates JFreeChart datasets from the headless statistics models; only
+ * instantiated by the dashboard.
+ */
+public class JFreeChartAdapter {
+
+	protected static final int NUMBER_OF_BINS = 30;
+
+	protected static final int NUMBER_OF_DAYS = 180;
+
+	public static IntervalXYDataset createHistogramDataset(
+			final PeriodDataDistributionModel periodDataDistributionModel) {
+		final SummaryStatisticalData summaryStatisticalData = periodDataDistributionModel
+				.getSummaryStatisticalData();
+		final String iso4217Code = periodDataDistributionModel
+				.getReferenceCurrency().getIso4217Code();
+
+		if (summaryStatisticalData.quantileSketch != null) {
+			return createHistogramDataset(iso4217Code,
+					summaryStatisticalData.quantileSketch,
+					summaryStatisticalData.quantil99Percent);
+		}
+
+		final HistogramDataset datasetHistogram = new HistogramDataset();
+
+		if (summaryStatisticalData.originalValues != null) {
+			datasetHistogram.addSeries(iso4217Code,
+					summaryStatisticalData.originalValues, NUMBER_OF_BINS, 0,
+					summaryStatisticalData.quantil99Percent);
+		}
+
+		return datasetHistogram;
+	}
+
+	/**
+	 * bins are filled with counts estimated by the quantile sketch
+	 */
+	protected static IntervalXYDataset createHistogramDataset(
+			final String title, final QuantileSketch quantileSketch,
+			final double maximum) {
+		final SimpleHistogramDataset datasetHistogram = new SimpleHistogramDataset(
+				title);
+		datasetHistogram.setAdjustForBinSize(false);
+
+		if (maximum > 0) {
+			final double binWidth = maximum / NUMBER_OF_BINS;
+
+			for (int i = 0; i < NUMBER_OF_BINS; i++) {
+				final double lowerBound = i * binWidth;
+				final double upperBound = lowerBound + binWidth;
+				final SimpleHistogramBin bin = new SimpleHistogramBin(
+						lowerBound, upperBound, true, false);
+				bin.setItemCount((int) Math.round(quantileSketch
+						.getCountBelow(upperBound)
+						- quantileSketch.getCountBelow(lowerBound)));
+				datasetHistogram.addBin(bin);
+			}
+		}
+
+		return datasetHistogram;
+	}
+
+	public static XYDataset createLorenzCurveDataset(
+			final PeriodDataDistributionModel periodDataDistributionModel) {
+		final SummaryStatisticalData summaryStatisticalData = periodDataDistributionModel
+				.getSummaryStatisticalData();
+		final String iso4217Code = periodDataDistributionModel
+				.getReferenceCurrency().getIso4217Code();
+		final XYSeriesCollection datasetLorenzCurve = new XYSeriesCollection();
+
+		if (summaryStatisticalData.numberOfValues > 0) {
+			final XYSeries seriesLorenzCurve = new XYSeries(iso4217Code
+					+ " lorenz curve (gini "
+					+ String.format("%.2f", summaryStatisticalData.gini) + ")");
+
+			for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
+				final double x = i
+						/ (double) summaryStatisticalData.ySumAtPercentOfX.length;
+				final double y = summaryStatisticalData.ySumAtPercentOfX[i]
+						/ summaryStatisticalData.yTotalSum;
+				seriesLorenzCurve.add(x, y);
+			}
+
+			seriesLorenzCurve.add(1, 1);
+
+			final XYSeries seriesLine = new XYSeries("line of equality "
+					+ iso4217Code);
+			seriesLine.add(0, 0);
+			seriesLine.add(1, 1);
+
+			datasetLorenzCurve.addSeries(seriesLorenzCurve);
+			datasetLorenzCurve.addSeries(seriesLine);
+		}
+
+		return datasetLorenzCurve;
+	}
+
+	/**
+	 * @param marketDepth
+	 *            prices per unit and cumulated volumes
+	 */
+	public static XYDataset createMarketDepthDataset(final String title,
+			final double[][] marketDepth) {
+		final XYSeries series = new XYSeries(title + " ask");
+
+		for (int i = 0; i < marketDepth[0].length; i++) {
+			// volume available at that price per unit or less
+			series.add(marketDepth[0][i], marketDepth[1][i]);
+		}
+
+		final XYSeriesCollection dataset = new XYSeriesCollection();
+		dataset.addSeries(series);
+		return dataset;
+	}
+
+	/**
+	 * @return time series filled with the stored periods, and updated with
+	 *         each closed period
+	 */
+	public static TimeSeries createTimeSeries(
+			final PeriodDataStorage periodDataStorage) {
+		final TimeSeries timeSeries = new TimeSeries(
+				periodDataStorage.getTitle(), Day.class);
+		timeSeries.setMaximumItemAge(NUMBER_OF_DAYS);
+
+		// only the periods within the maximum item age are backfilled
+		final int to = periodDataStorage.getItemCount();
+		final int from = Math.max(0, to - NUMBER_OF_DAYS);
+		final long[] dates = new long[to - from];
+		final double[] values = new double[to - from];
+		periodDataStorage.read(from, to, dates, values);
+
+		for (int i = 0; i < dates.length; i++) {
+			timeSeries.addOrUpdate(new Day(new Date(dates[i])), values[i]);
+		}
+
+		periodDataStorage.registerListener(new PeriodDataStorageListener() {
+			@Override
+			public void notifyPeriodClosed(final Date date, final double value) {
+				timeSeries.addOrUpdate(new Day(date), value);
+			}
+		});
+
+		return timeSeries;
+	}
+}
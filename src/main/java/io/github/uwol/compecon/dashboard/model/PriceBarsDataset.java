@@ -0,0 +1,148 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.dashboard.model;
+
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.OHLCDataset;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.PriceBars;
+import io.github.uwol.compecon.engine.timesystem.TimeSystem;
+
+/**
+ * Candlestick dataset reading the bars of a price model in place; only the
+ * dates of the bars are computed on creation.
+ */
+public class PriceBarsDataset extends AbstractXYDataset implements
+		OHLCDataset {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final long[] dates;
+
+	/**
+	 * number of the oldest bar of the dataset among all opened bars
+	 */
+	protected final long firstBar;
+
+	protected final PriceBars priceBars;
+
+	public PriceBarsDataset(final PriceBars priceBars) {
+		this.priceBars = priceBars;
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+		dates = new long[priceBars.getItemCount()];
+		firstBar = priceBars.getNumberOfOpenedBars() - dates.length;
+		for (int i = 0; i < dates.length; i++) {
+			dates[i] = timeSystem.getDate(priceBars.getHourTick(i)).getTime();
+		}
+	}
+
+	/**
+	 * the bars keep their position, as long as they are not overwritten by
+	 * bars opened after the creation of the dataset
+	 */
+	protected int getBar(final int item) {
+		final long oldestBar = priceBars.getNumberOfOpenedBars()
+				- priceBars.getItemCount();
+		return (int) Math.max(firstBar + item - oldestBar, 0);
+	}
+
+	@Override
+	public Number getClose(final int series, final int item) {
+		return getCloseValue(series, item);
+	}
+
+	@Override
+	public double getCloseValue(final int series, final int item) {
+		return priceBars.getClose(getBar(item));
+	}
+
+	@Override
+	public Number getHigh(final int series, final int item) {
+		return getHighValue(series, item);
+	}
+
+	@Override
+	public double getHighValue(final int series, final int item) {
+		return priceBars.getHigh(getBar(item));
+	}
+
+	@Override
+	public int getItemCount(final int series) {
+		return dates.length;
+	}
+
+	@Override
+	public Number getLow(final int series, final int item) {
+		return getLowValue(series, item);
+	}
+
+	@Override
+	public double getLowValue(final int series, final int item) {
+		return priceBars.getLow(getBar(item));
+	}
+
+	@Override
+	public Number getOpen(final int series, final int item) {
+		return getOpenValue(series, item);
+	}
+
+	@Override
+	public double getOpenValue(final int series, final int item) {
+		return priceBars.getOpen(getBar(item));
+	}
+
+	@Override
+	public int getSeriesCount() {
+		return 1;
+	}
+
+	@Override
+	public Comparable<String> getSeriesKey(final int series) {
+		return "";
+	}
+
+	@Override
+	public Number getVolume(final int series, final int item) {
+		return getVolumeValue(series, item);
+	}
+
+	@Override
+	public double getVolumeValue(final int series, final int item) {
+		return priceBars.getVolume(getBar(item));
+	}
+
+	@Override
+	public Number getX(final int series, final int item) {
+		return dates[item];
+	}
+
+	@Override
+	public double getXValue(final int series, final int item) {
+		return dates[item];
+	}
+
+	@Override
+	public Number getY(final int series, final int item) {
+		return getCloseValue(series, item);
+	}
+}
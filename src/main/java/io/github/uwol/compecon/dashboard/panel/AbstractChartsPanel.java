@@ -30,15 +30,18 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.time.TimeSeries;
 import org.jfree.data.time.TimeSeriesCollection;
 import org.jfree.ui.RectangleInsets;
 
 import io.github.uwol.compecon.dashboard.model.BalanceSheetTableModel;
+import io.github.uwol.compecon.dashboard.model.JFreeChartAdapter;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage;
 
 public abstract class AbstractChartsPanel extends JPanel {
 
@@ -141,18 +144,18 @@ public abstract class AbstractChartsPanel extends JPanel {
 		for (final PricingBehaviourNewPriceDecisionCause decisionCause : PricingBehaviourNewPriceDecisionCause
 				.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).pricingBehaviourModels
 							.get(goodType).pricingBehaviourPriceDecisionCauseModels
-							.get(decisionCause).getTimeSeries());
+							.get(decisionCause).getPeriodDataStorage()));
 		}
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).pricingBehaviourModels
 						.get(goodType).pricingBehaviourAveragePriceDecisionCauseModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(goodType
 				+ " Pricing Behaviour Mechanics", "Date", "Budget Spent",
@@ -188,4 +191,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 		return new BalanceSheetPanel(currency, balanceSheetTableModel,
 				"Balance Sheet for " + currency.getIso4217Code() + " Traders");
 	}
+
+	protected TimeSeries getTimeSeries(final PeriodDataStorage periodDataStorage) {
+		return JFreeChartAdapter.createTimeSeries(periodDataStorage);
+	}
 }
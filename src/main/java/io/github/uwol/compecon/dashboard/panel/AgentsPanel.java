@@ -67,18 +67,18 @@ public class AgentsPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).numberOfAgentsModels
-						.get(agentType).getTimeSeries());
+						.get(agentType).getPeriodDataStorage()));
 
 		// in case of households
 		if (Household.class.isAssignableFrom(agentType)) {
 			// show retired households
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).householdsModel.retiredModel
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("# "
@@ -34,13 +34,16 @@ import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultHighLowDataset;
+import org.jfree.data.xy.OHLCDataset;
 import org.jfree.data.xy.XYDataset;
 
+import io.github.uwol.compecon.dashboard.model.JFreeChartAdapter;
+import io.github.uwol.compecon.dashboard.model.PriceBarsDataset;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.PricesModel;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceBarResolution;
 import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 
 public class BanksPanel extends AbstractChartsPanel implements ModelListener {
@@ -136,9 +139,11 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 
 	protected ChartPanel createMarketDepthPanel(final Currency currency,
 			final Currency commodityCurrency) {
-		final XYDataset dataset = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(currency).marketDepthModel
-				.getMarketDepthDataset(currency, commodityCurrency);
+		final XYDataset dataset = JFreeChartAdapter.createMarketDepthDataset(
+				commodityCurrency.getIso4217Code(),
+				ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).marketDepthModel
+						.getMarketDepth(currency, commodityCurrency));
 		final JFreeChart chart = ChartFactory.createXYStepAreaChart(
 				commodityCurrency.getIso4217Code() + " Market Depth", "Price",
 				"Volume", dataset, PlotOrientation.VERTICAL, true, true, false);
@@ -150,14 +155,14 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 		final JFreeChart priceChart = ChartFactory.createCandlestickChart(
 				commodityCurrency.getIso4217Code() + " Prices", "Time",
 				"Price in " + currency.getIso4217Code(),
-				getDefaultHighLowDataset(currency, commodityCurrency), false);
+				getPriceBarsDataset(currency, commodityCurrency), false);
 		final ChartPanel chartPanel = new ChartPanel(priceChart);
 		chartPanel.setDomainZoomable(true);
 		chartPanel.setPreferredSize(new java.awt.Dimension(800, 400));
 		return chartPanel;
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(
+	protected OHLCDataset getPriceBarsDataset(
 			final Currency currency, final Currency commodityCurrency) {
 		final PricesModel pricesModel = ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency).pricesModel;
@@ -168,10 +173,8 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 				.get(commodityCurrency);
 
 		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(),
-					priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(),
-					priceModel.getVolume());
+			return new PriceBarsDataset(
+					priceModel.getPriceBars(PriceBarResolution.DAY));
 		}
 
 		return null;
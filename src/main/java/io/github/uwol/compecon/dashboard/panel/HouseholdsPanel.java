@@ -36,17 +36,21 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.ValueMarker;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.xy.DefaultHighLowDataset;
 import org.jfree.data.xy.IntervalXYDataset;
+import org.jfree.data.xy.OHLCDataset;
 import org.jfree.data.xy.XYDataset;
 
+import io.github.uwol.compecon.dashboard.model.JFreeChartAdapter;
+import io.github.uwol.compecon.dashboard.model.PriceBarsDataset;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.PricesModel;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel;
 import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceBarResolution;
 import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 
@@ -60,6 +64,8 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 
 		protected JFreeChart incomeDistributionChart;
 
+		protected JFreeChart lorenzCurveChart;
+
 		protected JPanel marketDepthPanel;
 
 		protected JPanel priceTimeSeriesPanel;
@@ -77,7 +83,8 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 			this.add(createIncomeSourcePanel(currency));
 			incomeDistributionChart = createIncomeDistributionPanel(currency);
 			this.add(new ChartPanel(incomeDistributionChart));
-			this.add(createLorenzCurvePanel(currency));
+			lorenzCurveChart = createLorenzCurvePanel(currency);
+			this.add(new ChartPanel(lorenzCurveChart));
 			this.add(createHouseholdBalanceSheetPanel(currency));
 			this.add(createLabourHourSupplyPanel(currency));
 			this.add(createPricingBehaviourMechanicsPanel(currency,
@@ -99,56 +106,30 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 				 * income distribution chart
 				 */
 
+				final PeriodDataDistributionModel incomeDistributionModel = ApplicationContext
+						.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel;
 				final XYPlot plot = ((XYPlot) incomeDistributionChart.getPlot());
-				plot.setDataset(ApplicationContext.getInstance()
-						.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
-						.getHistogramDataset());
+				plot.setDataset(JFreeChartAdapter
+						.createHistogramDataset(incomeDistributionModel));
 
 				plot.clearDomainMarkers();
-				final SummaryStatisticalData summaryStatisticalData = ApplicationContext
-						.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
+				final SummaryStatisticalData summaryStatisticalData = incomeDistributionModel
 						.getSummaryStatisticalData();
-				if (summaryStatisticalData.originalValues != null
-						&& summaryStatisticalData.originalValues.length > 0) {
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith10PercentY],
-							"10 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith20PercentY],
-							"20 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith30PercentY],
-							"30 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith40PercentY],
-							"40 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith50PercentY],
-							"50 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith60PercentY],
-							"60 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith70PercentY],
-							"70 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith80PercentY],
-							"80 %");
-					addValueMarker(
-							incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith90PercentY],
-							"90 %");
+				if (summaryStatisticalData.numberOfValues > 0) {
+					for (int i = 0; i < summaryStatisticalData.xWithPercentY.length; i++) {
+						addValueMarker(incomeDistributionChart,
+								summaryStatisticalData.xWithPercentY[i],
+								((i + 1) * 10) + " %");
+					}
 				}
 
+				/*
+				 * lorenz curve chart
+				 */
+				((XYPlot) lorenzCurveChart.getPlot()).setDataset(JFreeChartAdapter
+						.createLorenzCurveDataset(incomeDistributionModel));
+
 				// prices panel
 				if (priceTimeSeriesPanel != null) {
 					this.remove(priceTimeSeriesPanel);
@@ -211,13 +192,13 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.consumptionRateModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.savingRateModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
 				"Consumption & Saving Rate", "Date",
@@ -232,17 +213,17 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.incomeModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.consumptionModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.savingModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
 				"Consumption & Saving", "Date", "Consumption & Saving",
@@ -252,9 +233,9 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 	}
 
 	protected JFreeChart createIncomeDistributionPanel(final Currency currency) {
-		final IntervalXYDataset dataset = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
-				.getHistogramDataset();
+		final IntervalXYDataset dataset = JFreeChartAdapter
+				.createHistogramDataset(ApplicationContext.getInstance()
+						.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel);
 		final JFreeChart incomeDistributionChart = ChartFactory
 				.createHistogram("Income Distribution", "Income",
 						"% Households at Income", dataset,
@@ -269,10 +250,10 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 				.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeSourceModel
 				.getIndexTypes()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).householdsModel.incomeSourceModel
-							.getTimeSeries(incomeSource));
+							.getPeriodDataStorage(incomeSource)));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -286,17 +267,17 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel
-						.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+						.getPeriodDataStorage()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel
-				.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+				.getPeriodDataStorage()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel
-				.getTimeSeries());
+				.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
 				GoodType.LABOURHOUR.toString() + " Supply", "Date",
@@ -305,20 +286,22 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		return new ChartPanel(chart);
 	}
 
-	protected ChartPanel createLorenzCurvePanel(final Currency currency) {
-		final XYDataset dataset = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
-				.getLorenzCurveDataset();
+	protected JFreeChart createLorenzCurvePanel(final Currency currency) {
+		final XYDataset dataset = JFreeChartAdapter
+				.createLorenzCurveDataset(ApplicationContext.getInstance()
+						.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel);
 		final JFreeChart lorenzCurveChart = ChartFactory.createXYLineChart(
 				"Lorenz Curve", "% of Households", "% of Income", dataset,
 				PlotOrientation.VERTICAL, true, true, false);
-		return new ChartPanel(lorenzCurveChart);
+		return lorenzCurveChart;
 	}
 
 	protected ChartPanel createMarketDepthPanel(final Currency currency) {
-		final XYDataset dataset = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(currency).marketDepthModel
-				.getMarketDepthDataset(currency, GoodType.LABOURHOUR);
+		final XYDataset dataset = JFreeChartAdapter.createMarketDepthDataset(
+				GoodType.LABOURHOUR.toString(),
+				ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).marketDepthModel
+						.getMarketDepth(currency, GoodType.LABOURHOUR));
 		final JFreeChart chart = ChartFactory.createXYStepAreaChart(
 				GoodType.LABOURHOUR + " Market Depth", "Price", "Volume",
 				dataset, PlotOrientation.VERTICAL, true, true, false);
@@ -329,7 +312,7 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final JFreeChart priceChart = ChartFactory.createCandlestickChart(
 				GoodType.LABOURHOUR + " Prices", "Time",
 				"Price in " + currency.getIso4217Code(),
-				getDefaultHighLowDataset(currency), false);
+				getPriceBarsDataset(currency), false);
 		final ChartPanel chartPanel = new ChartPanel(priceChart);
 		chartPanel.setDomainZoomable(true);
 		chartPanel.setPreferredSize(new java.awt.Dimension(800, 400));
@@ -341,16 +324,16 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.budgetModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 		for (final ConvexFunctionTerminationCause terminationCause : ConvexFunctionTerminationCause
 				.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).householdsModel.convexFunctionTerminationCauseModels
-							.get(terminationCause).getTimeSeries());
+							.get(terminationCause).getPeriodDataStorage()));
 		}
 
 		// budget is correct here
@@ -365,18 +348,18 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityOutputModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		for (final GoodType inputGoodType : ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels
 				.keySet()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels
-							.get(inputGoodType).getTimeSeries());
+							.get(inputGoodType).getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -390,17 +373,17 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.wageModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.dividendModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
 				"Wage, Dividend & Transfers", "Date",
@@ -410,7 +393,7 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 		return new ChartPanel(chart);
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(
+	protected OHLCDataset getPriceBarsDataset(
 			final Currency currency) {
 		final PricesModel pricesModel = ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency).pricesModel;
@@ -421,10 +404,8 @@ public class HouseholdsPanel extends AbstractChartsPanel implements
 				.get(GoodType.LABOURHOUR);
 
 		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(),
-					priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(),
-					priceModel.getVolume());
+			return new PriceBarsDataset(
+					priceModel.getPriceBars(PriceBarResolution.DAY));
 		}
 
 		return null;
@@ -34,14 +34,17 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.title.TextTitle;
 import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.xy.DefaultHighLowDataset;
+import org.jfree.data.xy.OHLCDataset;
 import org.jfree.data.xy.XYDataset;
 
+import io.github.uwol.compecon.dashboard.model.JFreeChartAdapter;
+import io.github.uwol.compecon.dashboard.model.PriceBarsDataset;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.PricesModel;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceBarResolution;
 import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
 
@@ -193,10 +196,10 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 			final Currency currency, final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getIndustryModel(outputGoodType).capitalDepreciationModel
-				.getTimeSeries());
+				.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory
 				.createTimeSeriesChart(outputGoodType.toString()
@@ -211,21 +214,21 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 			final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getPricingBehaviourModel(outputGoodType).offerModel
-				.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+				.getPeriodDataStorage()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getPricingBehaviourModel(outputGoodType).soldModel
-				.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+				.getPeriodDataStorage()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getIndustryModel(outputGoodType).inventoryModel
-				.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+				.getPeriodDataStorage()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).outputModel.getTimeSeries());
+				.getIndustryModel(outputGoodType).outputModel.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
 				outputGoodType.toString() + " Supply", "Date", "Supply",
@@ -236,9 +239,11 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 
 	protected ChartPanel createMarketDepthPanel(final Currency currency,
 			final GoodType goodType) {
-		final XYDataset dataset = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(currency).marketDepthModel
-				.getMarketDepthDataset(currency, goodType);
+		final XYDataset dataset = JFreeChartAdapter.createMarketDepthDataset(
+				goodType.toString(),
+				ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).marketDepthModel
+						.getMarketDepth(currency, goodType));
 		final JFreeChart chart = ChartFactory.createXYStepAreaChart(goodType
 				+ " Market Depth", "Price", "Volume", dataset,
 				PlotOrientation.VERTICAL, true, true, false);
@@ -250,7 +255,7 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 		final JFreeChart priceChart = ChartFactory.createCandlestickChart(
 				goodType + " Prices", "Time",
 				"Price in " + currency.getIso4217Code(),
-				getDefaultHighLowDataset(currency, goodType), false);
+				getPriceBarsDataset(currency, goodType), false);
 		final ChartPanel chartPanel = new ChartPanel(priceChart);
 		chartPanel.setDomainZoomable(true);
 		chartPanel.setPreferredSize(new java.awt.Dimension(800, 400));
@@ -261,17 +266,17 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 			final Currency currency, final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).budgetModel.getTimeSeries());
+				.getIndustryModel(outputGoodType).budgetModel.getPeriodDataStorage()));
 		for (final ConvexProductionFunctionTerminationCause terminationCause : ConvexProductionFunctionTerminationCause
 				.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency)
 							.getIndustryModel(outputGoodType).convexProductionFunctionTerminationCauseModels
-							.get(terminationCause).getTimeSeries());
+							.get(terminationCause).getPeriodDataStorage()));
 		}
 
 		// budget is correct here, as the chart illustrates budget
@@ -288,16 +293,16 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 			final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).outputModel.getTimeSeries());
+				.getIndustryModel(outputGoodType).outputModel.getPeriodDataStorage()));
 		for (final GoodType inputGoodType : ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency)
 				.getIndustryModel(outputGoodType).inputModels.keySet()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance()
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance()
 					.getModelRegistry().getNationalEconomyModel(currency)
 					.getIndustryModel(outputGoodType).inputModels.get(
-					inputGoodType).getTimeSeries());
+					inputGoodType).getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -311,7 +316,7 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 		return new ChartPanel(chart);
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(
+	protected OHLCDataset getPriceBarsDataset(
 			final Currency currency, final GoodType goodType) {
 		final PricesModel pricesModel = ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency).pricesModel;
@@ -321,10 +326,8 @@ public class IndustriesPanel extends AbstractChartsPanel implements
 		final PriceModel priceModel = priceModelsForGoodType.get(goodType);
 
 		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(),
-					priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(),
-					priceModel.getVolume());
+			return new PriceBarsDataset(
+					priceModel.getPriceBars(PriceBarResolution.DAY));
 		}
 
 		return null;
@@ -48,10 +48,10 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).creditUtilizationRateModel
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -66,10 +66,10 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).keyInterestRateModel
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -84,10 +84,10 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).moneyCirculationModel
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -102,26 +102,26 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).moneySupplyM0Model
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).moneySupplyM1Model
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).moneySupplyM2Model
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -136,10 +136,10 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).moneyVelocityModel
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -154,10 +154,10 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 
 		for (final Currency currency : Currency.values()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).priceIndexModel
-							.getTimeSeries());
+							.getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
@@ -23,7 +23,7 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridLayout;
-import java.util.Map;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
@@ -40,8 +40,8 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.MonetaryTransactionsModel;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
-import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class NationalAccountsPanel extends AbstractChartsPanel implements
 		ModelListener {
@@ -93,39 +93,27 @@ public class NationalAccountsPanel extends AbstractChartsPanel implements
 			@Override
 			public void notifyListener() {
 				// source data model
-				final Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> adjacencyMatrixForCurrency = ApplicationContext
+				final MonetaryTransactionsModel monetaryTransactionsModel = ApplicationContext
 						.getInstance().getModelRegistry()
-						.getNationalEconomyModel(referenceCurrency).monetaryTransactionsModel
-						.getAdjacencyMatrix();
+						.getNationalEconomyModel(referenceCurrency).monetaryTransactionsModel;
+				final List<Class<? extends Agent>> agentTypes = ApplicationContext
+						.getInstance().getAgentFactory().getAgentTypes();
 
 				// for all agent types as sources of monetary transactions
 				// -> rows
-				for (int i = 0; i < ApplicationContext.getInstance()
-						.getAgentFactory().getAgentTypes().size(); i++) {
-					final Class<? extends Agent> agentTypeFrom = ApplicationContext
-							.getInstance().getAgentFactory().getAgentTypes()
-							.get(i);
-					final Map<Class<? extends Agent>, PeriodDataAccumulator> adjacencyMatrixForCurrencyAndFromAgentType = adjacencyMatrixForCurrency
-							.get(agentTypeFrom);
-
+				for (int i = 0; i < agentTypes.size(); i++) {
 					// row name
-					transientTableData[i][0] = agentTypeFrom.getSimpleName();
+					transientTableData[i][0] = agentTypes.get(i)
+							.getSimpleName();
 
 					// for all agent types as destinations of monetary
 					// transactions
 					// ->
 					// columns
-					for (int j = 0; j < ApplicationContext.getInstance()
-							.getAgentFactory().getAgentTypes().size(); j++) {
-						final Class<? extends Agent> agentTypeTo = ApplicationContext
-								.getInstance().getAgentFactory()
-								.getAgentTypes().get(j);
-						final PeriodDataAccumulator periodTransactionVolume = adjacencyMatrixForCurrencyAndFromAgentType
-								.get(agentTypeTo);
+					for (int j = 0; j < agentTypes.size(); j++) {
 						transientTableData[i][j + 1] = Currency
-								.formatMoneySum(periodTransactionVolume
-										.getAmount());
-						periodTransactionVolume.reset();
+								.formatMoneySum(monetaryTransactionsModel
+										.getTransactionValue(i, j));
 					}
 				}
 				fireTableDataChanged();
@@ -0,0 +1,96 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.dashboard.panel;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.GridLayout;
+import java.util.Map;
+
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.time.TimeSeriesCollection;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+
+/**
+ * CPU time and allocations per day by agent type, as recorded by the agent
+ * resource accounting
+ */
+public class ResourcesPanel extends AbstractChartsPanel implements
+		ModelListener {
+
+	public ResourcesPanel() {
+		setLayout(new BorderLayout());
+
+		final JTabbedPane jTabbedPane = new JTabbedPane();
+
+		for (final Currency currency : Currency.values()) {
+			final JPanel panelForCurrency = new JPanel();
+			panelForCurrency.setLayout(new GridLayout(0, 2));
+			jTabbedPane.addTab(currency.getIso4217Code(), panelForCurrency);
+
+			panelForCurrency.setBackground(Color.lightGray);
+
+			panelForCurrency.add(createResourcePanel(
+					currency.getIso4217Code() + " CPU Time", "ms",
+					ApplicationContext.getInstance().getModelRegistry()
+							.getNationalEconomyModel(currency).cpuTimeModels));
+			panelForCurrency
+					.add(createResourcePanel(
+							currency.getIso4217Code() + " Allocations",
+							"MB",
+							ApplicationContext.getInstance().getModelRegistry()
+									.getNationalEconomyModel(currency).allocatedBytesModels));
+		}
+
+		add(jTabbedPane, BorderLayout.CENTER);
+	}
+
+	protected ChartPanel createResourcePanel(
+			final String title,
+			final String unit,
+			final Map<Class<? extends Agent>, PeriodDataAccumulatorTimeSeriesModel> resourceModels) {
+		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
+
+		for (final Class<? extends Agent> agentType : ApplicationContext
+				.getInstance().getAgentFactory().getAgentTypes()) {
+			timeSeriesCollection.addSeries(getTimeSeries(resourceModels.get(
+					agentType).getPeriodDataStorage()));
+		}
+
+		final JFreeChart chart = ChartFactory.createTimeSeriesChart(title,
+				"Date", unit, timeSeriesCollection, true, true, false);
+		configureChart(chart);
+		return new ChartPanel(chart);
+	}
+
+	@Override
+	public void notifyListener() {
+	}
+}
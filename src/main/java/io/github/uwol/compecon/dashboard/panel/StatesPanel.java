@@ -87,9 +87,9 @@ public class StatesPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
 				"Government Transfers", "Date", "Government Transfers",
@@ -102,18 +102,18 @@ public class StatesPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry()
+				.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 						.getNationalEconomyModel(currency).stateModel.utilityModel.utilityOutputModel
-						.getTimeSeries());
+						.getPeriodDataStorage()));
 
 		for (final GoodType inputGoodType : ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels
 				.keySet()) {
 			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance()
+					.addSeries(getTimeSeries(ApplicationContext.getInstance()
 							.getModelRegistry()
 							.getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels
-							.get(inputGoodType).getTimeSeries());
+							.get(inputGoodType).getPeriodDataStorage()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(
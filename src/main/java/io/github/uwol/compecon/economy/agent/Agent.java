@@ -19,7 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.agent;
 
-import java.util.Set;
+import java.util.List;
 
 import io.github.uwol.compecon.economy.LifecycleEntity;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
@@ -27,7 +27,7 @@ import io.github.uwol.compecon.economy.property.PropertyOwner;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccountDelegate;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
-import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 
 public interface Agent extends LifecycleEntity, PropertyOwner,
 		MarketParticipant, BankCustomer {
@@ -38,6 +38,6 @@ public interface Agent extends LifecycleEntity, PropertyOwner,
 
 	public Currency getPrimaryCurrency();
 
-	public Set<TimeSystemEvent> getTimeSystemEvents();
+	public List<TimeSystemEventHandle> getTimeSystemEventHandles();
 
 }
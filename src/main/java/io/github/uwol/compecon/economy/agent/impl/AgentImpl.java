@@ -19,7 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.agent.impl;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -45,7 +47,6 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
-import io.github.uwol.compecon.economy.property.PropertyIssued;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
@@ -54,11 +55,11 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.sectors.financial.impl.BankAccountImpl;
-import io.github.uwol.compecon.economy.security.debt.Bond;
 import io.github.uwol.compecon.economy.security.equity.Share;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
@@ -77,6 +78,8 @@ public abstract class AgentImpl implements Agent {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(AgentImpl.this);
+
 			final BalanceSheetDTO balanceSheet = issueBalanceSheet();
 
 			// TODO: could be placed in its own life sign event
@@ -129,8 +132,12 @@ public abstract class AgentImpl implements Agent {
 	@Column(name = "referenceCredit")
 	protected double referenceCredit;
 
+	/**
+	 * handles of the registrations in the time system, by which they are
+	 * cancelled on deconstruction without a lookup
+	 */
 	@Transient
-	protected Set<TimeSystemEvent> timeSystemEvents = new HashSet<TimeSystemEvent>();
+	protected final List<TimeSystemEventHandle> timeSystemEventHandles = new ArrayList<TimeSystemEventHandle>();
 
 	@Transient
 	protected void assureBankAccountTransactions() {
@@ -159,9 +166,10 @@ public abstract class AgentImpl implements Agent {
 		getLog().agent_onDeconstruct(this);
 
 		// deregister from time system
-		ApplicationContext.getInstance().getTimeSystem()
-				.removeEvents(timeSystemEvents);
-		timeSystemEvents = null;
+		for (final TimeSystemEventHandle timeSystemEventHandle : timeSystemEventHandles) {
+			timeSystemEventHandle.cancel();
+		}
+		timeSystemEventHandles.clear();
 
 		// remove selling offers from market
 		ApplicationContext.getInstance().getMarketService()
@@ -178,13 +186,18 @@ public abstract class AgentImpl implements Agent {
 		ApplicationContext.getInstance().getPropertyService()
 				.transferEverythingToRandomAgent(this);
 
-		// close bank accounts
+		// close bank accounts, once per managing bank, as the bank closes all
+		// bank accounts of the customer
+		final Set<Bank> managingBanks = new LinkedHashSet<Bank>();
 		for (final BankAccount bankAccount : ApplicationContext.getInstance()
 				.getBankAccountDAO().findAllBankAccountsOfAgent(this)) {
 			if (bankAccount.getOwner() == this) {
-				bankAccount.getManagingBank().closeCustomerAccount(this);
+				managingBanks.add(bankAccount.getManagingBank());
 			}
 		}
+		for (final Bank managingBank : managingBanks) {
+			managingBank.closeCustomerAccount(this);
+		}
 
 		assert (ApplicationContext.getInstance().getBankAccountDAO()
 				.findAllBankAccountsOfAgent(this).size() == 0);
@@ -229,8 +242,8 @@ public abstract class AgentImpl implements Agent {
 	}
 
 	@Override
-	public Set<TimeSystemEvent> getTimeSystemEvents() {
-		return timeSystemEvents;
+	public List<TimeSystemEventHandle> getTimeSystemEventHandles() {
+		return timeSystemEventHandles;
 	}
 
 	@Override
@@ -239,8 +252,7 @@ public abstract class AgentImpl implements Agent {
 
 		// balance sheet publication
 		final TimeSystemEvent balanceSheetPublicationEvent = new BalanceSheetPublicationEvent();
-		timeSystemEvents.add(balanceSheetPublicationEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(
@@ -249,7 +261,7 @@ public abstract class AgentImpl implements Agent {
 						MonthType.EVERY,
 						DayType.EVERY,
 						ApplicationContext.getInstance().getConfiguration().agentConfig
-								.getBalanceSheetPublicationHourType());
+								.getBalanceSheetPublicationHourType()));
 
 		getLog().agent_onConstruct(this);
 
@@ -280,76 +292,44 @@ public abstract class AgentImpl implements Agent {
 		// bank deposits
 		balanceSheet.addBankAccountBalance(bankAccountTransactions);
 
-		// owned properties
-		for (final Property property : ApplicationContext.getInstance()
-				.getPropertyService().findAllPropertiesOfPropertyOwner(this)) {
-			assert (property.getOwner() == AgentImpl.this);
-
-			// owned bonds
-			if (property instanceof Bond) {
-				final Bond bond = ((Bond) property);
-
-				if (bond.isDeconstructed()) {
-					ApplicationContext.getInstance().getPropertyService()
-							.deleteProperty(bond);
-				} else {
-					/*
-					 * check, that the agent does not take into account bonds,
-					 * which are issued by the agent (and have not been sold,
-					 * yet -> are owned by the agent)
-					 */
-					if (bond.getIssuer() != this) {
-						balanceSheet.bonds += ((Bond) property).getFaceValue();
-					}
-				}
-			}
-		}
+		// owned bonds, maintained incrementally by the property register
+		balanceSheet.bonds += ApplicationContext.getInstance().getPropertyDAO()
+				.getFaceValueSumOfBondAssets(this);
+
+		final Map<GoodType, Double> goodTypeBalances = ApplicationContext
+				.getInstance().getPropertyService().getGoodTypeBalances(this);
 
-		// inventory by value
-		final Map<GoodType, Double> prices = ApplicationContext.getInstance()
-				.getMarketService().getMarginalMarketPrices(primaryCurrency);
+		// inventory by value, valued by the price vector shared by all agents
+		// of the currency
+		final double[] prices = ApplicationContext.getInstance()
+				.getMarketService()
+				.getMarginalMarketPricesOfDay(primaryCurrency);
 
-		for (final Entry<GoodType, Double> balanceEntry : ApplicationContext
-				.getInstance().getPropertyService().getGoodTypeBalances(this)
+		for (final Entry<GoodType, Double> balanceEntry : goodTypeBalances
 				.entrySet()) {
-			final GoodType goodType = balanceEntry.getKey();
-			final double amount = balanceEntry.getValue();
-			final double price = prices.get(goodType);
+			final double price = prices[balanceEntry.getKey().ordinal()];
 
 			if (!Double.isNaN(price)) {
-				balanceSheet.inventoryValue += amount * price;
+				balanceSheet.inventoryValue += balanceEntry.getValue() * price;
 			}
 		}
 
 		// inventory by amount
-		balanceSheet.inventoryQuantitative.putAll(ApplicationContext
-				.getInstance().getPropertyService().getGoodTypeBalances(this));
+		balanceSheet.inventoryQuantitative.putAll(goodTypeBalances);
 
 		// --------------
 
-		// issued properties
-		for (final Property property : ApplicationContext.getInstance()
-				.getPropertyService().findAllPropertiesIssuedByAgent(this)) {
-			final PropertyIssued propertyIssued = (PropertyIssued) property;
-
-			assert (propertyIssued.getIssuer() == AgentImpl.this);
-
-			// issued bonds
-			if (propertyIssued instanceof Bond) {
-				final Bond bond = (Bond) property;
+		// issued bonds, maintained incrementally by the property register
+		balanceSheet.financialLiabilities += ApplicationContext.getInstance()
+				.getPropertyDAO().getFaceValueSumOfBondLiabilities(this);
 
-				if (!bond.isDeconstructed() && !bond.getOwner().equals(this)) {
-					assert (bond.getOwner() != this);
-
-					balanceSheet.financialLiabilities += bond.getFaceValue();
-				}
-			}
+		// issued capital / shares
+		for (final Property property : ApplicationContext.getInstance()
+				.getPropertyService()
+				.findAllPropertiesIssuedByAgent(this, Share.class)) {
+			assert (((Share) property).getIssuer() == AgentImpl.this);
 
-			// issued capital / shares
-			if (propertyIssued instanceof Share) {
-				final Share share = (Share) propertyIssued;
-				balanceSheet.issuedCapital.add(share);
-			}
+			balanceSheet.issuedCapital.add((Share) property);
 		}
 
 		return balanceSheet;
@@ -390,10 +370,6 @@ public abstract class AgentImpl implements Agent {
 		this.referenceCredit = referenceCredit;
 	}
 
-	public void setTimeSystemEvents(final Set<TimeSystemEvent> timeSystemEvents) {
-		this.timeSystemEvents = timeSystemEvents;
-	}
-
 	@Override
 	public String toString() {
 		return this.getClass().getSimpleName() + ": id=[" + id
@@ -24,6 +24,7 @@ import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
+import io.github.uwol.compecon.engine.log.LogEvent;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 /**
@@ -121,14 +122,6 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	protected double calculateNewPrice() {
 		final double oldPrice = prices_InPeriods[1];
 
-		final String prefix = "offered "
-				+ MathUtil.round(offeredAmount_InPeriods[1]) + " units of "
-				+ offeredObject + " for "
-				+ Currency.formatMoneySum(prices_InPeriods[1]) + " "
-				+ denominatedInCurrency.getIso4217Code()
-				+ " per unit and sold "
-				+ MathUtil.round(soldAmount_InPeriods[1]) + " units -> ";
-
 		final double offeredAmountInLastPeriod = offeredAmount_InPeriods[1];
 		final double offeredAmountInPenultimatePeriod = offeredAmount_InPeriods[2];
 
@@ -142,12 +135,9 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent,
 					PricingBehaviourNewPriceDecisionCause.SOLD_NOTHING,
 					-1.0 * priceChangeIncrement);
-			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent,
-						"%s sold nothing -> lowering price to %s %s", prefix,
-						Currency.formatMoneySum(newPrice),
-						denominatedInCurrency);
-			}
+			getLog().log(agent, LogEvent.PRICE_SOLD_NOTHING, offeredObject,
+					denominatedInCurrency, offeredAmountInLastPeriod,
+					oldPrice, soldAmountInLastPeriod, newPrice, 0.0);
 			return newPrice;
 		}
 
@@ -159,12 +149,10 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent,
 					PricingBehaviourNewPriceDecisionCause.SOLD_EVERYTHING,
 					priceChangeIncrement);
-			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent,
-						"%s sold everything -> raising price to %s %s", prefix,
-						Currency.formatMoneySum(newPrice),
-						denominatedInCurrency);
-			}
+			getLog().log(agent, LogEvent.PRICE_SOLD_EVERYTHING,
+					offeredObject, denominatedInCurrency,
+					offeredAmountInLastPeriod, oldPrice,
+					soldAmountInLastPeriod, newPrice, 0.0);
 			return newPrice;
 		}
 
@@ -188,13 +176,10 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent,
 					PricingBehaviourNewPriceDecisionCause.SOLD_LESS,
 					-1.0 * priceChangeIncrement);
-			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent,
-						"%s sold less (before: %s) -> lowering price to %s %s",
-						prefix, MathUtil.round(soldAmountInPenultimatePeriod),
-						Currency.formatMoneySum(newPrice),
-						denominatedInCurrency);
-			}
+			getLog().log(agent, LogEvent.PRICE_SOLD_LESS, offeredObject,
+					denominatedInCurrency, offeredAmountInLastPeriod,
+					oldPrice, soldAmountInLastPeriod, newPrice,
+					soldAmountInPenultimatePeriod);
 			return newPrice;
 		}
 
@@ -218,20 +203,16 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent,
 					PricingBehaviourNewPriceDecisionCause.SOLD_MORE,
 					priceChangeIncrement);
-			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent,
-						"%s sold more (before: %s) -> raising price to %s %s",
-						prefix, MathUtil.round(soldAmountInPenultimatePeriod),
-						Currency.formatMoneySum(newPrice),
-						denominatedInCurrency);
-			}
+			getLog().log(agent, LogEvent.PRICE_SOLD_MORE, offeredObject,
+					denominatedInCurrency, offeredAmountInLastPeriod,
+					oldPrice, soldAmountInLastPeriod, newPrice,
+					soldAmountInPenultimatePeriod);
 			return newPrice;
 		}
 
-		if (getLog().isAgentSelectedByClient(agent)) {
-			getLog().log(agent, "%s newPrice := oldPrice = %s %s", prefix,
-					Currency.formatMoneySum(oldPrice), denominatedInCurrency);
-		}
+		getLog().log(agent, LogEvent.PRICE_UNCHANGED, offeredObject,
+				denominatedInCurrency, offeredAmountInLastPeriod, oldPrice,
+				soldAmountInLastPeriod, oldPrice, 0.0);
 		getLog().pricingBehaviour_onCalculateNewPrice(
 				agent,
 				PricingBehaviourNewPriceDecisionCause.IMPLICIT_RAISE,
@@ -0,0 +1,87 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.bookkeeping;
+
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * double-entry ledger backing the banks. Each transfer of money is appended as
+ * a posting to a journal; account balances are derived from the postings.<br />
+ * <br />
+ * Money entering or leaving the banking system (hard cash, money creation by
+ * the central bank) is posted against an external account per currency, so
+ * that the balances of all accounts of a currency sum up to zero.
+ */
+public interface Ledger {
+
+	/**
+	 * returns the balance of the bank account as derived from the journal.
+	 */
+	public double getBalance(final BankAccount bankAccount);
+
+	/**
+	 * returns the currency of the account at the given ledger slot.
+	 */
+	public Currency getCurrency(final int slot);
+
+	/**
+	 * returns the position, which the next posting will be appended at.
+	 */
+	public long getJournalPosition();
+
+	/**
+	 * returns the type of the owner of the account at the given ledger slot, or
+	 * null for the external accounts.
+	 */
+	public Class<? extends BankCustomer> getOwnerType(final int slot);
+
+	/**
+	 * appends a posting to the journal and updates the derived balances.
+	 *
+	 * @param from
+	 *            null, if money enters the banking system
+	 * @param to
+	 *            null, if money leaves the banking system
+	 */
+	public void post(final BankAccount from, final BankAccount to,
+			final Currency currency, final double amount);
+
+	/**
+	 * releases the slot of a closed bank account; a remaining balance leaves
+	 * the banking system. The slot is reused, as soon as the journal has
+	 * discarded all postings referring to it.
+	 */
+	public void release(final BankAccount bankAccount);
+
+	/**
+	 * passes all postings from the given position on to the handler.
+	 *
+	 * @return the position up to which the journal has been replayed
+	 */
+	public long replay(final long fromPosition,
+			final LedgerPostingHandler handler);
+
+	/**
+	 * returns a consistent copy of all balances.
+	 */
+	public LedgerSnapshot snapshot();
+}
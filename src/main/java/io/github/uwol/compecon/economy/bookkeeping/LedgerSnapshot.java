@@ -17,21 +17,17 @@ You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package io.github.uwol.compecon.engine.timesystem;
+package io.github.uwol.compecon.economy.bookkeeping;
 
-import java.util.Set;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
-import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
+public interface LedgerSnapshot {
 
-public interface Month {
+	public double getBalance(final BankAccount bankAccount);
 
-	public void addEvent(final TimeSystemEvent event, final DayType dayType,
-			HourType hourType);
-
-	public Set<TimeSystemEvent> getEvents(final DayType dayType,
-			final HourType hourType);
-
-	public MonthType getMonthType();
+	/**
+	 * journal position at the time of the snapshot; replaying from this
+	 * position yields all postings not contained in the snapshot.
+	 */
+	public long getJournalPosition();
 }
@@ -0,0 +1,435 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.bookkeeping.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.uwol.compecon.economy.bookkeeping.Ledger;
+import io.github.uwol.compecon.economy.bookkeeping.LedgerPostingHandler;
+import io.github.uwol.compecon.economy.bookkeeping.LedgerSnapshot;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * ledger with an append-only journal in primitive arrays. Balances are
+ * maintained per ledger slot and guarded by striped locks, so that postings on
+ * disjoint accounts do not contend. The journal retains a configurable number
+ * of postings; older chunks are discarded.
+ */
+public class LedgerImpl implements Ledger {
+
+	protected static class JournalChunk {
+
+		protected final double[] amounts = new double[JOURNAL_CHUNK_SIZE];
+
+		protected final int[] fromSlots = new int[JOURNAL_CHUNK_SIZE];
+
+		protected final int[] toSlots = new int[JOURNAL_CHUNK_SIZE];
+	}
+
+	protected class LedgerSnapshotImpl implements LedgerSnapshot {
+
+		protected final double[] balances;
+
+		protected final long journalPosition;
+
+		public LedgerSnapshotImpl(final double[] balances,
+				final long journalPosition) {
+			this.balances = balances;
+			this.journalPosition = journalPosition;
+		}
+
+		@Override
+		public double getBalance(final BankAccount bankAccount) {
+			final Integer slot = slotsByBankAccountId.get(bankAccount.getId());
+
+			if (slot == null || slot >= balances.length) {
+				return 0.0;
+			}
+
+			return balances[slot];
+		}
+
+		@Override
+		public long getJournalPosition() {
+			return journalPosition;
+		}
+	}
+
+	protected static final int BALANCE_PAGE_SIZE = 1 << 10;
+
+	protected static final int JOURNAL_CHUNK_SIZE = 1 << 14;
+
+	protected static final int NUMBER_OF_STRIPES = 64;
+
+	/**
+	 * balances by slot in fixed-size pages, so that growing the directory does
+	 * not move balances guarded by the stripes
+	 */
+	protected volatile double[][] balancePages = new double[0][];
+
+	protected final List<Currency> currencies = new ArrayList<Currency>();
+
+	protected final JournalChunk[] journalChunks;
+
+	protected final Object journalLock = new Object();
+
+	protected long journalPosition = 0;
+
+	protected long journalStartPosition = 0;
+
+	protected int numberOfSlots = 0;
+
+	protected final List<Class<? extends BankCustomer>> ownerTypes = new ArrayList<Class<? extends BankCustomer>>();
+
+	/**
+	 * journal positions at the release of the released slots
+	 */
+	protected final Queue<Long> releasePositions = new ArrayDeque<Long>();
+
+	protected final Queue<Integer> releasedSlots = new ArrayDeque<Integer>();
+
+	protected final Object slotRegistrationLock = new Object();
+
+	protected final ConcurrentHashMap<Integer, Integer> slotsByBankAccountId = new ConcurrentHashMap<Integer, Integer>();
+
+	protected final ReentrantLock[] stripes = new ReentrantLock[NUMBER_OF_STRIPES];
+
+	public LedgerImpl(final int journalCapacity) {
+		journalChunks = new JournalChunk[Math.max(1, journalCapacity
+				/ JOURNAL_CHUNK_SIZE)];
+
+		for (int i = 0; i < NUMBER_OF_STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+
+		// external accounts, one per currency
+		for (final Currency currency : Currency.values()) {
+			registerSlot(currency, null);
+		}
+	}
+
+	protected void appendToJournal(final int fromSlot, final int toSlot,
+			final double amount) {
+		synchronized (journalLock) {
+			final long chunkNumber = journalPosition / JOURNAL_CHUNK_SIZE;
+			final int chunkIndex = (int) (chunkNumber % journalChunks.length);
+			final int offset = (int) (journalPosition % JOURNAL_CHUNK_SIZE);
+
+			if (offset == 0) {
+				/*
+				 * a fresh chunk instead of overwriting the oldest one, as
+				 * replays might still read it
+				 */
+				journalChunks[chunkIndex] = new JournalChunk();
+				journalStartPosition = Math.max(0, chunkNumber
+						- journalChunks.length + 1)
+						* JOURNAL_CHUNK_SIZE;
+			}
+
+			final JournalChunk chunk = journalChunks[chunkIndex];
+			chunk.fromSlots[offset] = fromSlot;
+			chunk.toSlots[offset] = toSlot;
+			chunk.amounts[offset] = amount;
+
+			journalPosition++;
+		}
+	}
+
+	protected int assureSlot(final BankAccount bankAccount) {
+		final Integer slot = slotsByBankAccountId.get(bankAccount.getId());
+
+		if (slot != null) {
+			return slot;
+		}
+
+		synchronized (slotRegistrationLock) {
+			final Integer registeredSlot = slotsByBankAccountId.get(bankAccount
+					.getId());
+
+			if (registeredSlot != null) {
+				return registeredSlot;
+			}
+
+			final Class<? extends BankCustomer> ownerType = bankAccount
+					.getOwner() != null ? bankAccount.getOwner().getClass()
+					: null;
+			final int newSlot = registerSlot(bankAccount.getCurrency(),
+					ownerType);
+			slotsByBankAccountId.put(bankAccount.getId(), newSlot);
+			return newSlot;
+		}
+	}
+
+	@Override
+	public double getBalance(final BankAccount bankAccount) {
+		final Integer slot = slotsByBankAccountId.get(bankAccount.getId());
+
+		if (slot == null) {
+			return 0.0;
+		}
+
+		final ReentrantLock stripe = stripes[slot % NUMBER_OF_STRIPES];
+		stripe.lock();
+
+		try {
+			return balancePages[slot / BALANCE_PAGE_SIZE][slot
+					% BALANCE_PAGE_SIZE];
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	@Override
+	public Currency getCurrency(final int slot) {
+		synchronized (slotRegistrationLock) {
+			return currencies.get(slot);
+		}
+	}
+
+	@Override
+	public long getJournalPosition() {
+		synchronized (journalLock) {
+			return journalPosition;
+		}
+	}
+
+	protected long getJournalStartPosition() {
+		synchronized (journalLock) {
+			return journalStartPosition;
+		}
+	}
+
+	@Override
+	public Class<? extends BankCustomer> getOwnerType(final int slot) {
+		synchronized (slotRegistrationLock) {
+			return ownerTypes.get(slot);
+		}
+	}
+
+	/**
+	 * @return true, if the slot is registered for the bank account, or the
+	 *         bank account is null
+	 */
+	protected boolean isSlotOf(final BankAccount bankAccount, final int slot) {
+		if (bankAccount == null) {
+			return true;
+		}
+
+		final Integer registeredSlot = slotsByBankAccountId.get(bankAccount
+				.getId());
+		return registeredSlot != null && registeredSlot == slot;
+	}
+
+	/**
+	 * locks the stripes of both slots in ascending order to prevent deadlocks
+	 */
+	protected void lockStripes(final int slot1, final int slot2) {
+		stripes[Math.min(slot1 % NUMBER_OF_STRIPES, slot2 % NUMBER_OF_STRIPES)]
+				.lock();
+		stripes[Math.max(slot1 % NUMBER_OF_STRIPES, slot2 % NUMBER_OF_STRIPES)]
+				.lock();
+	}
+
+	@Override
+	public void post(final BankAccount from, final BankAccount to,
+			final Currency currency, final double amount) {
+		assert (from == null || from.getCurrency().equals(currency));
+		assert (to == null || to.getCurrency().equals(currency));
+
+		while (true) {
+			final int fromSlot = from == null ? currency.ordinal()
+					: assureSlot(from);
+			final int toSlot = to == null ? currency.ordinal()
+					: assureSlot(to);
+
+			lockStripes(fromSlot, toSlot);
+
+			try {
+				// a concurrent release has taken the slot from the account
+				if (isSlotOf(from, fromSlot) && isSlotOf(to, toSlot)) {
+					transfer(fromSlot, toSlot, amount);
+					return;
+				}
+			} finally {
+				unlockStripes(fromSlot, toSlot);
+			}
+		}
+	}
+
+	/**
+	 * has to be called with the slot registration lock held
+	 */
+	protected int registerSlot(final Currency currency,
+			final Class<? extends BankCustomer> ownerType) {
+		// postings before the start position cannot be replayed anymore
+		if (!releasedSlots.isEmpty()
+				&& releasePositions.peek() <= getJournalStartPosition()) {
+			final int releasedSlot = releasedSlots.poll();
+			releasePositions.poll();
+
+			currencies.set(releasedSlot, currency);
+			ownerTypes.set(releasedSlot, ownerType);
+			return releasedSlot;
+		}
+
+		final int slot = numberOfSlots;
+
+		if (slot / BALANCE_PAGE_SIZE >= balancePages.length) {
+			final double[][] pages = new double[balancePages.length + 1][];
+			System.arraycopy(balancePages, 0, pages, 0, balancePages.length);
+			pages[balancePages.length] = new double[BALANCE_PAGE_SIZE];
+			balancePages = pages;
+		}
+
+		currencies.add(currency);
+		ownerTypes.add(ownerType);
+		numberOfSlots++;
+
+		return slot;
+	}
+
+	/**
+	 * closes the balance and unregisters the slot under the stripe locks, so
+	 * that concurrent postings to the bank account are not lost
+	 */
+	@Override
+	public void release(final BankAccount bankAccount) {
+		final Integer slot = slotsByBankAccountId.get(bankAccount.getId());
+
+		if (slot == null) {
+			return;
+		}
+
+		final int externalSlot = bankAccount.getCurrency().ordinal();
+		lockStripes(slot, externalSlot);
+
+		try {
+			// a concurrent release
+			if (!isSlotOf(bankAccount, slot)) {
+				return;
+			}
+
+			// leaves the slot with a zero balance for reuse
+			final double balance = balancePages[slot / BALANCE_PAGE_SIZE][slot
+					% BALANCE_PAGE_SIZE];
+			if (balance != 0.0) {
+				transfer(slot, externalSlot, balance);
+			}
+
+			synchronized (slotRegistrationLock) {
+				slotsByBankAccountId.remove(bankAccount.getId());
+				releasedSlots.add(slot);
+				releasePositions.add(getJournalPosition());
+			}
+		} finally {
+			unlockStripes(slot, externalSlot);
+		}
+	}
+
+	@Override
+	public long replay(final long fromPosition,
+			final LedgerPostingHandler handler) {
+		final long endPosition;
+		final JournalChunk[] chunks;
+
+		/*
+		 * postings before the end position have been written while holding the
+		 * journal lock, hence are visible after acquiring it
+		 */
+		synchronized (journalLock) {
+			if (fromPosition < journalStartPosition) {
+				throw new RuntimeException("journal position " + fromPosition
+						+ " has already been discarded");
+			}
+
+			endPosition = journalPosition;
+			chunks = journalChunks.clone();
+		}
+
+		for (long position = fromPosition; position < endPosition; position++) {
+			final JournalChunk chunk = chunks[(int) ((position / JOURNAL_CHUNK_SIZE) % chunks.length)];
+			final int offset = (int) (position % JOURNAL_CHUNK_SIZE);
+			handler.onPosting(chunk.fromSlots[offset], chunk.toSlots[offset],
+					chunk.amounts[offset]);
+		}
+
+		return endPosition;
+	}
+
+	@Override
+	public LedgerSnapshot snapshot() {
+		for (final ReentrantLock stripe : stripes) {
+			stripe.lock();
+		}
+
+		try {
+			final int slots;
+
+			synchronized (slotRegistrationLock) {
+				slots = numberOfSlots;
+			}
+
+			final double[][] pages = balancePages;
+			final double[] balances = new double[slots];
+
+			for (int i = 0; i < pages.length; i++) {
+				final int length = Math.min(BALANCE_PAGE_SIZE, slots - i
+						* BALANCE_PAGE_SIZE);
+
+				if (length > 0) {
+					System.arraycopy(pages[i], 0, balances, i
+							* BALANCE_PAGE_SIZE, length);
+				}
+			}
+
+			return new LedgerSnapshotImpl(balances, getJournalPosition());
+		} finally {
+			for (int i = NUMBER_OF_STRIPES - 1; i >= 0; i--) {
+				stripes[i].unlock();
+			}
+		}
+	}
+
+	/**
+	 * has to be called with the stripes of both slots locked
+	 */
+	protected void transfer(final int fromSlot, final int toSlot,
+			final double amount) {
+		final double[][] pages = balancePages;
+		pages[fromSlot / BALANCE_PAGE_SIZE][fromSlot % BALANCE_PAGE_SIZE] -= amount;
+		pages[toSlot / BALANCE_PAGE_SIZE][toSlot % BALANCE_PAGE_SIZE] += amount;
+
+		appendToJournal(fromSlot, toSlot, amount);
+	}
+
+	protected void unlockStripes(final int slot1, final int slot2) {
+		stripes[Math.max(slot1 % NUMBER_OF_STRIPES, slot2 % NUMBER_OF_STRIPES)]
+				.unlock();
+		stripes[Math.min(slot1 % NUMBER_OF_STRIPES, slot2 % NUMBER_OF_STRIPES)]
+				.unlock();
+	}
+}
@@ -23,6 +23,7 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.security.equity.JointStockCompany;
+import io.github.uwol.compecon.engine.log.LogEvent;
 
 public interface Bank extends Agent, JointStockCompany {
 
@@ -39,4 +40,12 @@ public interface Bank extends Agent, JointStockCompany {
 
 	public void transferMoney(final BankAccount from, final BankAccount to,
 			final double amount, final String subject);
+
+	/**
+	 * transfers money with a structured subject, which is formatted only, if
+	 * one of the bank account owners is selected by the client
+	 */
+	public void transferMoney(final BankAccount from, final BankAccount to,
+			final double amount, final LogEvent subject,
+			final Object subjectObject, final double subjectValue);
 }
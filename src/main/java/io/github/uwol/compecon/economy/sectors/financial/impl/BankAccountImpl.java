@@ -38,6 +38,7 @@ import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 
 @Entity
 @Table(name = "BankAccount")
@@ -82,7 +83,11 @@ public class BankAccountImpl implements BankAccount {
 	public void deposit(final double amount) {
 		assert (!Double.isNaN(amount) && !Double.isInfinite(amount) && amount >= 0.0);
 
+		final double balanceBefore = balance;
 		balance = balance + amount;
+
+		ApplicationContext.getInstance().getBankAccountDAO()
+				.onBalanceChange(this, balanceBefore);
 	}
 
 	@Override
@@ -179,7 +184,11 @@ public class BankAccountImpl implements BankAccount {
 		assert (!Double.isNaN(amount) && !Double.isInfinite(amount) && amount >= 0.0);
 		assert (amount <= balance || overdraftPossible);
 
+		final double balanceBefore = balance;
 		balance = balance - amount;
+
+		ApplicationContext.getInstance().getBankAccountDAO()
+				.onBalanceChange(this, balanceBefore);
 	}
 
 }
@@ -31,6 +31,7 @@ import javax.persistence.Transient;
 
 import org.hibernate.annotations.Index;
 
+import io.github.uwol.compecon.economy.bookkeeping.Ledger;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
@@ -41,6 +42,9 @@ import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.security.equity.impl.JointStockCompanyImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.BankAccountDAO;
+import io.github.uwol.compecon.engine.log.LogEvent;
+import io.github.uwol.compecon.math.util.MathUtil;
 
 @Entity
 public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
@@ -221,17 +225,16 @@ public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 		final BalanceSheetDTO balanceSheet = super.issueBalanceSheet();
 
 		// bank accounts of customers managed by this bank
-		for (final BankAccount bankAccount : ApplicationContext.getInstance()
-				.getBankAccountDAO().findAllBankAccountsManagedByBank(this)) {
-			assert (bankAccount.getCurrency().equals(primaryCurrency));
-
-			if (bankAccount.getBalance() > 0.0) { // passive account
-				balanceSheet.bankBorrowings += bankAccount.getBalance();
-			} else {
-				// active account
-				balanceSheet.bankLoans += bankAccount.getBalance() * -1.0;
-			}
-		}
+		final BankAccountDAO bankAccountDAO = ApplicationContext.getInstance()
+				.getBankAccountDAO();
+
+		// passive accounts
+		balanceSheet.bankBorrowings += bankAccountDAO
+				.getSumOfPositiveBalances(this, primaryCurrency);
+
+		// active accounts
+		balanceSheet.bankLoans += bankAccountDAO.getSumOfNegativeBalances(
+				this, primaryCurrency) * -1.0;
 
 		// bank account for financing bonds
 		balanceSheet.addBankAccountBalance(bankAccountBondLoan);
@@ -274,6 +277,29 @@ public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 		return bankAccount;
 	}
 
+	/**
+	 * appends the transfer to the ledger, if active
+	 *
+	 * @param from
+	 *            null, if money enters the banking system
+	 * @param to
+	 *            null, if money leaves the banking system
+	 */
+	@Transient
+	protected void postToLedger(final BankAccount from, final BankAccount to,
+			final Currency currency, final double amount) {
+		final Ledger ledger = ApplicationContext.getInstance().getLedger();
+
+		if (ledger != null) {
+			ledger.post(from, to, currency, amount);
+
+			assert (from == null || MathUtil.equal(ledger.getBalance(from),
+					from.getBalance()));
+			assert (to == null || MathUtil.equal(ledger.getBalance(to),
+					to.getBalance()));
+		}
+	}
+
 	public void setBankAccountBondLoan(final BankAccount bankAccountBondLoan) {
 		this.bankAccountBondLoan = bankAccountBondLoan;
 	}
@@ -282,4 +308,11 @@ public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 			final BankAccount bankAccountBondCoupon) {
 		bankAccountInterestTransactions = bankAccountBondCoupon;
 	}
+
+	@Override
+	@Transient
+	public void transferMoney(final BankAccount from, final BankAccount to,
+			final double amount, final String subject) {
+		transferMoney(from, to, amount, LogEvent.TRANSFER, subject, 0.0);
+	}
 }
@@ -20,9 +20,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.economy.sectors.financial.impl;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -45,7 +47,9 @@ import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.economy.security.debt.FixedRateBond;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.log.LogEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
@@ -65,6 +69,8 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CentralBankImpl.this);
+
 			assureBankAccountTransactions();
 
 			final double monthlyInterestRate = MathUtil
@@ -181,6 +187,8 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CentralBankImpl.this);
+
 			// calculate price index
 			statisticalOffice.recalculateAveragePrices();
 			statisticalOffice.recalculatePriceIndex();
@@ -205,6 +213,8 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CentralBankImpl.this);
+
 			statisticalOffice.takeSnapshotOfMarginalPrices();
 		}
 	}
@@ -457,11 +467,13 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 						this.transferMoney(bankAccount,
 								bankAccountTransactions,
 								bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								LogEvent.TRANSFER,
+								"evening-up of closed bank account", 0.0, true);
 					} else {
 						this.transferMoney(bankAccountTransactions,
 								bankAccount, -1.0 * bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								LogEvent.TRANSFER,
+								"evening-up of closed bank account", 0.0, true);
 					}
 				}
 				break;
@@ -473,11 +485,13 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 						this.transferMoney(bankAccount,
 								bankAccountCentralBankMoney,
 								bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								LogEvent.TRANSFER,
+								"evening-up of closed bank account", 0.0, true);
 					} else {
 						this.transferMoney(bankAccountCentralBankMoney,
 								bankAccount, -1.0 * bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								LogEvent.TRANSFER,
+								"evening-up of closed bank account", 0.0, true);
 					}
 				}
 				break;
@@ -536,58 +550,56 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 		// calculate interest
 		final TimeSystemEvent interestCalculationEvent = new DailyInterestCalculationEvent();
-		timeSystemEvents.add(interestCalculationEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(interestCalculationEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.HOUR_01);
+						DayType.EVERY, HourType.HOUR_01));
 
 		// take snapshots of marginal prices multiple times a day
 		// -> market situation differs over the day !!!
 		final TimeSystemEvent recalculateAveragePriceIndexEvent = new MarginalPriceSnapshotEvent();
-		timeSystemEvents.add(recalculateAveragePriceIndexEvent);
 
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(recalculateAveragePriceIndexEvent, -1,
-						MonthType.EVERY, DayType.EVERY, HourType.HOUR_03);
-		ApplicationContext
+						MonthType.EVERY, DayType.EVERY, HourType.HOUR_03));
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(recalculateAveragePriceIndexEvent, -1,
-						MonthType.EVERY, DayType.EVERY, HourType.HOUR_09);
-		ApplicationContext
+						MonthType.EVERY, DayType.EVERY, HourType.HOUR_09));
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(recalculateAveragePriceIndexEvent, -1,
-						MonthType.EVERY, DayType.EVERY, HourType.HOUR_15);
-		ApplicationContext
+						MonthType.EVERY, DayType.EVERY, HourType.HOUR_15));
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(recalculateAveragePriceIndexEvent, -1,
-						MonthType.EVERY, DayType.EVERY, HourType.HOUR_21);
+						MonthType.EVERY, DayType.EVERY, HourType.HOUR_21));
 
 		// recalculate key interest rate every day
 		final TimeSystemEvent keyInterestRateCalculationEvent = new KeyInterestRateCalculationEvent();
-		timeSystemEvents.add(keyInterestRateCalculationEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(keyInterestRateCalculationEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.HOUR_01);
+						DayType.EVERY, HourType.HOUR_01));
 
-		// count number of snapshots that are taken per day
-		int numberOfSnapshotsPerDay = 0;
+		// count number of snapshot events; an event registered for several
+		// hours is counted once
+		final Set<TimeSystemEvent> snapshotEvents = new HashSet<TimeSystemEvent>();
 
-		for (final TimeSystemEvent event : CentralBankImpl.this.timeSystemEvents) {
-			if (event instanceof MarginalPriceSnapshotEvent) {
-				numberOfSnapshotsPerDay++;
+		for (final TimeSystemEventHandle timeSystemEventHandle : timeSystemEventHandles) {
+			if (timeSystemEventHandle.getEvent() instanceof MarginalPriceSnapshotEvent) {
+				snapshotEvents.add(timeSystemEventHandle.getEvent());
 			}
 		}
 
-		NUMBER_OF_MARGINAL_PRICE_SNAPSHOTS_PER_DAY = numberOfSnapshotsPerDay;
+		NUMBER_OF_MARGINAL_PRICE_SNAPSHOTS_PER_DAY = snapshotEvents.size();
 
 		// statistical office; has to be initialized after calculating
 		// NUMBER_OF_SNAPSHOTS_PER_DAY
@@ -627,6 +639,8 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 			// transfer money
 			moneyReservesBankAccount.deposit(bond.getFaceValue());
+			postToLedger(null, moneyReservesBankAccount,
+					moneyReservesBankAccount.getCurrency(), bond.getFaceValue());
 
 			// transfer bond
 			ApplicationContext.getInstance().getPropertyService()
@@ -677,13 +691,16 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 	@Override
 	@Transient
 	public void transferMoney(final BankAccount from, final BankAccount to,
-			final double amount, final String subject) {
-		this.transferMoney(from, to, amount, subject, false);
+			final double amount, final LogEvent subject,
+			final Object subjectObject, final double subjectValue) {
+		this.transferMoney(from, to, amount, subject, subjectObject,
+				subjectValue, false);
 	}
 
 	@Transient
 	protected void transferMoney(final BankAccount from, final BankAccount to,
-			final double amount, final String subject,
+			final double amount, final LogEvent subject,
+			final Object subjectObject, final double subjectValue,
 			final boolean negativeAmountOK) {
 
 		assert (amount >= 0.0 || negativeAmountOK);
@@ -699,7 +716,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		if (from.getManagingBank() instanceof CentralBankImpl
 				&& to.getManagingBank() instanceof CentralBankImpl) {
 			getLog().bank_onTransfer(from, to, from.getCurrency(), amount,
-					subject);
+					subject, subjectObject, subjectValue);
 			transferMoneyInternally(from, to, amount);
 		} else if (from.getManagingBank() instanceof CreditBank
 				&& to.getManagingBank() instanceof CentralBankImpl) {
@@ -743,6 +760,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		final CreditBank creditBank = (CreditBank) to.getManagingBank();
 		from.withdraw(amount);
 		creditBank.deposit(to, amount);
+		postToLedger(from, to, from.getCurrency(), amount);
 
 		assert (fromBalanceBefore - amount == from.getBalance());
 		assert (toBalanceBefore + amount == to.getBalance());
@@ -771,6 +789,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		final CreditBank creditBank = (CreditBank) from.getManagingBank();
 		creditBank.withdraw(from, amount);
 		to.deposit(amount);
+		postToLedger(from, to, from.getCurrency(), amount);
 
 		assert (fromBalanceBefore - amount == from.getBalance());
 		assert (toBalanceBefore + amount == to.getBalance());
@@ -793,6 +812,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		// transfer money internally
 		from.withdraw(amount);
 		to.deposit(amount);
+		postToLedger(from, to, from.getCurrency(), amount);
 
 		// from and to can be the same
 		assert (MathUtil.equal(fromBalanceBefore + toBalanceBefore,
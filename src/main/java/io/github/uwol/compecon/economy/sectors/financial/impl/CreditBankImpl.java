@@ -50,10 +50,10 @@ import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
-import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.economy.security.debt.FixedRateBond;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.log.LogEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
@@ -71,24 +71,13 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 	public class BondsTradingEvent implements TimeSystemEvent {
 
 		protected double calculateBalanceSumOfPassiveSavingBankAccounts() {
-			// bank accounts of non-banks managed by this bank
-			double balanceSumOfPassiveBankAccounts = 0.0;
-
-			for (final BankAccount bankAccount : ApplicationContext
-					.getInstance().getBankAccountDAO()
-					.findAllBankAccountsManagedByBank(CreditBankImpl.this)) {
-
-				assert (bankAccount.getCurrency()
-						.equals(CreditBankImpl.this.primaryCurrency));
-
-				// passive account
-				if (bankAccount.getBalance() > 0.0
-						&& TermType.LONG_TERM.equals(bankAccount.getTermType())) {
-					// temporary assertion
-					assert (bankAccount.getOwner() instanceof Household);
-					balanceSumOfPassiveBankAccounts += bankAccount.getBalance();
-				}
-			}
+			// passive saving bank accounts of non-banks managed by this bank
+			final double balanceSumOfPassiveBankAccounts = ApplicationContext
+					.getInstance()
+					.getBankAccountDAO()
+					.getSumOfPositiveBalances(CreditBankImpl.this,
+							CreditBankImpl.this.primaryCurrency,
+							TermType.LONG_TERM);
 
 			assert (balanceSumOfPassiveBankAccounts == 0.0 || ApplicationContext
 					.getInstance().getConfiguration().householdConfig
@@ -137,6 +126,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CreditBankImpl.this);
+
 			assureBankAccountBondLoan();
 			assureBankAccountInterestTransactions();
 
@@ -209,6 +200,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CreditBankImpl.this);
+
 			assureBankAccountCentralBankMoneyReserves();
 
 			final CentralBank centralBank = ApplicationContext.getInstance()
@@ -559,6 +552,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CreditBankImpl.this);
+
 			assureBankAccountsCurrencyTrade();
 
 			// the primary currency is one of the keys of this collection of
@@ -619,6 +614,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(CreditBankImpl.this);
+
 			assureBankAccountInterestTransactions();
 			assureBankAccountCentralBankTransactions();
 
@@ -894,6 +891,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 		ApplicationContext.getInstance().getHardCashService()
 				.decrement(customer, currency, amount);
 		to.deposit(amount);
+		postToLedger(null, to, currency, amount);
 	}
 
 	public BankAccount getBankAccountCentralBankMoneyReserves() {
@@ -933,19 +931,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 	@Transient
 	private double getSumOfBorrowings(final Currency currency) {
-		double sumOfBorrowings = 0;
-
-		for (final BankAccount creditBankAccount : ApplicationContext
-				.getInstance().getBankAccountDAO()
-				.findAllBankAccountsManagedByBank(CreditBankImpl.this)) {
-			if (creditBankAccount.getCurrency() == currency) {
-				if (creditBankAccount.getBalance() > 0.0) {
-					sumOfBorrowings += creditBankAccount.getBalance();
-				}
-			}
-		}
-
-		return sumOfBorrowings;
+		return ApplicationContext.getInstance().getBankAccountDAO()
+				.getSumOfPositiveBalances(CreditBankImpl.this, currency);
 	}
 
 	@Override
@@ -954,8 +941,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 		// trade currencies on exchange markets
 		final TimeSystemEvent currencyTradeEvent = new CurrencyTradeEvent();
-		timeSystemEvents.add(currencyTradeEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(
@@ -964,36 +950,33 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 						MonthType.EVERY,
 						DayType.EVERY,
 						ApplicationContext.getInstance().getTimeSystem()
-								.suggestRandomHourType());
+								.suggestRandomHourType()));
 
 		// calculate interest on customers bank accounts
 		final TimeSystemEvent interestCalculationEvent = new DailyInterestCalculationEvent();
-		timeSystemEvents.add(interestCalculationEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(interestCalculationEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.HOUR_02);
+						DayType.EVERY, HourType.HOUR_02));
 
 		// check money reserves at the central bank
 		final TimeSystemEvent checkMoneyReservesEvent = new CheckMoneyReservesEvent();
-		timeSystemEvents.add(checkMoneyReservesEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(checkMoneyReservesEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.HOUR_12);
+						DayType.EVERY, HourType.HOUR_12));
 
 		// bonds trading
 		// should happen every hour, so that money flow is distributed over the
 		// period, leading to less volatility on markets
 		final TimeSystemEvent bondsTradingEvent = new BondsTradingEvent();
-		timeSystemEvents.add(bondsTradingEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEventEvery(bondsTradingEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.EVERY);
+						DayType.EVERY, HourType.EVERY));
 
 		// pricing behaviours
 		for (final Currency foreignCurrency : Currency.values()) {
@@ -1151,7 +1134,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 	@Override
 	@Transient
 	public void transferMoney(final BankAccount from, final BankAccount to,
-			final double amount, final String subject) {
+			final double amount, final LogEvent subject,
+			final Object subjectObject, final double subjectValue) {
 		assert (!isDeconstructed);
 
 		assureBankAccountCentralBankTransactions();
@@ -1171,7 +1155,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 		// might happen in case of bonds etc.
 		if (from != to) {
 			getLog().bank_onTransfer(from, to, from.getCurrency(), amount,
-					subject);
+					subject, subjectObject, subjectValue);
 
 			final double fromBalanceBefore = from.getBalance();
 			final double toBalanceBefore = to.getBalance();
@@ -1181,6 +1165,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 				// transfer money internally
 				from.withdraw(amount);
 				to.deposit(amount);
+				postToLedger(from, to, from.getCurrency(), amount);
 			} else { // transfer to another bank
 				final CentralBank centralBank = ApplicationContext
 						.getInstance().getAgentService()
@@ -1188,12 +1173,13 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 				// transfer money to central bank account of this bank
 				centralBank.transferMoney(from,
-						bankAccountCentralBankTransactions, amount, subject);
+						bankAccountCentralBankTransactions, amount, subject,
+						subjectObject, subjectValue);
 
 				// transfer money from central bank account of this bank to bank
 				// account at target bank
 				centralBank.transferMoney(bankAccountCentralBankTransactions,
-						to, amount, subject);
+						to, amount, subject, subjectObject, subjectValue);
 			}
 
 			assert (MathUtil.equal(
@@ -1222,6 +1208,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank,
 
 		// transfer money
 		from.withdraw(amount);
+		postToLedger(from, null, currency, amount);
 		return ApplicationContext.getInstance().getHardCashService()
 				.increment(customer, currency, amount);
 	}
@@ -296,6 +296,8 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(HouseholdImpl.this);
+
 			assert (!HouseholdImpl.this.isDeconstructed);
 
 			/*
@@ -629,8 +631,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 		// daily life at random HourType
 		final TimeSystemEvent dailyLifeEvent = new DailyLifeEvent();
-		timeSystemEvents.add(dailyLifeEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(
@@ -639,7 +640,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 						MonthType.EVERY,
 						DayType.EVERY,
 						ApplicationContext.getInstance().getTimeSystem()
-								.suggestRandomHourType());
+								.suggestRandomHourType()));
 
 		final double marketPrice = ApplicationContext.getInstance()
 				.getMarketService()
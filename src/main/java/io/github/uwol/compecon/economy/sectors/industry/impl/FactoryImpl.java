@@ -221,6 +221,8 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(FactoryImpl.this);
+
 			assureBankAccountTransactions();
 
 			getLog().factory_AmountSold(FactoryImpl.this.primaryCurrency,
@@ -351,8 +353,7 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 
 		// production event at random HourType
 		final TimeSystemEvent productionEvent = new ProductionEvent();
-		timeSystemEvents.add(productionEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(
@@ -361,7 +362,7 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 						MonthType.EVERY,
 						DayType.EVERY,
 						ApplicationContext.getInstance().getTimeSystem()
-								.suggestRandomHourType());
+								.suggestRandomHourType()));
 
 		final double marketPrice = ApplicationContext.getInstance()
 				.getMarketService()
@@ -46,6 +46,7 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.economy.security.debt.FixedRateBond;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.log.LogEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
@@ -63,6 +64,8 @@ public class StateImpl extends AgentImpl implements State {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(StateImpl.this);
+
 			transferBudgetToHouseholds();
 		}
 
@@ -189,13 +192,12 @@ public class StateImpl extends AgentImpl implements State {
 		 * state via state bonds.
 		 */
 		final TimeSystemEvent governmentTransferEvent = new GovernmentTransferEvent();
-		timeSystemEvents.add(governmentTransferEvent);
 
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEventEvery(governmentTransferEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.EVERY);
+						DayType.EVERY, HourType.EVERY));
 
 		final double initialInterestRate = ApplicationContext.getInstance()
 				.getAgentService().findCentralBank(primaryCurrency)
@@ -249,7 +251,7 @@ public class StateImpl extends AgentImpl implements State {
 				.getManagingBank()
 				.transferMoney(buyerBankAccountDelegate.getBankAccount(),
 						bankAccountTransactions, faceValue,
-						"payment for " + fixedRateBond);
+						LogEvent.TRANSFER_PAYMENT, fixedRateBond, 0.0);
 
 		// transfer bond
 		ApplicationContext.getInstance().getPropertyService()
@@ -257,6 +257,8 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(TraderImpl.this);
+
 			assureBankAccountTransactions();
 			assureBankAccountsGoodTrade();
 
@@ -330,8 +332,7 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 
 		// arbitrage trading event every hour
 		final TimeSystemEvent arbitrageTradingEvent = new ArbitrageTradingEvent();
-		timeSystemEvents.add(arbitrageTradingEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(
@@ -340,7 +341,7 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 						MonthType.EVERY,
 						DayType.EVERY,
 						ApplicationContext.getInstance().getTimeSystem()
-								.suggestRandomHourType());
+								.suggestRandomHourType()));
 
 		// initialize good trade bank account delegates
 		for (final Currency currency : Currency.values()) {
@@ -19,8 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.security.debt.impl;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -34,6 +34,7 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.security.debt.Bond;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 
 @Entity
@@ -88,8 +89,12 @@ public abstract class BondImpl extends PropertyIssuedImpl implements Bond {
 
 	protected int termInYears = 1;
 
+	/**
+	 * handles of the registrations in the time system, by which they are
+	 * cancelled without a lookup
+	 */
 	@Transient
-	protected Set<TimeSystemEvent> timeSystemEvents = new HashSet<TimeSystemEvent>();
+	protected final List<TimeSystemEventHandle> timeSystemEventHandles = new ArrayList<TimeSystemEventHandle>();
 
 	@Override
 	protected void assertValidIssuer() {
@@ -112,8 +117,10 @@ public abstract class BondImpl extends PropertyIssuedImpl implements Bond {
 		super.deconstruct();
 
 		// deregister from TimeSystem
-		ApplicationContext.getInstance().getTimeSystem()
-				.removeEvents(timeSystemEvents);
+		for (final TimeSystemEventHandle timeSystemEventHandle : timeSystemEventHandles) {
+			timeSystemEventHandle.cancel();
+		}
+		timeSystemEventHandles.clear();
 	}
 
 	@Override
@@ -154,8 +161,7 @@ public abstract class BondImpl extends PropertyIssuedImpl implements Bond {
 		// repay face value event;
 		// has to be at HOUR_01, so that at HOUR_00 the last coupon can be payed
 		final TimeSystemEvent transferFaceValueEvent = new TransferFaceValueEvent();
-		timeSystemEvents.add(transferFaceValueEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(
@@ -166,7 +172,7 @@ public abstract class BondImpl extends PropertyIssuedImpl implements Bond {
 						ApplicationContext.getInstance().getTimeSystem()
 								.getCurrentMonthType(),
 						ApplicationContext.getInstance().getTimeSystem()
-								.getCurrentDayType(), HourType.HOUR_01);
+								.getCurrentDayType(), HourType.HOUR_01));
 	}
 
 	@Override
@@ -147,12 +147,11 @@ public class FixedRateBondImpl extends BondImpl implements FixedRateBond,
 		// transfer coupon event; has to be HOUR_00, so that the coupon is
 		// payed before possible deconstruction at HOUR_01
 		final TimeSystemEvent transferCouponEvent = new TransferCouponEvent();
-		timeSystemEvents.add(transferCouponEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(transferCouponEvent, -1, MonthType.EVERY,
-						DayType.EVERY, HourType.HOUR_00);
+						DayType.EVERY, HourType.HOUR_00));
 	}
 
 	@Override
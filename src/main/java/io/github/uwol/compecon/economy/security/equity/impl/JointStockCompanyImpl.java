@@ -63,6 +63,8 @@ public abstract class JointStockCompanyImpl extends AgentImpl implements
 
 		@Override
 		public void onEvent() {
+			getLog().setAgentCurrentlyActive(JointStockCompanyImpl.this);
+
 			final List<Property> propertiesIssued = ApplicationContext
 					.getInstance()
 					.getPropertyService()
@@ -179,12 +181,11 @@ public abstract class JointStockCompanyImpl extends AgentImpl implements
 
 		// pay dividend; every hour, so that no money is hoarded
 		final TimeSystemEvent payDividendEvent = new PayDividendEvent();
-		timeSystemEvents.add(payDividendEvent);
-		ApplicationContext
+		timeSystemEventHandles.add(ApplicationContext
 				.getInstance()
 				.getTimeSystem()
 				.addEvent(payDividendEvent, -1, MonthType.EVERY, DayType.EVERY,
-						HourType.EVERY);
+						HourType.EVERY));
 	}
 
 	@Override
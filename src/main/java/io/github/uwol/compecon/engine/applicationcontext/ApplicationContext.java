@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.applicationcontext;
 
+import io.github.uwol.compecon.economy.bookkeeping.Ledger;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.engine.dao.BankAccountDAO;
 import io.github.uwol.compecon.engine.dao.CentralBankDAO;
@@ -53,6 +54,9 @@ import io.github.uwol.compecon.engine.service.HardCashService;
 import io.github.uwol.compecon.engine.service.PropertyService;
 import io.github.uwol.compecon.engine.service.SettlementMarketService;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporter;
+import io.github.uwol.compecon.engine.statistics.store.PeriodDataStore;
+import io.github.uwol.compecon.engine.statistics.tape.TradeTape;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 
 public class ApplicationContext {
@@ -110,6 +114,8 @@ public class ApplicationContext {
 
 	protected InputOutputModel inputOutputModel;
 
+	protected Ledger ledger;
+
 	protected Log log;
 
 	protected MarketOrderDAO marketOrderDAO;
@@ -120,6 +126,10 @@ public class ApplicationContext {
 
 	protected ModelRegistry modelRegistry;
 
+	protected PeriodDataExporter periodDataExporter;
+
+	protected PeriodDataStore periodDataStore;
+
 	protected PricingBehaviourFactory pricingBehaviourFactory;
 
 	protected PropertyDAO propertyDAO;
@@ -140,6 +150,8 @@ public class ApplicationContext {
 
 	protected TimeSystem timeSystem;
 
+	protected TradeTape tradeTape;
+
 	protected TraderDAO traderDAO;
 
 	protected TraderFactory traderFactory;
@@ -224,6 +236,13 @@ public class ApplicationContext {
 		return inputOutputModel;
 	}
 
+	/**
+	 * returns the ledger of the banks, or null if not active.
+	 */
+	public Ledger getLedger() {
+		return ledger;
+	}
+
 	public Log getLog() {
 		return log;
 	}
@@ -244,6 +263,18 @@ public class ApplicationContext {
 		return modelRegistry;
 	}
 
+	/**
+	 * returns the store of the full period data history, or null if not
+	 * active.
+	 */
+	public PeriodDataExporter getPeriodDataExporter() {
+		return periodDataExporter;
+	}
+
+	public PeriodDataStore getPeriodDataStore() {
+		return periodDataStore;
+	}
+
 	public PricingBehaviourFactory getPricingBehaviourFactory() {
 		return pricingBehaviourFactory;
 	}
@@ -284,6 +315,13 @@ public class ApplicationContext {
 		return timeSystem;
 	}
 
+	/**
+	 * returns the trade tape, or null if not active.
+	 */
+	public TradeTape getTradeTape() {
+		return tradeTape;
+	}
+
 	public TraderDAO getTraderDAO() {
 		return traderDAO;
 	}
@@ -293,6 +331,23 @@ public class ApplicationContext {
 	}
 
 	public void reset() {
+		if (modelRegistry != null) {
+			modelRegistry.shutdown();
+		}
+
+		// after the period data pipeline has been drained
+		if (periodDataExporter != null) {
+			periodDataExporter.close();
+		}
+
+		if (periodDataStore != null) {
+			periodDataStore.close();
+		}
+
+		if (tradeTape != null) {
+			tradeTape.close();
+		}
+
 		instance = null;
 
 		System.gc();
@@ -380,6 +435,10 @@ public class ApplicationContext {
 		this.inputOutputModel = inputOutputModel;
 	}
 
+	public void setLedger(final Ledger ledger) {
+		this.ledger = ledger;
+	}
+
 	public void setLog(final Log log) {
 		this.log = log;
 	}
@@ -401,6 +460,15 @@ public class ApplicationContext {
 		this.modelRegistry = modelRegistry;
 	}
 
+	public void setPeriodDataExporter(
+			final PeriodDataExporter periodDataExporter) {
+		this.periodDataExporter = periodDataExporter;
+	}
+
+	public void setPeriodDataStore(final PeriodDataStore periodDataStore) {
+		this.periodDataStore = periodDataStore;
+	}
+
 	public void setPricingBehaviourFactory(
 			final PricingBehaviourFactory pricingBehaviourFactory) {
 		this.pricingBehaviourFactory = pricingBehaviourFactory;
@@ -444,6 +512,10 @@ public class ApplicationContext {
 		this.timeSystem = timeSystem;
 	}
 
+	public void setTradeTape(final TradeTape tradeTape) {
+		this.tradeTape = tradeTape;
+	}
+
 	public void setTraderDAO(final TraderDAO traderDAO) {
 		this.traderDAO = traderDAO;
 	}
@@ -19,8 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.applicationcontext;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 
+import io.github.uwol.compecon.economy.bookkeeping.impl.LedgerImpl;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelInterdependenciesImpl;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelMinimalImpl;
@@ -49,6 +52,9 @@ import io.github.uwol.compecon.engine.service.impl.HardCashServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.PropertyServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.SettlementMarketServiceImpl;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporter;
+import io.github.uwol.compecon.engine.statistics.store.PeriodDataStore;
+import io.github.uwol.compecon.engine.statistics.tape.TradeTape;
 import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
 
 public class ApplicationContextFactory {
@@ -210,6 +216,45 @@ public class ApplicationContextFactory {
 
 		ApplicationContext.getInstance().setInputOutputModel(inputOutputModel);
 
+		/*
+		 * ledger
+		 */
+		if (configuration.ledgerConfig.getActive()) {
+			ApplicationContext.getInstance().setLedger(
+					new LedgerImpl(configuration.ledgerConfig
+							.getJournalCapacity()));
+		}
+
+		/*
+		 * period data store
+		 */
+		if (configuration.periodDataStoreConfig.getActive()) {
+			ApplicationContext.getInstance().setPeriodDataStore(
+					new PeriodDataStore(configuration.periodDataStoreConfig
+							.getMemoryBudgetInMegaBytes() * 1024L * 1024L));
+		}
+
+		/*
+		 * period data exporter
+		 */
+		ApplicationContext.getInstance().setPeriodDataExporter(
+				new PeriodDataExporter());
+
+		/*
+		 * trade tape
+		 */
+		if (configuration.tradeTapeConfig.getActive()) {
+			final String directory = configuration.tradeTapeConfig
+					.getDirectory();
+			final File tradeTapeDirectory = directory.isEmpty() ? Files
+					.createTempDirectory("compecon-trade-tape").toFile()
+					: new File(directory);
+			ApplicationContext.getInstance().setTradeTape(
+					new TradeTape(tradeTapeDirectory,
+							configuration.tradeTapeConfig
+									.getSegmentSizeInMegaBytes() * 1024L * 1024L));
+		}
+
 		/*
 		 * model registry
 		 */
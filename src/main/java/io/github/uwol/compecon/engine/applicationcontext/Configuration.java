@@ -26,6 +26,7 @@ import java.util.Properties;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBus.StatisticsEventBusPolicy;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 
 public class Configuration {
@@ -218,8 +219,60 @@ public class Configuration {
 	}
 
 	public class DashboardConfig {
+		public Boolean agentResourceAccounting;
+
+		public Boolean concurrentAccumulators;
+
+		public Double incomeDistributionRelativeAccuracy;
+
 		public Integer logNumberOfAgentsLogSize;
 
+		public Boolean pipelinedPeriodRollover;
+
+		public Integer statisticsEventBusCapacity;
+
+		public Integer statisticsEventBusConsumers;
+
+		public StatisticsEventBusPolicy statisticsEventBusPolicy;
+
+		/**
+		 * if true, CPU time and allocated bytes of the simulation thread are
+		 * attributed to the agent currently active
+		 */
+		public boolean getAgentResourceAccounting() {
+			if (agentResourceAccounting == null) {
+				agentResourceAccounting = Boolean.parseBoolean(configFile
+						.getProperty("dashboard.agentResourceAccounting"));
+			}
+			return agentResourceAccounting;
+		}
+
+		/**
+		 * if true, period data time series models accumulate into per-thread
+		 * cells, which are combined deterministically at the end of each
+		 * period
+		 */
+		public boolean getConcurrentAccumulators() {
+			if (concurrentAccumulators == null) {
+				concurrentAccumulators = Boolean.parseBoolean(configFile
+						.getProperty("dashboard.concurrentAccumulators"));
+			}
+			return concurrentAccumulators;
+		}
+
+		/**
+		 * relative accuracy of the quantile sketch estimating the income
+		 * distribution; 0 for exact evaluation by sorting all incomes
+		 */
+		public double getIncomeDistributionRelativeAccuracy() {
+			if (incomeDistributionRelativeAccuracy == null) {
+				incomeDistributionRelativeAccuracy = Double
+						.parseDouble(configFile
+								.getProperty("dashboard.incomeDistribution.relativeAccuracy"));
+			}
+			return incomeDistributionRelativeAccuracy;
+		}
+
 		public int getLogNumberOfAgentsLogSize() {
 			if (logNumberOfAgentsLogSize == null) {
 				logNumberOfAgentsLogSize = Integer.parseInt(configFile
@@ -227,6 +280,55 @@ public class Configuration {
 			}
 			return logNumberOfAgentsLogSize;
 		}
+
+		/**
+		 * if true, statistics of a finished day are aggregated on a
+		 * background thread, while the simulation proceeds with the next
+		 * day; listeners then must not read the time system
+		 */
+		public boolean getPipelinedPeriodRollover() {
+			if (pipelinedPeriodRollover == null) {
+				pipelinedPeriodRollover = Boolean.parseBoolean(configFile
+						.getProperty("dashboard.pipelinedPeriodRollover"));
+			}
+			return pipelinedPeriodRollover;
+		}
+
+		/**
+		 * slots per ring buffer of the statistics event bus
+		 */
+		public int getStatisticsEventBusCapacity() {
+			if (statisticsEventBusCapacity == null) {
+				statisticsEventBusCapacity = Integer.parseInt(configFile
+						.getProperty("dashboard.statisticsEventBus.capacity"));
+			}
+			return statisticsEventBusCapacity;
+		}
+
+		/**
+		 * number of threads applying statistics events to the model registry
+		 */
+		public int getStatisticsEventBusConsumers() {
+			if (statisticsEventBusConsumers == null) {
+				statisticsEventBusConsumers = Integer.parseInt(configFile
+						.getProperty("dashboard.statisticsEventBus.consumers"));
+			}
+			return statisticsEventBusConsumers;
+		}
+
+		/**
+		 * SYNCHRONOUS applies statistics events on the simulation thread;
+		 * BLOCK and DROP apply them on consumer threads, and either block the
+		 * simulation thread or drop events, if a ring buffer is full
+		 */
+		public StatisticsEventBusPolicy getStatisticsEventBusPolicy() {
+			if (statisticsEventBusPolicy == null) {
+				statisticsEventBusPolicy = StatisticsEventBusPolicy
+						.valueOf(configFile
+								.getProperty("dashboard.statisticsEventBus.policy"));
+			}
+			return statisticsEventBusPolicy;
+		}
 	}
 
 	public class FactoryConfig {
@@ -421,6 +523,46 @@ public class Configuration {
 		}
 	}
 
+	public class LedgerConfig {
+
+		public Boolean active;
+
+		public Integer journalCapacity;
+
+		public boolean getActive() {
+			if (active == null) {
+				active = Boolean.parseBoolean(configFile
+						.getProperty("ledger.active"));
+			}
+			return active;
+		}
+
+		public int getJournalCapacity() {
+			if (journalCapacity == null) {
+				journalCapacity = Integer.parseInt(configFile
+						.getProperty("ledger.journalCapacity"));
+			}
+			return journalCapacity;
+		}
+	}
+
+	public class MarketConfig {
+
+		public Boolean latencyRecording;
+
+		/**
+		 * if true, latencies of market operations are recorded in histograms
+		 * by commodity type and order book depth
+		 */
+		public boolean getLatencyRecording() {
+			if (latencyRecording == null) {
+				latencyRecording = Boolean.parseBoolean(configFile
+						.getProperty("market.latencyRecording"));
+			}
+			return latencyRecording;
+		}
+	}
+
 	public class MathConfig {
 
 		public Double initializationValueForInputFactorsNonZero;
@@ -445,6 +587,37 @@ public class Configuration {
 		}
 	}
 
+	public class PeriodDataStoreConfig {
+
+		public Boolean active;
+
+		public Integer memoryBudgetInMegaBytes;
+
+		/**
+		 * if true, the full history of period data is kept in compressed
+		 * blocks instead of the latest periods only
+		 */
+		public boolean getActive() {
+			if (active == null) {
+				active = Boolean.parseBoolean(configFile
+						.getProperty("periodDataStore.active"));
+			}
+			return active;
+		}
+
+		/**
+		 * compressed blocks exceeding the memory budget are spilled to a
+		 * memory-mapped file
+		 */
+		public int getMemoryBudgetInMegaBytes() {
+			if (memoryBudgetInMegaBytes == null) {
+				memoryBudgetInMegaBytes = Integer.parseInt(configFile
+						.getProperty("periodDataStore.memoryBudgetInMegaBytes"));
+			}
+			return memoryBudgetInMegaBytes;
+		}
+	}
+
 	public class PricingBehaviourConfig {
 
 		public Double defaultInitialPrice;
@@ -518,8 +691,64 @@ public class Configuration {
 
 	public class TimeSystemConfig {
 
+		public Boolean costWeightedHourAllocation;
+
+		public Boolean eventDriven;
+
+		public Integer eventProfileIntervalInDays;
+
+		public Boolean eventProfiling;
+
 		public Integer initializationPhaseInDays;
 
+		/**
+		 * if true, dispatch costs of events are measured, and hours are
+		 * suggested by measured load instead of the number of registrations;
+		 * renders the simulation timing-dependent
+		 */
+		public boolean getCostWeightedHourAllocation() {
+			if (costWeightedHourAllocation == null) {
+				costWeightedHourAllocation = Boolean.parseBoolean(configFile
+						.getProperty("timeSystem.costWeightedHourAllocation"));
+			}
+			return costWeightedHourAllocation;
+		}
+
+		/**
+		 * if true, the simulation runner skips hours without registered
+		 * events
+		 */
+		public boolean getEventDriven() {
+			if (eventDriven == null) {
+				eventDriven = Boolean.parseBoolean(configFile
+						.getProperty("timeSystem.eventDriven"));
+			}
+			return eventDriven;
+		}
+
+		/**
+		 * number of days between printed event profiles; 0 for none
+		 */
+		public int getEventProfileIntervalInDays() {
+			if (eventProfileIntervalInDays == null) {
+				eventProfileIntervalInDays = Integer.parseInt(configFile
+						.getProperty("timeSystem.eventProfileIntervalInDays"));
+			}
+			return eventProfileIntervalInDays;
+		}
+
+		/**
+		 * if true, wall time and allocations of events are recorded per event
+		 * class and hour of the day
+		 */
+		public boolean getEventProfiling() {
+			if (eventProfiling == null) {
+				eventProfiling = Boolean.parseBoolean(configFile
+						.getProperty("timeSystem.eventProfiling"));
+			}
+			return eventProfiling;
+		}
+
 		public int getInitializationPhaseInDays() {
 			if (initializationPhaseInDays == null) {
 				initializationPhaseInDays = Integer.parseInt(configFile
@@ -529,6 +758,45 @@ public class Configuration {
 		}
 	}
 
+	public class TradeTapeConfig {
+
+		public Boolean active;
+
+		public String directory;
+
+		public Integer segmentSizeInMegaBytes;
+
+		/**
+		 * if true, all market fills are recorded on a binary trade tape
+		 */
+		public boolean getActive() {
+			if (active == null) {
+				active = Boolean.parseBoolean(configFile
+						.getProperty("tradeTape.active"));
+			}
+			return active;
+		}
+
+		/**
+		 * directory of the segment files; a temporary directory, if empty
+		 */
+		public String getDirectory() {
+			if (directory == null) {
+				directory = configFile.getProperty("tradeTape.directory")
+						.trim();
+			}
+			return directory;
+		}
+
+		public int getSegmentSizeInMegaBytes() {
+			if (segmentSizeInMegaBytes == null) {
+				segmentSizeInMegaBytes = Integer.parseInt(configFile
+						.getProperty("tradeTape.segmentSizeInMegaBytes"));
+			}
+			return segmentSizeInMegaBytes;
+		}
+	}
+
 	public class TraderConfig {
 
 		public Double arbitrageMargin;
@@ -584,14 +852,22 @@ public class Configuration {
 
 	public final JointStockCompanyConfig jointStockCompanyConfig = new JointStockCompanyConfig();
 
+	public final LedgerConfig ledgerConfig = new LedgerConfig();
+
+	public final MarketConfig marketConfig = new MarketConfig();
+
 	public final MathConfig mathConfig = new MathConfig();
 
+	public final PeriodDataStoreConfig periodDataStoreConfig = new PeriodDataStoreConfig();
+
 	public final PricingBehaviourConfig pricingBehaviourConfig = new PricingBehaviourConfig();
 
 	public final StateConfig stateConfig = new StateConfig();
 
 	public final TimeSystemConfig timeSystemConfig = new TimeSystemConfig();
 
+	public final TradeTapeConfig tradeTapeConfig = new TradeTapeConfig();
+
 	public final TraderConfig traderConfig = new TraderConfig();
 
 	public Configuration(final String configFilename) throws IOException {
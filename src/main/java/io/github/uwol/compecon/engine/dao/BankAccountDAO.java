@@ -23,6 +23,7 @@ import java.util.List;
 
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
@@ -55,4 +56,34 @@ public interface BankAccountDAO extends GenericDAO<BankAccount> {
 			final Bank managingBank);
 
 	public List<BankAccount> findAllBankAccountsOfAgent(final BankCustomer owner);
+
+	/**
+	 * number of bank accounts managed by the bank, maintained incrementally.
+	 */
+	public int getNumberOfBankAccounts(final Bank managingBank,
+			final Currency currency);
+
+	/**
+	 * sum of the negative balances of bank accounts managed by the bank, i.e.
+	 * the loans given by the bank; maintained incrementally.
+	 */
+	public double getSumOfNegativeBalances(final Bank managingBank,
+			final Currency currency);
+
+	/**
+	 * sum of the positive balances of bank accounts managed by the bank, i.e.
+	 * the borrowings of the bank; maintained incrementally.
+	 */
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency);
+
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency, final TermType termType);
+
+	/**
+	 * has to be called by bank accounts after each change of their balance, so
+	 * that the running totals are kept up to date.
+	 */
+	public void onBalanceChange(final BankAccount bankAccount,
+			final double balanceBefore);
 }
@@ -23,6 +23,8 @@ import java.util.List;
 
 public interface GenericDAO<T> {
 
+	public int count();
+
 	/**
 	 * WARNING: Should only be called from factory classes, which ensure a
 	 * subsequent Hibernate flush.
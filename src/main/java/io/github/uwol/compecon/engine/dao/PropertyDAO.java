@@ -40,6 +40,18 @@ public interface PropertyDAO extends GenericDAO<Property> {
 			final PropertyOwner propertyOwner,
 			final Class<? extends Property> propertyClass);
 
+	/**
+	 * face value sum of the bonds owned by the property owner, excluding
+	 * unsold bonds issued by the property owner itself.
+	 */
+	public double getFaceValueSumOfBondAssets(final PropertyOwner propertyOwner);
+
+	/**
+	 * face value sum of the bonds issued by the agent and owned by other
+	 * property owners.
+	 */
+	public double getFaceValueSumOfBondLiabilities(final Agent issuer);
+
 	/**
 	 * WARNING: Should only be called from the property service, which ensures a
 	 * subsequent Hibernate flush.
@@ -23,19 +23,43 @@ import java.util.List;
 
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.dao.BankAccountDAO;
+import io.github.uwol.compecon.engine.dao.util.BankAccountBalanceTotals;
 
 public class BankAccountDAOImpl extends HibernateDAOImpl<BankAccount> implements
 		BankAccountDAO {
 
+	/**
+	 * running totals, initialized per bank by a single query on first access
+	 */
+	protected final BankAccountBalanceTotals balanceTotals = new BankAccountBalanceTotals();
+
+	protected void assureInitializedBalanceTotals(final Bank managingBank) {
+		if (!balanceTotals.isInitialized(managingBank)) {
+			balanceTotals.assureInitialized(managingBank);
+
+			for (final BankAccount bankAccount : findAllBankAccountsManagedByBank(managingBank)) {
+				balanceTotals.add(bankAccount);
+			}
+		}
+	}
+
+	@Override
+	public void delete(final BankAccount bankAccount) {
+		balanceTotals.remove(bankAccount);
+		super.delete(bankAccount);
+	}
+
 	@Override
 	public void deleteAllBankAccounts(final Bank managingBank) {
 		final List<BankAccount> bankAccounts = findAllBankAccountsManagedByBank(managingBank);
 		for (final BankAccount bankAccount : bankAccounts) {
 			delete(bankAccount);
 		}
+		balanceTotals.remove(managingBank);
 	}
 
 	@Override
@@ -84,4 +108,49 @@ public class BankAccountDAOImpl extends HibernateDAOImpl<BankAccount> implements
 		final String hql = "FROM BankAccountImpl ba WHERE ba.owner = :owner";
 		return getSession().createQuery(hql).setEntity("owner", owner).list();
 	}
+
+	@Override
+	public int getNumberOfBankAccounts(final Bank managingBank,
+			final Currency currency) {
+		assureInitializedBalanceTotals(managingBank);
+		return balanceTotals.getNumberOfBankAccounts(managingBank, currency);
+	}
+
+	@Override
+	public double getSumOfNegativeBalances(final Bank managingBank,
+			final Currency currency) {
+		assureInitializedBalanceTotals(managingBank);
+		return balanceTotals.getSumOfNegativeBalances(managingBank, currency);
+	}
+
+	@Override
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency) {
+		assureInitializedBalanceTotals(managingBank);
+		return balanceTotals.getSumOfPositiveBalances(managingBank, currency);
+	}
+
+	@Override
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency, final TermType termType) {
+		assureInitializedBalanceTotals(managingBank);
+		return balanceTotals.getSumOfPositiveBalances(managingBank, currency,
+				termType);
+	}
+
+	@Override
+	public void onBalanceChange(final BankAccount bankAccount,
+			final double balanceBefore) {
+		balanceTotals.onBalanceChange(bankAccount, balanceBefore);
+	}
+
+	@Override
+	public void save(final BankAccount bankAccount) {
+		super.save(bankAccount);
+
+		// totals of banks not initialized yet are queried on first access
+		if (balanceTotals.isInitialized(bankAccount.getManagingBank())) {
+			balanceTotals.add(bankAccount);
+		}
+	}
 }
@@ -40,6 +40,13 @@ public class HibernateDAOImpl<T> implements GenericDAO<T> {
 				.getGenericSuperclass()).getActualTypeArguments()[0];
 	}
 
+	@Override
+	public int count() {
+		final Criteria crit = getSession().createCriteria(persistentClass);
+		crit.setProjection(Projections.rowCount());
+		return ((Number) crit.uniqueResult()).intValue();
+	}
+
 	@Override
 	public void delete(final T entity) {
 		getSession().delete(entity);
@@ -61,15 +68,13 @@ public class HibernateDAOImpl<T> implements GenericDAO<T> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public T findRandom() {
-		Criteria crit = getSession().createCriteria(persistentClass);
-		crit.setProjection(Projections.rowCount());
-		final int count = ((Number) crit.uniqueResult()).intValue();
+		final int count = count();
 
 		if (0 != count) {
 			final int index = ApplicationContext.getInstance()
 					.getRandomNumberGenerator().nextInt(count);
 
-			crit = getSession().createCriteria(persistentClass);
+			final Criteria crit = getSession().createCriteria(persistentClass);
 			final T entity = (T) crit.setFirstResult(index).setMaxResults(1)
 					.uniqueResult();
 			return entity;
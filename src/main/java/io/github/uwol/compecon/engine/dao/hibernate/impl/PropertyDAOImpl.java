@@ -21,6 +21,7 @@ package io.github.uwol.compecon.engine.dao.hibernate.impl;
 
 import java.util.List;
 
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
 import io.github.uwol.compecon.economy.agent.Agent;
@@ -29,6 +30,7 @@ import io.github.uwol.compecon.economy.property.PropertyIssued;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
 import io.github.uwol.compecon.economy.property.impl.PropertyImpl;
 import io.github.uwol.compecon.economy.property.impl.PropertyIssuedImpl;
+import io.github.uwol.compecon.economy.security.debt.impl.BondImpl;
 import io.github.uwol.compecon.engine.dao.PropertyDAO;
 
 public class PropertyDAOImpl extends HibernateDAOImpl<Property> implements
@@ -66,6 +68,26 @@ public class PropertyDAOImpl extends HibernateDAOImpl<Property> implements
 				.add(Restrictions.eq("owner", propertyOwner)).list();
 	}
 
+	@Override
+	public double getFaceValueSumOfBondAssets(final PropertyOwner propertyOwner) {
+		final Number faceValueSum = (Number) getSession()
+				.createCriteria(BondImpl.class)
+				.add(Restrictions.eq("owner", propertyOwner))
+				.add(Restrictions.ne("issuer", propertyOwner))
+				.setProjection(Projections.sum("faceValue")).uniqueResult();
+		return faceValueSum == null ? 0.0 : faceValueSum.doubleValue();
+	}
+
+	@Override
+	public double getFaceValueSumOfBondLiabilities(final Agent issuer) {
+		final Number faceValueSum = (Number) getSession()
+				.createCriteria(BondImpl.class)
+				.add(Restrictions.eq("issuer", issuer))
+				.add(Restrictions.ne("owner", issuer))
+				.setProjection(Projections.sum("faceValue")).uniqueResult();
+		return faceValueSum == null ? 0.0 : faceValueSum.doubleValue();
+	}
+
 	@Override
 	public void transferProperty(final PropertyOwner oldOwner,
 			final PropertyOwner newOwner, final Property property) {
@@ -19,91 +19,65 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class AbstractDoubleIndexedInMemoryDAOImpl<K, V> extends
 		AbstractIndexedInMemoryDAOImpl<K, V> {
 
-	private final Map<K, List<V>> indexedInstances = new HashMap<K, List<V>>();
+	private final ConcurrentMap<K, Set<V>> indexedInstances = new ConcurrentHashMap<K, Set<V>>();
 
-	private final Map<V, List<K>> instanceIndexedKeys = new HashMap<V, List<K>>();
+	private final ConcurrentMap<V, Set<K>> instanceIndexedKeys = new ConcurrentHashMap<V, Set<K>>();
 
 	/*
 	 * get instances for key
 	 */
 
 	@Override
-	public synchronized void delete(final V instance) {
+	public void delete(final V instance) {
 		final List<K> secondKeys = getSecondKeysForInstance(instance);
 		if (secondKeys != null) {
-			for (final K secondKey : new ArrayList<K>(secondKeys)) {
-				final List<V> indexedInstanceForKey = this.indexedInstances
-						.get(secondKey);
-				if (indexedInstanceForKey != null) {
-					indexedInstanceForKey.remove(instance);
-					if (indexedInstanceForKey.isEmpty()) {
-						this.indexedInstances.remove(secondKey);
-					}
-				}
-
-				final List<K> instanceIndexedKeysForInstance = this.instanceIndexedKeys
-						.get(instance);
-				if (instanceIndexedKeysForInstance != null) {
-					instanceIndexedKeysForInstance.remove(secondKey);
-					if (instanceIndexedKeysForInstance.isEmpty()) {
-						this.instanceIndexedKeys.remove(instance);
-					}
-				}
+			for (final K secondKey : secondKeys) {
+				removeFromIndex(this.indexedInstances, this.locks, secondKey,
+						instance);
+				removeFromIndex(this.instanceIndexedKeys, this.locks,
+						instance, secondKey);
 			}
 		}
 
 		super.delete(instance);
 	}
 
-	protected synchronized List<K> getFirstKeysForInstance(final V instance) {
+	protected List<K> getFirstKeysForInstance(final V instance) {
 		return super.getKeysForInstance(instance);
 	}
 
-	protected synchronized List<V> getInstancesForFirstKey(final K firstKey) {
+	protected List<V> getInstancesForFirstKey(final K firstKey) {
 		return super.getInstancesForKey(firstKey);
 	}
 
-	protected synchronized List<V> getInstancesForSecondKey(final K secondKey) {
-		return this.indexedInstances.get(secondKey);
+	protected List<V> getInstancesForSecondKey(final K secondKey) {
+		return getFromIndex(this.indexedInstances, this.locks, secondKey);
 	}
 
 	/*
 	 * actions
 	 */
 
-	protected synchronized List<K> getSecondKeysForInstance(final V instance) {
-		return this.instanceIndexedKeys.get(instance);
+	protected List<K> getSecondKeysForInstance(final V instance) {
+		return getFromIndex(this.instanceIndexedKeys, this.locks, instance);
 	}
 
-	protected synchronized void save(final K firstKey, final K secondKey,
-			final V instance) {
+	protected void save(final K firstKey, final K secondKey, final V instance) {
 		if (secondKey != null && instance != null) {
 			// store the value
-			List<V> indexedInstancesForKey = this.indexedInstances
-					.get(secondKey);
-			if (indexedInstancesForKey == null) {
-				indexedInstancesForKey = new ArrayList<V>();
-				this.indexedInstances.put(secondKey, indexedInstancesForKey);
-			}
-			indexedInstancesForKey.add(instance);
+			addToIndex(this.indexedInstances, this.locks, secondKey, instance);
 
 			// store the key
-			List<K> instanceIndexedKeysForInstance = this.instanceIndexedKeys
-					.get(instance);
-			if (instanceIndexedKeysForInstance == null) {
-				instanceIndexedKeysForInstance = new ArrayList<K>();
-				this.instanceIndexedKeys.put(instance,
-						instanceIndexedKeysForInstance);
-			}
-			instanceIndexedKeysForInstance.add(secondKey);
+			addToIndex(this.instanceIndexedKeys, this.locks, instance,
+					secondKey);
 		}
 
 		super.save(firstKey, instance);
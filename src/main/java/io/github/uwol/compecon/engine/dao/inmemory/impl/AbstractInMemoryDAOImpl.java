@@ -20,53 +20,108 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.GenericDAO;
 
+/**
+ * Reads are lock-free, as instances are held in concurrent maps; writes on
+ * different instances do not block each other. Additionally, instances are
+ * held in a dense list with swap-remove, so that random instances are drawn
+ * in O(1) without copying all instances.
+ */
 public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T> {
 
-	protected BiMap<Integer, T> instancesByIds = HashBiMap.create();
+	protected final ConcurrentMap<T, Integer> idsByInstances = new ConcurrentHashMap<T, Integer>();
+
+	protected final ConcurrentMap<Integer, T> instancesByIds = new ConcurrentHashMap<Integer, T>();
+
+	protected final AtomicInteger lastId = new AtomicInteger();
+
+	/**
+	 * guarded by itself
+	 */
+	protected final List<T> randomAccessInstances = new ArrayList<T>();
+
+	/**
+	 * positions of the instances in {@link #randomAccessInstances}; guarded
+	 * by {@link #randomAccessInstances}
+	 */
+	protected final Map<T, Integer> randomAccessPositions = new HashMap<T, Integer>();
 
-	protected int lastId = 0;
+	@Override
+	public int count() {
+		return this.instancesByIds.size();
+	}
 
 	@Override
-	public synchronized void delete(final T entity) {
-		this.instancesByIds.inverse().remove(entity);
+	public void delete(final T entity) {
+		final Integer id = this.idsByInstances.remove(entity);
+		if (id != null) {
+			this.instancesByIds.remove(id);
+
+			synchronized (randomAccessInstances) {
+				// move the last instance into the gap
+				final int position = randomAccessPositions.remove(entity);
+				final T lastInstance = randomAccessInstances
+						.remove(randomAccessInstances.size() - 1);
+				if (position < randomAccessInstances.size()) {
+					randomAccessInstances.set(position, lastInstance);
+					randomAccessPositions.put(lastInstance, position);
+				}
+			}
+		}
 	}
 
 	@Override
-	public synchronized T find(final int id) {
+	public T find(final int id) {
 		return this.instancesByIds.get(id);
 	}
 
 	@Override
-	public synchronized List<T> findAll() {
+	public List<T> findAll() {
 		return new ArrayList<T>(this.instancesByIds.values());
 	}
 
 	@Override
-	public synchronized T findRandom() {
-		final List<Integer> keys = new ArrayList<Integer>(
-				this.instancesByIds.keySet());
-		final int index = ApplicationContext.getInstance()
-				.getRandomNumberGenerator().nextInt(keys.size());
-		final int id = keys.get(index);
-		return this.instancesByIds.get(id);
+	public T findRandom() {
+		synchronized (randomAccessInstances) {
+			if (randomAccessInstances.isEmpty()) {
+				return null;
+			}
+			final int index = ApplicationContext.getInstance()
+					.getRandomNumberGenerator()
+					.nextInt(randomAccessInstances.size());
+			return randomAccessInstances.get(index);
+		}
 	}
 
 	@Override
-	public synchronized void merge(final T entity) {
+	public void merge(final T entity) {
 		// in-memory entities are never dirty -> no merge necessary
 	}
 
 	@Override
-	public synchronized void save(final T entity) {
-		this.instancesByIds.put(this.lastId, entity);
-		this.lastId++;
+	public void save(final T entity) {
+		final Integer id = this.lastId.getAndIncrement();
+		final Integer previousId = this.idsByInstances.putIfAbsent(entity, id);
+
+		if (previousId != null) {
+			throw new IllegalArgumentException("value already present: "
+					+ entity);
+		}
+
+		this.instancesByIds.put(id, entity);
+
+		synchronized (randomAccessInstances) {
+			randomAccessPositions.put(entity, randomAccessInstances.size());
+			randomAccessInstances.add(entity);
+		}
 	}
 }
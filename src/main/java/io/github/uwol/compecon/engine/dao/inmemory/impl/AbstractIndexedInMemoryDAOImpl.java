@@ -20,80 +20,141 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+
+import com.google.common.util.concurrent.Striped;
+
+/**
+ * Index sets are insertion-ordered, so that adding and removing a value is
+ * O(1). Reads and writes lock only the stripe of the affected index key;
+ * reads return a copy of the index set, which can be iterated without
+ * locking.
+ */
 public abstract class AbstractIndexedInMemoryDAOImpl<K, V> extends
 		AbstractInMemoryDAOImpl<V> {
 
-	private final Map<K, List<V>> indexedInstances = new HashMap<K, List<V>>();
+	protected static final int NUMBER_OF_LOCK_STRIPES = 64;
+
+	private final ConcurrentMap<K, Set<V>> indexedInstances = new ConcurrentHashMap<K, Set<V>>();
+
+	private final ConcurrentMap<V, Set<K>> instanceIndexedKeys = new ConcurrentHashMap<V, Set<K>>();
+
+	protected final Striped<Lock> locks = Striped
+			.lock(NUMBER_OF_LOCK_STRIPES);
+
+	/*
+	 * helpers
+	 */
+
+	/**
+	 * adds the value to the index set of the key, creating the set if
+	 * necessary
+	 */
+	protected static <A, B> void addToIndex(
+			final ConcurrentMap<A, Set<B>> index, final Striped<Lock> locks,
+			final A key, final B value) {
+		final Lock lock = locks.get(key);
+		lock.lock();
+		try {
+			Set<B> valuesForKey = index.get(key);
+			if (valuesForKey == null) {
+				valuesForKey = new LinkedHashSet<B>();
+				index.put(key, valuesForKey);
+			}
+			valuesForKey.add(value);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * returns a copy of the index set of the key in insertion order, or null
+	 * if the key is not indexed
+	 */
+	protected static <A, B> List<B> getFromIndex(
+			final ConcurrentMap<A, Set<B>> index, final Striped<Lock> locks,
+			final A key) {
+		final Lock lock = locks.get(key);
+		lock.lock();
+		try {
+			final Set<B> valuesForKey = index.get(key);
+			if (valuesForKey == null) {
+				return null;
+			}
+			return new ArrayList<B>(valuesForKey);
+		} finally {
+			lock.unlock();
+		}
+	}
 
-	private final Map<V, List<K>> instanceIndexedKeys = new HashMap<V, List<K>>();
+	/**
+	 * removes the value from the index set of the key, removing the set if it
+	 * becomes empty; returns whether the value has been contained
+	 */
+	protected static <A, B> boolean removeFromIndex(
+			final ConcurrentMap<A, Set<B>> index, final Striped<Lock> locks,
+			final A key, final B value) {
+		final Lock lock = locks.get(key);
+		lock.lock();
+		try {
+			final Set<B> valuesForKey = index.get(key);
+			if (valuesForKey == null) {
+				return false;
+			}
+
+			final boolean removed = valuesForKey.remove(value);
+			if (valuesForKey.isEmpty()) {
+				index.remove(key);
+			}
+			return removed;
+		} finally {
+			lock.unlock();
+		}
+	}
 
 	/*
 	 * get instances for key
 	 */
 
 	@Override
-	public synchronized void delete(final V instance) {
+	public void delete(final V instance) {
 		final List<K> keys = getKeysForInstance(instance);
 		if (keys != null) {
-			for (final K key : new ArrayList<K>(keys)) {
-				final List<V> indexedInstancesForKey = this.indexedInstances
-						.get(key);
-				if (indexedInstancesForKey != null) {
-					indexedInstancesForKey.remove(instance);
-					if (indexedInstancesForKey.isEmpty()) {
-						this.indexedInstances.remove(key);
-					}
-				}
-
-				final List<K> instanceIndexedKeysForInstance = this.instanceIndexedKeys
-						.get(instance);
-				if (instanceIndexedKeysForInstance != null) {
-					instanceIndexedKeysForInstance.remove(key);
-					if (instanceIndexedKeysForInstance.isEmpty()) {
-						this.instanceIndexedKeys.remove(instance);
-					}
-				}
+			for (final K key : keys) {
+				removeFromIndex(this.indexedInstances, this.locks, key,
+						instance);
+				removeFromIndex(this.instanceIndexedKeys, this.locks,
+						instance, key);
 			}
 		}
 
 		super.delete(instance);
 	}
 
-	protected synchronized List<V> getInstancesForKey(final K key) {
-		return this.indexedInstances.get(key);
+	protected List<V> getInstancesForKey(final K key) {
+		return getFromIndex(this.indexedInstances, this.locks, key);
 	}
 
 	/*
 	 * actions
 	 */
 
-	protected synchronized List<K> getKeysForInstance(final V instance) {
-		return this.instanceIndexedKeys.get(instance);
+	protected List<K> getKeysForInstance(final V instance) {
+		return getFromIndex(this.instanceIndexedKeys, this.locks, instance);
 	}
 
-	protected synchronized void save(final K key, final V instance) {
+	protected void save(final K key, final V instance) {
 		if (key != null && instance != null) {
 			// store the value
-			List<V> indexedInstancesForKey = this.indexedInstances.get(key);
-			if (indexedInstancesForKey == null) {
-				indexedInstancesForKey = new ArrayList<V>();
-				this.indexedInstances.put(key, indexedInstancesForKey);
-			}
-			indexedInstancesForKey.add(instance);
+			addToIndex(this.indexedInstances, this.locks, key, instance);
 
 			// store the key
-			List<K> instanceIndexedKeysForInstance = this.instanceIndexedKeys
-					.get(instance);
-			if (instanceIndexedKeysForInstance == null) {
-				instanceIndexedKeysForInstance = new ArrayList<K>();
-				this.instanceIndexedKeys.put(instance,
-						instanceIndexedKeysForInstance);
-			}
-			instanceIndexedKeysForInstance.add(key);
+			addToIndex(this.instanceIndexedKeys, this.locks, instance, key);
 		}
 
 		super.save(instance);
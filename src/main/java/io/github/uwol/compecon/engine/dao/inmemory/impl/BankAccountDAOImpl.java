@@ -20,68 +20,72 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.dao.BankAccountDAO;
+import io.github.uwol.compecon.engine.dao.util.BankAccountBalanceTotals;
 
+/**
+ * Bank accounts of a bank are held in insertion-ordered sets, so that closing
+ * the bank account of a customer is O(1) instead of a copy of all bank
+ * accounts of the bank.
+ */
 public class BankAccountDAOImpl extends
 		AbstractIndexedInMemoryDAOImpl<BankCustomer, BankAccount> implements
 		BankAccountDAO {
 
-	protected Map<Bank, List<BankAccount>> bankAccounts = new HashMap<Bank, List<BankAccount>>();
+	protected final BankAccountBalanceTotals balanceTotals = new BankAccountBalanceTotals();
 
-	/*
-	 * helpers
+	/**
+	 * sets are guarded by themselves
 	 */
-
-	private void assureInitializedDataStructure(final Bank bank) {
-		if (!bankAccounts.containsKey(bank)) {
-			bankAccounts.put(bank, new ArrayList<BankAccount>());
-		}
-	}
+	protected final ConcurrentMap<Bank, Set<BankAccount>> bankAccounts = new ConcurrentHashMap<Bank, Set<BankAccount>>();
 
 	/*
 	 * actions
 	 */
 
 	@Override
-	public synchronized void delete(final BankAccount bankAccount) {
-		final List<BankAccount> bankAccountsOfBank = bankAccounts
+	public void delete(final BankAccount bankAccount) {
+		final Set<BankAccount> bankAccountsOfBank = bankAccounts
 				.get(bankAccount.getManagingBank());
 		if (bankAccountsOfBank != null) {
-			bankAccountsOfBank.remove(bankAccount);
+			final boolean removed;
+			synchronized (bankAccountsOfBank) {
+				removed = bankAccountsOfBank.remove(bankAccount);
+			}
+			if (removed) {
+				balanceTotals.remove(bankAccount);
+			}
 		}
 
 		super.delete(bankAccount);
 	}
 
 	@Override
-	public synchronized void deleteAllBankAccounts(final Bank managingBank) {
-		final List<BankAccount> bankAccountsOfBank = bankAccounts
-				.get(managingBank);
-		if (bankAccountsOfBank != null) {
-			for (final BankAccount bankAccount : new HashSet<BankAccount>(
-					bankAccountsOfBank)) {
-				delete(bankAccount);
-			}
+	public void deleteAllBankAccounts(final Bank managingBank) {
+		for (final BankAccount bankAccount : findAllBankAccountsManagedByBank(managingBank)) {
+			delete(bankAccount);
 		}
 		bankAccounts.remove(managingBank);
+		balanceTotals.remove(managingBank);
 	}
 
 	@Override
-	public synchronized void deleteAllBankAccounts(final Bank managingBank,
+	public void deleteAllBankAccounts(final Bank managingBank,
 			final BankCustomer owner) {
 		final List<BankAccount> bankAccountsOfOwner = getInstancesForKey(owner);
 		if (bankAccountsOfOwner != null) {
-			for (final BankAccount bankAccount : new HashSet<BankAccount>(
-					bankAccountsOfOwner)) {
+			for (final BankAccount bankAccount : bankAccountsOfOwner) {
 				if (bankAccount.getManagingBank() == managingBank) {
 					delete(bankAccount);
 				}
@@ -90,7 +94,7 @@ public class BankAccountDAOImpl extends
 	}
 
 	@Override
-	public synchronized List<BankAccount> findAll(final Bank managingBank,
+	public List<BankAccount> findAll(final Bank managingBank,
 			final BankCustomer owner) {
 		final List<BankAccount> bankAccounts = new ArrayList<BankAccount>();
 		for (final BankAccount bankAccount : findAllBankAccountsOfAgent(owner)) {
@@ -102,7 +106,7 @@ public class BankAccountDAOImpl extends
 	}
 
 	@Override
-	public synchronized List<BankAccount> findAll(final Bank managingBank,
+	public List<BankAccount> findAll(final Bank managingBank,
 			final BankCustomer owner, final Currency currency) {
 		final List<BankAccount> bankAccounts = new ArrayList<BankAccount>();
 		for (final BankAccount bankAccount : findAllBankAccountsOfAgent(owner)) {
@@ -115,30 +119,73 @@ public class BankAccountDAOImpl extends
 	}
 
 	@Override
-	public synchronized List<BankAccount> findAllBankAccountsManagedByBank(
+	public List<BankAccount> findAllBankAccountsManagedByBank(
 			final Bank managingBank) {
-		assureInitializedDataStructure(managingBank);
-
-		final List<BankAccount> bankAccountManagedByBank = bankAccounts
+		final Set<BankAccount> bankAccountManagedByBank = bankAccounts
 				.get(managingBank);
-		return new ArrayList<BankAccount>(bankAccountManagedByBank);
+		if (bankAccountManagedByBank != null) {
+			synchronized (bankAccountManagedByBank) {
+				return new ArrayList<BankAccount>(bankAccountManagedByBank);
+			}
+		}
+		return new ArrayList<BankAccount>();
 	}
 
 	@Override
-	public synchronized List<BankAccount> findAllBankAccountsOfAgent(
+	public List<BankAccount> findAllBankAccountsOfAgent(
 			final BankCustomer owner) {
 		final List<BankAccount> bankAccounts = getInstancesForKey(owner);
 		if (bankAccounts != null) {
-			return new ArrayList<BankAccount>(bankAccounts);
+			return bankAccounts;
 		}
 		return new ArrayList<BankAccount>();
 	}
 
 	@Override
-	public synchronized void save(final BankAccount bankAccount) {
-		assureInitializedDataStructure(bankAccount.getManagingBank());
+	public int getNumberOfBankAccounts(final Bank managingBank,
+			final Currency currency) {
+		return balanceTotals.getNumberOfBankAccounts(managingBank, currency);
+	}
+
+	@Override
+	public double getSumOfNegativeBalances(final Bank managingBank,
+			final Currency currency) {
+		return balanceTotals.getSumOfNegativeBalances(managingBank, currency);
+	}
+
+	@Override
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency) {
+		return balanceTotals.getSumOfPositiveBalances(managingBank, currency);
+	}
 
-		bankAccounts.get(bankAccount.getManagingBank()).add(bankAccount);
+	@Override
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency, final TermType termType) {
+		return balanceTotals.getSumOfPositiveBalances(managingBank, currency,
+				termType);
+	}
+
+	@Override
+	public void onBalanceChange(final BankAccount bankAccount,
+			final double balanceBefore) {
+		balanceTotals.onBalanceChange(bankAccount, balanceBefore);
+	}
+
+	@Override
+	public void save(final BankAccount bankAccount) {
+		Set<BankAccount> bankAccountsOfBank = bankAccounts.get(bankAccount
+				.getManagingBank());
+		if (bankAccountsOfBank == null) {
+			bankAccounts.putIfAbsent(bankAccount.getManagingBank(),
+					new LinkedHashSet<BankAccount>());
+			bankAccountsOfBank = bankAccounts.get(bankAccount
+					.getManagingBank());
+		}
+		synchronized (bankAccountsOfBank) {
+			bankAccountsOfBank.add(bankAccount);
+		}
+		balanceTotals.add(bankAccount);
 		super.save(bankAccount.getOwner(), bankAccount);
 	}
 }
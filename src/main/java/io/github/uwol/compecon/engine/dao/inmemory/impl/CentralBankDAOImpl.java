@@ -30,7 +30,7 @@ public class CentralBankDAOImpl extends
 		CentralBankDAO {
 
 	@Override
-	public synchronized CentralBank findByCurrency(final Currency currency) {
+	public CentralBank findByCurrency(final Currency currency) {
 		// should contain only one element
 		final List<CentralBank> centralBanksForCurrency = getInstancesForKey(currency);
 		if (centralBanksForCurrency == null) {
@@ -43,7 +43,7 @@ public class CentralBankDAOImpl extends
 	}
 
 	@Override
-	public synchronized void save(final CentralBank entity) {
+	public void save(final CentralBank entity) {
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
@@ -31,13 +31,12 @@ public class CreditBankDAOImpl extends
 		CreditBankDAO {
 
 	@Override
-	public synchronized List<CreditBank> findAllByCurrency(
-			final Currency currency) {
+	public List<CreditBank> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
 	}
 
 	@Override
-	public synchronized CreditBank findRandom(final Currency currency) {
+	public CreditBank findRandom(final Currency currency) {
 		final List<CreditBank> creditBanks = findAllByCurrency(currency);
 
 		if (creditBanks != null && !creditBanks.isEmpty()) {
@@ -50,7 +49,7 @@ public class CreditBankDAOImpl extends
 	}
 
 	@Override
-	public synchronized void save(final CreditBank entity) {
+	public void save(final CreditBank entity) {
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
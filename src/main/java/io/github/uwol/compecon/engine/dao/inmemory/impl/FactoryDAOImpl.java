@@ -31,12 +31,12 @@ public class FactoryDAOImpl extends
 		AbstractIndexedInMemoryDAOImpl<Currency, Factory> implements FactoryDAO {
 
 	@Override
-	public synchronized List<Factory> findAllByCurrency(final Currency currency) {
+	public List<Factory> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
 	}
 
 	@Override
-	public synchronized List<Factory> findAllByCurrencyAndProducedGoodType(
+	public List<Factory> findAllByCurrencyAndProducedGoodType(
 			final Currency currency, final GoodType producedGoodType) {
 		final List<Factory> factoriesProducingGoodType = new ArrayList<Factory>();
 		for (final Factory factory : getInstancesForKey(currency)) {
@@ -48,7 +48,7 @@ public class FactoryDAOImpl extends
 	}
 
 	@Override
-	public synchronized void save(final Factory entity) {
+	public void save(final Factory entity) {
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
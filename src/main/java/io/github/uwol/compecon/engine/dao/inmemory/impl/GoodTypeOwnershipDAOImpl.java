@@ -31,27 +31,29 @@ public class GoodTypeOwnershipDAOImpl extends
 		implements GoodTypeOwnershipDAO {
 
 	@Override
-	public synchronized List<GoodTypeOwnership> findAllByPropertyOwner(
+	public List<GoodTypeOwnership> findAllByPropertyOwner(
 			final PropertyOwner propertyOwner) {
 		final List<GoodTypeOwnership> goodTypeOwnerships = getInstancesForKey(propertyOwner);
 		if (goodTypeOwnerships != null) {
-			return new ArrayList<GoodTypeOwnership>(goodTypeOwnerships);
+			return goodTypeOwnerships;
 		}
 		return new ArrayList<GoodTypeOwnership>();
 	}
 
 	@Override
-	public synchronized GoodTypeOwnership findFirstByPropertyOwner(
+	public GoodTypeOwnership findFirstByPropertyOwner(
 			final PropertyOwner propertyOwner) {
 		final List<GoodTypeOwnership> goodTypeOwnerships = getInstancesForKey(propertyOwner);
-		if (goodTypeOwnerships != null && !goodTypeOwnerships.isEmpty()) {
-			return goodTypeOwnerships.get(0);
+		if (goodTypeOwnerships != null) {
+			for (final GoodTypeOwnership goodTypeOwnership : goodTypeOwnerships) {
+				return goodTypeOwnership;
+			}
 		}
 		return null;
 	}
 
 	@Override
-	public synchronized void save(final GoodTypeOwnership goodTypeOwnership) {
+	public void save(final GoodTypeOwnership goodTypeOwnership) {
 		super.save(goodTypeOwnership.getPropertyOwner(), goodTypeOwnership);
 	}
 }
\ No newline at end of file
@@ -30,13 +30,12 @@ public class HouseholdDAOImpl extends
 		HouseholdDAO {
 
 	@Override
-	public synchronized List<Household> findAllByCurrency(
-			final Currency currency) {
+	public List<Household> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
 	}
 
 	@Override
-	public synchronized void save(final Household entity) {
+	public void save(final Household entity) {
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
@@ -19,13 +19,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
@@ -33,73 +32,56 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+import io.github.uwol.compecon.engine.dao.util.PersistentSortedSet;
 
+/**
+ * Each order book is a persistent sorted set, so that orders of different books
+ * never contend, and iterators are snapshots of the book taken in O(1) without
+ * locking or copying.
+ */
 public class MarketOrderDAOImpl extends
 		AbstractIndexedInMemoryDAOImpl<MarketParticipant, MarketOrder>
 		implements MarketOrderDAO {
 
-	protected Map<Currency, Map<Currency, SortedSet<MarketOrder>>> marketOrdersForCurrencies = new HashMap<Currency, Map<Currency, SortedSet<MarketOrder>>>();
+	protected final ConcurrentMap<Currency, ConcurrentMap<Currency, PersistentSortedSet<MarketOrder>>> marketOrdersForCurrencies = new ConcurrentHashMap<Currency, ConcurrentMap<Currency, PersistentSortedSet<MarketOrder>>>();
 
-	protected Map<Currency, Map<GoodType, SortedSet<MarketOrder>>> marketOrdersForGoodTypes = new HashMap<Currency, Map<GoodType, SortedSet<MarketOrder>>>();
+	protected final ConcurrentMap<Currency, ConcurrentMap<GoodType, PersistentSortedSet<MarketOrder>>> marketOrdersForGoodTypes = new ConcurrentHashMap<Currency, ConcurrentMap<GoodType, PersistentSortedSet<MarketOrder>>>();
 
-	protected Map<Currency, Map<Class<? extends Property>, SortedSet<MarketOrder>>> marketOrdersForPropertyClasses = new HashMap<Currency, Map<Class<? extends Property>, SortedSet<MarketOrder>>>();
+	protected final ConcurrentMap<Currency, ConcurrentMap<Class<? extends Property>, PersistentSortedSet<MarketOrder>>> marketOrdersForPropertyClasses = new ConcurrentHashMap<Currency, ConcurrentMap<Class<? extends Property>, PersistentSortedSet<MarketOrder>>>();
 
 	/*
 	 * helpers
 	 */
 
-	private void assureInitializedDataStructure(final Currency currency) {
-		if (!marketOrdersForGoodTypes.containsKey(currency)) {
-			marketOrdersForGoodTypes.put(currency,
-					new HashMap<GoodType, SortedSet<MarketOrder>>());
-		}
-
-		if (!marketOrdersForCurrencies.containsKey(currency)) {
-			marketOrdersForCurrencies.put(currency,
-					new HashMap<Currency, SortedSet<MarketOrder>>());
-		}
-
-		if (!marketOrdersForPropertyClasses.containsKey(currency)) {
-			marketOrdersForPropertyClasses
-					.put(currency,
-							new HashMap<Class<? extends Property>, SortedSet<MarketOrder>>());
-		}
-	}
-
-	private void assureInitializedDataStructure(final Currency currency,
-			final Class<? extends Property> propertyClass) {
-		assureInitializedDataStructure(currency);
-
-		final Map<Class<? extends Property>, SortedSet<MarketOrder>> marketOrdersForPropertyClass = marketOrdersForPropertyClasses
+	/**
+	 * returns the order book for the key, creating it if necessary
+	 */
+	private <K> PersistentSortedSet<MarketOrder> assureInitializedDataStructure(
+			final ConcurrentMap<Currency, ConcurrentMap<K, PersistentSortedSet<MarketOrder>>> marketOrders,
+			final Currency currency, final K key) {
+		ConcurrentMap<K, PersistentSortedSet<MarketOrder>> marketOrdersForCurrency = marketOrders
 				.get(currency);
-		if (!marketOrdersForPropertyClass.containsKey(propertyClass)) {
-			marketOrdersForPropertyClass.put(propertyClass,
-					new TreeSet<MarketOrder>());
+		if (marketOrdersForCurrency == null) {
+			final ConcurrentMap<K, PersistentSortedSet<MarketOrder>> newMarketOrdersForCurrency = new ConcurrentHashMap<K, PersistentSortedSet<MarketOrder>>();
+			marketOrdersForCurrency = marketOrders.putIfAbsent(currency,
+					newMarketOrdersForCurrency);
+			if (marketOrdersForCurrency == null) {
+				marketOrdersForCurrency = newMarketOrdersForCurrency;
+			}
 		}
-	}
-
-	private void assureInitializedDataStructure(final Currency currency,
-			final Currency commodityCurrency) {
-		assureInitializedDataStructure(currency);
 
-		final Map<Currency, SortedSet<MarketOrder>> marketOrdersForCurrency = marketOrdersForCurrencies
-				.get(currency);
-		if (!marketOrdersForCurrency.containsKey(commodityCurrency)) {
-			marketOrdersForCurrency.put(commodityCurrency,
-					new TreeSet<MarketOrder>());
+		PersistentSortedSet<MarketOrder> marketOrdersForKey = marketOrdersForCurrency
+				.get(key);
+		if (marketOrdersForKey == null) {
+			final PersistentSortedSet<MarketOrder> newMarketOrdersForKey = new PersistentSortedSet<MarketOrder>();
+			marketOrdersForKey = marketOrdersForCurrency.putIfAbsent(key,
+					newMarketOrdersForKey);
+			if (marketOrdersForKey == null) {
+				marketOrdersForKey = newMarketOrdersForKey;
+			}
 		}
-	}
 
-	private void assureInitializedDataStructure(final Currency currency,
-			final GoodType goodType) {
-		assureInitializedDataStructure(currency);
-
-		final Map<GoodType, SortedSet<MarketOrder>> marketOrdersForGoodTypesAndCurrency = marketOrdersForGoodTypes
-				.get(currency);
-		if (!marketOrdersForGoodTypesAndCurrency.containsKey(goodType)) {
-			marketOrdersForGoodTypesAndCurrency.put(goodType,
-					new TreeSet<MarketOrder>());
-		}
+		return marketOrdersForKey;
 	}
 
 	/*
@@ -107,25 +89,27 @@ public class MarketOrderDAOImpl extends
 	 */
 
 	@Override
-	public synchronized void delete(final MarketOrder marketOrder) {
+	public void delete(final MarketOrder marketOrder) {
 		if (marketOrder.getGoodType() != null) {
-			final SortedSet<MarketOrder> marketOrders = this.getMarketOrders(
-					marketOrder.getCurrency(), marketOrder.getGoodType());
+			final PersistentSortedSet<MarketOrder> marketOrders = this
+					.getMarketOrders(marketOrder.getCurrency(),
+							marketOrder.getGoodType());
 			marketOrders.remove(marketOrder);
 		}
 
 		if (marketOrder.getCommodityCurrency() != null) {
-			final SortedSet<MarketOrder> marketOrders = this.getMarketOrders(
-					marketOrder.getCurrency(),
-					marketOrder.getCommodityCurrency());
+			final PersistentSortedSet<MarketOrder> marketOrders = this
+					.getMarketOrders(marketOrder.getCurrency(),
+							marketOrder.getCommodityCurrency());
 			marketOrders.remove(marketOrder);
 		}
 
 		if (marketOrder.getProperty() != null) {
 			final Class<? extends Property> propertyIndexInterface = getIndexInterface(marketOrder
 					.getProperty().getClass());
-			final SortedSet<MarketOrder> marketOrders = this.getMarketOrders(
-					marketOrder.getCurrency(), propertyIndexInterface);
+			final PersistentSortedSet<MarketOrder> marketOrders = this
+					.getMarketOrders(marketOrder.getCurrency(),
+							propertyIndexInterface);
 			marketOrders.remove(marketOrder);
 		}
 
@@ -133,18 +117,18 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized void deleteAllSellingOrders(
-			final MarketParticipant offeror) {
-		if (getInstancesForKey(offeror) != null) {
-			for (final MarketOrder marketOrder : new HashSet<MarketOrder>(
-					getInstancesForKey(offeror))) {
+	public void deleteAllSellingOrders(final MarketParticipant offeror) {
+		final List<MarketOrder> marketOrdersOfOfferor = getInstancesForKey(offeror);
+		if (marketOrdersOfOfferor != null) {
+			// iterates over a copy of the index set
+			for (final MarketOrder marketOrder : marketOrdersOfOfferor) {
 				delete(marketOrder);
 			}
 		}
 	}
 
 	@Override
-	public synchronized void deleteAllSellingOrders(
+	public void deleteAllSellingOrders(
 			final MarketParticipant offeror, final Currency currency,
 			final Class<? extends Property> propertyClass) {
 		for (final MarketOrder marketOrder : this.findMarketOrders(offeror,
@@ -154,7 +138,7 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized void deleteAllSellingOrders(
+	public void deleteAllSellingOrders(
 			final MarketParticipant offeror, final Currency currency,
 			final Currency commodityCurrency) {
 		for (final MarketOrder marketOrder : this.findMarketOrders(offeror,
@@ -164,7 +148,7 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized void deleteAllSellingOrders(
+	public void deleteAllSellingOrders(
 			final MarketParticipant offeror, final Currency currency,
 			final GoodType goodType) {
 		for (final MarketOrder marketOrder : this.findMarketOrders(offeror,
@@ -174,14 +158,11 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized double findMarginalPrice(final Currency currency,
+	public double findMarginalPrice(final Currency currency,
 			final Class<? extends Property> propertyClass) {
 		final Class<? extends Property> propertyIndexInterface = getIndexInterface(propertyClass);
-		for (final MarketOrder marketOrder : getMarketOrders(currency,
-				propertyIndexInterface)) {
-			return marketOrder.getPricePerUnit();
-		}
-		return Double.NaN;
+		return getMarginalPrice(getMarketOrders(currency,
+				propertyIndexInterface));
 	}
 
 	/*
@@ -189,23 +170,16 @@ public class MarketOrderDAOImpl extends
 	 */
 
 	@Override
-	public synchronized double findMarginalPrice(final Currency currency,
+	public double findMarginalPrice(final Currency currency,
 			final Currency commodityCurrency) {
-		for (final MarketOrder marketOrder : this.getMarketOrders(currency,
-				commodityCurrency)) {
-			return marketOrder.getPricePerUnit();
-		}
-		return Double.NaN;
+		return getMarginalPrice(this.getMarketOrders(currency,
+				commodityCurrency));
 	}
 
 	@Override
-	public synchronized double findMarginalPrice(final Currency currency,
+	public double findMarginalPrice(final Currency currency,
 			final GoodType goodType) {
-		for (final MarketOrder marketOrder : this.getMarketOrders(currency,
-				goodType)) {
-			return marketOrder.getPricePerUnit();
-		}
-		return Double.NaN;
+		return getMarginalPrice(this.getMarketOrders(currency, goodType));
 	}
 
 	private SortedSet<MarketOrder> findMarketOrders(
@@ -260,7 +234,7 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized double getAmountSum(final Currency currency,
+	public double getAmountSum(final Currency currency,
 			final Currency commodityCurrency) {
 		final Iterator<MarketOrder> iterator = this.getIterator(currency,
 				commodityCurrency);
@@ -272,7 +246,7 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized double getAmountSum(final Currency currency,
+	public double getAmountSum(final Currency currency,
 			final GoodType goodType) {
 		final Iterator<MarketOrder> iterator = this.getIterator(currency,
 				goodType);
@@ -309,8 +283,7 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized Iterator<MarketOrder> getIterator(
-			final Currency currency,
+	public Iterator<MarketOrder> getIterator(final Currency currency,
 			final Class<? extends Property> propertyClass) {
 		final Class<? extends Property> propertyIndexInterface = getIndexInterface(propertyClass);
 		return this.getMarketOrders(currency, propertyIndexInterface)
@@ -318,55 +291,61 @@ public class MarketOrderDAOImpl extends
 	}
 
 	@Override
-	public synchronized Iterator<MarketOrder> getIterator(
-			final Currency currency, final Currency commodityCurrency) {
+	public Iterator<MarketOrder> getIterator(final Currency currency,
+			final Currency commodityCurrency) {
 		return this.getMarketOrders(currency, commodityCurrency).iterator();
 	}
 
 	@Override
-	public synchronized Iterator<MarketOrder> getIterator(
-			final Currency currency, final GoodType goodType) {
+	public Iterator<MarketOrder> getIterator(final Currency currency,
+			final GoodType goodType) {
 		return this.getMarketOrders(currency, goodType).iterator();
 	}
 
 	@Override
-	public synchronized Iterator<MarketOrder> getIteratorThreadsafe(
-			final Currency currency, final Currency commodityCurrency) {
-		return new TreeSet<MarketOrder>(this.getMarketOrders(currency,
-				commodityCurrency)).iterator();
+	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency,
+			final Currency commodityCurrency) {
+		// iterators already are snapshots of the book
+		return this.getIterator(currency, commodityCurrency);
 	}
 
 	@Override
-	public synchronized Iterator<MarketOrder> getIteratorThreadsafe(
-			final Currency currency, final GoodType goodType) {
-		return new TreeSet<MarketOrder>(
-				this.getMarketOrders(currency, goodType)).iterator();
+	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency,
+			final GoodType goodType) {
+		return this.getIterator(currency, goodType);
 	}
 
-	private SortedSet<MarketOrder> getMarketOrders(final Currency currency,
-			final Class<? extends Property> propertyIndexInterface) {
-		this.assureInitializedDataStructure(currency, propertyIndexInterface);
+	private double getMarginalPrice(
+			final PersistentSortedSet<MarketOrder> marketOrders) {
+		final MarketOrder marketOrder = marketOrders.first();
+		if (marketOrder == null) {
+			return Double.NaN;
+		}
+		return marketOrder.getPricePerUnit();
+	}
 
-		return marketOrdersForPropertyClasses.get(currency).get(
+	private PersistentSortedSet<MarketOrder> getMarketOrders(
+			final Currency currency,
+			final Class<? extends Property> propertyIndexInterface) {
+		return this.assureInitializedDataStructure(
+				marketOrdersForPropertyClasses, currency,
 				propertyIndexInterface);
 	}
 
-	private SortedSet<MarketOrder> getMarketOrders(final Currency currency,
-			final Currency commodityCurrency) {
-		this.assureInitializedDataStructure(currency, commodityCurrency);
-
-		return marketOrdersForCurrencies.get(currency).get(commodityCurrency);
+	private PersistentSortedSet<MarketOrder> getMarketOrders(
+			final Currency currency, final Currency commodityCurrency) {
+		return this.assureInitializedDataStructure(marketOrdersForCurrencies,
+				currency, commodityCurrency);
 	}
 
-	private SortedSet<MarketOrder> getMarketOrders(final Currency currency,
-			final GoodType goodType) {
-		this.assureInitializedDataStructure(currency, goodType);
-
-		return marketOrdersForGoodTypes.get(currency).get(goodType);
+	private PersistentSortedSet<MarketOrder> getMarketOrders(
+			final Currency currency, final GoodType goodType) {
+		return this.assureInitializedDataStructure(marketOrdersForGoodTypes,
+				currency, goodType);
 	}
 
 	@Override
-	public synchronized void save(final MarketOrder marketOrder) {
+	public void save(final MarketOrder marketOrder) {
 		if (marketOrder.getGoodType() != null) {
 			this.getMarketOrders(marketOrder.getCurrency(),
 					marketOrder.getGoodType()).add(marketOrder);
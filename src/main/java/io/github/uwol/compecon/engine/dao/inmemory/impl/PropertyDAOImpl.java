@@ -27,11 +27,20 @@ import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.property.PropertyIssued;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
 import io.github.uwol.compecon.engine.dao.PropertyDAO;
+import io.github.uwol.compecon.engine.dao.util.BondFaceValueTotals;
 
 public class PropertyDAOImpl extends
 		AbstractDoubleIndexedInMemoryDAOImpl<PropertyOwner, Property> implements
 		PropertyDAO {
 
+	protected final BondFaceValueTotals bondFaceValueTotals = new BondFaceValueTotals();
+
+	@Override
+	public void delete(final Property property) {
+		bondFaceValueTotals.remove(property, property.getOwner());
+		super.delete(property);
+	}
+
 	@Override
 	public List<Property> findAllPropertiesIssuedByAgent(final Agent issuer) {
 		final List<Property> propertiesIssuedByAgent = getInstancesForSecondKey(issuer);
@@ -55,7 +64,7 @@ public class PropertyDAOImpl extends
 	}
 
 	@Override
-	public synchronized List<Property> findAllPropertiesOfPropertyOwner(
+	public List<Property> findAllPropertiesOfPropertyOwner(
 			final PropertyOwner propertyOwner) {
 		final List<Property> propertiesOfPropertyOwner = getInstancesForFirstKey(propertyOwner);
 		if (propertiesOfPropertyOwner != null) {
@@ -79,7 +88,21 @@ public class PropertyDAOImpl extends
 	}
 
 	@Override
-	public synchronized void save(final Property property) {
+	public double getFaceValueSumOfBondAssets(
+			final PropertyOwner propertyOwner) {
+		return bondFaceValueTotals.getFaceValueSumOfAssets(propertyOwner);
+	}
+
+	@Override
+	public double getFaceValueSumOfBondLiabilities(
+			final Agent issuer) {
+		return bondFaceValueTotals.getFaceValueSumOfLiabilities(issuer);
+	}
+
+	@Override
+	public void save(final Property property) {
+		bondFaceValueTotals.add(property, property.getOwner());
+
 		if (property instanceof PropertyIssued) {
 			super.save(property.getOwner(),
 					((PropertyIssued) property).getIssuer(), property);
@@ -89,12 +112,16 @@ public class PropertyDAOImpl extends
 	}
 
 	@Override
-	public synchronized void transferProperty(final PropertyOwner oldOwner,
+	public void transferProperty(final PropertyOwner oldOwner,
 			final PropertyOwner newOwner, final Property property) {
 		// the property is deleted and re-saved, so that the
-		// agent-property-index is updated
-		delete(property);
-		property.setOwner(newOwner);
-		this.save(property);
+		// agent-property-index is updated; the owner of the property might
+		// already have been reset, so that totals are updated with oldOwner
+		synchronized (property) {
+			bondFaceValueTotals.remove(property, oldOwner);
+			super.delete(property);
+			property.setOwner(newOwner);
+			this.save(property);
+		}
 	}
 }
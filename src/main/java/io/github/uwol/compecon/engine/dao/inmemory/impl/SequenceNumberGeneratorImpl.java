@@ -19,12 +19,13 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class SequenceNumberGeneratorImpl {
 
-	protected int lastId = 0;
+	protected final AtomicInteger lastId = new AtomicInteger();
 
 	public int getNextId() {
-		lastId++;
-		return lastId;
+		return lastId.incrementAndGet();
 	}
 }
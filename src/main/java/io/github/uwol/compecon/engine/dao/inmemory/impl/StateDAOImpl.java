@@ -27,7 +27,7 @@ public class StateDAOImpl extends AbstractInMemoryDAOImpl<State> implements
 		StateDAO {
 
 	@Override
-	public synchronized State findByCurrency(final Currency currency) {
+	public State findByCurrency(final Currency currency) {
 		for (final State state : findAll()) {
 			if (state.getPrimaryCurrency().equals(currency)) {
 				return state;
@@ -29,12 +29,12 @@ public class TraderDAOImpl extends
 		AbstractIndexedInMemoryDAOImpl<Currency, Trader> implements TraderDAO {
 
 	@Override
-	public synchronized List<Trader> findAllByCurrency(final Currency currency) {
+	public List<Trader> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
 	}
 
 	@Override
-	public synchronized void save(final Trader entity) {
+	public void save(final Trader entity) {
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
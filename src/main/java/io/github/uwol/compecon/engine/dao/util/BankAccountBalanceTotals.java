@@ -0,0 +1,216 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.github.uwol.compecon.economy.sectors.financial.Bank;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * running totals of bank account balances per managing bank, currency and term
+ * type. Spares banks from scanning all customer bank accounts for reserve
+ * checks and balance sheets. Thread-safe; updates and reads lock the totals of
+ * the affected bank only. The sums are compensated (Neumaier summation), so
+ * that they do not drift from the balances over many transfers.
+ */
+public class BankAccountBalanceTotals {
+
+	protected static class CompensatedSum {
+
+		protected double compensation;
+
+		protected double sum;
+
+		protected void add(final double value) {
+			final double newSum = sum + value;
+
+			if (Math.abs(sum) >= Math.abs(value)) {
+				compensation += (sum - newSum) + value;
+			} else {
+				compensation += (value - newSum) + sum;
+			}
+
+			sum = newSum;
+		}
+
+		protected double getValue() {
+			return sum + compensation;
+		}
+	}
+
+	protected static class Totals {
+
+		protected int numberOfBankAccounts;
+
+		protected final CompensatedSum sumOfNegativeBalances = new CompensatedSum();
+
+		protected final CompensatedSum sumOfPositiveBalances = new CompensatedSum();
+	}
+
+	protected final ConcurrentMap<Integer, Totals[][]> totalsOfBanks = new ConcurrentHashMap<Integer, Totals[][]>();
+
+	public void add(final BankAccount bankAccount) {
+		assureInitialized(bankAccount.getManagingBank());
+		final Totals[][] totalsOfBank = totalsOfBanks.get(bankAccount
+				.getManagingBank().getId());
+
+		synchronized (totalsOfBank) {
+			final Totals totals = getTotals(totalsOfBank, bankAccount);
+			totals.numberOfBankAccounts++;
+			addBalance(totals, bankAccount.getBalance(), 1.0);
+		}
+	}
+
+	protected void addBalance(final Totals totals, final double balance,
+			final double sign) {
+		if (balance > 0.0) {
+			totals.sumOfPositiveBalances.add(sign * balance);
+		} else if (balance < 0.0) {
+			totals.sumOfNegativeBalances.add(sign * balance);
+		}
+	}
+
+	public void assureInitialized(final Bank managingBank) {
+		if (!totalsOfBanks.containsKey(managingBank.getId())) {
+			final Totals[][] totals = new Totals[Currency.values().length][TermType
+					.values().length];
+
+			for (final Totals[] totalsOfCurrency : totals) {
+				for (int i = 0; i < totalsOfCurrency.length; i++) {
+					totalsOfCurrency[i] = new Totals();
+				}
+			}
+
+			totalsOfBanks.putIfAbsent(managingBank.getId(), totals);
+		}
+	}
+
+	public int getNumberOfBankAccounts(final Bank managingBank,
+			final Currency currency) {
+		final Totals[][] totals = totalsOfBanks.get(managingBank.getId());
+
+		if (totals == null) {
+			return 0;
+		}
+
+		int numberOfBankAccounts = 0;
+		synchronized (totals) {
+			for (final Totals totalsOfTermType : totals[currency.ordinal()]) {
+				numberOfBankAccounts += totalsOfTermType.numberOfBankAccounts;
+			}
+		}
+		return numberOfBankAccounts;
+	}
+
+	public double getSumOfNegativeBalances(final Bank managingBank,
+			final Currency currency) {
+		final Totals[][] totals = totalsOfBanks.get(managingBank.getId());
+
+		if (totals == null) {
+			return 0.0;
+		}
+
+		double sumOfNegativeBalances = 0.0;
+		synchronized (totals) {
+			for (final Totals totalsOfTermType : totals[currency.ordinal()]) {
+				sumOfNegativeBalances += totalsOfTermType.sumOfNegativeBalances
+						.getValue();
+			}
+		}
+		return sumOfNegativeBalances;
+	}
+
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency) {
+		final Totals[][] totals = totalsOfBanks.get(managingBank.getId());
+
+		if (totals == null) {
+			return 0.0;
+		}
+
+		double sumOfPositiveBalances = 0.0;
+		synchronized (totals) {
+			for (final Totals totalsOfTermType : totals[currency.ordinal()]) {
+				sumOfPositiveBalances += totalsOfTermType.sumOfPositiveBalances
+						.getValue();
+			}
+		}
+		return sumOfPositiveBalances;
+	}
+
+	public double getSumOfPositiveBalances(final Bank managingBank,
+			final Currency currency, final TermType termType) {
+		final Totals[][] totals = totalsOfBanks.get(managingBank.getId());
+
+		if (totals == null) {
+			return 0.0;
+		}
+
+		synchronized (totals) {
+			return totals[currency.ordinal()][termType.ordinal()].sumOfPositiveBalances
+					.getValue();
+		}
+	}
+
+	protected Totals getTotals(final Totals[][] totalsOfBank,
+			final BankAccount bankAccount) {
+		return totalsOfBank[bankAccount.getCurrency().ordinal()][bankAccount
+				.getTermType().ordinal()];
+	}
+
+	public boolean isInitialized(final Bank managingBank) {
+		return totalsOfBanks.containsKey(managingBank.getId());
+	}
+
+	public void onBalanceChange(final BankAccount bankAccount,
+			final double balanceBefore) {
+		final Totals[][] totalsOfBank = totalsOfBanks.get(bankAccount
+				.getManagingBank().getId());
+
+		if (totalsOfBank != null) {
+			synchronized (totalsOfBank) {
+				final Totals totals = getTotals(totalsOfBank, bankAccount);
+				addBalance(totals, balanceBefore, -1.0);
+				addBalance(totals, bankAccount.getBalance(), 1.0);
+			}
+		}
+	}
+
+	public void remove(final Bank managingBank) {
+		totalsOfBanks.remove(managingBank.getId());
+	}
+
+	public void remove(final BankAccount bankAccount) {
+		final Totals[][] totalsOfBank = totalsOfBanks.get(bankAccount
+				.getManagingBank().getId());
+
+		if (totalsOfBank != null) {
+			synchronized (totalsOfBank) {
+				final Totals totals = getTotals(totalsOfBank, bankAccount);
+				totals.numberOfBankAccounts--;
+				addBalance(totals, bankAccount.getBalance(), -1.0);
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.property.PropertyOwner;
+import io.github.uwol.compecon.economy.security.debt.Bond;
+
+/**
+ * running face value sums of bonds held against other agents, per owner
+ * (assets) and per issuer (liabilities). Bonds owned by their issuer are
+ * unsold and neither count as asset nor as liability. Thread-safe; owner and
+ * issuer totals are locked separately.
+ */
+public class BondFaceValueTotals {
+
+	protected static class Total {
+
+		protected double faceValueSum;
+
+		protected int numberOfBonds;
+	}
+
+	protected final Map<PropertyOwner, Total> totalsOfIssuers = new HashMap<PropertyOwner, Total>();
+
+	protected final Map<PropertyOwner, Total> totalsOfOwners = new HashMap<PropertyOwner, Total>();
+
+	public void add(final Property property, final PropertyOwner owner) {
+		if (isCounted(property, owner)) {
+			final Bond bond = (Bond) property;
+			addToTotal(totalsOfOwners, owner, bond.getFaceValue());
+			addToTotal(totalsOfIssuers, bond.getIssuer(), bond.getFaceValue());
+		}
+	}
+
+	protected void addToTotal(final Map<PropertyOwner, Total> totals,
+			final PropertyOwner key, final double faceValue) {
+		synchronized (totals) {
+			Total total = totals.get(key);
+			if (total == null) {
+				total = new Total();
+				totals.put(key, total);
+			}
+			total.faceValueSum += faceValue;
+			total.numberOfBonds++;
+		}
+	}
+
+	protected double getFaceValueSum(final Map<PropertyOwner, Total> totals,
+			final PropertyOwner key) {
+		synchronized (totals) {
+			final Total total = totals.get(key);
+			if (total == null) {
+				return 0.0;
+			}
+			return total.faceValueSum;
+		}
+	}
+
+	public double getFaceValueSumOfAssets(final PropertyOwner owner) {
+		return getFaceValueSum(totalsOfOwners, owner);
+	}
+
+	public double getFaceValueSumOfLiabilities(final PropertyOwner issuer) {
+		return getFaceValueSum(totalsOfIssuers, issuer);
+	}
+
+	protected boolean isCounted(final Property property,
+			final PropertyOwner owner) {
+		return property instanceof Bond && owner != null
+				&& owner != ((Bond) property).getIssuer();
+	}
+
+	public void remove(final Property property, final PropertyOwner owner) {
+		if (isCounted(property, owner)) {
+			final Bond bond = (Bond) property;
+			removeFromTotal(totalsOfOwners, owner, bond.getFaceValue());
+			removeFromTotal(totalsOfIssuers, bond.getIssuer(),
+					bond.getFaceValue());
+		}
+	}
+
+	protected void removeFromTotal(final Map<PropertyOwner, Total> totals,
+			final PropertyOwner key, final double faceValue) {
+		synchronized (totals) {
+			final Total total = totals.get(key);
+			if (total != null) {
+				total.faceValueSum -= faceValue;
+				total.numberOfBonds--;
+
+				// also discards accumulated rounding errors
+				if (total.numberOfBonds == 0) {
+					totals.remove(key);
+				}
+			}
+		}
+	}
+}
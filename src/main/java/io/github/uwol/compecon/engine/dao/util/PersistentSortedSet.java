@@ -0,0 +1,296 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * sorted set backed by a persistent AVL tree. Writers copy the path to the
+ * modified node and publish a new root; readers take a snapshot in O(1), which
+ * is a consistent view of the set, is never modified and does not block
+ * writers. Without comparator, elements are ordered by their natural ordering.
+ */
+public class PersistentSortedSet<E> implements Iterable<E> {
+
+	protected static class Node<E> {
+
+		protected final E element;
+
+		protected final int height;
+
+		protected final Node<E> left;
+
+		protected final Node<E> right;
+
+		protected final int size;
+
+		protected Node(final E element, final Node<E> left, final Node<E> right) {
+			this.element = element;
+			this.left = left;
+			this.right = right;
+			this.height = Math.max(height(left), height(right)) + 1;
+			this.size = size(left) + size(right) + 1;
+		}
+	}
+
+	/**
+	 * immutable view of the set at the time it has been taken
+	 */
+	public static class Snapshot<E> implements Iterable<E> {
+
+		protected final Node<E> root;
+
+		protected Snapshot(final Node<E> root) {
+			this.root = root;
+		}
+
+		/**
+		 * @return the lowest element, or null if the snapshot is empty
+		 */
+		public E first() {
+			if (root == null) {
+				return null;
+			}
+
+			Node<E> node = root;
+			while (node.left != null) {
+				node = node.left;
+			}
+			return node.element;
+		}
+
+		public boolean isEmpty() {
+			return root == null;
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new SnapshotIterator<E>(root);
+		}
+
+		public int size() {
+			return PersistentSortedSet.size(root);
+		}
+	}
+
+	protected static class SnapshotIterator<E> implements Iterator<E> {
+
+		protected final Object[] stack;
+
+		protected int stackSize = 0;
+
+		protected SnapshotIterator(final Node<E> root) {
+			stack = new Object[height(root)];
+			pushLeftPath(root);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return stackSize > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (stackSize == 0) {
+				throw new NoSuchElementException();
+			}
+
+			final Node<E> node = (Node<E>) stack[--stackSize];
+			stack[stackSize] = null;
+			pushLeftPath(node.right);
+			return node.element;
+		}
+
+		protected void pushLeftPath(final Node<E> from) {
+			Node<E> node = from;
+			while (node != null) {
+				stack[stackSize++] = node;
+				node = node.left;
+			}
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("snapshots are immutable");
+		}
+	}
+
+	protected static int height(final Node<?> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	protected static int size(final Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	protected final Comparator<? super E> comparator;
+
+	protected volatile Node<E> root;
+
+	public PersistentSortedSet() {
+		this(null);
+	}
+
+	public PersistentSortedSet(final Comparator<? super E> comparator) {
+		this.comparator = comparator;
+	}
+
+	/*
+	 * tree operations; each returns the root of the new version
+	 */
+
+	protected Node<E> balance(final E element, final Node<E> left,
+			final Node<E> right) {
+		final int difference = height(left) - height(right);
+
+		if (difference > 1) {
+			if (height(left.left) >= height(left.right)) {
+				return new Node<E>(left.element, left.left, new Node<E>(
+						element, left.right, right));
+			} else {
+				return new Node<E>(left.right.element, new Node<E>(
+						left.element, left.left, left.right.left), new Node<E>(
+						element, left.right.right, right));
+			}
+		} else if (difference < -1) {
+			if (height(right.right) >= height(right.left)) {
+				return new Node<E>(right.element, new Node<E>(element, left,
+						right.left), right.right);
+			} else {
+				return new Node<E>(right.left.element, new Node<E>(element,
+						left, right.left.left), new Node<E>(right.element,
+						right.left.right, right.right));
+			}
+		}
+
+		return new Node<E>(element, left, right);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected int compare(final E element1, final E element2) {
+		if (comparator != null) {
+			return comparator.compare(element1, element2);
+		}
+		return ((Comparable<? super E>) element1).compareTo(element2);
+	}
+
+	protected Node<E> insert(final Node<E> node, final E element) {
+		if (node == null) {
+			return new Node<E>(element, null, null);
+		}
+
+		final int comparison = compare(element, node.element);
+		if (comparison < 0) {
+			final Node<E> left = insert(node.left, element);
+			return left == node.left ? node : balance(node.element, left,
+					node.right);
+		} else if (comparison > 0) {
+			final Node<E> right = insert(node.right, element);
+			return right == node.right ? node : balance(node.element,
+					node.left, right);
+		}
+
+		// already contained
+		return node;
+	}
+
+	protected Node<E> delete(final Node<E> node, final E element) {
+		if (node == null) {
+			return null;
+		}
+
+		final int comparison = compare(element, node.element);
+		if (comparison < 0) {
+			final Node<E> left = delete(node.left, element);
+			return left == node.left ? node : balance(node.element, left,
+					node.right);
+		} else if (comparison > 0) {
+			final Node<E> right = delete(node.right, element);
+			return right == node.right ? node : balance(node.element,
+					node.left, right);
+		}
+
+		if (node.left == null) {
+			return node.right;
+		} else if (node.right == null) {
+			return node.left;
+		}
+
+		// replace by the lowest element of the right subtree
+		Node<E> lowest = node.right;
+		while (lowest.left != null) {
+			lowest = lowest.left;
+		}
+		return balance(lowest.element, node.left, deleteLowest(node.right));
+	}
+
+	protected Node<E> deleteLowest(final Node<E> node) {
+		if (node.left == null) {
+			return node.right;
+		}
+		return balance(node.element, deleteLowest(node.left), node.right);
+	}
+
+	/*
+	 * actions
+	 */
+
+	/**
+	 * @return true, if the set did not already contain the element
+	 */
+	public synchronized boolean add(final E element) {
+		final Node<E> oldRoot = root;
+		root = insert(oldRoot, element);
+		return root != oldRoot;
+	}
+
+	public E first() {
+		return snapshot().first();
+	}
+
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return snapshot().iterator();
+	}
+
+	/**
+	 * @return true, if the set contained the element
+	 */
+	public synchronized boolean remove(final E element) {
+		final Node<E> oldRoot = root;
+		root = delete(oldRoot, element);
+		return root != oldRoot;
+	}
+
+	public int size() {
+		return size(root);
+	}
+
+	public Snapshot<E> snapshot() {
+		return new Snapshot<E>(root);
+	}
+}
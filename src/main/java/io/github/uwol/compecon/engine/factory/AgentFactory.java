@@ -36,6 +36,12 @@ public interface AgentFactory {
 	 */
 	public void deconstructAgents();
 
+	/**
+	 * returns the dense ordinal of the agent type, i.e. its position in the
+	 * list of all agent types.
+	 */
+	public int getAgentTypeOrdinal(final Class<?> agentType);
+
 	/**
 	 * returns a list of all agent types.
 	 */
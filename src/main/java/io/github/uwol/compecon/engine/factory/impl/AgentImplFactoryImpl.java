@@ -45,15 +45,32 @@ import io.github.uwol.compecon.engine.util.HibernateUtil;
 
 public class AgentImplFactoryImpl implements AgentFactory {
 
+	/**
+	 * agent types indexed by their ordinals
+	 */
+	protected Class<?>[] agentTypeArray = new Class<?>[0];
+
+	/**
+	 * ordinals of classes, computed once per class, as they are looked up
+	 * twice per bank transfer; agent types are only ever appended, so that
+	 * cached ordinals stay valid
+	 */
+	protected final ClassValue<Integer> agentTypeOrdinals = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(final Class<?> agentType) {
+			return findAgentTypeOrdinal(agentType);
+		}
+	};
+
 	protected final List<Class<? extends Agent>> agentTypes = new ArrayList<Class<? extends Agent>>();
 
 	public AgentImplFactoryImpl() {
-		agentTypes.add(HouseholdImpl.class);
-		agentTypes.add(CreditBankImpl.class);
-		agentTypes.add(CentralBankImpl.class);
-		agentTypes.add(StateImpl.class);
-		agentTypes.add(FactoryImpl.class);
-		agentTypes.add(TraderImpl.class);
+		registerAgentType(HouseholdImpl.class);
+		registerAgentType(CreditBankImpl.class);
+		registerAgentType(CentralBankImpl.class);
+		registerAgentType(StateImpl.class);
+		registerAgentType(FactoryImpl.class);
+		registerAgentType(TraderImpl.class);
 	}
 
 	@Override
@@ -164,8 +181,38 @@ public class AgentImplFactoryImpl implements AgentFactory {
 		}
 	}
 
+	protected int findAgentTypeOrdinal(final Class<?> agentType) {
+		for (int i = 0; i < agentTypeArray.length; i++) {
+			if (agentTypeArray[i] == agentType) {
+				return i;
+			}
+		}
+
+		// e. g. proxies of registered agent types
+		for (int i = 0; i < agentTypeArray.length; i++) {
+			if (agentTypeArray[i].isAssignableFrom(agentType)) {
+				return i;
+			}
+		}
+
+		throw new IllegalArgumentException("unknown agent type " + agentType);
+	}
+
+	@Override
+	public int getAgentTypeOrdinal(final Class<?> agentType) {
+		return agentTypeOrdinals.get(agentType);
+	}
+
 	@Override
 	public List<Class<? extends Agent>> getAgentTypes() {
 		return agentTypes;
 	}
+
+	/**
+	 * assigns the next dense ordinal to the agent type
+	 */
+	protected void registerAgentType(final Class<? extends Agent> agentType) {
+		agentTypes.add(agentType);
+		agentTypeArray = agentTypes.toArray(new Class<?>[agentTypes.size()]);
+	}
 }
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import io.github.uwol.compecon.economy.bookkeeping.Ledger;
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
@@ -34,6 +35,12 @@ public class BankAccountImplFactoryImpl implements BankAccountFactory {
 
 	@Override
 	public void deleteAllBankAccounts(final Bank managingBank) {
+		for (final BankAccount bankAccount : ApplicationContext.getInstance()
+				.getBankAccountDAO()
+				.findAllBankAccountsManagedByBank(managingBank)) {
+			releaseLedgerSlot(bankAccount);
+		}
+
 		ApplicationContext.getInstance().getBankAccountDAO()
 				.deleteAllBankAccounts(managingBank);
 		HibernateUtil.flushSession();
@@ -42,6 +49,11 @@ public class BankAccountImplFactoryImpl implements BankAccountFactory {
 	@Override
 	public void deleteAllBankAccounts(final Bank managingBank,
 			final BankCustomer owner) {
+		for (final BankAccount bankAccount : ApplicationContext.getInstance()
+				.getBankAccountDAO().findAll(managingBank, owner)) {
+			releaseLedgerSlot(bankAccount);
+		}
+
 		ApplicationContext.getInstance().getBankAccountDAO()
 				.deleteAllBankAccounts(managingBank, owner);
 		HibernateUtil.flushSession();
@@ -49,6 +61,8 @@ public class BankAccountImplFactoryImpl implements BankAccountFactory {
 
 	@Override
 	public void deleteBankAccount(final BankAccount bankAccount) {
+		releaseLedgerSlot(bankAccount);
+
 		ApplicationContext.getInstance().getBankAccountDAO()
 				.delete(bankAccount);
 		HibernateUtil.flushSession();
@@ -84,4 +98,16 @@ public class BankAccountImplFactoryImpl implements BankAccountFactory {
 		HibernateUtil.flushSession();
 		return bankAccount;
 	}
+
+	/**
+	 * releases the ledger slot of the closed bank account, if the ledger is
+	 * active
+	 */
+	protected void releaseLedgerSlot(final BankAccount bankAccount) {
+		final Ledger ledger = ApplicationContext.getInstance().getLedger();
+
+		if (ledger != null) {
+			ledger.release(bankAccount);
+		}
+	}
 }
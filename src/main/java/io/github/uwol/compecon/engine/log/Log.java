@@ -19,7 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.log;
 
-import java.util.Date;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.agent.Agent;
@@ -56,7 +55,9 @@ public interface Log {
 			final BalanceSheetDTO balanceSheet);
 
 	public void bank_onTransfer(final BankAccount from, final BankAccount to,
-			final Currency currency, final double value, final String subject);
+			final Currency currency, final double value,
+			final LogEvent subject, final Object subjectObject,
+			final double subjectValue);
 
 	public void centralBank_KeyInterestRate(final Currency currency,
 			final double keyInterestRate);
@@ -114,12 +115,26 @@ public interface Log {
 			final Class<? extends TimeSystemEvent> eventClass,
 			final String message, final Object... parameters);
 
+	/**
+	 * logs a structured event, which is formatted only, if the agent is
+	 * selected by the client; unused values should be 0.
+	 */
+	public void log(final Agent agent, final LogEvent event,
+			final Object object, final Currency currency, final double value0,
+			final double value1, final double value2, final double value3,
+			final double value4);
+
 	public void log(final Agent agent, final String message,
 			final Object... parameters);
 
 	public void log(final BankCustomer bankCustomer, final String message,
 			final Object... parameters);
 
+	public void log(final MarketParticipant marketParticipant,
+			final LogEvent event, final Object object, final Currency currency,
+			final double value0, final double value1, final double value2,
+			final double value3, final double value4);
+
 	public void log(final MarketParticipant marketParticipant,
 			final String message, final Object... parameters);
 
@@ -127,15 +142,17 @@ public interface Log {
 
 	public void market_onTick(final double pricePerUnit,
 			final Currency commodityCurrency, final Currency currency,
-			final double amount);
+			final double amount, final MarketParticipant buyer,
+			final MarketParticipant seller);
 
 	public void market_onTick(final double pricePerUnit,
 			final GoodType goodType, final Currency currency,
-			final double amount);
+			final double amount, final MarketParticipant buyer,
+			final MarketParticipant seller);
 
-	public void notifyTimeSystem_nextDay(final Date date);
+	public void notifyTimeSystem_nextDay(final long hourTick);
 
-	public void notifyTimeSystem_nextHour(final Date date);
+	public void notifyTimeSystem_nextHour(final long hourTick);
 
 	public void pricingBehaviour_onCalculateNewPrice(final Agent agent,
 			final PricingBehaviourNewPriceDecisionCause decisionCause,
@@ -0,0 +1,198 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.log;
+
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.math.util.MathUtil;
+
+/**
+ * Codes of structured log events. Events are logged with an object, a
+ * currency and primitive values, and are formatted only, if the agent is
+ * selected by the client, so that logging does not allocate Strings for
+ * other agents.
+ */
+public enum LogEvent {
+
+	/**
+	 * object: commodity; values: amount, money spent, max amount, max total
+	 * price, max price per unit
+	 */
+	MARKET_BOUGHT {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String
+					.format("bought %s units of %s for %s %s under constraints [maxAmount: %s, maxTotalPrice: %s %s, maxPricePerUnit: %s %s]",
+							MathUtil.round(values[0]), object,
+							Currency.formatMoneySum(values[1]), currency,
+							MathUtil.round(values[2]),
+							Currency.formatMoneySum(values[3]), currency,
+							Currency.formatMoneySum(values[4]), currency);
+		}
+	},
+
+	/**
+	 * object: commodity; values: -, -, max amount, max total price, max price
+	 * per unit
+	 */
+	MARKET_NO_MATCHING_OFFERS {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String
+					.format("cannot buy %s, since no matching offers for %s under constraints [maxAmount: %s, maxTotalPrice: %s %s, maxPricePerUnit: %s %s]",
+							object, object, MathUtil.round(values[2]),
+							Currency.formatMoneySum(values[3]), currency,
+							Currency.formatMoneySum(values[4]), currency);
+		}
+	},
+
+	/**
+	 * object: offered object; values: offered amount, old price, sold amount,
+	 * new price
+	 */
+	PRICE_SOLD_EVERYTHING {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String.format(
+					"%s sold everything -> raising price to %s %s",
+					formatOffer(object, currency, values),
+					Currency.formatMoneySum(values[3]), currency);
+		}
+	},
+
+	/**
+	 * object: offered object; values: offered amount, old price, sold amount,
+	 * new price, sold amount before
+	 */
+	PRICE_SOLD_LESS {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String.format(
+					"%s sold less (before: %s) -> lowering price to %s %s",
+					formatOffer(object, currency, values),
+					MathUtil.round(values[4]),
+					Currency.formatMoneySum(values[3]), currency);
+		}
+	},
+
+	/**
+	 * object: offered object; values: offered amount, old price, sold amount,
+	 * new price, sold amount before
+	 */
+	PRICE_SOLD_MORE {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String.format(
+					"%s sold more (before: %s) -> raising price to %s %s",
+					formatOffer(object, currency, values),
+					MathUtil.round(values[4]),
+					Currency.formatMoneySum(values[3]), currency);
+		}
+	},
+
+	/**
+	 * object: offered object; values: offered amount, old price, sold amount,
+	 * new price
+	 */
+	PRICE_SOLD_NOTHING {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String.format(
+					"%s sold nothing -> lowering price to %s %s",
+					formatOffer(object, currency, values),
+					Currency.formatMoneySum(values[3]), currency);
+		}
+	},
+
+	/**
+	 * object: offered object; values: offered amount, old price, sold amount
+	 */
+	PRICE_UNCHANGED {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String.format("%s newPrice := oldPrice = %s %s",
+					formatOffer(object, currency, values),
+					Currency.formatMoneySum(values[1]), currency);
+		}
+	},
+
+	/**
+	 * object: subject as a constant String
+	 */
+	TRANSFER {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return String.valueOf(object);
+		}
+	},
+
+	/**
+	 * object: commodity currency; values: amount
+	 */
+	TRANSFER_COMMODITY_CURRENCY {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return "transfer of " + Currency.formatMoneySum(values[0])
+					+ " units of commoditycurrency " + object;
+		}
+	},
+
+	/**
+	 * object: property paid for
+	 */
+	TRANSFER_PAYMENT {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return "payment for " + object;
+		}
+	},
+
+	/**
+	 * object: commodity; values: amount
+	 */
+	TRANSFER_PRICE {
+		@Override
+		public String format(final Object object, final Currency currency,
+				final double[] values) {
+			return "price for " + MathUtil.round(values[0]) + " units of "
+					+ object;
+		}
+	};
+
+	protected static String formatOffer(final Object object,
+			final Currency currency, final double[] values) {
+		return "offered " + MathUtil.round(values[0]) + " units of " + object
+				+ " for " + Currency.formatMoneySum(values[1]) + " "
+				+ currency.getIso4217Code() + " per unit and sold "
+				+ MathUtil.round(values[2]) + " units -> ";
+	}
+
+	public abstract String format(final Object object,
+			final Currency currency, final double[] values);
+}
@@ -19,7 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.log.impl;
 
-import java.util.Date;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -36,7 +35,12 @@ import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
+import io.github.uwol.compecon.engine.log.LogEvent;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBus;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBus.StatisticsEvent;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBus.StatisticsEventType;
+import io.github.uwol.compecon.engine.statistics.tape.TradeTape;
+import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
@@ -46,16 +50,19 @@ public class LogImpl implements Log {
 
 	private Agent agentCurrentlyActive;
 
-	private Agent agentSelectedByClient;
+	/**
+	 * set by the dashboard, read unsynchronized by the simulation
+	 */
+	private volatile Agent agentSelectedByClient;
 
 	// --------
 
 	@Override
 	public void agent_CreditUtilization(final Agent agent,
 			final double creditUtilization, final double creditCapacity) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(agent.getPrimaryCurrency()).creditUtilizationRateModel
-				.add(creditUtilization, creditCapacity);
+		getStatisticsEventBus().publish(StatisticsEventType.CREDIT_UTILIZATION,
+				agent.getPrimaryCurrency(), null, null, null, creditUtilization,
+				creditCapacity);
 	}
 
 	@Override
@@ -74,18 +81,10 @@ public class LogImpl implements Log {
 				weightForCause = budget - budgetSpent;
 			}
 
-			ApplicationContext
-					.getInstance()
-					.getModelRegistry()
-					.getNationalEconomyModel(
-							agentCurrentlyActive.getPrimaryCurrency()).householdsModel.convexFunctionTerminationCauseModels
-					.get(terminationCause).add(weightForCause);
-			ApplicationContext
-					.getInstance()
-					.getModelRegistry()
-					.getNationalEconomyModel(
-							agentCurrentlyActive.getPrimaryCurrency()).householdsModel.budgetModel
-					.add(budget);
+			getStatisticsEventBus().publish(
+					StatisticsEventType.OUTPUT_MAXIMIZING_INPUTS,
+					agentCurrentlyActive.getPrimaryCurrency(), null,
+					terminationCause, null, weightForCause, budget);
 		}
 	}
 
@@ -107,7 +106,7 @@ public class LogImpl implements Log {
 		}
 
 		if (agentCurrentlyActive == agent) {
-			agentCurrentlyActive = null;
+			setAgentCurrentlyActive(null);
 		}
 
 		if (agentSelectedByClient == agent) {
@@ -117,32 +116,17 @@ public class LogImpl implements Log {
 
 	@Override
 	public void agent_onLifesign(final Agent agent) {
-		final Class<? extends Agent> agentType = agent.getClass();
-
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(agent.getPrimaryCurrency()).numberOfAgentsModels
-				.get(agentType).add(1);
+		getStatisticsEventBus().publish(StatisticsEventType.LIFESIGN,
+				agent.getPrimaryCurrency(), null, agent.getClass(), null, 0, 0);
 	}
 
 	@Override
 	public void agent_onPublishBalanceSheet(final Agent agent,
 			final BalanceSheetDTO balanceSheet) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).balanceSheetsModel
-				.agent_onPublishBalanceSheet(agent, balanceSheet);
-
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM0Model
-				.add(balanceSheet.hardCash);
-		// TODO: what about money in the private banking system? -> M1
-		// definition
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM1Model
-				.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM2Model
-				.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm
-						+ balanceSheet.cashGiroLongTerm);
+		// balance sheets are created per publication, and not modified
+		// thereafter
+		getStatisticsEventBus().publish(StatisticsEventType.BALANCE_SHEET,
+				balanceSheet.referenceCurrency, null, agent, balanceSheet, 0, 0);
 	}
 
 	// --------
@@ -168,31 +152,29 @@ public class LogImpl implements Log {
 
 		if (!ApplicationContext.getInstance().getTimeSystem()
 				.isInitializationPhase()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).totalUtilityOutputModel
-					.add(utility);
+			getStatisticsEventBus().publish(StatisticsEventType.TOTAL_UTILITY,
+					currency, null, null, null, utility, 0);
 		}
 	}
 
 	@Override
 	public void bank_onTransfer(final BankAccount from, final BankAccount to,
-			final Currency currency, final double value, final String subject) {
+			final Currency currency, final double value,
+			final LogEvent subject, final Object subjectObject,
+			final double subjectValue) {
 		// only if this is a transfer between agents; alternatively it could be
 		// a transfer between bank accounts of this agent
 		if (from.getOwner() != to.getOwner()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).monetaryTransactionsModel
-					.bank_onTransfer(from.getOwner().getClass(), to.getOwner()
-							.getClass(), currency, value);
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).moneyCirculationModel
-					.add(value);
+			getStatisticsEventBus().publish(StatisticsEventType.TRANSFER,
+					currency, null, from.getOwner().getClass(),
+					to.getOwner().getClass(), value, 0);
 		}
 
 		if (isAgentSelectedByClient(from.getOwner())) {
 			final String message = " --- " + Currency.formatMoneySum(value)
 					+ " " + currency.getIso4217Code() + " ---> " + to + ": "
-					+ subject;
+					+ subject.format(subjectObject, currency,
+							new double[] { subjectValue });
 			ApplicationContext
 					.getInstance()
 					.getModelRegistry()
@@ -204,7 +186,8 @@ public class LogImpl implements Log {
 		if (isAgentSelectedByClient(to.getOwner())) {
 			final String message = " <--- " + Currency.formatMoneySum(value)
 					+ " " + currency.getIso4217Code() + " --- " + from + ": "
-					+ subject;
+					+ subject.format(subjectObject, currency,
+							new double[] { subjectValue });
 			ApplicationContext
 					.getInstance()
 					.getModelRegistry()
@@ -220,26 +203,22 @@ public class LogImpl implements Log {
 	@Override
 	public void centralBank_KeyInterestRate(final Currency currency,
 			final double keyInterestRate) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).keyInterestRateModel
-				.add(keyInterestRate);
+		getStatisticsEventBus().publish(StatisticsEventType.KEY_INTEREST_RATE,
+				currency, null, null, null, keyInterestRate, 0);
 	}
 
 	@Override
 	public void centralBank_PriceIndex(final Currency currency,
 			final double priceIndex) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).priceIndexModel
-				.add(priceIndex);
+		getStatisticsEventBus().publish(StatisticsEventType.PRICE_INDEX,
+				currency, null, null, null, priceIndex, 0);
 	}
 
 	@Override
 	public void factory_AmountSold(final Currency currency,
 			final GoodType outputGoodType, final double amountSold) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(outputGoodType).soldModel
-				.add(amountSold);
+		getStatisticsEventBus().publish(StatisticsEventType.AMOUNT_SOLD,
+				currency, outputGoodType, null, null, amountSold, 0);
 	}
 
 	@Override
@@ -257,62 +236,46 @@ public class LogImpl implements Log {
 				weightForCause = budget - budgetSpent;
 			}
 
-			final Currency currency = agentCurrentlyActive.getPrimaryCurrency();
-			ApplicationContext
-					.getInstance()
-					.getModelRegistry()
-					.getNationalEconomyModel(currency)
-					.getIndustryModel(
-							((Factory) agentCurrentlyActive)
-									.getProducedGoodType()).convexProductionFunctionTerminationCauseModels
-					.get(terminationCause).add(weightForCause);
-			ApplicationContext
-					.getInstance()
-					.getModelRegistry()
-					.getNationalEconomyModel(currency)
-					.getIndustryModel(
-							((Factory) agentCurrentlyActive)
-									.getProducedGoodType()).budgetModel
-					.add(budget);
+			getStatisticsEventBus().publish(
+					StatisticsEventType.PROFIT_MAXIMIZING_PRODUCTION_FACTORS,
+					agentCurrentlyActive.getPrimaryCurrency(),
+					((Factory) agentCurrentlyActive).getProducedGoodType(),
+					terminationCause, null, weightForCause, budget);
 		}
 	}
 
 	@Override
 	public void factory_onCapitalDepreciation(final Factory factory,
 			final GoodType capitalGoodType, final double depreciation) {
-		this.log(factory, "depreciation of " + depreciation
-				+ " units on capital good " + capitalGoodType);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(factory.getPrimaryCurrency()).industryModels
-				.get(capitalGoodType).capitalDepreciationModel
-				.add(depreciation);
+		if (isAgentSelectedByClient(factory)) {
+			log(factory, "depreciation of " + depreciation
+					+ " units on capital good " + capitalGoodType);
+		}
+		getStatisticsEventBus().publish(
+				StatisticsEventType.CAPITAL_DEPRECIATION,
+				factory.getPrimaryCurrency(), capitalGoodType, null, null,
+				depreciation, 0);
 	}
 
 	@Override
 	public void factory_onOfferGoodType(final Currency currency,
 			final GoodType outputGoodType, final double amountOffered,
 			final double inventory) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(outputGoodType).offerModel
-				.add(amountOffered);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).inventoryModel.add(inventory);
+		getStatisticsEventBus().publish(StatisticsEventType.OFFER_GOOD_TYPE,
+				currency, outputGoodType, null, null, amountOffered, inventory);
 	}
 
 	@Override
 	public void factory_onProduction(final Factory factory,
 			final Currency currency, final GoodType outputGoodType,
 			final double output, final Map<GoodType, Double> inputs) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).outputModel.add(output);
+		final StatisticsEventBus statisticsEventBus = getStatisticsEventBus();
+		statisticsEventBus.publish(StatisticsEventType.PRODUCTION_OUTPUT,
+				currency, outputGoodType, null, null, output, 0);
 		for (final Entry<GoodType, Double> input : inputs.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency)
-					.getIndustryModel(outputGoodType).inputModels.get(
-					input.getKey()).add(input.getValue());
+			statisticsEventBus.publish(StatisticsEventType.PRODUCTION_INPUT,
+					currency, outputGoodType, input.getKey(), null,
+					input.getValue(), 0);
 		}
 	}
 
@@ -321,13 +284,16 @@ public class LogImpl implements Log {
 		return agentSelectedByClient;
 	}
 
+	protected StatisticsEventBus getStatisticsEventBus() {
+		return ApplicationContext.getInstance().getModelRegistry()
+				.getStatisticsEventBus();
+	}
+
 	@Override
 	public void household_AmountSold(final Currency currency,
 			final double labourHoursSold) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel
-				.add(labourHoursSold);
+		getStatisticsEventBus().publish(StatisticsEventType.AMOUNT_SOLD,
+				currency, GoodType.LABOURHOUR, null, null, labourHoursSold, 0);
 	}
 
 	@Override
@@ -336,67 +302,34 @@ public class LogImpl implements Log {
 			final double consumptionAmount, final double savingAmount,
 			final double wage, final double dividend,
 			final double governmentTransfers) {
-
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionModel
-				.add(consumptionAmount);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeModel
-				.add(income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionRateModel
-				.add(consumptionAmount, income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionIncomeRatioModel
-				.add(consumptionAmount, income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingModel
-				.add(savingAmount);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingRateModel
-				.add(savingAmount, income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.wageModel
-				.add(wage);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.dividendModel
-				.add(dividend);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel
-				.add(governmentTransfers);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel
-				.add(IncomeSource.WAGE, wage);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel
-				.add(IncomeSource.DIVIDEND, dividend);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel
-				.add(IncomeSource.TRANSFERS, governmentTransfers);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
-				.add(income);
+		final StatisticsEventBus statisticsEventBus = getStatisticsEventBus();
+		final StatisticsEvent event = statisticsEventBus.claim(
+				StatisticsEventType.HOUSEHOLD_INCOME, currency);
+		if (event != null) {
+			event.values[0] = income;
+			event.values[1] = consumptionAmount;
+			event.values[2] = savingAmount;
+			event.values[3] = wage;
+			event.values[4] = dividend;
+			event.values[5] = governmentTransfers;
+			statisticsEventBus.publish();
+		}
 	}
 
 	@Override
 	public void household_onOfferResult(final Currency currency,
 			final double labourHoursOffered, final double labourHourCapacity) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel
-				.add(labourHoursOffered);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel
-				.add(labourHourCapacity);
+		getStatisticsEventBus().publish(
+				StatisticsEventType.HOUSEHOLD_OFFER_RESULT, currency, null, null,
+				null, labourHoursOffered, labourHourCapacity);
 	}
 
 	// --------
 
 	@Override
 	public void household_onRetired(final Household household) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(household.getPrimaryCurrency()).householdsModel.retiredModel
-				.add(1);
+		getStatisticsEventBus().publish(StatisticsEventType.HOUSEHOLD_RETIRED,
+				household.getPrimaryCurrency(), null, null, null, 0, 0);
 	}
 
 	@Override
@@ -405,14 +338,16 @@ public class LogImpl implements Log {
 			final Map<GoodType, Double> bundleOfGoodsToConsume,
 			final double utility) {
 		agent_onUtility(household, currency, bundleOfGoodsToConsume, utility);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityOutputModel
-				.add(utility);
+
+		final StatisticsEventBus statisticsEventBus = getStatisticsEventBus();
+		statisticsEventBus.publish(
+				StatisticsEventType.HOUSEHOLD_UTILITY_OUTPUT, currency, null,
+				null, null, utility, 0);
 		for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume
 				.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels
-					.get(entry.getKey()).add(entry.getValue());
+			statisticsEventBus.publish(
+					StatisticsEventType.HOUSEHOLD_UTILITY_INPUT, currency,
+					entry.getKey(), null, null, entry.getValue(), 0);
 		}
 	}
 
@@ -444,6 +379,29 @@ public class LogImpl implements Log {
 
 	// --------
 
+	@Override
+	public void log(final Agent agent, final LogEvent event,
+			final Object object, final Currency currency, final double value0,
+			final double value1, final double value2, final double value3,
+			final double value4) {
+		// formatted only for the agent selected by the client; all other
+		// agents pass without taking the lock
+		if (isAgentSelectedByClient(agent)) {
+			synchronized (this) {
+				ApplicationContext
+						.getInstance()
+						.getModelRegistry()
+						.getAgentDetailModel()
+						.logAgentEvent(
+								ApplicationContext.getInstance()
+										.getTimeSystem().getCurrentDate(),
+								event.format(object, currency, new double[] {
+										value0, value1, value2, value3,
+										value4 }));
+			}
+		}
+	}
+
 	@Override
 	public synchronized void log(final Agent agent, final String message,
 			final Object... parameters) {
@@ -459,6 +417,17 @@ public class LogImpl implements Log {
 		}
 	}
 
+	@Override
+	public void log(final MarketParticipant marketParticipant,
+			final LogEvent event, final Object object, final Currency currency,
+			final double value0, final double value1, final double value2,
+			final double value3, final double value4) {
+		if (marketParticipant instanceof Agent) {
+			log((Agent) marketParticipant, event, object, currency, value0,
+					value1, value2, value3, value4);
+		}
+	}
+
 	@Override
 	public synchronized void log(final MarketParticipant marketParticipant,
 			final String message, final Object... parameters) {
@@ -485,10 +454,12 @@ public class LogImpl implements Log {
 	@Override
 	public void market_onTick(final double pricePerUnit,
 			final Currency commodityCurrency, final Currency currency,
-			final double amount) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).pricesModel.market_onTick(
-				pricePerUnit, commodityCurrency, amount);
+			final double amount, final MarketParticipant buyer,
+			final MarketParticipant seller) {
+		publishMarketTick(StatisticsEventType.MARKET_TICK_CURRENCY, currency,
+				null, commodityCurrency, pricePerUnit, amount);
+		recordTrade(currency, null, commodityCurrency, pricePerUnit, amount,
+				buyer, seller);
 	}
 
 	// --------
@@ -496,21 +467,23 @@ public class LogImpl implements Log {
 	@Override
 	public void market_onTick(final double pricePerUnit,
 			final GoodType goodType, final Currency currency,
-			final double amount) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).pricesModel.market_onTick(
-				pricePerUnit, goodType, amount);
+			final double amount, final MarketParticipant buyer,
+			final MarketParticipant seller) {
+		publishMarketTick(StatisticsEventType.MARKET_TICK_GOOD_TYPE, currency,
+				goodType, null, pricePerUnit, amount);
+		recordTrade(currency, goodType, null, pricePerUnit, amount, buyer,
+				seller);
 	}
 
 	@Override
-	public void notifyTimeSystem_nextDay(final Date date) {
+	public void notifyTimeSystem_nextDay(final long hourTick) {
 		ApplicationContext.getInstance().getModelRegistry().nextPeriod();
 	}
 
 	// --------
 
 	@Override
-	public void notifyTimeSystem_nextHour(final Date date) {
+	public void notifyTimeSystem_nextHour(final long hourTick) {
 		ApplicationContext.getInstance().getModelRegistry().nextHour();
 	}
 
@@ -528,22 +501,63 @@ public class LogImpl implements Log {
 		}
 
 		if (goodType != null) {
-			final Currency currency = agent.getPrimaryCurrency();
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency)
-					.getPricingBehaviourModel(goodType).pricingBehaviourPriceDecisionCauseModels
-					.get(decisionCause).add(weight);
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency)
-					.getPricingBehaviourModel(goodType).pricingBehaviourAveragePriceDecisionCauseModel
-					.add(weight);
+			getStatisticsEventBus().publish(StatisticsEventType.PRICE_DECISION,
+					agent.getPrimaryCurrency(), goodType, decisionCause, null,
+					weight, 0);
 		}
 	}
 
 	// --------
 
+	/**
+	 * market ticks capture the time of the trade, as the price models might
+	 * be updated after the time system proceeded
+	 */
+	protected void publishMarketTick(final StatisticsEventType type,
+			final Currency currency, final GoodType goodType,
+			final Currency commodityCurrency, final double pricePerUnit,
+			final double amount) {
+		final StatisticsEventBus statisticsEventBus = getStatisticsEventBus();
+		final StatisticsEvent event = statisticsEventBus.claim(type, currency);
+		if (event != null) {
+			final TimeSystem timeSystem = ApplicationContext.getInstance()
+					.getTimeSystem();
+			event.goodType = goodType;
+			event.subject = commodityCurrency;
+			event.hourTick = timeSystem.getCurrentHourTick();
+			event.dayNumber = timeSystem.getDayNumber();
+			event.values[0] = pricePerUnit;
+			event.values[1] = amount;
+			statisticsEventBus.publish();
+		}
+	}
+
+	/**
+	 * records the fill on the trade tape, if active
+	 */
+	protected void recordTrade(final Currency currency,
+			final GoodType goodType, final Currency commodityCurrency,
+			final double pricePerUnit, final double amount,
+			final MarketParticipant buyer, final MarketParticipant seller) {
+		final TradeTape tradeTape = ApplicationContext.getInstance()
+				.getTradeTape();
+		if (tradeTape != null) {
+			tradeTape.record(ApplicationContext.getInstance().getTimeSystem()
+					.getCurrentHourTick(), currency, goodType,
+					commodityCurrency, pricePerUnit, amount,
+					buyer instanceof Agent ? ((Agent) buyer).getId() : -1,
+					seller instanceof Agent ? ((Agent) seller).getId() : -1);
+		}
+	}
+
 	@Override
 	public void setAgentCurrentlyActive(final Agent agent) {
+		if (agent != agentCurrentlyActive
+				&& ApplicationContext.getInstance().getConfiguration().dashboardConfig
+						.getAgentResourceAccounting()) {
+			ApplicationContext.getInstance().getModelRegistry()
+					.getAgentResourceAccounting().activateAgent(agent);
+		}
 		agentCurrentlyActive = agent;
 	}
 
@@ -560,14 +574,15 @@ public class LogImpl implements Log {
 			final Map<GoodType, Double> bundleOfGoodsToConsume,
 			final double utility) {
 		agent_onUtility(state, currency, bundleOfGoodsToConsume, utility);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).stateModel.utilityModel.utilityOutputModel
-				.add(utility);
+
+		final StatisticsEventBus statisticsEventBus = getStatisticsEventBus();
+		statisticsEventBus.publish(StatisticsEventType.STATE_UTILITY_OUTPUT,
+				currency, null, null, null, utility, 0);
 		for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume
 				.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels
-					.get(entry.getKey()).add(entry.getValue());
+			statisticsEventBus.publish(
+					StatisticsEventType.STATE_UTILITY_INPUT, currency,
+					entry.getKey(), null, null, entry.getValue(), 0);
 		}
 	}
 }
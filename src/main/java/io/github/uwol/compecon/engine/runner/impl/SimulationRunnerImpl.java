@@ -59,8 +59,17 @@ public class SimulationRunnerImpl implements SimulationRunner {
 				}
 				// normal mode
 				else if (!paused) {
-					// step hour-wise; triggers events in time system
-					ApplicationContext.getInstance().getTimeSystem().nextHour();
+					if (ApplicationContext.getInstance().getConfiguration().timeSystemConfig
+							.getEventDriven()) {
+						// skip hours without events; triggers events in time
+						// system
+						ApplicationContext.getInstance().getTimeSystem()
+								.nextEventHour();
+					} else {
+						// step hour-wise; triggers events in time system
+						ApplicationContext.getInstance().getTimeSystem()
+								.nextHour();
+					}
 					Thread.sleep(millisecondsToSleepPerHourType);
 				}
 				// paused mode, only proceeding with singleDayStep interaction
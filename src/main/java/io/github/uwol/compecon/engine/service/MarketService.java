@@ -29,6 +29,7 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccountDelegate;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.service.impl.MarketServiceLatencies;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
 public interface MarketService {
@@ -98,6 +99,14 @@ public interface MarketService {
 	public Map<GoodType, Double> getMarginalMarketPrices(
 			final Currency denominatedInCurrency, final Set<GoodType> goodTypes);
 
+	/**
+	 * returns the marginal market prices of all good types indexed by their
+	 * ordinal. The price vector is determined once per currency and day and
+	 * shared between all callers, which must not modify it.
+	 */
+	public double[] getMarginalMarketPricesOfDay(
+			final Currency denominatedInCurrency);
+
 	/**
 	 * returns the market depth of the given commodity currency on the market
 	 * for the given currency, i. e. the total amount available on that market.
@@ -112,6 +121,12 @@ public interface MarketService {
 	public double getMarketDepth(final Currency denominatedInCurrency,
 			final GoodType goodType);
 
+	/**
+	 * latency histograms of market operations; recorded only if latency
+	 * recording is configured
+	 */
+	public MarketServiceLatencies getMarketServiceLatencies();
+
 	public MarketPriceFunction getMarketPriceFunction(
 			final Currency denominatedInCurrency,
 			final Currency commodityCurrency);
@@ -27,6 +27,7 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 
 import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketOrder.CommodityType;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
@@ -36,11 +37,18 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.engine.service.MarketPriceFunction;
 import io.github.uwol.compecon.engine.service.MarketService;
+import io.github.uwol.compecon.engine.service.impl.MarketServiceLatencies.Operation;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class MarketServiceImpl implements MarketService {
 
+	protected final Map<Currency, Integer> dayNumbersOfMarginalMarketPrices = new HashMap<Currency, Integer>();
+
+	protected final Map<Currency, double[]> marginalMarketPricesOfDay = new HashMap<Currency, double[]>();
+
+	protected final MarketServiceLatencies marketServiceLatencies = new MarketServiceLatencies();
+
 	/*
 	 * fulfillment
 	 */
@@ -84,6 +92,8 @@ public abstract class MarketServiceImpl implements MarketService {
 		double selectedAmount = 0;
 		double spentMoney = 0;
 
+		final long start = startLatencyRecording();
+
 		/*
 		 * identify correct iterator
 		 */
@@ -182,6 +192,12 @@ public abstract class MarketServiceImpl implements MarketService {
 						&& !MathUtil.equal(selectedAmount, maxAmount) && (selectedAmount > maxAmount)));
 			}
 		}
+
+		// each traversed market order is selected, except the last one
+		recordLatency(Operation.ITERATE,
+				getCommodityType(goodType, commodityCurrency, propertyClass),
+				selectedOffers.size(), start);
+
 		return selectedOffers;
 	}
 
@@ -220,6 +236,17 @@ public abstract class MarketServiceImpl implements MarketService {
 	 * fixed price functions
 	 */
 
+	protected CommodityType getCommodityType(final GoodType goodType,
+			final Currency commodityCurrency,
+			final Class<? extends Property> propertyClass) {
+		if (commodityCurrency != null) {
+			return CommodityType.CURRENCY;
+		} else if (propertyClass != null) {
+			return CommodityType.PROPERTY;
+		}
+		return CommodityType.GOODTYPE;
+	}
+
 	@Override
 	public PriceFunction getFixedPriceFunction(
 			final Currency denominatedInCurrency,
@@ -329,6 +356,31 @@ public abstract class MarketServiceImpl implements MarketService {
 		return prices;
 	}
 
+	@Override
+	public synchronized double[] getMarginalMarketPricesOfDay(
+			final Currency denominatedInCurrency) {
+		final int dayNumber = ApplicationContext.getInstance().getTimeSystem()
+				.getDayNumber();
+		final Integer dayNumberOfPrices = dayNumbersOfMarginalMarketPrices
+				.get(denominatedInCurrency);
+
+		if (dayNumberOfPrices == null || dayNumberOfPrices != dayNumber) {
+			final GoodType[] goodTypes = GoodType.values();
+			final double[] prices = new double[goodTypes.length];
+
+			for (final GoodType goodType : goodTypes) {
+				prices[goodType.ordinal()] = getMarginalMarketPrice(
+						denominatedInCurrency, goodType);
+			}
+
+			marginalMarketPricesOfDay.put(denominatedInCurrency, prices);
+			dayNumbersOfMarginalMarketPrices.put(denominatedInCurrency,
+					dayNumber);
+		}
+
+		return marginalMarketPricesOfDay.get(denominatedInCurrency);
+	}
+
 	@Override
 	public double getMarketDepth(final Currency denominatedInCurrency,
 			final Currency commodityCurrency) {
@@ -371,6 +423,11 @@ public abstract class MarketServiceImpl implements MarketService {
 	 * iterators
 	 */
 
+	@Override
+	public MarketServiceLatencies getMarketServiceLatencies() {
+		return marketServiceLatencies;
+	}
+
 	@Override
 	public MarketPriceFunction getMarketPriceFunction(
 			final Currency denominatedInCurrency,
@@ -428,12 +485,15 @@ public abstract class MarketServiceImpl implements MarketService {
 			assert (offeror == offerorsBankAcountDelegate.getBankAccount()
 					.getOwner());
 
+			final long start = startLatencyRecording();
 			ApplicationContext
 					.getInstance()
 					.getMarketOrderFactory()
 					.newInstanceCurrencyMarketOrder(commodityCurrency, offeror,
 							offerorsBankAcountDelegate, amount, pricePerUnit,
 							commodityCurrencyOfferorsBankAcountDelegate);
+			recordLatency(Operation.PLACE_SELLING_OFFER,
+					CommodityType.CURRENCY, -1, start);
 			if (getLog().isAgentSelectedByClient(offeror)) {
 				getLog().log(
 						offeror,
@@ -460,11 +520,14 @@ public abstract class MarketServiceImpl implements MarketService {
 			assert (offeror == offerorsBankAcountDelegate.getBankAccount()
 					.getOwner());
 
+			final long start = startLatencyRecording();
 			ApplicationContext
 					.getInstance()
 					.getMarketOrderFactory()
 					.newInstanceGoodTypeMarketOrder(goodType, offeror,
 							offerorsBankAcountDelegate, amount, pricePerUnit);
+			recordLatency(Operation.PLACE_SELLING_OFFER,
+					CommodityType.GOODTYPE, -1, start);
 			if (getLog().isAgentSelectedByClient(offeror)) {
 				getLog().log(
 						offeror,
@@ -493,11 +556,14 @@ public abstract class MarketServiceImpl implements MarketService {
 		assert (offeror == offerorsBankAcountDelegate.getBankAccount()
 				.getOwner());
 
+		final long start = startLatencyRecording();
 		ApplicationContext
 				.getInstance()
 				.getMarketOrderFactory()
 				.newInstancePropertyMarketOrder(property, offeror,
 						offerorsBankAcountDelegate, pricePerUnit);
+		recordLatency(Operation.PLACE_SELLING_OFFER,
+				CommodityType.PROPERTY, -1, start);
 		if (getLog().isAgentSelectedByClient(offeror)) {
 			getLog().log(offeror, "offering 1 unit of %s for %s %s per unit",
 					property.getClass().getSimpleName(),
@@ -506,46 +572,79 @@ public abstract class MarketServiceImpl implements MarketService {
 		}
 	}
 
+	/**
+	 * records the latency of an operation started at the given nano time, if
+	 * latency recording is configured
+	 */
+	protected void recordLatency(final Operation operation,
+			final CommodityType commodityType, final int depth,
+			final long start) {
+		if (ApplicationContext.getInstance().getConfiguration().marketConfig
+				.getLatencyRecording()) {
+			marketServiceLatencies.record(operation, commodityType, depth,
+					System.nanoTime() - start);
+		}
+	}
+
 	@Override
 	public void removeAllSellingOffers(final MarketParticipant offeror) {
+		final long start = startLatencyRecording();
 		ApplicationContext.getInstance().getMarketOrderFactory()
 				.deleteAllSellingOrders(offeror);
+		recordLatency(Operation.REMOVE_ALL_SELLING_OFFERS, null, -1, start);
 	}
 
 	@Override
 	public void removeAllSellingOffers(final MarketParticipant offeror,
 			final Currency denominatedInCurrency,
 			final Class<? extends Property> propertyClass) {
+		final long start = startLatencyRecording();
 		ApplicationContext
 				.getInstance()
 				.getMarketOrderFactory()
 				.deleteAllSellingOrders(offeror, denominatedInCurrency,
 						propertyClass);
+		recordLatency(Operation.REMOVE_ALL_SELLING_OFFERS,
+				CommodityType.PROPERTY, -1, start);
 	}
 
 	@Override
 	public void removeAllSellingOffers(final MarketParticipant offeror,
 			final Currency denominatedInCurrency,
 			final Currency commodityCurrency) {
+		final long start = startLatencyRecording();
 		ApplicationContext
 				.getInstance()
 				.getMarketOrderFactory()
 				.deleteAllSellingOrders(offeror, denominatedInCurrency,
 						commodityCurrency);
+		recordLatency(Operation.REMOVE_ALL_SELLING_OFFERS,
+				CommodityType.CURRENCY, -1, start);
 	}
 
 	@Override
 	public void removeAllSellingOffers(final MarketParticipant offeror,
 			final Currency denominatedInCurrency, final GoodType goodType) {
+		final long start = startLatencyRecording();
 		ApplicationContext
 				.getInstance()
 				.getMarketOrderFactory()
 				.deleteAllSellingOrders(offeror, denominatedInCurrency,
 						goodType);
+		recordLatency(Operation.REMOVE_ALL_SELLING_OFFERS,
+				CommodityType.GOODTYPE, -1, start);
 	}
 
 	protected void removeSellingOffer(final MarketOrder marketOrder) {
 		ApplicationContext.getInstance().getMarketOrderFactory()
 				.deleteSellingOrder(marketOrder);
 	}
+
+	protected long startLatencyRecording() {
+		if (ApplicationContext.getInstance().getConfiguration().marketConfig
+				.getLatencyRecording()) {
+			return System.nanoTime();
+		}
+		return 0;
+	}
 }
@@ -0,0 +1,170 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder.CommodityType;
+import io.github.uwol.compecon.engine.statistics.LatencyHistogram;
+
+/**
+ * latency histograms of market service operations by operation, commodity
+ * type and depth bucket. The depth is the number of market orders traversed
+ * in the order book, and is bucketed by powers of two; operations, that do
+ * not traverse the order book, are recorded without depth. Histograms are
+ * created on first use, so that memory is bounded by the number of keys.
+ */
+public class MarketServiceLatencies {
+
+	public enum Operation {
+		BUY, ITERATE, PLACE_SELLING_OFFER, REMOVE_ALL_SELLING_OFFERS
+	}
+
+	/**
+	 * number of depth buckets, including the bucket for operations without
+	 * depth; the last bucket holds all larger depths
+	 */
+	protected static final int NUMBER_OF_DEPTH_BUCKETS = 13;
+
+	protected static int getDepthBucket(final int depth) {
+		if (depth < 0) {
+			return 0;
+		}
+		return Math.min(NUMBER_OF_DEPTH_BUCKETS - 1,
+				1 + Integer.SIZE - Integer.numberOfLeadingZeros(depth));
+	}
+
+	protected static String getDepthBucketName(final int depthBucket) {
+		if (depthBucket == 0) {
+			return "n/a";
+		} else if (depthBucket <= 2) {
+			return Integer.toString(depthBucket - 1);
+		} else if (depthBucket == NUMBER_OF_DEPTH_BUCKETS - 1) {
+			return ">=" + (1 << (depthBucket - 2));
+		}
+		return (1 << (depthBucket - 2)) + "-" + ((1 << (depthBucket - 1)) - 1);
+	}
+
+	/**
+	 * indexed by operation, commodity type (the last index for operations on
+	 * all commodity types) and depth bucket
+	 */
+	protected final LatencyHistogram[][][] latencyHistograms = new LatencyHistogram[Operation
+			.values().length][CommodityType.values().length + 1][NUMBER_OF_DEPTH_BUCKETS];
+
+	protected int getCommodityTypeIndex(final CommodityType commodityType) {
+		return commodityType == null ? CommodityType.values().length
+				: commodityType.ordinal();
+	}
+
+	protected String getCommodityTypeName(final int commodityTypeIndex) {
+		return commodityTypeIndex == CommodityType.values().length ? "ALL"
+				: CommodityType.values()[commodityTypeIndex].name();
+	}
+
+	/**
+	 * @return latencies of the operation on the commodity type merged over
+	 *         all depth buckets
+	 */
+	public synchronized LatencyHistogram getLatencyHistogram(
+			final Operation operation, final CommodityType commodityType) {
+		final LatencyHistogram mergedLatencyHistogram = new LatencyHistogram();
+		for (final LatencyHistogram latencyHistogram : latencyHistograms[operation
+				.ordinal()][getCommodityTypeIndex(commodityType)]) {
+			if (latencyHistogram != null) {
+				mergedLatencyHistogram.add(latencyHistogram);
+			}
+		}
+		return mergedLatencyHistogram;
+	}
+
+	/**
+	 * @return one line per operation, commodity type and depth bucket with
+	 *         recorded latencies
+	 */
+	public synchronized String[] getLatencySummaries() {
+		final List<String> summaries = new ArrayList<String>();
+		for (final Operation operation : Operation.values()) {
+			for (int i = 0; i <= CommodityType.values().length; i++) {
+				for (int depthBucket = 0; depthBucket < NUMBER_OF_DEPTH_BUCKETS; depthBucket++) {
+					final LatencyHistogram latencyHistogram = latencyHistograms[operation
+							.ordinal()][i][depthBucket];
+					if (latencyHistogram != null) {
+						summaries.add(operation + " " + getCommodityTypeName(i)
+								+ " depth " + getDepthBucketName(depthBucket)
+								+ ": " + latencyHistogram);
+					}
+				}
+			}
+		}
+		return summaries.toArray(new String[summaries.size()]);
+	}
+
+	/**
+	 * @return one line per operation and commodity type with recorded
+	 *         latencies, merged over all depth buckets
+	 */
+	public synchronized String[] getOperationSummaries() {
+		final List<String> summaries = new ArrayList<String>();
+		for (final Operation operation : Operation.values()) {
+			for (int i = 0; i <= CommodityType.values().length; i++) {
+				final CommodityType commodityType = i == CommodityType
+						.values().length ? null : CommodityType.values()[i];
+				final LatencyHistogram latencyHistogram = getLatencyHistogram(
+						operation, commodityType);
+				if (latencyHistogram.getTotalCount() > 0) {
+					summaries.add(operation + " " + getCommodityTypeName(i)
+							+ ": " + latencyHistogram);
+				}
+			}
+		}
+		return summaries.toArray(new String[summaries.size()]);
+	}
+
+	/**
+	 * @param commodityType
+	 *            null for operations on all commodity types
+	 * @param depth
+	 *            number of traversed market orders; -1 if the order book has
+	 *            not been traversed
+	 */
+	public synchronized void record(final Operation operation,
+			final CommodityType commodityType, final int depth,
+			final long nanos) {
+		final LatencyHistogram[] latencyHistogramsByDepthBucket = latencyHistograms[operation
+				.ordinal()][getCommodityTypeIndex(commodityType)];
+		final int depthBucket = getDepthBucket(depth);
+		if (latencyHistogramsByDepthBucket[depthBucket] == null) {
+			latencyHistogramsByDepthBucket[depthBucket] = new LatencyHistogram();
+		}
+		latencyHistogramsByDepthBucket[depthBucket].record(nanos);
+	}
+
+	public synchronized void reset() {
+		for (final LatencyHistogram[][] latencyHistogramsByCommodityType : latencyHistograms) {
+			for (final LatencyHistogram[] latencyHistogramsByDepthBucket : latencyHistogramsByCommodityType) {
+				for (int i = 0; i < NUMBER_OF_DEPTH_BUCKETS; i++) {
+					latencyHistogramsByDepthBucket[i] = null;
+				}
+			}
+		}
+	}
+}
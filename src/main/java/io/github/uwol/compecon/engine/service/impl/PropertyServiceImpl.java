@@ -184,8 +184,7 @@ public class PropertyServiceImpl implements PropertyService {
 		// fetch a random new owner
 		Household newOwnerHousehold = null;
 		while ((newOwnerHousehold == null || oldOwner == newOwnerHousehold)
-				&& ApplicationContext.getInstance().getHouseholdDAO().findAll()
-						.size() > 1) {
+				&& ApplicationContext.getInstance().getHouseholdDAO().count() > 1) {
 			newOwnerHousehold = ApplicationContext.getInstance()
 					.getHouseholdDAO().findRandom();
 		}
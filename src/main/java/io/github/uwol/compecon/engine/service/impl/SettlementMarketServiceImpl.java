@@ -29,7 +29,9 @@ import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccountDelegate;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.log.LogEvent;
 import io.github.uwol.compecon.engine.service.SettlementMarketService;
+import io.github.uwol.compecon.engine.service.impl.MarketServiceLatencies.Operation;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 import java.util.SortedMap;
@@ -79,6 +81,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements
 			final MarketParticipant buyer,
 			final BankAccountDelegate buyersBankAccountDelegate,
 			final BankAccountDelegate buyersBankAccountForCommodityCurrencyDelegate) {
+		final long start = startLatencyRecording();
 
 		final SortedMap<MarketOrder, Double> marketOffers = this
 				.findBestFulfillmentSet(buyersBankAccountDelegate
@@ -122,9 +125,8 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements
 			buyersBank.transferMoney(
 					buyersBankAccountDelegate.getBankAccount(), marketOrder
 							.getOfferorsBankAcountDelegate().getBankAccount(),
-					amount * marketOrder.getPricePerUnit(), "price for "
-							+ MathUtil.round(amount) + " units of "
-							+ marketOrder.getCommodity());
+					amount * marketOrder.getPricePerUnit(),
+					LogEvent.TRANSFER_PRICE, marketOrder.getCommodity(), amount);
 
 			// transfer ownership
 			switch (marketOrder.getCommodityType()) {
@@ -152,7 +154,8 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements
 						marketOrder.getPricePerUnit(),
 						marketOrder.getGoodType(),
 						marketOrder.getOfferorsBankAcountDelegate()
-								.getBankAccount().getCurrency(), amount);
+								.getBankAccount().getCurrency(), amount,
+						buyer, marketOrder.getOfferor());
 
 				// optionally, delete market order
 				if (MathUtil.lesserEqual(marketOrder.getAmount(), 0)) {
@@ -171,10 +174,8 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements
 								.getBankAccount(),
 						buyersBankAccountForCommodityCurrencyDelegate
 								.getBankAccount(),
-						amount,
-						"transfer of " + Currency.formatMoneySum(amount)
-								+ " units of commoditycurrency "
-								+ marketOrder.getCommodity());
+						amount, LogEvent.TRANSFER_COMMODITY_CURRENCY,
+						marketOrder.getCommodity(), amount);
 
 				// decrement amount in market order
 				marketOrder.decrementAmount(amount);
@@ -192,7 +193,8 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements
 						marketOrder.getPricePerUnit(),
 						marketOrder.getCommodityCurrency(),
 						marketOrder.getOfferorsBankAcountDelegate()
-								.getBankAccount().getCurrency(), amount);
+								.getBankAccount().getCurrency(), amount,
+						buyer, marketOrder.getOfferor());
 
 				// optionally, delete market order
 				if (MathUtil.lesserEqual(marketOrder.getAmount(), 0)) {
@@ -231,41 +233,19 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements
 		priceAndAmount[0] = moneySpentSum;
 		priceAndAmount[1] = amountSum;
 
-		if (getLog().isAgentSelectedByClient(buyer)) {
-			if (priceAndAmount[1] > 0) {
-				getLog().log(
-						buyer,
-						"bought %s units of %s for %s %s under constraints [maxAmount: %s, maxTotalPrice: %s %s, maxPricePerUnit: %s %s]",
-						MathUtil.round(priceAndAmount[1]),
-						determineCommodityName(goodType, commodityCurrency,
-								propertyClass),
-						Currency.formatMoneySum(priceAndAmount[0]),
-						buyersBankAccountDelegate.getBankAccount()
-								.getCurrency(),
-						MathUtil.round(maxAmount),
-						Currency.formatMoneySum(maxTotalPrice),
-						buyersBankAccountDelegate.getBankAccount()
-								.getCurrency(),
-						Currency.formatMoneySum(maxPricePerUnit),
-						buyersBankAccountDelegate.getBankAccount()
-								.getCurrency());
-			} else {
-				getLog().log(
-						buyer,
-						"cannot buy %s, since no matching offers for %s under constraints [maxAmount: %s, maxTotalPrice: %s %s, maxPricePerUnit: %s %s]",
-						determineCommodityName(goodType, commodityCurrency,
-								propertyClass),
-						determineCommodityName(goodType, commodityCurrency,
-								propertyClass),
-						MathUtil.round(maxAmount),
-						Currency.formatMoneySum(maxTotalPrice),
-						buyersBankAccountDelegate.getBankAccount()
-								.getCurrency(),
-						Currency.formatMoneySum(maxPricePerUnit),
-						buyersBankAccountDelegate.getBankAccount()
-								.getCurrency());
-			}
-		}
+		getLog().log(
+				buyer,
+				priceAndAmount[1] > 0 ? LogEvent.MARKET_BOUGHT
+						: LogEvent.MARKET_NO_MATCHING_OFFERS,
+				determineCommodityName(goodType, commodityCurrency,
+						propertyClass),
+				buyersBankAccountDelegate.getBankAccount().getCurrency(),
+				priceAndAmount[1], priceAndAmount[0], maxAmount,
+				maxTotalPrice, maxPricePerUnit);
+
+		recordLatency(Operation.BUY,
+				getCommodityType(goodType, commodityCurrency, propertyClass),
+				marketOffers.size(), start);
 
 		return priceAndAmount;
 	}
@@ -0,0 +1,210 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+
+/**
+ * attributes thread CPU time and allocated bytes to the agent currently
+ * active, as announced to the log. Whenever the active agent changes, the
+ * resources consumed since the last change are charged to the agent type and
+ * primary currency of the previously active agent, both as totals and into
+ * the per-period models of the national economy.
+ */
+public class AgentResourceAccounting {
+
+	protected static final int ALLOCATED_BYTES = 1;
+
+	protected static final int CPU_NANOS = 0;
+
+	/**
+	 * null, if the JVM does not measure allocations per thread
+	 */
+	protected final com.sun.management.ThreadMXBean allocationThreadMXBean;
+
+	protected Agent agentCurrentlyActive;
+
+	protected long allocatedBytesAtActivation;
+
+	protected long cpuNanosAtActivation;
+
+	protected long threadIdAtActivation;
+
+	protected final ThreadMXBean threadMXBean = ManagementFactory
+			.getThreadMXBean();
+
+	/**
+	 * CPU nanos and allocated bytes by currency and agent type
+	 */
+	protected final Map<Currency, Map<Class<? extends Agent>, long[]>> totals = new HashMap<Currency, Map<Class<? extends Agent>, long[]>>();
+
+	public AgentResourceAccounting() {
+		if (threadMXBean.isCurrentThreadCpuTimeSupported()) {
+			threadMXBean.setThreadCpuTimeEnabled(true);
+		}
+
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threadMXBean)
+						.isThreadAllocatedMemorySupported()) {
+			allocationThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+			allocationThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			allocationThreadMXBean = null;
+		}
+	}
+
+	/**
+	 * announces the agent, that consumes resources from now on; null, if no
+	 * agent is active
+	 */
+	public synchronized void activateAgent(final Agent agent) {
+		final long threadId = Thread.currentThread().getId();
+		final long cpuNanos = getCurrentThreadCpuNanos();
+		final long allocatedBytes = getCurrentThreadAllocatedBytes(threadId);
+
+		// counters of other threads are not comparable
+		if (agentCurrentlyActive != null && threadIdAtActivation == threadId) {
+			charge(agentCurrentlyActive, cpuNanos - cpuNanosAtActivation,
+					allocatedBytes - allocatedBytesAtActivation);
+		}
+
+		agentCurrentlyActive = agent;
+		cpuNanosAtActivation = cpuNanos;
+		allocatedBytesAtActivation = allocatedBytes;
+		threadIdAtActivation = threadId;
+	}
+
+	protected long[] assureTotals(final Currency currency,
+			final Class<? extends Agent> agentType) {
+		Map<Class<? extends Agent>, long[]> totalsOfCurrency = totals
+				.get(currency);
+		if (totalsOfCurrency == null) {
+			totalsOfCurrency = new HashMap<Class<? extends Agent>, long[]>();
+			totals.put(currency, totalsOfCurrency);
+		}
+
+		long[] totalsOfAgentType = totalsOfCurrency.get(agentType);
+		if (totalsOfAgentType == null) {
+			totalsOfAgentType = new long[2];
+			totalsOfCurrency.put(agentType, totalsOfAgentType);
+		}
+		return totalsOfAgentType;
+	}
+
+	protected void charge(final Agent agent, final long cpuNanos,
+			final long allocatedBytes) {
+		final Currency currency = agent.getPrimaryCurrency();
+		final Class<? extends Agent> agentType = agent.getClass();
+
+		final long[] totalsOfAgentType = assureTotals(currency, agentType);
+		totalsOfAgentType[CPU_NANOS] += cpuNanos;
+		totalsOfAgentType[ALLOCATED_BYTES] += allocatedBytes;
+
+		final ModelRegistry.NationalEconomyModel nationalEconomyModel = ApplicationContext
+				.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency);
+		final PeriodDataAccumulatorTimeSeriesModel cpuTimeModel = nationalEconomyModel.cpuTimeModels
+				.get(agentType);
+		if (cpuTimeModel != null) {
+			cpuTimeModel.add(cpuNanos / 1000000.0);
+		}
+		final PeriodDataAccumulatorTimeSeriesModel allocatedBytesModel = nationalEconomyModel.allocatedBytesModels
+				.get(agentType);
+		if (allocatedBytesModel != null) {
+			allocatedBytesModel.add(allocatedBytes / (1024.0 * 1024.0));
+		}
+	}
+
+	public synchronized long getAllocatedBytes(final Currency currency,
+			final Class<? extends Agent> agentType) {
+		return getTotal(currency, agentType, ALLOCATED_BYTES);
+	}
+
+	public synchronized long getCpuNanos(final Currency currency,
+			final Class<? extends Agent> agentType) {
+		return getTotal(currency, agentType, CPU_NANOS);
+	}
+
+	protected long getCurrentThreadAllocatedBytes(final long threadId) {
+		if (allocationThreadMXBean == null) {
+			return 0;
+		}
+		return allocationThreadMXBean.getThreadAllocatedBytes(threadId);
+	}
+
+	protected long getCurrentThreadCpuNanos() {
+		if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+			return 0;
+		}
+		return threadMXBean.getCurrentThreadCpuTime();
+	}
+
+	/**
+	 * @return one line per currency and agent type with consumed resources
+	 */
+	public synchronized String[] getSummaries() {
+		final List<String> summaries = new ArrayList<String>();
+		for (final Currency currency : Currency.values()) {
+			final Map<Class<? extends Agent>, long[]> totalsOfCurrency = totals
+					.get(currency);
+			if (totalsOfCurrency != null) {
+				for (final Entry<Class<? extends Agent>, long[]> entry : totalsOfCurrency
+						.entrySet()) {
+					summaries.add(String.format(
+							"%s %s: cpu=%.1f ms, allocated=%d KB",
+							currency.getIso4217Code(), entry.getKey()
+									.getSimpleName(),
+							entry.getValue()[CPU_NANOS] / 1000000.0,
+							entry.getValue()[ALLOCATED_BYTES] / 1024));
+				}
+			}
+		}
+		return summaries.toArray(new String[summaries.size()]);
+	}
+
+	/**
+	 * @return 0, if no resources have been charged to the agent type
+	 */
+	protected long getTotal(final Currency currency,
+			final Class<? extends Agent> agentType, final int index) {
+		final Map<Class<? extends Agent>, long[]> totalsOfCurrency = totals
+				.get(currency);
+		if (totalsOfCurrency == null) {
+			return 0;
+		}
+
+		final long[] totalsOfAgentType = totalsOfCurrency.get(agentType);
+		if (totalsOfAgentType == null) {
+			return 0;
+		}
+		return totalsOfAgentType[index];
+	}
+}
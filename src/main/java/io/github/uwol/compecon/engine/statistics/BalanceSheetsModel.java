@@ -36,23 +36,46 @@ import io.github.uwol.compecon.economy.sectors.trading.Trader;
 
 public class BalanceSheetsModel extends NotificationListenerModel {
 
-	protected BalanceSheetDTO centralBankBalanceSheet;
+	/**
+	 * balance sheets published by agents within a period
+	 */
+	protected class BalanceSheets {
 
-	protected final Map<CreditBank, BalanceSheetDTO> creditBankBalanceSheets = new HashMap<CreditBank, BalanceSheetDTO>();
+		protected BalanceSheetDTO centralBankBalanceSheet;
 
-	protected final Map<GoodType, Map<Factory, BalanceSheetDTO>> factoryBalanceSheets = new HashMap<GoodType, Map<Factory, BalanceSheetDTO>>();
+		protected final Map<CreditBank, BalanceSheetDTO> creditBankBalanceSheets = new HashMap<CreditBank, BalanceSheetDTO>();
 
-	protected final Map<Household, BalanceSheetDTO> householdBalanceSheets = new HashMap<Household, BalanceSheetDTO>();
+		protected final Map<GoodType, Map<Factory, BalanceSheetDTO>> factoryBalanceSheets = new HashMap<GoodType, Map<Factory, BalanceSheetDTO>>();
 
-	protected final Currency referenceCurrency;
+		protected final Map<Household, BalanceSheetDTO> householdBalanceSheets = new HashMap<Household, BalanceSheetDTO>();
+
+		protected BalanceSheetDTO stateBalanceSheet;
 
-	protected BalanceSheetDTO stateBalanceSheet;
+		protected final Map<Trader, BalanceSheetDTO> traderBalanceSheets = new HashMap<Trader, BalanceSheetDTO>();
 
-	protected final Map<Trader, BalanceSheetDTO> traderBalanceSheets = new HashMap<Trader, BalanceSheetDTO>();
+		protected BalanceSheets() {
+			for (final GoodType goodType : GoodType.values()) {
+				factoryBalanceSheets.put(goodType,
+						new HashMap<Factory, BalanceSheetDTO>());
+			}
+		}
+	}
+
+	/**
+	 * balance sheets of the current period, filled by the simulation thread
+	 */
+	protected BalanceSheets balanceSheets = new BalanceSheets();
+
+	/**
+	 * balance sheets of the closed period, which are aggregated by the
+	 * getters
+	 */
+	protected BalanceSheets balanceSheetsOfClosedPeriod = new BalanceSheets();
+
+	protected final Currency referenceCurrency;
 
 	public BalanceSheetsModel(final Currency referenceCurrency) {
 		this.referenceCurrency = referenceCurrency;
-		resetBalanceSheets();
 	}
 
 	public void agent_onPublishBalanceSheet(final Agent agent,
@@ -62,20 +85,23 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 				.equals(balanceSheet.referenceCurrency));
 
 		if (agent instanceof Household) {
-			householdBalanceSheets.put((Household) agent, balanceSheet);
+			balanceSheets.householdBalanceSheets.put((Household) agent,
+					balanceSheet);
 		} else if (agent instanceof Factory) {
-			factoryBalanceSheets.get(((Factory) agent).getProducedGoodType())
-					.put((Factory) agent, balanceSheet);
+			balanceSheets.factoryBalanceSheets.get(
+					((Factory) agent).getProducedGoodType()).put(
+					(Factory) agent, balanceSheet);
 		} else if (agent instanceof Trader) {
-			traderBalanceSheets.put((Trader) agent, balanceSheet);
+			balanceSheets.traderBalanceSheets.put((Trader) agent, balanceSheet);
 		} else if (agent instanceof CreditBank) {
-			creditBankBalanceSheets.put((CreditBank) agent, balanceSheet);
+			balanceSheets.creditBankBalanceSheets.put((CreditBank) agent,
+					balanceSheet);
 		} else if (agent instanceof CentralBank) {
-			assert (centralBankBalanceSheet == null);
-			centralBankBalanceSheet = balanceSheet;
+			assert (balanceSheets.centralBankBalanceSheet == null);
+			balanceSheets.centralBankBalanceSheet = balanceSheet;
 		} else if (agent instanceof State) {
-			assert (stateBalanceSheet == null);
-			stateBalanceSheet = balanceSheet;
+			assert (balanceSheets.stateBalanceSheet == null);
+			balanceSheets.stateBalanceSheet = balanceSheet;
 		} else {
 			throw new RuntimeException("unexpected agent type");
 		}
@@ -127,7 +153,8 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 	public BalanceSheetDTO getCentralBankNationalAccountsBalanceSheet() {
 		final BalanceSheetDTO centralBankNationalAccountsBalanceSheet = new BalanceSheetDTO(
 				referenceCurrency);
-		copyBalanceSheetValues(centralBankBalanceSheet,
+		copyBalanceSheetValues(
+				balanceSheetsOfClosedPeriod.centralBankBalanceSheet,
 				centralBankNationalAccountsBalanceSheet);
 		return centralBankNationalAccountsBalanceSheet;
 	}
@@ -139,7 +166,7 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 		final BalanceSheetDTO creditBankNationalAccountsBalanceSheet = new BalanceSheetDTO(
 				referenceCurrency);
 
-		for (final BalanceSheetDTO balanceSheet : creditBankBalanceSheets
+		for (final BalanceSheetDTO balanceSheet : balanceSheetsOfClosedPeriod.creditBankBalanceSheets
 				.values()) {
 			copyBalanceSheetValues(balanceSheet,
 					creditBankNationalAccountsBalanceSheet);
@@ -172,8 +199,8 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 		final BalanceSheetDTO factoryNationalAccountsBalanceSheet = new BalanceSheetDTO(
 				referenceCurrency);
 
-		for (final BalanceSheetDTO balanceSheet : factoryBalanceSheets.get(
-				goodType).values()) {
+		for (final BalanceSheetDTO balanceSheet : balanceSheetsOfClosedPeriod.factoryBalanceSheets
+				.get(goodType).values()) {
 			copyBalanceSheetValues(balanceSheet,
 					factoryNationalAccountsBalanceSheet);
 		}
@@ -188,7 +215,7 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 		final BalanceSheetDTO householdNationalAccountsBalanceSheet = new BalanceSheetDTO(
 				referenceCurrency);
 
-		for (final BalanceSheetDTO balanceSheet : householdBalanceSheets
+		for (final BalanceSheetDTO balanceSheet : balanceSheetsOfClosedPeriod.householdBalanceSheets
 				.values()) {
 			copyBalanceSheetValues(balanceSheet,
 					householdNationalAccountsBalanceSheet);
@@ -211,9 +238,11 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 				nationalAccountsBalanceSheet);
 		copyBalanceSheetValues(getCreditBankNationalAccountsBalanceSheet(),
 				nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(centralBankBalanceSheet,
+		copyBalanceSheetValues(
+				balanceSheetsOfClosedPeriod.centralBankBalanceSheet,
+				nationalAccountsBalanceSheet);
+		copyBalanceSheetValues(balanceSheetsOfClosedPeriod.stateBalanceSheet,
 				nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(stateBalanceSheet, nationalAccountsBalanceSheet);
 		return nationalAccountsBalanceSheet;
 	}
 
@@ -237,7 +266,7 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 	public BalanceSheetDTO getStateNationalAccountsBalanceSheet() {
 		final BalanceSheetDTO stateNationalAccountsBalanceSheet = new BalanceSheetDTO(
 				referenceCurrency);
-		copyBalanceSheetValues(stateBalanceSheet,
+		copyBalanceSheetValues(balanceSheetsOfClosedPeriod.stateBalanceSheet,
 				stateNationalAccountsBalanceSheet);
 		return stateNationalAccountsBalanceSheet;
 	}
@@ -249,7 +278,8 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 		final BalanceSheetDTO traderNationalAccountsBalanceSheet = new BalanceSheetDTO(
 				referenceCurrency);
 
-		for (final BalanceSheetDTO balanceSheet : traderBalanceSheets.values()) {
+		for (final BalanceSheetDTO balanceSheet : balanceSheetsOfClosedPeriod.traderBalanceSheets
+				.values()) {
 			copyBalanceSheetValues(balanceSheet,
 					traderNationalAccountsBalanceSheet);
 		}
@@ -257,23 +287,17 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 		return traderNationalAccountsBalanceSheet;
 	}
 
-	public void nextPeriod() {
-		notifyListeners();
-		resetBalanceSheets();
+	/**
+	 * swaps the balance sheets; listeners of the returned stage aggregate the
+	 * balance sheets of the closed period
+	 */
+	public Runnable closePeriod() {
+		balanceSheetsOfClosedPeriod = balanceSheets;
+		balanceSheets = new BalanceSheets();
+		return createNotifyListenersStage();
 	}
 
-	private void resetBalanceSheets() {
-		householdBalanceSheets.clear();
-		factoryBalanceSheets.clear();
-
-		for (final GoodType goodType : GoodType.values()) {
-			factoryBalanceSheets.put(goodType,
-					new HashMap<Factory, BalanceSheetDTO>());
-		}
-
-		traderBalanceSheets.clear();
-		creditBankBalanceSheets.clear();
-		centralBankBalanceSheet = null;
-		stateBalanceSheet = null;
+	public void nextPeriod() {
+		closePeriod().run();
 	}
 }
@@ -0,0 +1,135 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+/**
+ * Histogram of latencies in nanoseconds with fixed memory: values are counted
+ * in buckets of exponentially growing width, each power of two being split
+ * into SUB_BUCKETS linear sub-buckets, so that quantiles are exact up to a
+ * relative error of 1 / SUB_BUCKETS. Histograms of the same layout can be
+ * merged.
+ */
+public class LatencyHistogram {
+
+	protected static final int SUB_BUCKET_BITS = 3;
+
+	protected static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	protected static final int NUMBER_OF_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1)
+			* SUB_BUCKETS;
+
+	protected static int getBucketIndex(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int shift = exponent - SUB_BUCKET_BITS;
+		final int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return largest value counted in the bucket
+	 */
+	protected static long getUpperBound(final int bucketIndex) {
+		if (bucketIndex < SUB_BUCKETS) {
+			return bucketIndex;
+		}
+		final int shift = bucketIndex / SUB_BUCKETS - 1;
+		final long subBucket = bucketIndex % SUB_BUCKETS;
+		final long lowerBound = (SUB_BUCKETS + subBucket) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+
+	protected final long[] counts = new long[NUMBER_OF_BUCKETS];
+
+	protected long max = 0;
+
+	protected long totalCount = 0;
+
+	protected long totalValue = 0;
+
+	public synchronized void add(final LatencyHistogram latencyHistogram) {
+		synchronized (latencyHistogram) {
+			for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+				counts[i] += latencyHistogram.counts[i];
+			}
+			max = Math.max(max, latencyHistogram.max);
+			totalCount += latencyHistogram.totalCount;
+			totalValue += latencyHistogram.totalValue;
+		}
+	}
+
+	public synchronized long getMax() {
+		return max;
+	}
+
+	public synchronized double getMean() {
+		return totalCount == 0 ? Double.NaN : (double) totalValue
+				/ totalCount;
+	}
+
+	public synchronized long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * @return upper bound of the bucket containing the value at the
+	 *         quantile, but at most the recorded max; 0 if empty
+	 */
+	public synchronized long getValueAtQuantile(final double quantile) {
+		assert (quantile >= 0.0 && quantile <= 1.0);
+
+		final long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+		long cumulativeCount = 0;
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			cumulativeCount += counts[i];
+			if (cumulativeCount >= rank) {
+				return Math.min(getUpperBound(i), max);
+			}
+		}
+		return 0;
+	}
+
+	public synchronized void record(final long value) {
+		final long nonNegativeValue = Math.max(0, value);
+		counts[getBucketIndex(nonNegativeValue)]++;
+		max = Math.max(max, nonNegativeValue);
+		totalCount++;
+		totalValue += nonNegativeValue;
+	}
+
+	public synchronized void reset() {
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			counts[i] = 0;
+		}
+		max = 0;
+		totalCount = 0;
+		totalValue = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"count=%d, p50=%.1f us, p99=%.1f us, max=%.1f us",
+				totalCount, getValueAtQuantile(0.5) / 1000.0,
+				getValueAtQuantile(0.99) / 1000.0, max / 1000.0);
+	}
+}
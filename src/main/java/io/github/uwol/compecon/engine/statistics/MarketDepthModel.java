@@ -19,11 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
-import org.jfree.data.xy.XYDataset;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
+import com.google.common.primitives.Doubles;
 
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -33,55 +33,48 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 /**
  * Market depth model uses the compecon notification listener approach instead
  * of Jfreechart dataset-listeners, because this enables redrawing only a subset
- * of all market deptch diagrams.
+ * of all market deptch diagrams. Datasets are created by the dashboard.
  */
 public class MarketDepthModel extends NotificationListenerModel {
 
-	public XYDataset getMarketDepthDataset(final Currency currency,
-			final Currency commodityCurrency) {
-		final XYSeries series = new XYSeries(commodityCurrency.getIso4217Code()
-				+ " ask");
-
-		final Iterator<MarketOrder> iterator = ApplicationContext.getInstance()
-				.getMarketOrderDAO()
-				.getIteratorThreadsafe(currency, commodityCurrency);
+	/**
+	 * @return prices per unit and cumulated volumes available at that price
+	 *         per unit or less
+	 */
+	protected double[][] getMarketDepth(final Iterator<MarketOrder> iterator) {
+		final List<Double> prices = new ArrayList<Double>();
+		final List<Double> volumes = new ArrayList<Double>();
 		double volume = 0.0;
 
 		while (iterator.hasNext()) {
 			final MarketOrder marketOrder = iterator.next();
 			volume += marketOrder.getAmount();
-			// volume available at that price per unit or less
-			series.add(marketOrder.getPricePerUnit(), volume);
+			prices.add(marketOrder.getPricePerUnit());
+			volumes.add(volume);
 		}
 
-		final XYSeriesCollection dataset = new XYSeriesCollection();
-		dataset.removeAllSeries();
-		dataset.addSeries(series);
-		return dataset;
+		return new double[][] { Doubles.toArray(prices),
+				Doubles.toArray(volumes) };
 	}
 
-	public XYDataset getMarketDepthDataset(final Currency currency,
-			final GoodType goodType) {
-		final XYSeries series = new XYSeries(goodType + " ask");
-
-		final Iterator<MarketOrder> iterator = ApplicationContext.getInstance()
-				.getMarketOrderDAO().getIteratorThreadsafe(currency, goodType);
-		double volume = 0.0;
+	public double[][] getMarketDepth(final Currency currency,
+			final Currency commodityCurrency) {
+		return getMarketDepth(ApplicationContext.getInstance()
+				.getMarketOrderDAO()
+				.getIteratorThreadsafe(currency, commodityCurrency));
+	}
 
-		while (iterator.hasNext()) {
-			final MarketOrder marketOrder = iterator.next();
-			volume += marketOrder.getAmount();
-			// volume available at that price per unit or less
-			series.add(marketOrder.getPricePerUnit(), volume);
-		}
+	public double[][] getMarketDepth(final Currency currency,
+			final GoodType goodType) {
+		return getMarketDepth(ApplicationContext.getInstance()
+				.getMarketOrderDAO().getIteratorThreadsafe(currency, goodType));
+	}
 
-		final XYSeriesCollection dataset = new XYSeriesCollection();
-		dataset.removeAllSeries();
-		dataset.addSeries(series);
-		return dataset;
+	public Runnable closePeriod() {
+		return createNotifyListenersStage();
 	}
 
 	public void nextPeriod() {
-		notifyListeners();
+		closePeriod().run();
 	}
 }
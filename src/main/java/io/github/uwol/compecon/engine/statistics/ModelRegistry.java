@@ -19,8 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
@@ -28,6 +31,9 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporter;
+import io.github.uwol.compecon.engine.statistics.timeseries.AbstractPeriodDataMultipleTimeSeriesModel;
+import io.github.uwol.compecon.engine.statistics.timeseries.AbstractPeriodDataSingleTimeSeriesModel;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataPercentageTimeSeriesModel;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataQuotientTimeSeriesModel;
@@ -97,7 +103,9 @@ public class ModelRegistry {
 				incomeModel = new PeriodDataAccumulatorTimeSeriesModel(
 						currency.getIso4217Code() + " income");
 				incomeDistributionModel = new PeriodDataDistributionModel(
-						this.currency);
+						this.currency, ApplicationContext.getInstance()
+								.getConfiguration().dashboardConfig
+								.getIncomeDistributionRelativeAccuracy());
 				incomeSourceModel = new PeriodDataPercentageTimeSeriesModel<IncomeSource>(
 						IncomeSource.values(), currency.getIso4217Code()
 								+ " income source");
@@ -115,26 +123,62 @@ public class ModelRegistry {
 				utilityModel = new UtilityModel(this.currency, inputOutputModel);
 			}
 
-			public void nextPeriod() {
+			public void closePeriod(final List<Runnable> stages) {
 				for (final PeriodDataAccumulatorTimeSeriesModel periodDataAccumulatorTimeSeriesModel : convexFunctionTerminationCauseModels
 						.values()) {
-					periodDataAccumulatorTimeSeriesModel.nextPeriod();
+					stages.add(periodDataAccumulatorTimeSeriesModel.closePeriod());
 				}
 
-				budgetModel.nextPeriod();
-				consumptionModel.nextPeriod();
-				consumptionRateModel.nextPeriod();
-				dividendModel.nextPeriod();
-				governmentTransfersModel.nextPeriod();
-				incomeModel.nextPeriod();
-				incomeSourceModel.nextPeriod();
-				incomeDistributionModel.nextPeriod();
-				labourHourCapacityModel.nextPeriod();
-				retiredModel.nextPeriod();
-				savingModel.nextPeriod();
-				savingRateModel.nextPeriod();
-				utilityModel.nextPeriod();
-				wageModel.nextPeriod();
+				stages.add(budgetModel.closePeriod());
+				stages.add(consumptionModel.closePeriod());
+				stages.add(consumptionRateModel.closePeriod());
+				stages.add(dividendModel.closePeriod());
+				stages.add(governmentTransfersModel.closePeriod());
+				stages.add(incomeModel.closePeriod());
+				stages.add(incomeSourceModel.closePeriod());
+				stages.add(incomeDistributionModel.closePeriod());
+				stages.add(labourHourCapacityModel.closePeriod());
+				stages.add(retiredModel.closePeriod());
+				stages.add(savingModel.closePeriod());
+				stages.add(savingRateModel.closePeriod());
+				utilityModel.closePeriod(stages);
+				stages.add(wageModel.closePeriod());
+			}
+
+			public void registerExports(
+					final PeriodDataExporter periodDataExporter,
+					final String path) {
+				registerExport(periodDataExporter, path + "/budget",
+						budgetModel);
+				registerExport(periodDataExporter, path + "/consumption",
+						consumptionModel);
+				registerExport(periodDataExporter, path
+						+ "/consumptionIncomeRatio",
+						consumptionIncomeRatioModel);
+				registerExport(periodDataExporter, path + "/consumptionRate",
+						consumptionRateModel);
+				registerExport(periodDataExporter, path
+						+ "/convexFunctionTerminationCauses",
+						convexFunctionTerminationCauseModels);
+				registerExport(periodDataExporter, path + "/dividend",
+						dividendModel);
+				registerExport(periodDataExporter, path
+						+ "/governmentTransfers", governmentTransfersModel);
+				registerExport(periodDataExporter, path + "/income",
+						incomeModel);
+				registerExport(periodDataExporter, path + "/incomeSource",
+						incomeSourceModel);
+				registerExport(periodDataExporter, path
+						+ "/labourHourCapacity", labourHourCapacityModel);
+				registerExport(periodDataExporter, path + "/retired",
+						retiredModel);
+				registerExport(periodDataExporter, path + "/saving",
+						savingModel);
+				registerExport(periodDataExporter, path + "/savingRate",
+						savingRateModel);
+				utilityModel.registerExports(periodDataExporter, path
+						+ "/utility");
+				registerExport(periodDataExporter, path + "/wage", wageModel);
 			}
 		}
 
@@ -204,22 +248,40 @@ public class ModelRegistry {
 				}
 			}
 
-			public void nextPeriod() {
-				capitalDepreciationModel.nextPeriod();
-				outputModel.nextPeriod();
-				budgetModel.nextPeriod();
-				inventoryModel.nextPeriod();
+			public void closePeriod(final List<Runnable> stages) {
+				stages.add(capitalDepreciationModel.closePeriod());
+				stages.add(outputModel.closePeriod());
+				stages.add(budgetModel.closePeriod());
+				stages.add(inventoryModel.closePeriod());
 
 				for (final PeriodDataAccumulatorTimeSeriesModel periodDataAccumulatorTimeSeriesModel : inputModels
 						.values()) {
-					periodDataAccumulatorTimeSeriesModel.nextPeriod();
+					stages.add(periodDataAccumulatorTimeSeriesModel.closePeriod());
 				}
 
 				for (final PeriodDataAccumulatorTimeSeriesModel periodDataAccumulatorTimeSeriesModel : convexProductionFunctionTerminationCauseModels
 						.values()) {
-					periodDataAccumulatorTimeSeriesModel.nextPeriod();
+					stages.add(periodDataAccumulatorTimeSeriesModel.closePeriod());
 				}
 			}
+
+			public void registerExports(
+					final PeriodDataExporter periodDataExporter,
+					final String path) {
+				registerExport(periodDataExporter, path + "/budget",
+						budgetModel);
+				registerExport(periodDataExporter, path
+						+ "/capitalDepreciation", capitalDepreciationModel);
+				registerExport(periodDataExporter, path
+						+ "/convexProductionFunctionTerminationCauses",
+						convexProductionFunctionTerminationCauseModels);
+				registerExport(periodDataExporter, path + "/inputs",
+						inputModels);
+				registerExport(periodDataExporter, path + "/inventory",
+						inventoryModel);
+				registerExport(periodDataExporter, path + "/output",
+						outputModel);
+			}
 		}
 
 		public class PricingBehaviourModel {
@@ -262,16 +324,30 @@ public class ModelRegistry {
 				}
 			}
 
-			public void nextPeriod() {
-				pricingBehaviourAveragePriceDecisionCauseModel.nextPeriod();
-				offerModel.nextPeriod();
-				soldModel.nextPeriod();
+			public void closePeriod(final List<Runnable> stages) {
+				stages.add(pricingBehaviourAveragePriceDecisionCauseModel.closePeriod());
+				stages.add(offerModel.closePeriod());
+				stages.add(soldModel.closePeriod());
 
 				for (final PeriodDataAccumulatorTimeSeriesModel periodDataAccumulatorTimeSeriesModel : pricingBehaviourPriceDecisionCauseModels
 						.values()) {
-					periodDataAccumulatorTimeSeriesModel.nextPeriod();
+					stages.add(periodDataAccumulatorTimeSeriesModel.closePeriod());
 				}
 			}
+
+			public void registerExports(
+					final PeriodDataExporter periodDataExporter,
+					final String path) {
+				registerExport(periodDataExporter, path
+						+ "/averagePriceDecisionCause",
+						pricingBehaviourAveragePriceDecisionCauseModel);
+				registerExport(periodDataExporter, path + "/offered",
+						offerModel);
+				registerExport(periodDataExporter, path
+						+ "/priceDecisionCauses",
+						pricingBehaviourPriceDecisionCauseModels);
+				registerExport(periodDataExporter, path + "/sold", soldModel);
+			}
 		}
 
 		/**
@@ -292,8 +368,15 @@ public class ModelRegistry {
 				utilityModel = new UtilityModel(this.currency, inputOutputModel);
 			}
 
-			public void nextPeriod() {
-				utilityModel.nextPeriod();
+			public void closePeriod(final List<Runnable> stages) {
+				utilityModel.closePeriod(stages);
+			}
+
+			public void registerExports(
+					final PeriodDataExporter periodDataExporter,
+					final String path) {
+				utilityModel.registerExports(periodDataExporter, path
+						+ "/utility");
 			}
 		}
 
@@ -327,18 +410,39 @@ public class ModelRegistry {
 				}
 			}
 
-			public void nextPeriod() {
-				utilityOutputModel.nextPeriod();
+			public void closePeriod(final List<Runnable> stages) {
+				stages.add(utilityOutputModel.closePeriod());
 
 				for (final PeriodDataAccumulatorTimeSeriesModel periodDataAccumulatorTimeSeriesModel : utilityInputModels
 						.values()) {
-					periodDataAccumulatorTimeSeriesModel.nextPeriod();
+					stages.add(periodDataAccumulatorTimeSeriesModel.closePeriod());
 				}
 			}
+
+			public void registerExports(
+					final PeriodDataExporter periodDataExporter,
+					final String path) {
+				registerExport(periodDataExporter, path + "/inputs",
+						utilityInputModels);
+				registerExport(periodDataExporter, path + "/output",
+						utilityOutputModel);
+			}
 		}
 
+		/**
+		 * megabytes allocated per period by agents of each agent type;
+		 * recorded only if agent resource accounting is configured
+		 */
+		public final Map<Class<? extends Agent>, PeriodDataAccumulatorTimeSeriesModel> allocatedBytesModels = new HashMap<Class<? extends Agent>, PeriodDataAccumulatorTimeSeriesModel>();
+
 		public final BalanceSheetsModel balanceSheetsModel;
 
+		/**
+		 * milliseconds of CPU time per period consumed by agents of each agent
+		 * type; recorded only if agent resource accounting is configured
+		 */
+		public final Map<Class<? extends Agent>, PeriodDataAccumulatorTimeSeriesModel> cpuTimeModels = new HashMap<Class<? extends Agent>, PeriodDataAccumulatorTimeSeriesModel>();
+
 		/*
 		 * agents
 		 */
@@ -437,9 +541,21 @@ public class ModelRegistry {
 								.getIso4217Code()
 								+ " "
 								+ agentType.getSimpleName()));
+				cpuTimeModels.put(
+						agentType,
+						new PeriodDataAccumulatorTimeSeriesModel(currency
+								.getIso4217Code()
+								+ " "
+								+ agentType.getSimpleName() + " CPU ms"));
+				allocatedBytesModels.put(
+						agentType,
+						new PeriodDataAccumulatorTimeSeriesModel(currency
+								.getIso4217Code()
+								+ " "
+								+ agentType.getSimpleName() + " allocated MB"));
 			}
 
-			pricesModel = new PricesModel();
+			pricesModel = new PricesModel(currency);
 			marketDepthModel = new MarketDepthModel();
 			keyInterestRateModel = new PeriodDataAccumulatorTimeSeriesModel(
 					currency.getIso4217Code() + " key interest rate");
@@ -473,67 +589,177 @@ public class ModelRegistry {
 			return pricingBehaviourModels.get(goodType);
 		}
 
-		public void nextPeriod() {
+		public void closePeriod(final List<Runnable> stages) {
 			moneyVelocityModel.add(moneyCirculationModel.getValue(),
 					moneySupplyM1Model.getValue());
 
 			for (final IndustryModel goodTypeProductionModel : industryModels
 					.values()) {
-				goodTypeProductionModel.nextPeriod();
+				goodTypeProductionModel.closePeriod(stages);
 			}
 
 			for (final PricingBehaviourModel pricingBehaviourModel : pricingBehaviourModels
 					.values()) {
-				pricingBehaviourModel.nextPeriod();
+				pricingBehaviourModel.closePeriod(stages);
 			}
 
-			householdsModel.nextPeriod();
-			balanceSheetsModel.nextPeriod();
-			creditUtilizationRateModel.nextPeriod();
-			keyInterestRateModel.nextPeriod();
-			marketDepthModel.nextPeriod();
-			monetaryTransactionsModel.nextPeriod();
-			moneySupplyM0Model.nextPeriod();
-			moneySupplyM1Model.nextPeriod();
-			moneySupplyM2Model.nextPeriod();
-			moneyCirculationModel.nextPeriod();
-			moneyVelocityModel.nextPeriod();
+			householdsModel.closePeriod(stages);
+
+			for (final PeriodDataAccumulatorTimeSeriesModel allocatedBytesModel : allocatedBytesModels
+					.values()) {
+				stages.add(allocatedBytesModel.closePeriod());
+			}
+
+			stages.add(balanceSheetsModel.closePeriod());
+
+			for (final PeriodDataAccumulatorTimeSeriesModel cpuTimeModel : cpuTimeModels
+					.values()) {
+				stages.add(cpuTimeModel.closePeriod());
+			}
+
+			stages.add(creditUtilizationRateModel.closePeriod());
+			stages.add(keyInterestRateModel.closePeriod());
+			stages.add(marketDepthModel.closePeriod());
+			stages.add(monetaryTransactionsModel.closePeriod());
+			stages.add(moneySupplyM0Model.closePeriod());
+			stages.add(moneySupplyM1Model.closePeriod());
+			stages.add(moneySupplyM2Model.closePeriod());
+			stages.add(moneyCirculationModel.closePeriod());
+			stages.add(moneyVelocityModel.closePeriod());
 
 			for (final PeriodDataAccumulatorTimeSeriesModel numberOfAgentsModel : numberOfAgentsModels
 					.values()) {
-				numberOfAgentsModel.nextPeriod();
+				stages.add(numberOfAgentsModel.closePeriod());
 			}
 
-			pricesModel.nextPeriod();
-			priceIndexModel.nextPeriod();
-			stateModel.nextPeriod();
+			stages.add(pricesModel.closePeriod());
+			stages.add(priceIndexModel.closePeriod());
+			stateModel.closePeriod(stages);
+		}
+
+		/**
+		 * registers the time series models under names qualified by the
+		 * given path, e. g. EUR/industries/COAL/output
+		 */
+		public void registerExports(
+				final PeriodDataExporter periodDataExporter, final String path) {
+			for (final Class<? extends Agent> agentType : numberOfAgentsModels
+					.keySet()) {
+				final String agentTypePath = path + "/agents/"
+						+ agentType.getSimpleName();
+				registerExport(periodDataExporter,
+						agentTypePath + "/allocatedMB",
+						allocatedBytesModels.get(agentType));
+				registerExport(periodDataExporter, agentTypePath + "/cpuMs",
+						cpuTimeModels.get(agentType));
+				registerExport(periodDataExporter, agentTypePath + "/number",
+						numberOfAgentsModels.get(agentType));
+			}
+
+			registerExport(periodDataExporter, path
+					+ "/creditUtilizationRate", creditUtilizationRateModel);
+			householdsModel.registerExports(periodDataExporter, path
+					+ "/households");
+
+			for (final Entry<GoodType, IndustryModel> entry : industryModels
+					.entrySet()) {
+				entry.getValue().registerExports(periodDataExporter,
+						path + "/industries/" + entry.getKey());
+			}
+
+			registerExport(periodDataExporter, path + "/keyInterestRate",
+					keyInterestRateModel);
+			registerExport(periodDataExporter, path + "/M0",
+					moneySupplyM0Model);
+			registerExport(periodDataExporter, path + "/M1",
+					moneySupplyM1Model);
+			registerExport(periodDataExporter, path + "/M2",
+					moneySupplyM2Model);
+			registerExport(periodDataExporter, path + "/moneyCirculation",
+					moneyCirculationModel);
+			registerExport(periodDataExporter, path + "/moneyVelocity",
+					moneyVelocityModel);
+			registerExport(periodDataExporter, path + "/priceIndex",
+					priceIndexModel);
+			registerExport(periodDataExporter, path + "/prices",
+					pricesModel.closingPriceModels);
+
+			for (final Entry<GoodType, PricingBehaviourModel> entry : pricingBehaviourModels
+					.entrySet()) {
+				entry.getValue().registerExports(periodDataExporter,
+						path + "/pricingBehaviour/" + entry.getKey());
+			}
+
+			stateModel.registerExports(periodDataExporter, path + "/state");
+			registerExport(periodDataExporter, path + "/totalUtility",
+					totalUtilityOutputModel);
 		}
 	}
 
 	protected final AgentDetailModel agentDetailModel = new AgentDetailModel();
 
+	protected final AgentResourceAccounting agentResourceAccounting = new AgentResourceAccounting();
+
 	protected final Map<Currency, NationalEconomyModel> nationalEconomyModels = new HashMap<Currency, NationalEconomyModel>();
 
+	protected final PeriodDataPipeline periodDataPipeline;
+
+	protected final StatisticsEventBus statisticsEventBus;
+
 	protected final TimeSystemModel timeSystemModel = new TimeSystemModel();
 
 	/**
 	 * Requires the input-output model to be set in the application context.
 	 */
 	public ModelRegistry(final InputOutputModel inputOutputModel) {
+		periodDataPipeline = new PeriodDataPipeline(ApplicationContext
+				.getInstance().getConfiguration().dashboardConfig
+				.getPipelinedPeriodRollover());
+		statisticsEventBus = new StatisticsEventBus(this, ApplicationContext
+				.getInstance().getConfiguration().dashboardConfig
+				.getStatisticsEventBusPolicy(), ApplicationContext
+				.getInstance().getConfiguration().dashboardConfig
+				.getStatisticsEventBusCapacity(), ApplicationContext
+				.getInstance().getConfiguration().dashboardConfig
+				.getStatisticsEventBusConsumers());
+
 		for (final Currency currency : Currency.values()) {
 			nationalEconomyModels.put(currency, new NationalEconomyModel(
 					currency, inputOutputModel));
 		}
+
+		// exportable by qualified name
+		final PeriodDataExporter periodDataExporter = ApplicationContext
+				.getInstance().getPeriodDataExporter();
+		if (periodDataExporter != null) {
+			for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels
+					.values()) {
+				nationalEconomyModel.registerExports(periodDataExporter,
+						nationalEconomyModel.currency.getIso4217Code());
+			}
+		}
 	}
 
 	public AgentDetailModel getAgentDetailModel() {
 		return agentDetailModel;
 	}
 
+	public AgentResourceAccounting getAgentResourceAccounting() {
+		return agentResourceAccounting;
+	}
+
 	public NationalEconomyModel getNationalEconomyModel(final Currency currency) {
 		return nationalEconomyModels.get(currency);
 	}
 
+	public PeriodDataPipeline getPeriodDataPipeline() {
+		return periodDataPipeline;
+	}
+
+	public StatisticsEventBus getStatisticsEventBus() {
+		return statisticsEventBus;
+	}
+
 	public TimeSystemModel getTimeSystemModel() {
 		return timeSystemModel;
 	}
@@ -542,13 +768,61 @@ public class ModelRegistry {
 		timeSystemModel.nextHour();
 	}
 
+	/**
+	 * closes the period of all models on the simulation thread and hands the
+	 * closed period to the period data pipeline
+	 */
 	public void nextPeriod() {
-		agentDetailModel.notifyListeners();
+		// statistics events of the period must be applied before closing it
+		statisticsEventBus.drain();
+
+		// buffers of the pending period must not be swapped
+		periodDataPipeline.awaitCompletion();
+
+		final List<Runnable> stages = new ArrayList<Runnable>();
+		stages.add(agentDetailModel.createNotifyListenersStage());
 
 		for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels
 				.values()) {
-			nationalEconomyModel.nextPeriod();
+			nationalEconomyModel.closePeriod(stages);
+		}
+
+		periodDataPipeline.submit(stages);
+	}
+
+	protected <I> void registerExport(
+			final PeriodDataExporter periodDataExporter, final String name,
+			final AbstractPeriodDataMultipleTimeSeriesModel<I> model) {
+		for (final I indexType : model.getIndexTypes()) {
+			periodDataExporter.register(name + "/" + indexType,
+					model.getPeriodDataStorage(indexType));
+		}
+	}
+
+	protected void registerExport(final PeriodDataExporter periodDataExporter,
+			final String name, final AbstractPeriodDataSingleTimeSeriesModel model) {
+		periodDataExporter.register(name, model.getPeriodDataStorage());
+	}
+
+	/**
+	 * registers the models of the map under the path, qualified by their key
+	 */
+	protected void registerExport(final PeriodDataExporter periodDataExporter,
+			final String path,
+			final Map<?, ? extends AbstractPeriodDataSingleTimeSeriesModel> models) {
+		for (final Entry<?, ? extends AbstractPeriodDataSingleTimeSeriesModel> entry : models
+				.entrySet()) {
+			registerExport(periodDataExporter, path + "/" + entry.getKey(),
+					entry.getValue());
 		}
 	}
 
+	/**
+	 * processes pending statistics events and the pending period, and stops
+	 * the statistics event bus and the period data pipeline
+	 */
+	public void shutdown() {
+		statisticsEventBus.shutdown();
+		periodDataPipeline.shutdown();
+	}
 }
@@ -19,54 +19,104 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.factory.AgentFactory;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class MonetaryTransactionsModel extends NotificationListenerModel {
 
-	// stores transaction values in a type-safe way
-	protected Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> adjacencyMatrix = new HashMap<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>>();
+	/**
+	 * transaction values of the current period, indexed by the ordinals of
+	 * the agent types from * number of agent types + to
+	 */
+	protected double[] adjacencyMatrix;
 
-	public MonetaryTransactionsModel() {
-		// from
-		for (final Class<? extends Agent> agentTypeFrom : ApplicationContext
-				.getInstance().getAgentFactory().getAgentTypes()) {
-			final Map<Class<? extends Agent>, PeriodDataAccumulator> toMap = new HashMap<Class<? extends Agent>, PeriodDataAccumulator>();
-			adjacencyMatrix.put(agentTypeFrom, toMap);
+	/**
+	 * transaction values of the closed period, read by listeners; swapped
+	 * with {@link #adjacencyMatrix} at the end of each period
+	 */
+	protected double[] adjacencyMatrixOfClosedPeriod;
 
-			// to
-			for (final Class<? extends Agent> agentTypeTo : ApplicationContext
-					.getInstance().getAgentFactory().getAgentTypes()) {
-				toMap.put(agentTypeTo, new PeriodDataAccumulator());
-			}
-		}
+	protected final AgentFactory agentFactory;
+
+	protected final int numberOfAgentTypes;
+
+	public MonetaryTransactionsModel() {
+		agentFactory = ApplicationContext.getInstance().getAgentFactory();
+		numberOfAgentTypes = agentFactory.getAgentTypes().size();
+		adjacencyMatrix = new double[numberOfAgentTypes * numberOfAgentTypes];
+		adjacencyMatrixOfClosedPeriod = new double[numberOfAgentTypes
+				* numberOfAgentTypes];
 	}
 
 	public void bank_onTransfer(final Class<? extends BankCustomer> from,
 			final Class<? extends BankCustomer> to, final Currency currency,
 			final double value) {
-		adjacencyMatrix.get(from).get(to).add(value);
+		adjacencyMatrix[agentFactory.getAgentTypeOrdinal(from)
+				* numberOfAgentTypes + agentFactory.getAgentTypeOrdinal(to)] += value;
 	}
 
-	public Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> getAdjacencyMatrix() {
-		return adjacencyMatrix;
+	/**
+	 * swaps the matrices; the matrix of the closed period is read by the
+	 * listeners in the returned stage
+	 */
+	public Runnable closePeriod() {
+		final double[] adjacencyMatrixOfPeriod = adjacencyMatrix;
+		adjacencyMatrix = adjacencyMatrixOfClosedPeriod;
+		adjacencyMatrixOfClosedPeriod = adjacencyMatrixOfPeriod;
+
+		// the former closed period has been processed completely
+		Arrays.fill(adjacencyMatrix, 0.0);
+
+		return createNotifyListenersStage();
 	}
 
-	public void nextPeriod() {
-		notifyListeners();
+	/**
+	 * @return copy of the transaction values of the closed period by agent
+	 *         types, created on each call; {@link #getTransactionValue} reads
+	 *         them without copying
+	 */
+	public Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> getAdjacencyMatrix() {
+		final List<Class<? extends Agent>> agentTypes = agentFactory
+				.getAgentTypes();
+		final Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> adjacencyMatrixCopy = new HashMap<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>>();
+
+		// from
+		for (int i = 0; i < numberOfAgentTypes; i++) {
+			final Map<Class<? extends Agent>, PeriodDataAccumulator> toMap = new HashMap<Class<? extends Agent>, PeriodDataAccumulator>();
+			adjacencyMatrixCopy.put(agentTypes.get(i), toMap);
 
-		for (final Class<? extends Agent> agentTypeFrom : ApplicationContext
-				.getInstance().getAgentFactory().getAgentTypes()) {
-			for (final Class<? extends Agent> agentTypeTo : ApplicationContext
-					.getInstance().getAgentFactory().getAgentTypes()) {
-				adjacencyMatrix.get(agentTypeFrom).get(agentTypeTo).reset();
+			// to
+			for (int j = 0; j < numberOfAgentTypes; j++) {
+				final PeriodDataAccumulator periodDataAccumulator = new PeriodDataAccumulator();
+				periodDataAccumulator.add(getTransactionValue(i, j));
+				toMap.put(agentTypes.get(j), periodDataAccumulator);
 			}
 		}
+
+		return adjacencyMatrixCopy;
+	}
+
+	/**
+	 * @param from
+	 *            ordinal of the agent type sending money
+	 * @param to
+	 *            ordinal of the agent type receiving money
+	 * @return transaction value of the closed period
+	 */
+	public double getTransactionValue(final int from, final int to) {
+		return adjacencyMatrixOfClosedPeriod[from * numberOfAgentTypes + to];
+	}
+
+	public void nextPeriod() {
+		closePeriod().run();
 	}
 }
@@ -33,6 +33,19 @@ public abstract class NotificationListenerModel {
 	protected NotificationListenerModel() {
 	}
 
+	/**
+	 * @return stage notifying the listeners, which might be run on the period
+	 *         data pipeline
+	 */
+	protected Runnable createNotifyListenersStage() {
+		return new Runnable() {
+			@Override
+			public void run() {
+				notifyListeners();
+			}
+		};
+	}
+
 	public void notifyListeners() {
 		for (final ModelListener listener : listeners) {
 			listener.notifyListener();
@@ -19,16 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-
-import org.jfree.data.statistics.HistogramDataset;
-import org.jfree.data.xy.XYDataset;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
-
-import com.google.common.primitives.Doubles;
 
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
@@ -36,8 +27,21 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 
 	public class SummaryStatisticalData {
 
+		// gini coefficient
+		public double gini;
+
+		public long numberOfValues;
+
+		/**
+		 * sorted values, if the distribution is evaluated exactly
+		 */
 		public double[] originalValues;
 
+		/**
+		 * sketch of the values, if the distribution is estimated
+		 */
+		public QuantileSketch quantileSketch;
+
 		// median, y-value
 		public double quantil50Percent;
 
@@ -50,23 +54,8 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		// y-value
 		public double quantil99Percent;
 
-		public int xWith10PercentY;
-
-		public int xWith20PercentY;
-
-		public int xWith30PercentY;
-
-		public int xWith40PercentY;
-
-		public int xWith50PercentY;
-
-		public int xWith60PercentY;
-
-		public int xWith70PercentY;
-
-		public int xWith80PercentY;
-
-		public int xWith90PercentY;
+		// x with F(x) > (i + 1) * 10 % of F(infinite)
+		public double[] xWithPercentY = new double[9];
 
 		// F(X)
 		public double[] ySumAtPercentOfX = new double[20];
@@ -75,49 +64,105 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		public double yTotalSum;
 	}
 
-	protected HistogramDataset datasetsHistogram = new HistogramDataset();
-
-	protected XYSeriesCollection datasetsLorenzCurve = new XYSeriesCollection();
+	protected int numberOfValues = 0;
 
-	protected final int NUMBER_OF_BINS = 30;
+	/**
+	 * sketch of the current period, filled by the simulation thread; null, if
+	 * the distribution is evaluated exactly
+	 */
+	protected QuantileSketch quantileSketch;
 
 	protected final Currency referenceCurrency;
 
+	/**
+	 * relative accuracy of quantile sketches; 0 for exact evaluation
+	 */
+	protected final double relativeAccuracy;
+
 	protected SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
 
-	protected List<Double> values = new ArrayList<Double>();
+	/**
+	 * values of the current period, filled by the simulation thread
+	 */
+	protected double[] values = new double[0];
+
+	/**
+	 * values of the closed period, evaluated by the period data pipeline;
+	 * swapped with {@link #values} at the end of each period
+	 */
+	protected double[] valuesOfClosedPeriod = new double[0];
 
 	public PeriodDataDistributionModel(final Currency referenceCurrency) {
+		this(referenceCurrency, 0.0);
+	}
+
+	/**
+	 * @param relativeAccuracy
+	 *            relative accuracy of estimated quantiles; 0 for exact
+	 *            evaluation, which sorts all values of each period
+	 */
+	public PeriodDataDistributionModel(final Currency referenceCurrency,
+			final double relativeAccuracy) {
 		this.referenceCurrency = referenceCurrency;
+		this.relativeAccuracy = relativeAccuracy;
+
+		if (relativeAccuracy > 0.0) {
+			quantileSketch = new QuantileSketch(relativeAccuracy);
+		}
 	}
 
 	public void add(final double value) {
-		values.add(value);
+		if (quantileSketch != null) {
+			quantileSketch.add(value);
+		} else {
+			if (numberOfValues == values.length) {
+				values = Arrays.copyOf(values,
+						Math.max(16, values.length * 2));
+			}
+			values[numberOfValues++] = value;
+		}
 	}
 
-	public HistogramDataset getHistogramDataset() {
-		return datasetsHistogram;
-	}
+	/**
+	 * swaps the value buffers or sketches; sorting and the calculation of
+	 * distribution statistics are deferred to the returned stage
+	 */
+	public Runnable closePeriod() {
+		if (quantileSketch != null) {
+			final QuantileSketch quantileSketchOfPeriod = quantileSketch;
+			quantileSketch = new QuantileSketch(relativeAccuracy);
+
+			return new Runnable() {
+				@Override
+				public void run() {
+					evaluate(quantileSketchOfPeriod);
+				}
+			};
+		}
 
-	public XYDataset getLorenzCurveDataset() {
-		return datasetsLorenzCurve;
-	}
+		final double[] valuesOfPeriod = values;
+		final int numberOfValuesOfPeriod = numberOfValues;
+		values = valuesOfClosedPeriod;
+		valuesOfClosedPeriod = valuesOfPeriod;
+		numberOfValues = 0;
 
-	public SummaryStatisticalData getSummaryStatisticalData() {
-		return summaryStatisticalData;
+		return new Runnable() {
+			@Override
+			public void run() {
+				evaluate(Arrays.copyOf(valuesOfPeriod, numberOfValuesOfPeriod));
+			}
+		};
 	}
 
-	public void nextPeriod() {
-		final double[] valuesAsArray = Doubles.toArray(values);
-		values.clear();
+	protected void evaluate(final double[] valuesAsArray) {
 		Arrays.sort(valuesAsArray);
 
 		/*
 		 * precalculate summary statistical data
 		 */
 		final SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
-		this.summaryStatisticalData = summaryStatisticalData;
 
+		summaryStatisticalData.numberOfValues = valuesAsArray.length;
 		summaryStatisticalData.originalValues = valuesAsArray;
 
 		if (valuesAsArray.length > 0) {
@@ -139,89 +184,97 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 				/ summaryStatisticalData.ySumAtPercentOfX.length;
 
 		double sum = 0;
+		double weightedSum = 0;
+		int percentY = 0;
+
+		for (int i = 0; i < valuesAsArray.length; i++) {
+			sum += valuesAsArray[i];
+			weightedSum += (i + 1) * valuesAsArray[i];
+
+			/*
+			 * xWithPercentY
+			 */
+			while (percentY < summaryStatisticalData.xWithPercentY.length
+					&& sum > summaryStatisticalData.yTotalSum
+							* (percentY + 1) * 0.1) {
+				summaryStatisticalData.xWithPercentY[percentY++] = valuesAsArray[i];
+			}
 
-		if (bucketWidth != 0) {
-			for (int i = 0; i < valuesAsArray.length; i++) {
-				/*
-				 * xWith..PercentY
-				 */
-				sum += valuesAsArray[i];
-				if (sum > (summaryStatisticalData.yTotalSum * 0.9)
-						&& summaryStatisticalData.xWith90PercentY == 0) {
-					summaryStatisticalData.xWith90PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.8)
-						&& summaryStatisticalData.xWith80PercentY == 0) {
-					summaryStatisticalData.xWith80PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.7)
-						&& summaryStatisticalData.xWith70PercentY == 0) {
-					summaryStatisticalData.xWith70PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.6)
-						&& summaryStatisticalData.xWith60PercentY == 0) {
-					summaryStatisticalData.xWith60PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.5)
-						&& summaryStatisticalData.xWith50PercentY == 0) {
-					summaryStatisticalData.xWith50PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.4)
-						&& summaryStatisticalData.xWith40PercentY == 0) {
-					summaryStatisticalData.xWith40PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.3)
-						&& summaryStatisticalData.xWith30PercentY == 0) {
-					summaryStatisticalData.xWith30PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.2)
-						&& summaryStatisticalData.xWith20PercentY == 0) {
-					summaryStatisticalData.xWith20PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.1)
-						&& summaryStatisticalData.xWith10PercentY == 0) {
-					summaryStatisticalData.xWith10PercentY = i;
-				}
-
-				/*
-				 * ySumAtPercentOfX
-				 */
-				if (i % bucketWidth == 0) {
-					final int position = i / bucketWidth;
-					if (position < summaryStatisticalData.ySumAtPercentOfX.length) {
-						summaryStatisticalData.ySumAtPercentOfX[position] = sum;
-					}
+			/*
+			 * ySumAtPercentOfX
+			 */
+			if (bucketWidth != 0 && i % bucketWidth == 0) {
+				final int position = i / bucketWidth;
+				if (position < summaryStatisticalData.ySumAtPercentOfX.length) {
+					summaryStatisticalData.ySumAtPercentOfX[position] = sum;
 				}
 			}
 		}
 
-		/*
-		 * create dataset for histogram
-		 */
-		final HistogramDataset datasetHistogram = new HistogramDataset();
-		datasetHistogram.addSeries(referenceCurrency.getIso4217Code(),
-				valuesAsArray, NUMBER_OF_BINS, 0,
-				summaryStatisticalData.quantil99Percent);
-		datasetsHistogram = datasetHistogram;
-
-		/*
-		 * create dataset for lorenz curve
-		 */
-		final XYSeries seriesLorenzCurve = new XYSeries(
-				referenceCurrency.getIso4217Code() + " lorenz curve");
-
-		for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
-			final double x = i
-					/ (double) summaryStatisticalData.ySumAtPercentOfX.length;
-			final double y = summaryStatisticalData.ySumAtPercentOfX[i]
-					/ summaryStatisticalData.yTotalSum;
-			seriesLorenzCurve.add(x, y);
+		if (valuesAsArray.length > 0 && summaryStatisticalData.yTotalSum > 0) {
+			final int n = valuesAsArray.length;
+			summaryStatisticalData.gini = 2.0 * weightedSum
+					/ (n * summaryStatisticalData.yTotalSum) - (n + 1.0) / n;
 		}
 
-		seriesLorenzCurve.add(1, 1);
+		this.summaryStatisticalData = summaryStatisticalData;
+
+		// histogram and lorenz curve datasets are created by the dashboard
+		notifyListeners();
+	}
 
-		final XYSeries seriesLine = new XYSeries("line of equality "
-				+ referenceCurrency.getIso4217Code());
-		seriesLine.add(0, 0);
-		seriesLine.add(1, 1);
+	/**
+	 * estimates summary statistical data from the sketch in time and memory
+	 * independent of the number of values
+	 */
+	protected void evaluate(final QuantileSketch quantileSketchOfPeriod) {
+		final SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
 
-		final XYSeriesCollection datasetLorenzCurve = datasetsLorenzCurve;
-		datasetLorenzCurve.removeAllSeries();
-		datasetLorenzCurve.addSeries(seriesLorenzCurve);
-		datasetLorenzCurve.addSeries(seriesLine);
+		summaryStatisticalData.numberOfValues = quantileSketchOfPeriod
+				.getTotalCount();
+		summaryStatisticalData.quantileSketch = quantileSketchOfPeriod;
+		summaryStatisticalData.yTotalSum = quantileSketchOfPeriod
+				.getTotalSum();
+
+		if (quantileSketchOfPeriod.getTotalCount() > 0) {
+			summaryStatisticalData.quantil5Percent = quantileSketchOfPeriod
+					.getValueAtQuantile(0.05);
+			summaryStatisticalData.quantil50Percent = quantileSketchOfPeriod
+					.getValueAtQuantile(0.5);
+			summaryStatisticalData.quantil95Percent = quantileSketchOfPeriod
+					.getValueAtQuantile(0.95);
+			summaryStatisticalData.quantil99Percent = quantileSketchOfPeriod
+					.getValueAtQuantile(0.99);
+
+			for (int i = 0; i < summaryStatisticalData.xWithPercentY.length; i++) {
+				summaryStatisticalData.xWithPercentY[i] = quantileSketchOfPeriod
+						.getValueAtShareOfTotalSum((i + 1) * 0.1);
+			}
 
+			for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
+				summaryStatisticalData.ySumAtPercentOfX[i] = quantileSketchOfPeriod
+						.getSumBelowQuantile(i
+								/ (double) summaryStatisticalData.ySumAtPercentOfX.length);
+			}
+
+			summaryStatisticalData.gini = quantileSketchOfPeriod.getGini();
+		}
+
+		this.summaryStatisticalData = summaryStatisticalData;
+
+		// histogram and lorenz curve datasets are created by the dashboard
 		notifyListeners();
 	}
+
+	public Currency getReferenceCurrency() {
+		return referenceCurrency;
+	}
+
+	public SummaryStatisticalData getSummaryStatisticalData() {
+		return summaryStatisticalData;
+	}
+
+	public void nextPeriod() {
+		closePeriod().run();
+	}
 }
@@ -0,0 +1,109 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Background stage of the day boundary: models close their period on the
+ * simulation thread by swapping their period buffers, and hand the closed
+ * period to this pipeline for aggregation, distribution statistics and chart
+ * updates, while the simulation proceeds with the next day. At most one
+ * period is in flight, so that each model needs two buffers only.
+ */
+public class PeriodDataPipeline {
+
+	/**
+	 * null, if stages are run on the simulation thread
+	 */
+	protected final ExecutorService executorService;
+
+	protected Future<?> pendingPeriod;
+
+	public PeriodDataPipeline(final boolean pipelined) {
+		if (pipelined) {
+			executorService = Executors
+					.newSingleThreadExecutor(new ThreadFactoryBuilder()
+							.setDaemon(true)
+							.setNameFormat("period-data-pipeline-%d").build());
+		} else {
+			executorService = null;
+		}
+	}
+
+	/**
+	 * blocks until the stages of the pending period have been run; an
+	 * interrupt does not end the wait, as the period buffers must not be
+	 * swapped while a stage reads them, but is restored afterwards
+	 */
+	public void awaitCompletion() {
+		if (pendingPeriod != null) {
+			try {
+				Uninterruptibles.getUninterruptibly(pendingPeriod);
+			} catch (final ExecutionException e) {
+				throw new RuntimeException(e.getCause());
+			} finally {
+				pendingPeriod = null;
+			}
+		}
+	}
+
+	public boolean isPipelined() {
+		return executorService != null;
+	}
+
+	public void shutdown() {
+		awaitCompletion();
+
+		if (executorService != null) {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * runs the stages of a closed period in order; the caller has to await
+	 * completion of the pending period before swapping period buffers
+	 */
+	public void submit(final List<Runnable> stages) {
+		assert (pendingPeriod == null);
+
+		final Runnable period = new Runnable() {
+			@Override
+			public void run() {
+				for (final Runnable stage : stages) {
+					stage.run();
+				}
+			}
+		};
+
+		if (executorService == null) {
+			period.run();
+		} else {
+			pendingPeriod = executorService.submit(period);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+/**
+ * Ring buffer of open, high, low, close and volume bars at one resolution,
+ * keyed by the integer index of the period (hour, day or month) of the
+ * trades. Bars are read in place, the oldest bar having index 0.
+ */
+public class PriceBars {
+
+	protected final int capacity;
+
+	protected final double[] close;
+
+	protected final double[] high;
+
+	/**
+	 * hour tick of the trade opening the bar
+	 */
+	protected final long[] hourTick;
+
+	protected long lastPeriodIndex = Long.MIN_VALUE;
+
+	/**
+	 * slot of the newest bar
+	 */
+	protected int lastSlot = -1;
+
+	protected final double[] low;
+
+	protected int numberOfBars = 0;
+
+	/**
+	 * including the overwritten bars
+	 */
+	protected long numberOfOpenedBars = 0;
+
+	protected final double[] open;
+
+	protected final long[] periodIndex;
+
+	protected final double[] volume;
+
+	public PriceBars(final int capacity) {
+		this.capacity = capacity;
+
+		close = new double[capacity];
+		high = new double[capacity];
+		hourTick = new long[capacity];
+		low = new double[capacity];
+		open = new double[capacity];
+		periodIndex = new long[capacity];
+		volume = new double[capacity];
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public double getClose(final int i) {
+		return close[getSlot(i)];
+	}
+
+	public double getHigh(final int i) {
+		return high[getSlot(i)];
+	}
+
+	public long getHourTick(final int i) {
+		return hourTick[getSlot(i)];
+	}
+
+	public int getItemCount() {
+		return numberOfBars;
+	}
+
+	public double getLow(final int i) {
+		return low[getSlot(i)];
+	}
+
+	public long getNumberOfOpenedBars() {
+		return numberOfOpenedBars;
+	}
+
+	public double getOpen(final int i) {
+		return open[getSlot(i)];
+	}
+
+	public long getPeriodIndex(final int i) {
+		return periodIndex[getSlot(i)];
+	}
+
+	protected int getSlot(final int i) {
+		assert (i >= 0 && i < numberOfBars);
+
+		final int slot = lastSlot - numberOfBars + 1 + i;
+		return slot < 0 ? slot + capacity : slot;
+	}
+
+	public double getVolume(final int i) {
+		return volume[getSlot(i)];
+	}
+
+	public boolean hasData() {
+		return numberOfBars > 0;
+	}
+
+	/**
+	 * updates the bar of the period, or opens a new bar overwriting the
+	 * oldest one; trades of past periods are added to the newest bar
+	 */
+	public void tick(final long periodIndex, final double price,
+			final double volume, final long hourTick) {
+		if (periodIndex <= lastPeriodIndex) {
+			this.volume[lastSlot] += volume;
+
+			if (price > high[lastSlot]) {
+				high[lastSlot] = price;
+			}
+			if (price < low[lastSlot]) {
+				low[lastSlot] = price;
+			}
+			close[lastSlot] = price;
+		} else {
+			lastSlot = lastSlot == capacity - 1 ? 0 : lastSlot + 1;
+			if (numberOfBars < capacity) {
+				numberOfBars++;
+			}
+			numberOfOpenedBars++;
+
+			this.periodIndex[lastSlot] = periodIndex;
+			this.hourTick[lastSlot] = hourTick;
+			high[lastSlot] = price;
+			low[lastSlot] = price;
+			open[lastSlot] = price;
+			close[lastSlot] = price;
+			this.volume[lastSlot] = volume;
+
+			lastPeriodIndex = periodIndex;
+		}
+	}
+}
@@ -19,16 +19,18 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
-import java.util.Arrays;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
 
 /**
  * Model storing multiple price models for good types and commodity currencies
@@ -38,105 +40,111 @@ public class PricesModel extends NotificationListenerModel {
 
 	/**
 	 * Model storing prices for a good type or commodity currency, denominated
-	 * in a given currency.
+	 * in a given currency, as bars of multiple resolutions.
 	 */
 	public class PriceModel {
 
-		double[] close = new double[NUMBER_OF_DAYS];
-		Date[] date = new Date[NUMBER_OF_DAYS];
-		double[] high = new double[NUMBER_OF_DAYS];
+		protected final PriceBars dayBars = new PriceBars(NUMBER_OF_DAYS);
 
-		int i = -1;
-		private DayType lastDate_dayType;
-		private MonthType lastDate_monthType;
-		private int lastDate_year;
-		double[] low = new double[NUMBER_OF_DAYS];
-		double[] open = new double[NUMBER_OF_DAYS];
+		protected final PriceBars hourBars = new PriceBars(NUMBER_OF_HOURS);
 
-		double[] volume = new double[NUMBER_OF_DAYS];
+		protected final PriceBars monthBars = new PriceBars(NUMBER_OF_MONTHS);
 
-		public double[] getClose() {
-			return Arrays.copyOf(close, i);
+		public PriceBars getPriceBars(final PriceBarResolution resolution) {
+			switch (resolution) {
+			case HOUR:
+				return hourBars;
+			case MONTH:
+				return monthBars;
+			default:
+				return dayBars;
+			}
 		}
 
-		public Date[] getDate() {
-			return Arrays.copyOf(date, i);
+		public boolean hasData() {
+			return dayBars.hasData();
 		}
 
-		public double[] getHigh() {
-			return Arrays.copyOf(high, i);
+		/**
+		 * ticks with the time of the trade, as ticks might be applied after
+		 * the time system proceeded
+		 */
+		public void tick(final double price, final double volume,
+				final long hourTick, final int dayNumber) {
+			hourBars.tick(hourTick, price, volume, hourTick);
+			dayBars.tick(dayNumber, price, volume, hourTick);
+			monthBars.tick(getMonthIndex(hourTick, dayNumber), price, volume,
+					hourTick);
 		}
+	}
 
-		public double[] getLow() {
-			return Arrays.copyOf(low, i);
-		}
+	public enum PriceBarResolution {
+		HOUR, DAY, MONTH
+	}
 
-		public double[] getOpen() {
-			return Arrays.copyOf(open, i);
-		}
+	private final int NUMBER_OF_DAYS = 180;
 
-		public double[] getVolume() {
-			return Arrays.copyOf(volume, i);
-		}
+	private final int NUMBER_OF_HOURS = 24 * 30;
 
-		public boolean hasData() {
-			return i > -1;
-		}
+	private final int NUMBER_OF_MONTHS = 120;
 
-		public void tick(final double price, final double volume) {
-			// current day?
-			if (lastDate_year == ApplicationContext.getInstance()
-					.getTimeSystem().getCurrentYear()
-					&& lastDate_monthType == ApplicationContext.getInstance()
-							.getTimeSystem().getCurrentMonthType()
-					&& lastDate_dayType == ApplicationContext.getInstance()
-							.getTimeSystem().getCurrentDayType()) {
-				this.volume[i] += volume;
-
-				if (price > high[i]) {
-					high[i] = price;
-				}
-				if (price < low[i]) {
-					low[i] = price;
-				}
-				close[i] = price;
-			} else { // new day
-				if (i < NUMBER_OF_DAYS - 1) {
-					i++;
-				} else {
-					System.arraycopy(date, 1, date, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(high, 1, high, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(low, 1, low, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(open, 1, open, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(close, 1, close, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(this.volume, 1, this.volume, 0,
-							NUMBER_OF_DAYS - 1);
-				}
+	/**
+	 * closing prices of the good types at the end of each period
+	 */
+	protected final Map<GoodType, PeriodDataAccumulatorTimeSeriesModel> closingPriceModels = new HashMap<GoodType, PeriodDataAccumulatorTimeSeriesModel>();
 
-				date[i] = ApplicationContext.getInstance().getTimeSystem()
-						.getCurrentDate();
-				high[i] = price;
-				low[i] = price;
-				open[i] = price;
-				close[i] = price;
-				this.volume[i] = volume;
-
-				lastDate_year = ApplicationContext.getInstance()
-						.getTimeSystem().getCurrentYear();
-				lastDate_monthType = ApplicationContext.getInstance()
-						.getTimeSystem().getCurrentMonthType();
-				lastDate_dayType = ApplicationContext.getInstance()
-						.getTimeSystem().getCurrentDayType();
-			}
-		}
-	}
+	/**
+	 * day number of the first day of the current month
+	 */
+	protected int firstDayNumberOfMonth = 0;
 
-	private final int NUMBER_OF_DAYS = 180;
+	/**
+	 * day number of the first day of the next month
+	 */
+	protected int firstDayNumberOfNextMonth = 0;
+
+	/**
+	 * year * 12 + month of the current month
+	 */
+	protected int monthIndex;
 
 	protected final Map<Currency, PriceModel> priceModelsForCurrencies = new HashMap<Currency, PriceModel>();
 
 	protected final Map<GoodType, PriceModel> priceModelsForGoodTypes = new HashMap<GoodType, PriceModel>();
 
+	public PricesModel(final Currency currency) {
+		for (final GoodType goodType : GoodType.values()) {
+			closingPriceModels.put(goodType,
+					new PeriodDataAccumulatorTimeSeriesModel(currency
+							.getIso4217Code() + " " + goodType + " price"));
+		}
+	}
+
+	public PeriodDataAccumulatorTimeSeriesModel getClosingPriceModel(
+			final GoodType goodType) {
+		return closingPriceModels.get(goodType);
+	}
+
+	/**
+	 * queries the calendar only once per month instead of on each tick
+	 */
+	protected int getMonthIndex(final long hourTick, final int dayNumber) {
+		if (dayNumber < firstDayNumberOfMonth
+				|| dayNumber >= firstDayNumberOfNextMonth) {
+			final Calendar calendar = new GregorianCalendar();
+			calendar.setTime(ApplicationContext.getInstance().getTimeSystem()
+					.getDate(hourTick));
+
+			monthIndex = calendar.get(Calendar.YEAR) * 12
+					+ calendar.get(Calendar.MONTH);
+			firstDayNumberOfMonth = dayNumber
+					- calendar.get(Calendar.DAY_OF_MONTH) + 1;
+			firstDayNumberOfNextMonth = firstDayNumberOfMonth
+					+ calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+		}
+		return monthIndex;
+	}
+
 	public Map<Currency, PriceModel> getPriceModelsForCurrencies() {
 		return priceModelsForCurrencies;
 	}
@@ -146,27 +154,59 @@ public class PricesModel extends NotificationListenerModel {
 	}
 
 	public void market_onTick(final double pricePerUnit,
-			final Currency commodityCurrency, final double amount) {
+			final Currency commodityCurrency, final double amount,
+			final long hourTick, final int dayNumber) {
 
 		if (!priceModelsForCurrencies.containsKey(commodityCurrency)) {
 			priceModelsForCurrencies.put(commodityCurrency, new PriceModel());
 		}
 
 		priceModelsForCurrencies.get(commodityCurrency).tick(pricePerUnit,
-				amount);
+				amount, hourTick, dayNumber);
 	}
 
 	public void market_onTick(final double pricePerUnit,
-			final GoodType goodType, final double amount) {
+			final GoodType goodType, final double amount, final long hourTick,
+			final int dayNumber) {
 
 		if (!priceModelsForGoodTypes.containsKey(goodType)) {
 			priceModelsForGoodTypes.put(goodType, new PriceModel());
 		}
 
-		priceModelsForGoodTypes.get(goodType).tick(pricePerUnit, amount);
+		priceModelsForGoodTypes.get(goodType).tick(pricePerUnit, amount,
+				hourTick, dayNumber);
+	}
+
+	public Runnable closePeriod() {
+		final List<Runnable> stages = new ArrayList<Runnable>();
+
+		for (final Entry<GoodType, PeriodDataAccumulatorTimeSeriesModel> entry : closingPriceModels
+				.entrySet()) {
+			final PriceModel priceModel = priceModelsForGoodTypes.get(entry
+					.getKey());
+
+			// periods without any trade so far are skipped
+			if (priceModel != null && priceModel.hasData()) {
+				final PriceBars dayBars = priceModel.dayBars;
+				entry.getValue().add(
+						dayBars.getClose(dayBars.getItemCount() - 1));
+				stages.add(entry.getValue().closePeriod());
+			}
+		}
+
+		stages.add(createNotifyListenersStage());
+
+		return new Runnable() {
+			@Override
+			public void run() {
+				for (final Runnable stage : stages) {
+					stage.run();
+				}
+			}
+		};
 	}
 
 	public void nextPeriod() {
-		notifyListeners();
+		closePeriod().run();
 	}
 }
@@ -0,0 +1,306 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+/**
+ * Streaming sketch of a distribution of non-negative values with bounded
+ * memory: values are counted in buckets of logarithmically growing width, so
+ * that quantiles are estimated up to the given relative accuracy. Buckets
+ * additionally keep the sum of their values, from which lorenz curves and
+ * gini coefficients are estimated. Sketches of the same relative accuracy can
+ * be merged, e. g. when filled by parallel workers.
+ */
+public class QuantileSketch {
+
+	protected static final int INITIAL_NUMBER_OF_BUCKETS = 128;
+
+	/**
+	 * values up to this bound are counted as zero
+	 */
+	protected static final double MIN_INDEXABLE_VALUE = 1E-6;
+
+	protected long[] counts = new long[0];
+
+	protected final double gamma;
+
+	protected final double logGamma;
+
+	protected double max = 0.0;
+
+	/**
+	 * index of the bucket at position 0 of {@link #counts} and {@link #sums}
+	 */
+	protected int minIndex = 0;
+
+	protected final double relativeAccuracy;
+
+	protected double[] sums = new double[0];
+
+	protected long totalCount = 0;
+
+	protected double totalSum = 0.0;
+
+	protected long zeroCount = 0;
+
+	protected double zeroSum = 0.0;
+
+	public QuantileSketch(final double relativeAccuracy) {
+		assert (relativeAccuracy > 0.0 && relativeAccuracy < 1.0);
+
+		this.relativeAccuracy = relativeAccuracy;
+		gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+		logGamma = Math.log(gamma);
+	}
+
+	public void add(final double value) {
+		if (value <= MIN_INDEXABLE_VALUE) {
+			zeroCount++;
+			zeroSum += value;
+		} else {
+			final int position = getPosition(getIndex(value));
+			counts[position]++;
+			sums[position] += value;
+			max = Math.max(max, value);
+		}
+		totalCount++;
+		totalSum += value;
+	}
+
+	protected void ensureCapacity(final int fromIndex, final int toIndex) {
+		if (counts.length == 0) {
+			final int length = Math.max(INITIAL_NUMBER_OF_BUCKETS, toIndex
+					- fromIndex + 1);
+			counts = new long[length];
+			sums = new double[length];
+			// center the requested buckets
+			minIndex = fromIndex - (length - (toIndex - fromIndex + 1)) / 2;
+			return;
+		}
+
+		final int maxIndex = minIndex + counts.length - 1;
+		if (fromIndex < minIndex || toIndex > maxIndex) {
+			// grow towards the requested side by at least half of the length
+			final int growth = Math.max(counts.length / 2, Math.max(minIndex
+					- fromIndex, toIndex - maxIndex));
+			final int newMinIndex = fromIndex < minIndex ? Math.min(fromIndex,
+					minIndex - growth) : minIndex;
+			final int newMaxIndex = toIndex > maxIndex ? Math.max(toIndex,
+					maxIndex + growth) : maxIndex;
+			final int shift = minIndex - newMinIndex;
+
+			final long[] newCounts = new long[newMaxIndex - newMinIndex + 1];
+			final double[] newSums = new double[newCounts.length];
+			System.arraycopy(counts, 0, newCounts, shift, counts.length);
+			System.arraycopy(sums, 0, newSums, shift, sums.length);
+			counts = newCounts;
+			sums = newSums;
+			minIndex = newMinIndex;
+		}
+	}
+
+	/**
+	 * @return estimated number of values less than or equal to the given
+	 *         value, interpolated linearly within buckets
+	 */
+	public double getCountBelow(final double value) {
+		if (value < 0.0) {
+			return 0.0;
+		}
+
+		double count = zeroCount;
+
+		if (value > MIN_INDEXABLE_VALUE) {
+			final int index = getIndex(value);
+
+			for (int i = 0; i < counts.length && minIndex + i <= index; i++) {
+				if (minIndex + i < index) {
+					count += counts[i];
+				} else {
+					final double lowerBound = getLowerBound(index);
+					final double fraction = (value - lowerBound)
+							/ (getLowerBound(index + 1) - lowerBound);
+					count += counts[i] * Math.min(1.0, fraction);
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return estimated gini coefficient, ignoring the inequality within
+	 *         buckets
+	 */
+	public double getGini() {
+		if (totalCount == 0 || totalSum <= 0.0) {
+			return 0.0;
+		}
+
+		double area = 0.0;
+		double x = (double) zeroCount / totalCount;
+		double y = zeroSum / totalSum;
+		area += x * y;
+
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				final double nextX = x + (double) counts[i] / totalCount;
+				final double nextY = y + sums[i] / totalSum;
+				area += (nextX - x) * (nextY + y);
+				x = nextX;
+				y = nextY;
+			}
+		}
+
+		return 1.0 - area;
+	}
+
+	protected int getIndex(final double value) {
+		return (int) Math.ceil(Math.log(value) / logGamma);
+	}
+
+	/**
+	 * @return exclusive lower bound of the bucket
+	 */
+	protected double getLowerBound(final int index) {
+		return Math.pow(gamma, index - 1);
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	protected int getPosition(final int index) {
+		ensureCapacity(index, index);
+		return index - minIndex;
+	}
+
+	public double getRelativeAccuracy() {
+		return relativeAccuracy;
+	}
+
+	/**
+	 * @return estimated sum of the values below the given quantile,
+	 *         interpolated linearly within buckets
+	 */
+	public double getSumBelowQuantile(final double quantile) {
+		assert (quantile >= 0.0 && quantile <= 1.0);
+
+		final double rank = quantile * totalCount;
+
+		if (rank <= zeroCount) {
+			return zeroCount == 0 ? 0.0 : zeroSum * rank / zeroCount;
+		}
+
+		double cumulativeCount = zeroCount;
+		double cumulativeSum = zeroSum;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0 && cumulativeCount + counts[i] >= rank) {
+				return cumulativeSum + sums[i] * (rank - cumulativeCount)
+						/ counts[i];
+			}
+			cumulativeCount += counts[i];
+			cumulativeSum += sums[i];
+		}
+		return totalSum;
+	}
+
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	public double getTotalSum() {
+		return totalSum;
+	}
+
+	/**
+	 * @return estimated value at the given quantile with a relative error of
+	 *         at most the relative accuracy; 0 if empty
+	 */
+	public double getValueAtQuantile(final double quantile) {
+		assert (quantile >= 0.0 && quantile <= 1.0);
+
+		final long rank = Math.min(totalCount - 1,
+				(long) (quantile * totalCount));
+
+		if (rank < zeroCount) {
+			return 0.0;
+		}
+
+		long cumulativeCount = zeroCount;
+		for (int i = 0; i < counts.length; i++) {
+			cumulativeCount += counts[i];
+			if (cumulativeCount > rank) {
+				return Math.min(max, getValue(minIndex + i));
+			}
+		}
+		return 0.0;
+	}
+
+	/**
+	 * @return estimated value, at which the cumulated sum of all values up to
+	 *         this value exceeds the given share of the total sum
+	 */
+	public double getValueAtShareOfTotalSum(final double share) {
+		assert (share >= 0.0 && share <= 1.0);
+
+		final double targetSum = share * totalSum;
+		double cumulativeSum = zeroSum;
+
+		if (cumulativeSum > targetSum) {
+			return 0.0;
+		}
+
+		for (int i = 0; i < counts.length; i++) {
+			cumulativeSum += sums[i];
+			if (cumulativeSum > targetSum) {
+				return Math.min(max, getValue(minIndex + i));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return value representing the bucket with minimal relative error
+	 */
+	protected double getValue(final int index) {
+		return 2.0 * Math.pow(gamma, index) / (gamma + 1.0);
+	}
+
+	public void merge(final QuantileSketch quantileSketch) {
+		assert (relativeAccuracy == quantileSketch.relativeAccuracy);
+
+		if (quantileSketch.counts.length > 0) {
+			ensureCapacity(quantileSketch.minIndex, quantileSketch.minIndex
+					+ quantileSketch.counts.length - 1);
+
+			final int shift = quantileSketch.minIndex - minIndex;
+			for (int i = 0; i < quantileSketch.counts.length; i++) {
+				counts[shift + i] += quantileSketch.counts[i];
+				sums[shift + i] += quantileSketch.sums[i];
+			}
+		}
+
+		max = Math.max(max, quantileSketch.max);
+		totalCount += quantileSketch.totalCount;
+		totalSum += quantileSketch.totalSum;
+		zeroCount += quantileSketch.zeroCount;
+		zeroSum += quantileSketch.zeroSum;
+	}
+}
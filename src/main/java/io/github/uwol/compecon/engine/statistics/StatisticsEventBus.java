@@ -0,0 +1,479 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+
+/**
+ * Bounded event bus between the log and the model registry. The simulation
+ * thread publishes statistics events into preallocated slots of ring buffers,
+ * which are partitioned by currency, so that each national economy model is
+ * updated by exactly one consumer thread. The simulation thread is the only
+ * producer; state of the time system or of the agent currently active has to
+ * be captured on publication.
+ */
+public class StatisticsEventBus {
+
+	public enum StatisticsEventBusPolicy {
+		/**
+		 * the simulation thread waits for a free slot
+		 */
+		BLOCK,
+
+		/**
+		 * events are dropped and counted, if the ring buffer is full
+		 */
+		DROP,
+
+		/**
+		 * events are applied on the simulation thread on publication
+		 */
+		SYNCHRONOUS
+	}
+
+	/**
+	 * preallocated, mutable slot of a ring buffer
+	 */
+	public static class StatisticsEvent {
+
+		public Currency currency;
+
+		public int dayNumber;
+
+		public GoodType goodType;
+
+		public long hourTick;
+
+		public Object object;
+
+		public Object subject;
+
+		public StatisticsEventType type;
+
+		public final double[] values = new double[6];
+
+		protected void clear() {
+			subject = null;
+			object = null;
+		}
+	}
+
+	public enum StatisticsEventType {
+		AMOUNT_SOLD, BALANCE_SHEET, CAPITAL_DEPRECIATION, CREDIT_UTILIZATION, HOUSEHOLD_INCOME, HOUSEHOLD_OFFER_RESULT, HOUSEHOLD_RETIRED, HOUSEHOLD_UTILITY_INPUT, HOUSEHOLD_UTILITY_OUTPUT, KEY_INTEREST_RATE, LIFESIGN, MARKET_TICK_CURRENCY, MARKET_TICK_GOOD_TYPE, OFFER_GOOD_TYPE, OUTPUT_MAXIMIZING_INPUTS, PRICE_DECISION, PRICE_INDEX, PRODUCTION_INPUT, PRODUCTION_OUTPUT, PROFIT_MAXIMIZING_PRODUCTION_FACTORS, STATE_UTILITY_INPUT, STATE_UTILITY_OUTPUT, TOTAL_UTILITY, TRANSFER
+	}
+
+	/**
+	 * single-producer single-consumer ring buffer of preallocated events
+	 */
+	protected class StatisticsEventRingBuffer implements Runnable {
+
+		protected final AtomicLong consumedSequence = new AtomicLong();
+
+		protected final StatisticsEvent[] events;
+
+		protected final AtomicLong publishedSequence = new AtomicLong();
+
+		/**
+		 * sequence of the next slot to be claimed; producer only
+		 */
+		protected long producerSequence;
+
+		protected StatisticsEventRingBuffer(final int capacity) {
+			events = new StatisticsEvent[capacity];
+			for (int i = 0; i < capacity; i++) {
+				events[i] = new StatisticsEvent();
+			}
+		}
+
+		protected StatisticsEvent claim() {
+			while (producerSequence - consumedSequence.get() >= events.length) {
+				if (StatisticsEventBusPolicy.DROP.equals(policy)) {
+					numberOfDroppedEvents++;
+					return null;
+				}
+				checkConsumerFailure();
+				LockSupport.parkNanos(PRODUCER_WAIT_NANOS);
+			}
+			return events[(int) (producerSequence & (events.length - 1))];
+		}
+
+		protected void drain() {
+			while (consumedSequence.get() < producerSequence) {
+				checkConsumerFailure();
+				LockSupport.parkNanos(PRODUCER_WAIT_NANOS);
+			}
+		}
+
+		protected void publish() {
+			producerSequence++;
+			publishedSequence.lazySet(producerSequence);
+		}
+
+		@Override
+		public void run() {
+			try {
+				long sequence = consumedSequence.get();
+				while (running || sequence < publishedSequence.get()) {
+					final long available = publishedSequence.get();
+					if (sequence < available) {
+						for (; sequence < available; sequence++) {
+							final StatisticsEvent event = events[(int) (sequence & (events.length - 1))];
+							apply(event);
+							event.clear();
+						}
+						consumedSequence.lazySet(sequence);
+					} else {
+						LockSupport.parkNanos(CONSUMER_IDLE_NANOS);
+					}
+				}
+			} catch (final Throwable e) {
+				consumerFailure = e;
+			}
+		}
+	}
+
+	protected static final long CONSUMER_IDLE_NANOS = 50000;
+
+	protected static final long PRODUCER_WAIT_NANOS = 1000;
+
+	/**
+	 * ring buffer of the event claimed last; producer only
+	 */
+	protected StatisticsEventRingBuffer claimedRingBuffer;
+
+	protected volatile Throwable consumerFailure;
+
+	/**
+	 * null, if events are applied on the simulation thread
+	 */
+	protected final ExecutorService executorService;
+
+	protected final ModelRegistry modelRegistry;
+
+	protected volatile long numberOfDroppedEvents;
+
+	protected final StatisticsEventBusPolicy policy;
+
+	protected final StatisticsEventRingBuffer[] ringBuffers;
+
+	protected volatile boolean running = true;
+
+	/**
+	 * slot of the synchronous policy
+	 */
+	protected final StatisticsEvent synchronousEvent = new StatisticsEvent();
+
+	/**
+	 * @param capacity
+	 *            slots per ring buffer; rounded up to a power of two
+	 * @param numberOfConsumers
+	 *            consumer threads, each owning one ring buffer
+	 */
+	public StatisticsEventBus(final ModelRegistry modelRegistry,
+			final StatisticsEventBusPolicy policy, final int capacity,
+			final int numberOfConsumers) {
+		this.modelRegistry = modelRegistry;
+		this.policy = policy;
+
+		if (StatisticsEventBusPolicy.SYNCHRONOUS.equals(policy)) {
+			ringBuffers = new StatisticsEventRingBuffer[0];
+			executorService = null;
+		} else {
+			final int ringBufferCapacity = Integer.highestOneBit(Math.max(
+					capacity - 1, 1)) << 1;
+			final int numberOfRingBuffers = Math.max(
+					Math.min(numberOfConsumers, Currency.values().length), 1);
+
+			ringBuffers = new StatisticsEventRingBuffer[numberOfRingBuffers];
+			executorService = Executors.newFixedThreadPool(
+					numberOfRingBuffers,
+					new ThreadFactoryBuilder().setDaemon(true)
+							.setNameFormat("statistics-event-bus-%d").build());
+
+			for (int i = 0; i < numberOfRingBuffers; i++) {
+				ringBuffers[i] = new StatisticsEventRingBuffer(
+						ringBufferCapacity);
+				executorService.execute(ringBuffers[i]);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void apply(final StatisticsEvent event) {
+		final NationalEconomyModel model = modelRegistry
+				.getNationalEconomyModel(event.currency);
+		final double[] values = event.values;
+
+		switch (event.type) {
+		case AMOUNT_SOLD:
+			model.getPricingBehaviourModel(event.goodType).soldModel
+					.add(values[0]);
+			break;
+		case BALANCE_SHEET:
+			final BalanceSheetDTO balanceSheet = (BalanceSheetDTO) event.object;
+			model.balanceSheetsModel.agent_onPublishBalanceSheet(
+					(Agent) event.subject, balanceSheet);
+			model.moneySupplyM0Model.add(balanceSheet.hardCash);
+			// TODO: what about money in the private banking system? -> M1
+			// definition
+			model.moneySupplyM1Model.add(balanceSheet.hardCash
+					+ balanceSheet.cashGiroShortTerm);
+			model.moneySupplyM2Model.add(balanceSheet.hardCash
+					+ balanceSheet.cashGiroShortTerm
+					+ balanceSheet.cashGiroLongTerm);
+			break;
+		case CAPITAL_DEPRECIATION:
+			model.industryModels.get(event.goodType).capitalDepreciationModel
+					.add(values[0]);
+			break;
+		case CREDIT_UTILIZATION:
+			model.creditUtilizationRateModel.add(values[0], values[1]);
+			break;
+		case HOUSEHOLD_INCOME:
+			final double income = values[0];
+			final double consumptionAmount = values[1];
+			final double savingAmount = values[2];
+			final double wage = values[3];
+			final double dividend = values[4];
+			final double governmentTransfers = values[5];
+			model.householdsModel.consumptionModel.add(consumptionAmount);
+			model.householdsModel.incomeModel.add(income);
+			model.householdsModel.consumptionRateModel.add(consumptionAmount,
+					income);
+			model.householdsModel.consumptionIncomeRatioModel.add(
+					consumptionAmount, income);
+			model.householdsModel.savingModel.add(savingAmount);
+			model.householdsModel.savingRateModel.add(savingAmount, income);
+			model.householdsModel.wageModel.add(wage);
+			model.householdsModel.dividendModel.add(dividend);
+			model.householdsModel.governmentTransfersModel
+					.add(governmentTransfers);
+			model.householdsModel.incomeSourceModel.add(IncomeSource.WAGE,
+					wage);
+			model.householdsModel.incomeSourceModel.add(
+					IncomeSource.DIVIDEND, dividend);
+			model.householdsModel.incomeSourceModel.add(
+					IncomeSource.TRANSFERS, governmentTransfers);
+			model.householdsModel.incomeDistributionModel.add(income);
+			break;
+		case HOUSEHOLD_OFFER_RESULT:
+			model.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel
+					.add(values[0]);
+			model.householdsModel.labourHourCapacityModel.add(values[1]);
+			break;
+		case HOUSEHOLD_RETIRED:
+			model.householdsModel.retiredModel.add(1);
+			break;
+		case HOUSEHOLD_UTILITY_INPUT:
+			model.householdsModel.utilityModel.utilityInputModels.get(
+					event.goodType).add(values[0]);
+			break;
+		case HOUSEHOLD_UTILITY_OUTPUT:
+			model.householdsModel.utilityModel.utilityOutputModel
+					.add(values[0]);
+			break;
+		case KEY_INTEREST_RATE:
+			model.keyInterestRateModel.add(values[0]);
+			break;
+		case LIFESIGN:
+			model.numberOfAgentsModels.get(event.subject).add(1);
+			break;
+		case MARKET_TICK_CURRENCY:
+			model.pricesModel.market_onTick(values[0],
+					(Currency) event.subject, values[1], event.hourTick,
+					event.dayNumber);
+			break;
+		case MARKET_TICK_GOOD_TYPE:
+			model.pricesModel.market_onTick(values[0], event.goodType,
+					values[1], event.hourTick, event.dayNumber);
+			break;
+		case OFFER_GOOD_TYPE:
+			model.getPricingBehaviourModel(event.goodType).offerModel
+					.add(values[0]);
+			model.getIndustryModel(event.goodType).inventoryModel
+					.add(values[1]);
+			break;
+		case OUTPUT_MAXIMIZING_INPUTS:
+			model.householdsModel.convexFunctionTerminationCauseModels.get(
+					event.subject).add(values[0]);
+			model.householdsModel.budgetModel.add(values[1]);
+			break;
+		case PRICE_DECISION:
+			model.getPricingBehaviourModel(event.goodType).pricingBehaviourPriceDecisionCauseModels
+					.get(event.subject).add(values[0]);
+			model.getPricingBehaviourModel(event.goodType).pricingBehaviourAveragePriceDecisionCauseModel
+					.add(values[0]);
+			break;
+		case PRICE_INDEX:
+			model.priceIndexModel.add(values[0]);
+			break;
+		case PRODUCTION_INPUT:
+			model.getIndustryModel(event.goodType).inputModels.get(
+					event.subject).add(values[0]);
+			break;
+		case PRODUCTION_OUTPUT:
+			model.getIndustryModel(event.goodType).outputModel.add(values[0]);
+			break;
+		case PROFIT_MAXIMIZING_PRODUCTION_FACTORS:
+			model.getIndustryModel(event.goodType).convexProductionFunctionTerminationCauseModels
+					.get(event.subject).add(values[0]);
+			model.getIndustryModel(event.goodType).budgetModel.add(values[1]);
+			break;
+		case STATE_UTILITY_INPUT:
+			model.stateModel.utilityModel.utilityInputModels.get(
+					event.goodType).add(values[0]);
+			break;
+		case STATE_UTILITY_OUTPUT:
+			model.stateModel.utilityModel.utilityOutputModel.add(values[0]);
+			break;
+		case TOTAL_UTILITY:
+			model.totalUtilityOutputModel.add(values[0]);
+			break;
+		case TRANSFER:
+			model.monetaryTransactionsModel.bank_onTransfer(
+					(Class<? extends Agent>) event.subject,
+					(Class<? extends Agent>) event.object, event.currency,
+					values[0]);
+			model.moneyCirculationModel.add(values[0]);
+			break;
+		default:
+			throw new RuntimeException("unexpected statistics event type");
+		}
+	}
+
+	protected void checkConsumerFailure() {
+		if (consumerFailure != null) {
+			throw new RuntimeException(consumerFailure);
+		}
+	}
+
+	/**
+	 * claims the slot for an event of the given currency; the slot has to be
+	 * filled and published before the next claim
+	 *
+	 * @return null, if the event has been dropped
+	 */
+	public StatisticsEvent claim(final StatisticsEventType type,
+			final Currency currency) {
+		final StatisticsEvent event;
+
+		if (executorService == null) {
+			event = synchronousEvent;
+		} else {
+			claimedRingBuffer = ringBuffers[currency.ordinal()
+					% ringBuffers.length];
+			event = claimedRingBuffer.claim();
+			if (event == null) {
+				return null;
+			}
+		}
+
+		event.type = type;
+		event.currency = currency;
+		return event;
+	}
+
+	/**
+	 * blocks until all published events have been applied to the model
+	 * registry
+	 */
+	public void drain() {
+		for (final StatisticsEventRingBuffer ringBuffer : ringBuffers) {
+			ringBuffer.drain();
+		}
+		checkConsumerFailure();
+	}
+
+	public long getNumberOfDroppedEvents() {
+		return numberOfDroppedEvents;
+	}
+
+	/**
+	 * number of events published, but not yet applied
+	 */
+	public long getNumberOfPendingEvents() {
+		long numberOfPendingEvents = 0;
+		for (final StatisticsEventRingBuffer ringBuffer : ringBuffers) {
+			numberOfPendingEvents += ringBuffer.publishedSequence.get()
+					- ringBuffer.consumedSequence.get();
+		}
+		return numberOfPendingEvents;
+	}
+
+	public StatisticsEventBusPolicy getPolicy() {
+		return policy;
+	}
+
+	public void publish() {
+		if (executorService == null) {
+			apply(synchronousEvent);
+			synchronousEvent.clear();
+		} else {
+			claimedRingBuffer.publish();
+		}
+	}
+
+	/**
+	 * publishes an event with up to two values and without time reference
+	 */
+	public void publish(final StatisticsEventType type,
+			final Currency currency, final GoodType goodType,
+			final Object subject, final Object object, final double value0,
+			final double value1) {
+		final StatisticsEvent event = claim(type, currency);
+		if (event != null) {
+			event.goodType = goodType;
+			event.subject = subject;
+			event.object = object;
+			event.values[0] = value0;
+			event.values[1] = value1;
+			publish();
+		}
+	}
+
+	/**
+	 * applies pending events and stops the consumer threads
+	 */
+	public void shutdown() {
+		if (executorService != null) {
+			drain();
+			running = false;
+			executorService.shutdown();
+			try {
+				executorService.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
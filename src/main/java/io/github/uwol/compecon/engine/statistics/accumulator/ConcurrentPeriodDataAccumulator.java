@@ -0,0 +1,126 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.accumulator;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Period data accumulator, which may be added to by multiple threads: each
+ * thread accumulates into its own cell, and cells are combined in the order
+ * of their thread ids, so that the sum does not depend on the scheduling of
+ * threads. Amounts must only be read or reset after the adding threads have
+ * been synchronized with, e. g. at the end of a period. Cells of terminated
+ * threads are pruned on reset, so that the number of cells is bounded by the
+ * number of live adding threads.
+ */
+public class ConcurrentPeriodDataAccumulator extends PeriodDataAccumulator {
+
+	protected static class Cell {
+
+		protected double sum = 0;
+
+		/**
+		 * weak, so that cells do not keep terminated threads reachable
+		 */
+		protected final WeakReference<Thread> thread;
+
+		protected final long threadId;
+
+		protected Cell(final Thread thread) {
+			this.thread = new WeakReference<Thread>(thread);
+			threadId = thread.getId();
+		}
+
+		protected boolean isThreadAlive() {
+			final Thread thread = this.thread.get();
+			return thread != null && thread.isAlive();
+		}
+	}
+
+	/**
+	 * cells of all threads sorted by thread id; copied on registration and
+	 * pruning of cells
+	 */
+	protected volatile Cell[] cells = new Cell[0];
+
+	protected final ThreadLocal<Cell> threadCell = new ThreadLocal<Cell>() {
+		@Override
+		protected Cell initialValue() {
+			return registerCell(Thread.currentThread());
+		}
+	};
+
+	@Override
+	public void add(final double amount) {
+		threadCell.get().sum += amount;
+	}
+
+	@Override
+	public double getAmount() {
+		double sum = 0;
+		for (final Cell cell : cells) {
+			sum += cell.sum;
+		}
+		return sum;
+	}
+
+	protected synchronized Cell registerCell(final Thread thread) {
+		final Cell cell = new Cell(thread);
+		final long threadId = cell.threadId;
+		final Cell[] newCells = Arrays.copyOf(cells, cells.length + 1);
+
+		int i = newCells.length - 1;
+		while (i > 0 && newCells[i - 1].threadId > threadId) {
+			newCells[i] = newCells[i - 1];
+			i--;
+		}
+		newCells[i] = cell;
+
+		cells = newCells;
+		return cell;
+	}
+
+	/**
+	 * Reset values to zero; cells of terminated threads are dropped, as they
+	 * will not be added to anymore
+	 */
+	@Override
+	public synchronized void reset() {
+		int numberOfLiveCells = 0;
+		for (final Cell cell : cells) {
+			cell.sum = 0;
+			if (cell.isThreadAlive()) {
+				numberOfLiveCells++;
+			}
+		}
+
+		if (numberOfLiveCells < cells.length) {
+			final Cell[] liveCells = new Cell[numberOfLiveCells];
+			int i = 0;
+			for (final Cell cell : cells) {
+				if (cell.isThreadAlive()) {
+					liveCells[i++] = cell;
+				}
+			}
+			cells = liveCells;
+		}
+	}
+}
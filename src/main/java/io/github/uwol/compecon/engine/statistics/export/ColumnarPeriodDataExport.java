@@ -0,0 +1,101 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact binary columnar format: a magic number, followed by blocks of up to
+ * BLOCK_SIZE rows. Each block consists of the number of rows as int, the
+ * dates in milliseconds as longs and the values as doubles, all little
+ * endian.
+ */
+public class ColumnarPeriodDataExport extends PeriodDataExport {
+
+	public static final int BLOCK_SIZE = 1024;
+
+	public static final int MAGIC = 0x58445043;
+
+	protected static FileOutputStream openOutputStream(final File file) {
+		try {
+			return new FileOutputStream(file);
+		} catch (final FileNotFoundException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	protected final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer).order(
+			ByteOrder.LITTLE_ENDIAN);
+
+	protected final long[] dates = new long[BLOCK_SIZE];
+
+	protected int numberOfRows = 0;
+
+	protected final double[] values = new double[BLOCK_SIZE];
+
+	public ColumnarPeriodDataExport(final File file) {
+		super(openOutputStream(file));
+
+		byteBuffer.putInt(0, MAGIC);
+		position = 4;
+	}
+
+	@Override
+	public void append(final long date, final double value) {
+		dates[numberOfRows] = date;
+		values[numberOfRows] = value;
+		numberOfRows++;
+
+		if (numberOfRows == BLOCK_SIZE) {
+			appendBlock();
+		}
+	}
+
+	protected void appendBlock() {
+		ensureRemaining(4 + numberOfRows * 16);
+
+		byteBuffer.putInt(position, numberOfRows);
+		position += 4;
+
+		for (int i = 0; i < numberOfRows; i++) {
+			byteBuffer.putLong(position, dates[i]);
+			position += 8;
+		}
+
+		for (int i = 0; i < numberOfRows; i++) {
+			byteBuffer.putDouble(position, values[i]);
+			position += 8;
+		}
+
+		numberOfRows = 0;
+	}
+
+	@Override
+	public void close() {
+		if (numberOfRows > 0) {
+			appendBlock();
+		}
+		super.close();
+	}
+}
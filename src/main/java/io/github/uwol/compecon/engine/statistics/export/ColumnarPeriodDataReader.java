@@ -0,0 +1,91 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Reads a time series written in the binary columnar export format.
+ */
+public class ColumnarPeriodDataReader {
+
+	protected final long[] dates;
+
+	protected final double[] values;
+
+	public ColumnarPeriodDataReader(final File file) {
+		final ByteBuffer byteBuffer;
+
+		try {
+			final RandomAccessFile randomAccessFile = new RandomAccessFile(
+					file, "r");
+			try {
+				byteBuffer = randomAccessFile.getChannel()
+						.map(MapMode.READ_ONLY, 0, randomAccessFile.length())
+						.order(ByteOrder.LITTLE_ENDIAN);
+			} finally {
+				randomAccessFile.close();
+			}
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		if (byteBuffer.getInt() != ColumnarPeriodDataExport.MAGIC) {
+			throw new RuntimeException("no columnar period data in " + file);
+		}
+
+		// sum up the block sizes first to size the columns
+		int numberOfRows = 0;
+		for (int position = 4; position < byteBuffer.limit();) {
+			final int blockSize = byteBuffer.getInt(position);
+			numberOfRows += blockSize;
+			position += 4 + blockSize * 16;
+		}
+
+		dates = new long[numberOfRows];
+		values = new double[numberOfRows];
+
+		for (int row = 0; row < numberOfRows;) {
+			final int blockSize = byteBuffer.getInt();
+			byteBuffer.asLongBuffer().get(dates, row, blockSize);
+			byteBuffer.position(byteBuffer.position() + blockSize * 8);
+			byteBuffer.asDoubleBuffer().get(values, row, blockSize);
+			byteBuffer.position(byteBuffer.position() + blockSize * 8);
+			row += blockSize;
+		}
+	}
+
+	public long getDate(final int i) {
+		return dates[i];
+	}
+
+	public int getNumberOfRows() {
+		return dates.length;
+	}
+
+	public double getValue(final int i) {
+		return values[i];
+	}
+}
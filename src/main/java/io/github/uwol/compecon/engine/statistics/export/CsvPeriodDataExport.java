@@ -0,0 +1,93 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compressed CSV with the columns date (yyyy-MM-dd) and value.
+ */
+public class CsvPeriodDataExport extends PeriodDataExport {
+
+	protected static final byte DELIMITER = ';';
+
+	protected static final byte NEW_LINE_SEPARATOR = '\n';
+
+	protected static GZIPOutputStream openOutputStream(final File file) {
+		try {
+			return new GZIPOutputStream(new BufferedOutputStream(
+					new FileOutputStream(file), BUFFER_SIZE), BUFFER_SIZE);
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	protected final Calendar calendar = new GregorianCalendar();
+
+	public CsvPeriodDataExport(final File file, final String title) {
+		super(openOutputStream(file));
+
+		appendAscii("date");
+		buffer[position++] = DELIMITER;
+		appendAscii(title.replace(';', ' '));
+		buffer[position++] = NEW_LINE_SEPARATOR;
+	}
+
+	@Override
+	public void append(final long date, final double value) {
+		// 10 date bytes, 2 separators and at most 24 value characters
+		ensureRemaining(36);
+
+		calendar.setTimeInMillis(date);
+		appendDigits(calendar.get(Calendar.YEAR), 4);
+		buffer[position++] = '-';
+		appendDigits(calendar.get(Calendar.MONTH) + 1, 2);
+		buffer[position++] = '-';
+		appendDigits(calendar.get(Calendar.DAY_OF_MONTH), 2);
+		buffer[position++] = DELIMITER;
+		appendAscii(Double.toString(value));
+		buffer[position++] = NEW_LINE_SEPARATOR;
+	}
+
+	protected void appendAscii(final String string) {
+		ensureRemaining(string.length() + 2);
+
+		for (int i = 0; i < string.length(); i++) {
+			buffer[position++] = (byte) string.charAt(i);
+		}
+	}
+
+	/**
+	 * appends a non-negative number with leading zeros
+	 */
+	protected void appendDigits(int number, final int numberOfDigits) {
+		for (int i = numberOfDigits - 1; i >= 0; i--) {
+			buffer[position + i] = (byte) ('0' + number % 10);
+			number /= 10;
+		}
+		position += numberOfDigits;
+	}
+}
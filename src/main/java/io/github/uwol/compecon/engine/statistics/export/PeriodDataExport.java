@@ -0,0 +1,78 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodes the rows of one exported time series into a reusable buffer, which
+ * is written to the output stream when full. Only used by the writer thread
+ * of the period data exporter.
+ */
+public abstract class PeriodDataExport {
+
+	protected static final int BUFFER_SIZE = 1 << 16;
+
+	protected final byte[] buffer = new byte[BUFFER_SIZE];
+
+	protected final OutputStream outputStream;
+
+	protected int position = 0;
+
+	protected PeriodDataExport(final OutputStream outputStream) {
+		this.outputStream = outputStream;
+	}
+
+	/**
+	 * @param date
+	 *            in milliseconds
+	 */
+	public abstract void append(final long date, final double value);
+
+	public void close() {
+		try {
+			writeBuffer();
+			outputStream.close();
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * makes room for the given number of bytes in the buffer
+	 */
+	protected void ensureRemaining(final int numberOfBytes) {
+		assert (numberOfBytes <= BUFFER_SIZE);
+
+		if (BUFFER_SIZE - position < numberOfBytes) {
+			try {
+				writeBuffer();
+			} catch (final IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	protected void writeBuffer() throws IOException {
+		outputStream.write(buffer, 0, position);
+		position = 0;
+	}
+}
@@ -0,0 +1,339 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage.PeriodDataStorageListener;
+
+/**
+ * Exports the closed periods of time series models, which are looked up by
+ * their unique qualified name, e. g. EUR/industries/COAL/output. Rows are collected into primitive batches on the calling thread
+ * and encoded and written by a background writer thread, which is started
+ * with the first export.
+ */
+public class PeriodDataExporter {
+
+	/**
+	 * raw rows handed over from the simulation to the writer thread
+	 */
+	protected static class Batch {
+
+		protected final long[] dates;
+
+		protected final PeriodDataExport[] exports;
+
+		protected int numberOfRows = 0;
+
+		protected final double[] values;
+
+		protected Batch(final int capacity) {
+			dates = new long[capacity];
+			exports = new PeriodDataExport[capacity];
+			values = new double[capacity];
+		}
+	}
+
+	public enum PeriodDataExportFormat {
+		COLUMNAR, CSV_GZIP
+	}
+
+	protected static final int BATCH_SIZE = 4096;
+
+	/**
+	 * stops the writer thread
+	 */
+	protected static final Batch END_OF_EXPORT = new Batch(0);
+
+	/**
+	 * interval, in which a thread waiting for a free batch checks whether the
+	 * writer thread has failed
+	 */
+	protected static final long FREE_BATCH_POLL_MILLIS = 100;
+
+	protected static final int NUMBER_OF_BATCHES = 4;
+
+	protected Batch batch;
+
+	protected final List<PeriodDataExport> exports = new ArrayList<PeriodDataExport>();
+
+	protected volatile Throwable failure;
+
+	protected final BlockingQueue<Batch> freeBatches = new ArrayBlockingQueue<Batch>(
+			NUMBER_OF_BATCHES);
+
+	protected final BlockingQueue<Batch> fullBatches = new ArrayBlockingQueue<Batch>(
+			NUMBER_OF_BATCHES + 1);
+
+	/**
+	 * listeners registered with the period data storages of the exports
+	 */
+	protected final Map<PeriodDataStorageListener, PeriodDataStorage> listeners = new LinkedHashMap<PeriodDataStorageListener, PeriodDataStorage>();
+
+	protected long numberOfAppendedRows = 0;
+
+	protected long numberOfWrittenRows = 0;
+
+	/**
+	 * period data storages by qualified name
+	 */
+	protected final Map<String, PeriodDataStorage> periodDataStorages = new LinkedHashMap<String, PeriodDataStorage>();
+
+	protected Thread writerThread;
+
+	/**
+	 * might be called from the period data pipeline
+	 */
+	protected synchronized void append(final PeriodDataExport export,
+			final long date, final double value) {
+		checkFailure();
+
+		batch.exports[batch.numberOfRows] = export;
+		batch.dates[batch.numberOfRows] = date;
+		batch.values[batch.numberOfRows] = value;
+		batch.numberOfRows++;
+		numberOfAppendedRows++;
+
+		if (batch.numberOfRows == BATCH_SIZE) {
+			handOver(batch);
+			batch = takeFreeBatch();
+		}
+	}
+
+	protected void checkFailure() {
+		if (failure != null) {
+			throw new RuntimeException("period data export failed", failure);
+		}
+	}
+
+	/**
+	 * writes all exported rows, stops the writer thread, closes the files and
+	 * detaches from the period data storages
+	 */
+	public void close() {
+		synchronized (this) {
+			if (writerThread == null) {
+				return;
+			}
+
+			for (final Map.Entry<PeriodDataStorageListener, PeriodDataStorage> entry : listeners
+					.entrySet()) {
+				entry.getValue().unregisterListener(entry.getKey());
+			}
+			listeners.clear();
+
+			flush();
+			handOver(END_OF_EXPORT);
+		}
+
+		try {
+			writerThread.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		synchronized (this) {
+			writerThread = null;
+
+			for (final PeriodDataExport export : exports) {
+				export.close();
+			}
+			exports.clear();
+		}
+		checkFailure();
+	}
+
+	/**
+	 * exports all periods closed from now on of the time series with the
+	 * given name into the file
+	 */
+	public synchronized void export(final String name, final File file,
+			final PeriodDataExportFormat format) {
+		final PeriodDataStorage periodDataStorage = periodDataStorages
+				.get(name);
+
+		if (periodDataStorage == null) {
+			throw new IllegalArgumentException("no time series with name "
+					+ name);
+		}
+
+		final PeriodDataExport export;
+		switch (format) {
+		case COLUMNAR:
+			export = new ColumnarPeriodDataExport(file);
+			break;
+		default:
+			export = new CsvPeriodDataExport(file, name);
+			break;
+		}
+		exports.add(export);
+
+		if (writerThread == null) {
+			startWriterThread();
+		}
+
+		final PeriodDataStorageListener listener = new PeriodDataStorageListener() {
+			@Override
+			public void notifyPeriodClosed(final Date date, final double value) {
+				append(export, date.getTime(), value);
+			}
+		};
+		listeners.put(listener, periodDataStorage);
+		periodDataStorage.registerListener(listener);
+	}
+
+	/**
+	 * blocks until all exported rows are encoded by the writer thread
+	 */
+	public synchronized void flush() {
+		if (writerThread == null) {
+			return;
+		}
+
+		if (batch.numberOfRows > 0) {
+			handOver(batch);
+			batch = takeFreeBatch();
+		}
+
+		while (numberOfWrittenRows < numberOfAppendedRows && failure == null) {
+			try {
+				wait();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		checkFailure();
+	}
+
+	public synchronized Set<String> getNames() {
+		return new LinkedHashSet<String>(periodDataStorages.keySet());
+	}
+
+	protected void handOver(final Batch fullBatch) {
+		try {
+			fullBatches.put(fullBatch);
+		} catch (final InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * makes the period data storage available for export under the name,
+	 * which has to be unique
+	 */
+	public synchronized void register(final String name,
+			final PeriodDataStorage periodDataStorage) {
+		if (periodDataStorages.containsKey(name)) {
+			throw new IllegalArgumentException("time series with name " + name
+					+ " is already registered");
+		}
+		periodDataStorages.put(name, periodDataStorage);
+	}
+
+	protected void startWriterThread() {
+		freeBatches.clear();
+		fullBatches.clear();
+
+		for (int i = 0; i < NUMBER_OF_BATCHES; i++) {
+			freeBatches.add(new Batch(BATCH_SIZE));
+		}
+		batch = freeBatches.poll();
+
+		writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				write();
+			}
+		}, "compecon-period-data-export");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	protected Batch takeFreeBatch() {
+		try {
+			while (true) {
+				checkFailure();
+
+				final Batch freeBatch = freeBatches.poll(
+						FREE_BATCH_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (freeBatch != null) {
+					freeBatch.numberOfRows = 0;
+					return freeBatch;
+				}
+
+				if (!writerThread.isAlive() && freeBatches.isEmpty()) {
+					checkFailure();
+					throw new IllegalStateException(
+							"period data export writer has stopped");
+				}
+			}
+		} catch (final InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * loop of the writer thread
+	 */
+	protected void write() {
+		try {
+			while (true) {
+				final Batch fullBatch = fullBatches.take();
+
+				if (fullBatch == END_OF_EXPORT) {
+					break;
+				}
+
+				final int numberOfRows = fullBatch.numberOfRows;
+				for (int i = 0; i < numberOfRows; i++) {
+					fullBatch.exports[i].append(fullBatch.dates[i],
+							fullBatch.values[i]);
+					// release the reference for garbage collection
+					fullBatch.exports[i] = null;
+				}
+
+				freeBatches.put(fullBatch);
+
+				synchronized (this) {
+					numberOfWrittenRows += numberOfRows;
+					notifyAll();
+				}
+			}
+		} catch (final Throwable e) {
+			synchronized (this) {
+				failure = e;
+				notifyAll();
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.store;
+
+import java.nio.LongBuffer;
+
+/**
+ * Reads bit sequences, most significant bit first, written by a
+ * {@link BitWriter}.
+ */
+public class BitReader {
+
+	protected int position = 0;
+
+	protected final LongBuffer words;
+
+	public BitReader(final LongBuffer words) {
+		this.words = words;
+	}
+
+	public boolean readBit() {
+		return readBits(1) == 1;
+	}
+
+	/**
+	 * @param numberOfBits
+	 *            between 1 and 64
+	 */
+	public long readBits(final int numberOfBits) {
+		assert (numberOfBits > 0 && numberOfBits <= 64);
+
+		final int wordIndex = position >>> 6;
+		final int offset = position & 63;
+		final int free = 64 - offset;
+		final long result;
+
+		if (numberOfBits <= free) {
+			result = (words.get(wordIndex) << offset) >>> (64 - numberOfBits);
+		} else {
+			final int rest = numberOfBits - free;
+			final long high = words.get(wordIndex) & ((1L << free) - 1);
+			result = (high << rest) | (words.get(wordIndex + 1) >>> (64 - rest));
+		}
+
+		position += numberOfBits;
+		return result;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.store;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Appends bit sequences, most significant bit first, to a growable array of
+ * words.
+ */
+public class BitWriter {
+
+	protected int numberOfBits = 0;
+
+	protected long[] words = new long[4];
+
+	public int getNumberOfBits() {
+		return numberOfBits;
+	}
+
+	public int getNumberOfWords() {
+		return (numberOfBits + 63) >>> 6;
+	}
+
+	public long[] getWords() {
+		return words;
+	}
+
+	/**
+	 * @return view on the words written so far, which is invalidated by
+	 *         further writes
+	 */
+	public LongBuffer toLongBuffer() {
+		return LongBuffer.wrap(words, 0, getNumberOfWords()).slice();
+	}
+
+	public void writeBit(final boolean bit) {
+		writeBits(bit ? 1 : 0, 1);
+	}
+
+	/**
+	 * @param value
+	 *            bits to be written in the lowest numberOfBits bits
+	 * @param numberOfBits
+	 *            between 1 and 64
+	 */
+	public void writeBits(final long value, final int numberOfBits) {
+		assert (numberOfBits > 0 && numberOfBits <= 64);
+
+		final int wordIndex = this.numberOfBits >>> 6;
+		if (wordIndex + 1 >= words.length) {
+			words = Arrays.copyOf(words, words.length * 2);
+		}
+
+		final long maskedValue = numberOfBits == 64 ? value : value
+				& ((1L << numberOfBits) - 1);
+		final int free = 64 - (this.numberOfBits & 63);
+
+		if (numberOfBits <= free) {
+			words[wordIndex] |= maskedValue << (free - numberOfBits);
+		} else {
+			final int rest = numberOfBits - free;
+			words[wordIndex] |= maskedValue >>> rest;
+			words[wordIndex + 1] |= maskedValue << (64 - rest);
+		}
+
+		this.numberOfBits += numberOfBits;
+	}
+}
@@ -0,0 +1,227 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.store;
+
+import java.nio.LongBuffer;
+
+/**
+ * Block of periods stored in two columns: dates are encoded as
+ * delta-of-deltas, values as XOR of their predecessor with leading and
+ * trailing zeros elided. Open blocks are appended to on the heap; sealed
+ * blocks are immutable and might reside in a memory-mapped file.
+ */
+public class CompressedBlock {
+
+	protected int numberOfItems = 0;
+
+	/**
+	 * encoder state of the open block
+	 */
+	protected long previousDate;
+
+	protected long previousDelta;
+
+	protected int previousLeadingZeros = -1;
+
+	protected int previousTrailingZeros;
+
+	protected long previousValueBits;
+
+	protected BitWriter dateColumnWriter = new BitWriter();
+
+	protected BitWriter valueColumnWriter = new BitWriter();
+
+	/**
+	 * null, as long as the block is open
+	 */
+	protected LongBuffer sealedDateColumn;
+
+	protected LongBuffer sealedValueColumn;
+
+	public void append(final long date, final double value) {
+		assert (sealedDateColumn == null);
+
+		appendDate(date);
+		appendValue(Double.doubleToRawLongBits(value));
+		numberOfItems++;
+	}
+
+	protected void appendDate(final long date) {
+		if (numberOfItems == 0) {
+			dateColumnWriter.writeBits(date, 64);
+		} else {
+			final long delta = date - previousDate;
+			final long deltaOfDelta = delta - previousDelta;
+
+			if (deltaOfDelta == 0) {
+				dateColumnWriter.writeBit(false);
+			} else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+				dateColumnWriter.writeBits(2, 2);
+				dateColumnWriter.writeBits(deltaOfDelta + 63, 7);
+			} else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+				dateColumnWriter.writeBits(6, 3);
+				dateColumnWriter.writeBits(deltaOfDelta + 255, 9);
+			} else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+				dateColumnWriter.writeBits(14, 4);
+				dateColumnWriter.writeBits(deltaOfDelta + 2047, 12);
+			} else {
+				dateColumnWriter.writeBits(15, 4);
+				dateColumnWriter.writeBits(deltaOfDelta, 64);
+			}
+
+			previousDelta = delta;
+		}
+
+		previousDate = date;
+	}
+
+	protected void appendValue(final long valueBits) {
+		if (numberOfItems == 0) {
+			valueColumnWriter.writeBits(valueBits, 64);
+		} else {
+			final long xor = valueBits ^ previousValueBits;
+
+			if (xor == 0) {
+				valueColumnWriter.writeBit(false);
+			} else {
+				valueColumnWriter.writeBit(true);
+
+				final int leadingZeros = Math.min(
+						Long.numberOfLeadingZeros(xor), 31);
+				final int trailingZeros = Long.numberOfTrailingZeros(xor);
+
+				if (previousLeadingZeros >= 0
+						&& leadingZeros >= previousLeadingZeros
+						&& trailingZeros >= previousTrailingZeros) {
+					// meaningful bits fit into the previous window
+					valueColumnWriter.writeBit(false);
+					valueColumnWriter.writeBits(xor >>> previousTrailingZeros,
+							64 - previousLeadingZeros - previousTrailingZeros);
+				} else {
+					final int meaningfulBits = 64 - leadingZeros
+							- trailingZeros;
+					valueColumnWriter.writeBit(true);
+					valueColumnWriter.writeBits(leadingZeros, 5);
+					valueColumnWriter.writeBits(meaningfulBits - 1, 6);
+					valueColumnWriter.writeBits(xor >>> trailingZeros,
+							meaningfulBits);
+
+					previousLeadingZeros = leadingZeros;
+					previousTrailingZeros = trailingZeros;
+				}
+			}
+		}
+
+		previousValueBits = valueBits;
+	}
+
+	/**
+	 * decodes all periods of the block
+	 *
+	 * @return number of decoded periods
+	 */
+	public int decode(final long[] dates, final double[] values) {
+		final BitReader dateColumnReader = new BitReader(
+				sealedDateColumn != null ? sealedDateColumn
+						: dateColumnWriter.toLongBuffer());
+		final BitReader valueColumnReader = new BitReader(
+				sealedValueColumn != null ? sealedValueColumn
+						: valueColumnWriter.toLongBuffer());
+
+		long date = 0;
+		long delta = 0;
+		long valueBits = 0;
+		int leadingZeros = 0;
+		int trailingZeros = 0;
+
+		for (int i = 0; i < numberOfItems; i++) {
+			// dates
+			if (i == 0) {
+				date = dateColumnReader.readBits(64);
+			} else {
+				final long deltaOfDelta;
+				if (!dateColumnReader.readBit()) {
+					deltaOfDelta = 0;
+				} else if (!dateColumnReader.readBit()) {
+					deltaOfDelta = dateColumnReader.readBits(7) - 63;
+				} else if (!dateColumnReader.readBit()) {
+					deltaOfDelta = dateColumnReader.readBits(9) - 255;
+				} else if (!dateColumnReader.readBit()) {
+					deltaOfDelta = dateColumnReader.readBits(12) - 2047;
+				} else {
+					deltaOfDelta = dateColumnReader.readBits(64);
+				}
+				delta += deltaOfDelta;
+				date += delta;
+			}
+			dates[i] = date;
+
+			// values
+			if (i == 0) {
+				valueBits = valueColumnReader.readBits(64);
+			} else if (valueColumnReader.readBit()) {
+				if (valueColumnReader.readBit()) {
+					leadingZeros = (int) valueColumnReader.readBits(5);
+					final int meaningfulBits = (int) valueColumnReader
+							.readBits(6) + 1;
+					trailingZeros = 64 - leadingZeros - meaningfulBits;
+				}
+				valueBits ^= valueColumnReader.readBits(64 - leadingZeros
+						- trailingZeros) << trailingZeros;
+			}
+			values[i] = Double.longBitsToDouble(valueBits);
+		}
+
+		return numberOfItems;
+	}
+
+	public int getNumberOfItems() {
+		return numberOfItems;
+	}
+
+	/**
+	 * @return number of bytes occupied by the encoded columns
+	 */
+	public int getNumberOfBytes() {
+		if (sealedDateColumn != null) {
+			return (sealedDateColumn.capacity() + sealedValueColumn
+					.capacity()) * 8;
+		}
+		return (dateColumnWriter.getNumberOfWords() + valueColumnWriter
+				.getNumberOfWords()) * 8;
+	}
+
+	public boolean isSealed() {
+		return sealedDateColumn != null;
+	}
+
+	/**
+	 * hands the encoded columns to the store and releases the encoder
+	 */
+	public void seal(final PeriodDataStore periodDataStore) {
+		sealedDateColumn = periodDataStore.store(dateColumnWriter.getWords(),
+				dateColumnWriter.getNumberOfWords());
+		sealedValueColumn = periodDataStore.store(
+				valueColumnWriter.getWords(),
+				valueColumnWriter.getNumberOfWords());
+		dateColumnWriter = null;
+		valueColumnWriter = null;
+	}
+}
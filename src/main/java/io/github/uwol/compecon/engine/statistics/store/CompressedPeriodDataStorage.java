@@ -0,0 +1,202 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.store;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.DateUtils;
+
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage;
+
+/**
+ * Period data storage keeping the full history in compressed blocks. The
+ * latest period is kept uncompressed, as it might be updated until the next
+ * day.
+ */
+public class CompressedPeriodDataStorage implements PeriodDataStorage {
+
+	protected static final int BLOCK_SIZE = 256;
+
+	protected final List<CompressedBlock> blocks = new ArrayList<CompressedBlock>();
+
+	protected int cachedBlockIndex = -1;
+
+	protected final long[] cachedDates = new long[BLOCK_SIZE];
+
+	protected final double[] cachedValues = new double[BLOCK_SIZE];
+
+	protected int itemCount = 0;
+
+	protected long latestDate;
+
+	/**
+	 * local day of the latest date
+	 */
+	protected long latestDay;
+
+	protected double latestValue;
+
+	protected final List<PeriodDataStorageListener> listeners = new ArrayList<PeriodDataStorageListener>();
+
+	protected final PeriodDataStore periodDataStore;
+
+	/**
+	 * default time zone, whose day boundaries separate the periods
+	 */
+	protected final TimeZone timeZone = TimeZone.getDefault();
+
+	protected final String title;
+
+	public CompressedPeriodDataStorage(final PeriodDataStore periodDataStore,
+			final String title) {
+		this.periodDataStore = periodDataStore;
+		this.title = title;
+	}
+
+	@Override
+	public void addOrUpdate(final Date date, final double value) {
+		final long time = date.getTime();
+		final long day = day(time);
+
+		if (itemCount == 0 || day != latestDay) {
+			if (itemCount > 0) {
+				appendToBlock(latestDate, latestValue);
+			}
+			latestDate = time;
+			latestDay = day;
+			itemCount++;
+		}
+		latestValue = value;
+
+		for (final PeriodDataStorageListener listener : listeners) {
+			listener.notifyPeriodClosed(date, value);
+		}
+	}
+
+	protected void appendToBlock(final long date, final double value) {
+		final int blockIndex = (itemCount - 1) / BLOCK_SIZE;
+
+		if (blockIndex == blocks.size()) {
+			blocks.add(new CompressedBlock());
+		}
+
+		final CompressedBlock block = blocks.get(blockIndex);
+		block.append(date, value);
+
+		if (block.getNumberOfItems() == BLOCK_SIZE) {
+			block.seal(periodDataStore);
+		}
+
+		if (cachedBlockIndex == blockIndex) {
+			cachedBlockIndex = -1;
+		}
+	}
+
+	/**
+	 * number of the local day, which is compared instead of calendars
+	 */
+	protected long day(final long time) {
+		return Math.floorDiv(time + timeZone.getOffset(time),
+				DateUtils.MILLIS_PER_DAY);
+	}
+
+	protected void decodeBlock(final int blockIndex) {
+		if (cachedBlockIndex != blockIndex) {
+			blocks.get(blockIndex).decode(cachedDates, cachedValues);
+			cachedBlockIndex = blockIndex;
+		}
+	}
+
+	@Override
+	public Date getDate(final int i) {
+		assert (i >= 0 && i < itemCount);
+
+		if (i == itemCount - 1) {
+			return new Date(latestDate);
+		}
+
+		decodeBlock(i / BLOCK_SIZE);
+		return new Date(cachedDates[i % BLOCK_SIZE]);
+	}
+
+	@Override
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	/**
+	 * @return number of bytes occupied by the compressed blocks
+	 */
+	public long getNumberOfBytes() {
+		long numberOfBytes = 0;
+		for (final CompressedBlock block : blocks) {
+			numberOfBytes += block.getNumberOfBytes();
+		}
+		return numberOfBytes;
+	}
+
+	@Override
+	public String getTitle() {
+		return title;
+	}
+
+	@Override
+	public double getValue(final int i) {
+		assert (i >= 0 && i < itemCount);
+
+		if (i == itemCount - 1) {
+			return latestValue;
+		}
+
+		decodeBlock(i / BLOCK_SIZE);
+		return cachedValues[i % BLOCK_SIZE];
+	}
+
+	@Override
+	public void read(final int from, final int to, final long[] dates,
+			final double[] values) {
+		assert (from >= 0 && to <= itemCount);
+
+		for (int i = from; i < to; i++) {
+			if (i == itemCount - 1) {
+				dates[i - from] = latestDate;
+				values[i - from] = latestValue;
+			} else {
+				// blocks are decoded once per range
+				decodeBlock(i / BLOCK_SIZE);
+				dates[i - from] = cachedDates[i % BLOCK_SIZE];
+				values[i - from] = cachedValues[i % BLOCK_SIZE];
+			}
+		}
+	}
+
+	@Override
+	public void registerListener(final PeriodDataStorageListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void unregisterListener(final PeriodDataStorageListener listener) {
+		listeners.remove(listener);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage;
+
+/**
+ * Store of the full history of all period data storages. Sealed blocks are
+ * kept on the heap, until the memory budget is exceeded; thereafter they are
+ * spilled to a memory-mapped temporary file.
+ */
+public class PeriodDataStore {
+
+	protected static final int CHUNK_SIZE = 1 << 20;
+
+	/**
+	 * chunk of the spill file, into which sealed blocks are written
+	 */
+	protected MappedByteBuffer chunk;
+
+	protected long heapBytes = 0;
+
+	protected long mappedBytes = 0;
+
+	protected final long memoryBudget;
+
+	protected RandomAccessFile spillFile;
+
+	protected File spillFilePath;
+
+	/**
+	 * @param memoryBudget
+	 *            bytes of sealed blocks kept on the heap
+	 */
+	public PeriodDataStore(final long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * closes and deletes the spill file
+	 */
+	public synchronized void close() {
+		if (spillFile != null) {
+			try {
+				spillFile.close();
+			} catch (final IOException e) {
+				throw new RuntimeException(e);
+			} finally {
+				chunk = null;
+				spillFile = null;
+				spillFilePath.delete();
+			}
+		}
+	}
+
+	public PeriodDataStorage createPeriodDataStorage(final String title) {
+		return new CompressedPeriodDataStorage(this, title);
+	}
+
+	public synchronized long getHeapBytes() {
+		return heapBytes;
+	}
+
+	public synchronized long getMappedBytes() {
+		return mappedBytes;
+	}
+
+	protected MappedByteBuffer mapChunk(final int numberOfBytes)
+			throws IOException {
+		if (spillFile == null) {
+			spillFilePath = File.createTempFile("compecon-period-data",
+					".bin");
+			spillFilePath.deleteOnExit();
+			spillFile = new RandomAccessFile(spillFilePath, "rw");
+		}
+
+		final long position = spillFile.length();
+		return spillFile.getChannel().map(MapMode.READ_WRITE, position,
+				Math.max(CHUNK_SIZE, numberOfBytes));
+	}
+
+	/**
+	 * stores the words of a sealed column on the heap or in the spill file
+	 */
+	public synchronized LongBuffer store(final long[] words,
+			final int numberOfWords) {
+		final int numberOfBytes = numberOfWords * 8;
+
+		if (heapBytes + numberOfBytes <= memoryBudget) {
+			heapBytes += numberOfBytes;
+			return LongBuffer.wrap(Arrays.copyOf(words, numberOfWords));
+		}
+
+		try {
+			if (chunk == null || chunk.remaining() < numberOfBytes) {
+				chunk = mapChunk(numberOfBytes);
+			}
+
+			final ByteBuffer slice = chunk.slice();
+			slice.limit(numberOfBytes);
+			chunk.position(chunk.position() + numberOfBytes);
+			mappedBytes += numberOfBytes;
+
+			final LongBuffer column = slice.asLongBuffer();
+			column.put(words, 0, numberOfWords);
+			column.flip();
+			return column;
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
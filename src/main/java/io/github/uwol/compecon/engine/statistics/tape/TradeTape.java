@@ -0,0 +1,375 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.tape;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * Append-only tape of all market fills. Fills are recorded as fixed-width
+ * binary records into batches, which are written by a background thread into
+ * memory-mapped segment files of fixed capacity. Each segment starts with a
+ * header holding the number of records written into it and the capacity of
+ * the segments. Segments of an earlier tape in the directory are deleted.
+ * Fills must be recorded by a single thread.
+ */
+public class TradeTape {
+
+	public static final int AMOUNT_OFFSET = 16;
+
+	protected static final int BATCH_SIZE = 1024;
+
+	public static final int BUYER_ID_OFFSET = 24;
+
+	public static final int COMMODITY_OFFSET = 34;
+
+	public static final byte COMMODITY_TYPE_CURRENCY = 1;
+
+	public static final byte COMMODITY_TYPE_GOOD_TYPE = 0;
+
+	public static final int COMMODITY_TYPE_OFFSET = 33;
+
+	public static final int CURRENCY_OFFSET = 32;
+
+	public static final int HEADER_SIZE = 16;
+
+	public static final int HOUR_TICK_OFFSET = 0;
+
+	protected static final int NUMBER_OF_BATCHES = 4;
+
+	public static final int NUMBER_OF_RECORDS_OFFSET = 0;
+
+	/**
+	 * interval, in which a recording thread waiting for a free batch checks
+	 * whether the writer thread has failed
+	 */
+	protected static final long FREE_BATCH_POLL_MILLIS = 100;
+
+	public static final int PRICE_OFFSET = 8;
+
+	public static final int RECORD_SIZE = 40;
+
+	public static final int RECORDS_PER_SEGMENT_OFFSET = 8;
+
+	public static final int SELLER_ID_OFFSET = 28;
+
+	/**
+	 * hands over the remaining batches and stops the writer thread
+	 */
+	protected static final ByteBuffer END_OF_TAPE = ByteBuffer.allocate(0);
+
+	public static File getSegmentFile(final File directory,
+			final int segmentNumber) {
+		return new File(directory, String.format("trades-%05d.tape",
+				segmentNumber));
+	}
+
+	/**
+	 * batch currently filled by the recording thread
+	 */
+	protected ByteBuffer batch;
+
+	protected final File directory;
+
+	protected volatile Throwable failure;
+
+	protected final BlockingQueue<ByteBuffer> freeBatches = new ArrayBlockingQueue<ByteBuffer>(
+			NUMBER_OF_BATCHES);
+
+	protected final BlockingQueue<ByteBuffer> fullBatches = new ArrayBlockingQueue<ByteBuffer>(
+			NUMBER_OF_BATCHES + 1);
+
+	protected long numberOfRecordedRecords = 0;
+
+	protected long numberOfWrittenRecords = 0;
+
+	protected final int recordsPerSegment;
+
+	protected MappedByteBuffer segment;
+
+	protected RandomAccessFile segmentFile;
+
+	protected int segmentNumber = -1;
+
+	protected int segmentRecords;
+
+	protected final Thread writerThread;
+
+	/**
+	 * @param segmentSizeInBytes
+	 *            at most {@link Integer#MAX_VALUE}, as segments are mapped
+	 *            into a single buffer
+	 */
+	public TradeTape(final File directory, final long segmentSizeInBytes) {
+		if (segmentSizeInBytes < HEADER_SIZE + RECORD_SIZE
+				|| segmentSizeInBytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("invalid segment size "
+					+ segmentSizeInBytes);
+		}
+
+		this.directory = directory;
+		recordsPerSegment = (int) ((segmentSizeInBytes - HEADER_SIZE) / RECORD_SIZE);
+
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new RuntimeException("cannot create directory " + directory);
+		}
+
+		// segments of an earlier tape must not be replayed
+		for (int i = 0; getSegmentFile(directory, i).exists(); i++) {
+			if (!getSegmentFile(directory, i).delete()) {
+				throw new RuntimeException("cannot delete "
+						+ getSegmentFile(directory, i));
+			}
+		}
+
+		for (int i = 0; i < NUMBER_OF_BATCHES; i++) {
+			freeBatches.add(ByteBuffer.allocateDirect(BATCH_SIZE * RECORD_SIZE)
+					.order(ByteOrder.LITTLE_ENDIAN));
+		}
+		batch = freeBatches.poll();
+
+		writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				write();
+			}
+		}, "compecon-trade-tape");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	protected void checkFailure() {
+		if (failure != null) {
+			throw new RuntimeException("trade tape writer failed", failure);
+		}
+	}
+
+	/**
+	 * flushes all recorded fills and stops the writer thread
+	 */
+	public void close() {
+		if (writerThread.isAlive()) {
+			flush();
+			handOver(END_OF_TAPE);
+
+			try {
+				writerThread.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		checkFailure();
+	}
+
+	/**
+	 * blocks until all recorded fills are written to the segment files
+	 */
+	public void flush() {
+		if (batch.position() > 0) {
+			handOver(batch);
+			batch = takeFreeBatch();
+		}
+
+		synchronized (this) {
+			while (numberOfWrittenRecords < numberOfRecordedRecords
+					&& failure == null) {
+				try {
+					wait();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+		checkFailure();
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public long getNumberOfRecordedRecords() {
+		return numberOfRecordedRecords;
+	}
+
+	protected void handOver(final ByteBuffer fullBatch) {
+		try {
+			fullBatches.put(fullBatch);
+		} catch (final InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @param ids
+	 *            of the buyer and seller agents, or -1 if unknown
+	 */
+	public void record(final long hourTick, final Currency currency,
+			final GoodType goodType, final Currency commodityCurrency,
+			final double pricePerUnit, final double amount, final int buyerId,
+			final int sellerId) {
+		checkFailure();
+
+		final int position = batch.position();
+		batch.putLong(position + HOUR_TICK_OFFSET, hourTick);
+		batch.putDouble(position + PRICE_OFFSET, pricePerUnit);
+		batch.putDouble(position + AMOUNT_OFFSET, amount);
+		batch.putInt(position + BUYER_ID_OFFSET, buyerId);
+		batch.putInt(position + SELLER_ID_OFFSET, sellerId);
+		batch.put(position + CURRENCY_OFFSET, (byte) currency.ordinal());
+
+		if (goodType != null) {
+			batch.put(position + COMMODITY_TYPE_OFFSET,
+					COMMODITY_TYPE_GOOD_TYPE);
+			batch.putShort(position + COMMODITY_OFFSET,
+					(short) goodType.ordinal());
+		} else {
+			batch.put(position + COMMODITY_TYPE_OFFSET,
+					COMMODITY_TYPE_CURRENCY);
+			batch.putShort(position + COMMODITY_OFFSET,
+					(short) commodityCurrency.ordinal());
+		}
+
+		batch.position(position + RECORD_SIZE);
+		numberOfRecordedRecords++;
+
+		if (!batch.hasRemaining()) {
+			handOver(batch);
+			batch = takeFreeBatch();
+		}
+	}
+
+	/**
+	 * maps the next segment file; only called by the writer thread
+	 */
+	protected void rollSegment() throws IOException {
+		if (segmentFile != null) {
+			segment.force();
+			segmentFile.close();
+		}
+
+		segmentNumber++;
+		segmentRecords = 0;
+		segmentFile = new RandomAccessFile(getSegmentFile(directory,
+				segmentNumber), "rw");
+		segmentFile.setLength(HEADER_SIZE + (long) recordsPerSegment
+				* RECORD_SIZE);
+		segment = segmentFile.getChannel().map(MapMode.READ_WRITE, 0,
+				segmentFile.length());
+		segment.order(ByteOrder.LITTLE_ENDIAN);
+		segment.putLong(NUMBER_OF_RECORDS_OFFSET, 0);
+		segment.putInt(RECORDS_PER_SEGMENT_OFFSET, recordsPerSegment);
+	}
+
+	/**
+	 * blocks until the writer thread returns a batch; fails instead of
+	 * blocking forever, if the writer thread has failed or stopped
+	 */
+	protected ByteBuffer takeFreeBatch() {
+		try {
+			while (true) {
+				checkFailure();
+
+				final ByteBuffer freeBatch = freeBatches.poll(
+						FREE_BATCH_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (freeBatch != null) {
+					freeBatch.clear();
+					return freeBatch;
+				}
+
+				if (!writerThread.isAlive() && freeBatches.isEmpty()) {
+					checkFailure();
+					throw new IllegalStateException(
+							"trade tape writer has stopped");
+				}
+			}
+		} catch (final InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * loop of the writer thread
+	 */
+	protected void write() {
+		try {
+			while (true) {
+				final ByteBuffer fullBatch = fullBatches.take();
+
+				if (fullBatch == END_OF_TAPE) {
+					break;
+				}
+
+				fullBatch.flip();
+				final int numberOfRecords = fullBatch.remaining() / RECORD_SIZE;
+
+				while (fullBatch.hasRemaining()) {
+					if (segment == null || segmentRecords == recordsPerSegment) {
+						rollSegment();
+					}
+
+					final int records = Math.min(recordsPerSegment
+							- segmentRecords, fullBatch.remaining()
+							/ RECORD_SIZE);
+					final ByteBuffer source = fullBatch.slice();
+					source.limit(records * RECORD_SIZE);
+					segment.position(HEADER_SIZE + segmentRecords
+							* RECORD_SIZE);
+					segment.put(source);
+					fullBatch.position(fullBatch.position() + records
+							* RECORD_SIZE);
+
+					segmentRecords += records;
+					// readers only see complete records
+					segment.putLong(NUMBER_OF_RECORDS_OFFSET, segmentRecords);
+				}
+
+				freeBatches.put(fullBatch);
+
+				synchronized (this) {
+					numberOfWrittenRecords += numberOfRecords;
+					notifyAll();
+				}
+			}
+
+			if (segmentFile != null) {
+				segment.force();
+				segmentFile.close();
+			}
+		} catch (final Throwable e) {
+			synchronized (this) {
+				failure = e;
+				notifyAll();
+			}
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.tape;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * Reads a trade tape for post-hoc analysis and replay. Segment files are
+ * mapped read-only, and fields are read directly from the mapped records
+ * without copying. The number of records and the capacity of the segments are
+ * taken from the segment headers when the reader is opened.
+ */
+public class TradeTapeReader {
+
+	public interface TradeTapeListener {
+		/**
+		 * @param goodType
+		 *            traded good type, or null if a currency is traded
+		 * @param commodityCurrency
+		 *            traded currency, or null if a good type is traded
+		 */
+		public void onTrade(final long hourTick, final Currency currency,
+				final GoodType goodType, final Currency commodityCurrency,
+				final double pricePerUnit, final double amount,
+				final int buyerId, final int sellerId);
+	}
+
+	protected static final Currency[] CURRENCIES = Currency.values();
+
+	protected static final GoodType[] GOOD_TYPES = GoodType.values();
+
+	protected final long numberOfRecords;
+
+	protected final int recordsPerSegment;
+
+	protected final MappedByteBuffer[] segments;
+
+	public TradeTapeReader(final File directory) {
+		final List<MappedByteBuffer> segments = new ArrayList<MappedByteBuffer>();
+		long numberOfRecords = 0;
+		int recordsPerSegment = 0;
+
+		try {
+			for (int i = 0; TradeTape.getSegmentFile(directory, i).exists(); i++) {
+				final RandomAccessFile segmentFile = new RandomAccessFile(
+						TradeTape.getSegmentFile(directory, i), "r");
+				try {
+					final MappedByteBuffer segment = segmentFile.getChannel()
+							.map(MapMode.READ_ONLY, 0, segmentFile.length());
+					segment.order(ByteOrder.LITTLE_ENDIAN);
+
+					// only the last segment might not be full
+					if (i > 0
+							&& (numberOfRecords != (long) i * recordsPerSegment || segment
+									.getInt(TradeTape.RECORDS_PER_SEGMENT_OFFSET) != recordsPerSegment)) {
+						throw new IllegalStateException("inconsistent segment "
+								+ TradeTape.getSegmentFile(directory, i));
+					}
+
+					segments.add(segment);
+					recordsPerSegment = segment
+							.getInt(TradeTape.RECORDS_PER_SEGMENT_OFFSET);
+					numberOfRecords += segment
+							.getLong(TradeTape.NUMBER_OF_RECORDS_OFFSET);
+				} finally {
+					// the mapping remains valid after closing the file
+					segmentFile.close();
+				}
+			}
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		this.segments = segments.toArray(new MappedByteBuffer[segments.size()]);
+		this.numberOfRecords = numberOfRecords;
+		this.recordsPerSegment = recordsPerSegment;
+	}
+
+	public double getAmount(final long index) {
+		return getSegment(index).getDouble(getOffset(index)
+				+ TradeTape.AMOUNT_OFFSET);
+	}
+
+	public int getBuyerId(final long index) {
+		return getSegment(index).getInt(getOffset(index)
+				+ TradeTape.BUYER_ID_OFFSET);
+	}
+
+	/**
+	 * @return traded currency, or null if a good type is traded
+	 */
+	public Currency getCommodityCurrency(final long index) {
+		final MappedByteBuffer segment = getSegment(index);
+		final int offset = getOffset(index);
+		if (segment.get(offset + TradeTape.COMMODITY_TYPE_OFFSET) != TradeTape.COMMODITY_TYPE_CURRENCY) {
+			return null;
+		}
+		return CURRENCIES[segment.getShort(offset
+				+ TradeTape.COMMODITY_OFFSET)];
+	}
+
+	public Currency getCurrency(final long index) {
+		return CURRENCIES[getSegment(index).get(
+				getOffset(index) + TradeTape.CURRENCY_OFFSET)];
+	}
+
+	/**
+	 * @return traded good type, or null if a currency is traded
+	 */
+	public GoodType getGoodType(final long index) {
+		final MappedByteBuffer segment = getSegment(index);
+		final int offset = getOffset(index);
+		if (segment.get(offset + TradeTape.COMMODITY_TYPE_OFFSET) != TradeTape.COMMODITY_TYPE_GOOD_TYPE) {
+			return null;
+		}
+		return GOOD_TYPES[segment.getShort(offset
+				+ TradeTape.COMMODITY_OFFSET)];
+	}
+
+	public long getHourTick(final long index) {
+		return getSegment(index).getLong(getOffset(index)
+				+ TradeTape.HOUR_TICK_OFFSET);
+	}
+
+	public long getNumberOfRecords() {
+		return numberOfRecords;
+	}
+
+	protected int getOffset(final long index) {
+		return TradeTape.HEADER_SIZE + (int) (index % recordsPerSegment)
+				* TradeTape.RECORD_SIZE;
+	}
+
+	public double getPricePerUnit(final long index) {
+		return getSegment(index).getDouble(getOffset(index)
+				+ TradeTape.PRICE_OFFSET);
+	}
+
+	protected MappedByteBuffer getSegment(final long index) {
+		assert (index >= 0 && index < numberOfRecords);
+
+		return segments[(int) (index / recordsPerSegment)];
+	}
+
+	public int getSellerId(final long index) {
+		return getSegment(index).getInt(getOffset(index)
+				+ TradeTape.SELLER_ID_OFFSET);
+	}
+
+	/**
+	 * replays all trades in the order of recording
+	 */
+	public void replay(final TradeTapeListener listener) {
+		for (long i = 0; i < numberOfRecords; i++) {
+			listener.onTrade(getHourTick(i), getCurrency(i), getGoodType(i),
+					getCommodityCurrency(i), getPricePerUnit(i), getAmount(i),
+					getBuyerId(i), getSellerId(i));
+		}
+	}
+}
@@ -22,14 +22,12 @@ package io.github.uwol.compecon.engine.statistics.timeseries;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.jfree.data.time.TimeSeries;
-
 public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends
 		AbstractPeriodDataTimeSeriesModel {
 
 	protected final I[] indexTypes;
 
-	protected final Map<I, TimeSeries> timeSeries = new HashMap<I, TimeSeries>();
+	protected final Map<I, PeriodDataStorage> periodDataStorages = new HashMap<I, PeriodDataStorage>();
 
 	protected String titleSuffix;
 
@@ -38,8 +36,8 @@ public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends
 		this.indexTypes = initialIndexTypes;
 
 		for (final I indexType : this.indexTypes) {
-			this.timeSeries.put(indexType, createTimeSeries(indexType + " "
-					+ title));
+			this.periodDataStorages.put(indexType,
+					createPeriodDataStorage(indexType + " " + title));
 		}
 	}
 
@@ -47,7 +45,7 @@ public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends
 		return this.indexTypes;
 	}
 
-	public TimeSeries getTimeSeries(final I indexType) {
-		return this.timeSeries.get(indexType);
+	public PeriodDataStorage getPeriodDataStorage(final I indexType) {
+		return this.periodDataStorages.get(indexType);
 	}
 }
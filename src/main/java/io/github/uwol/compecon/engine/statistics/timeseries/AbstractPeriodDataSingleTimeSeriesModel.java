@@ -19,20 +19,18 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.TimeSeries;
-
 public abstract class AbstractPeriodDataSingleTimeSeriesModel extends
 		AbstractPeriodDataTimeSeriesModel {
 
-	protected final TimeSeries timeSeries;
+	protected final PeriodDataStorage periodDataStorage;
 
 	protected String titleSuffix;
 
 	public AbstractPeriodDataSingleTimeSeriesModel(final String title) {
-		timeSeries = createTimeSeries(title);
+		periodDataStorage = createPeriodDataStorage(title);
 	}
 
-	public TimeSeries getTimeSeries() {
-		return timeSeries;
+	public PeriodDataStorage getPeriodDataStorage() {
+		return periodDataStorage;
 	}
 }
@@ -19,22 +19,59 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-import org.jfree.data.time.TimeSeries;
+import java.util.Date;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.accumulator.ConcurrentPeriodDataAccumulator;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
+import io.github.uwol.compecon.engine.statistics.store.PeriodDataStore;
 
 public abstract class AbstractPeriodDataTimeSeriesModel {
 
 	protected final int NUMBER_OF_DAYS = 180;
 
-	protected TimeSeries createTimeSeries(final String title) {
-		final TimeSeries timeSeries = new TimeSeries(title, Day.class);
-		timeSeries.setMaximumItemAge(NUMBER_OF_DAYS);
-		timeSeries.add(new Day(ApplicationContext.getInstance().getTimeSystem()
-				.getCurrentDate()), 0);
-		return timeSeries;
+	/**
+	 * @return accumulator, which is safe for concurrent adding, if
+	 *         configured
+	 */
+	protected PeriodDataAccumulator createPeriodDataAccumulator() {
+		if (ApplicationContext.getInstance().getConfiguration().dashboardConfig
+				.getConcurrentAccumulators()) {
+			return new ConcurrentPeriodDataAccumulator();
+		}
+		return new PeriodDataAccumulator();
 	}
 
-	public abstract void nextPeriod();
+	protected PeriodDataStorage createPeriodDataStorage(final String title) {
+		final PeriodDataStore periodDataStore = ApplicationContext
+				.getInstance().getPeriodDataStore();
+		final PeriodDataStorage periodDataStorage;
+
+		// full history, if the period data store is active
+		if (periodDataStore != null) {
+			periodDataStorage = periodDataStore.createPeriodDataStorage(title);
+		} else {
+			periodDataStorage = new RingBufferPeriodDataStorage(title,
+					NUMBER_OF_DAYS);
+		}
+
+		periodDataStorage.addOrUpdate(getCurrentDate(), 0);
+		return periodDataStorage;
+	}
+
+	protected Date getCurrentDate() {
+		return ApplicationContext.getInstance().getTimeSystem()
+				.getCurrentDate();
+	}
+
+	/**
+	 * closes the current period on the simulation thread, resetting the
+	 * accumulators; the returned stage writes the closed period into the
+	 * period data storage and might be run on the period data pipeline.
+	 */
+	public abstract Runnable closePeriod();
+
+	public void nextPeriod() {
+		closePeriod().run();
+	}
 }
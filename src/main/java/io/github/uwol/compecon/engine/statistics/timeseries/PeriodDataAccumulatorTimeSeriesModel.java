@@ -19,15 +19,14 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
+import java.util.Date;
 
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class PeriodDataAccumulatorTimeSeriesModel extends
 		AbstractPeriodDataSingleTimeSeriesModel {
 
-	protected final PeriodDataAccumulator periodDataAccumulator = new PeriodDataAccumulator();
+	protected final PeriodDataAccumulator periodDataAccumulator = createPeriodDataAccumulator();
 
 	public PeriodDataAccumulatorTimeSeriesModel(final String title) {
 		super(title);
@@ -42,10 +41,16 @@ public class PeriodDataAccumulatorTimeSeriesModel extends
 	}
 
 	@Override
-	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance()
-				.getTimeSystem().getCurrentDate()),
-				periodDataAccumulator.getAmount());
+	public Runnable closePeriod() {
+		final Date date = getCurrentDate();
+		final double amount = periodDataAccumulator.getAmount();
 		periodDataAccumulator.reset();
+
+		return new Runnable() {
+			@Override
+			public void run() {
+				periodDataStorage.addOrUpdate(date, amount);
+			}
+		};
 	}
 }
@@ -19,13 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.jfree.data.time.Day;
-
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class PeriodDataPercentageTimeSeriesModel<I> extends
@@ -39,7 +37,7 @@ public class PeriodDataPercentageTimeSeriesModel<I> extends
 
 		for (final I indexType : initialIndexTypes) {
 			this.periodDataAccumulator.put(indexType,
-					new PeriodDataAccumulator());
+					createPeriodDataAccumulator());
 		}
 	}
 
@@ -52,21 +50,30 @@ public class PeriodDataPercentageTimeSeriesModel<I> extends
 	}
 
 	@Override
-	public void nextPeriod() {
+	public Runnable closePeriod() {
+		final Date date = getCurrentDate();
+
 		double sum = 0;
 		for (final PeriodDataAccumulator periodDataAccumulator : this.periodDataAccumulator
 				.values()) {
 			sum += periodDataAccumulator.getAmount();
 		}
 
+		final Map<I, Double> percentages = new HashMap<I, Double>();
 		for (final Entry<I, PeriodDataAccumulator> entry : this.periodDataAccumulator
 				.entrySet()) {
-			// write into time series
-			timeSeries.get(entry.getKey()).addOrUpdate(
-					new Day(ApplicationContext.getInstance().getTimeSystem()
-							.getCurrentDate()),
-					entry.getValue().getAmount() / sum);
-			entry.getValue();
+			percentages.put(entry.getKey(), entry.getValue().getAmount() / sum);
 		}
+
+		return new Runnable() {
+			@Override
+			public void run() {
+				for (final Entry<I, Double> entry : percentages.entrySet()) {
+					// write into period data storage
+					periodDataStorages.get(entry.getKey()).addOrUpdate(
+							date, entry.getValue());
+				}
+			}
+		};
 	}
 }
@@ -19,17 +19,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
+import java.util.Date;
 
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class PeriodDataQuotientTimeSeriesModel extends
 		AbstractPeriodDataSingleTimeSeriesModel {
 
-	protected final PeriodDataAccumulator periodDataDividendModel = new PeriodDataAccumulator();
+	protected final PeriodDataAccumulator periodDataDividendModel = createPeriodDataAccumulator();
 
-	protected final PeriodDataAccumulator periodDataDivisorModel = new PeriodDataAccumulator();
+	protected final PeriodDataAccumulator periodDataDivisorModel = createPeriodDataAccumulator();
 
 	public PeriodDataQuotientTimeSeriesModel(final String title) {
 		super(title);
@@ -51,11 +50,17 @@ public class PeriodDataQuotientTimeSeriesModel extends
 	}
 
 	@Override
-	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance()
-				.getTimeSystem().getCurrentDate()), getValue());
-
+	public Runnable closePeriod() {
+		final Date date = getCurrentDate();
+		final double value = getValue();
 		periodDataDividendModel.reset();
 		periodDataDivisorModel.reset();
+
+		return new Runnable() {
+			@Override
+			public void run() {
+				periodDataStorage.addOrUpdate(date, value);
+			}
+		};
 	}
 }
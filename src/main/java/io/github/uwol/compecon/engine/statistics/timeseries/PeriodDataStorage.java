@@ -0,0 +1,58 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+import java.util.Date;
+
+/**
+ * Storage of the values of closed periods of a time series model. Charting
+ * libraries are attached as listeners, so that headless simulations do not
+ * depend on them.
+ */
+public interface PeriodDataStorage {
+
+	public interface PeriodDataStorageListener {
+		public void notifyPeriodClosed(final Date date, final double value);
+	}
+
+	/**
+	 * stores the value of a period, replacing the value of the same day
+	 */
+	public void addOrUpdate(final Date date, final double value);
+
+	public Date getDate(final int i);
+
+	public int getItemCount();
+
+	public String getTitle();
+
+	public double getValue(final int i);
+
+	/**
+	 * copies dates in milliseconds and values of the periods from inclusive
+	 * to exclusive into the given arrays
+	 */
+	public void read(final int from, final int to, final long[] dates,
+			final double[] values);
+
+	public void registerListener(final PeriodDataStorageListener listener);
+
+	public void unregisterListener(final PeriodDataStorageListener listener);
+}
@@ -0,0 +1,134 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.DateUtils;
+
+/**
+ * Headless period data storage holding the latest periods in primitive ring
+ * buffers.
+ */
+public class RingBufferPeriodDataStorage implements PeriodDataStorage {
+
+	protected final long[] dates;
+
+	/**
+	 * position of the oldest period
+	 */
+	protected int head = 0;
+
+	protected int itemCount = 0;
+
+	protected final List<PeriodDataStorageListener> listeners = new ArrayList<PeriodDataStorageListener>();
+
+	/**
+	 * time zone of the day boundaries, as in {@link DateUtils#isSameDay}
+	 */
+	protected final TimeZone timeZone = TimeZone.getDefault();
+
+	protected final String title;
+
+	protected final double[] values;
+
+	public RingBufferPeriodDataStorage(final String title, final int capacity) {
+		this.title = title;
+		dates = new long[capacity];
+		values = new double[capacity];
+	}
+
+	@Override
+	public void addOrUpdate(final Date date, final double value) {
+		if (itemCount > 0
+				&& day(dates[index(itemCount - 1)]) == day(date.getTime())) {
+			values[index(itemCount - 1)] = value;
+		} else {
+			if (itemCount < values.length) {
+				itemCount++;
+			} else {
+				head = (head + 1) % values.length;
+			}
+			dates[index(itemCount - 1)] = date.getTime();
+			values[index(itemCount - 1)] = value;
+		}
+
+		for (final PeriodDataStorageListener listener : listeners) {
+			listener.notifyPeriodClosed(date, value);
+		}
+	}
+
+	/**
+	 * local day of the time; unlike {@link DateUtils#isSameDay} without
+	 * allocating calendars
+	 */
+	protected long day(final long time) {
+		return Math.floorDiv(time + timeZone.getOffset(time),
+				DateUtils.MILLIS_PER_DAY);
+	}
+
+	@Override
+	public Date getDate(final int i) {
+		return new Date(dates[index(i)]);
+	}
+
+	@Override
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	@Override
+	public String getTitle() {
+		return title;
+	}
+
+	@Override
+	public double getValue(final int i) {
+		return values[index(i)];
+	}
+
+	protected int index(final int i) {
+		assert (i >= 0 && i < itemCount);
+
+		return (head + i) % values.length;
+	}
+
+	@Override
+	public void read(final int from, final int to, final long[] dates,
+			final double[] values) {
+		for (int i = from; i < to; i++) {
+			dates[i - from] = this.dates[index(i)];
+			values[i - from] = this.values[index(i)];
+		}
+	}
+
+	@Override
+	public void registerListener(final PeriodDataStorageListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void unregisterListener(final PeriodDataStorageListener listener) {
+		listeners.remove(listener);
+	}
+}
@@ -23,26 +23,45 @@ import java.util.Date;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
+import io.github.uwol.compecon.engine.timesystem.impl.EventProfiler;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
 public interface TimeSystem {
 
-	public void addEvent(final TimeSystemEvent event, final int year,
+	/**
+	 * @param year
+	 *            -1 for every year
+	 * @return handle for cancelling the registration
+	 */
+	public TimeSystemEventHandle addEvent(final TimeSystemEvent event,
+			final int year,
 			final MonthType monthType, final DayType dayType,
 			final HourType hourType);
 
-	public void addEventEvery(final TimeSystemEvent event, final int year,
-			final MonthType monthType, final DayType dayType,
+	/**
+	 * registers the event for every hour except the given one as a single
+	 * recurring rule
+	 *
+	 * @param year
+	 *            -1 for every year
+	 * @return handle for cancelling the registration
+	 */
+	public TimeSystemEventHandle addEventEvery(final TimeSystemEvent event,
+			final int year, final MonthType monthType, final DayType dayType,
 			final HourType exceptHourType);
 
-	public void addEventForEveryDay(final TimeSystemEvent event);
+	public TimeSystemEventHandle addEventForEveryDay(
+			final TimeSystemEvent event);
 
-	public void addEventForEveryEvening(final TimeSystemEvent event);
+	public TimeSystemEventHandle addEventForEveryEvening(
+			final TimeSystemEvent event);
 
-	public void addEventForEveryHour(final TimeSystemEvent event);
+	public TimeSystemEventHandle addEventForEveryHour(
+			final TimeSystemEvent event);
 
-	public void addEventForEveryMorning(final TimeSystemEvent event);
+	public TimeSystemEventHandle addEventForEveryMorning(
+			final TimeSystemEvent event);
 
 	public void addExternalEvent(final TimeSystemEvent timeSystemEvent);
 
@@ -52,6 +71,22 @@ public interface TimeSystem {
 
 	public DayType getCurrentDayType();
 
+	/**
+	 * hour of the current day from 0 to 23
+	 */
+	public int getCurrentHourNumber();
+
+	/**
+	 * number of hours passed since the start of the simulation; increases
+	 * monotonically.
+	 */
+	public long getCurrentHourTick();
+
+	/**
+	 * number of days passed since the start of the simulation.
+	 */
+	public int getDayNumber();
+
 	public HourType getCurrentHourType();
 
 	public int getCurrentMonthNumberInYear();
@@ -60,14 +95,41 @@ public interface TimeSystem {
 
 	public int getCurrentYear();
 
+	/**
+	 * creates the date of an hour tick; intended for dashboard and export
+	 * only, as it allocates.
+	 */
+	public Date getDate(final long hourTick);
+
+	/**
+	 * dispatch statistics per event class and hour of the day; recorded only
+	 * if event profiling is configured
+	 */
+	public EventProfiler getEventProfiler();
+
+	/**
+	 * load histogram of the hours of the day, by which hours are suggested
+	 */
+	public double[] getHourLoads();
+
 	public int getStartYear();
 
 	public boolean isInitializationPhase();
 
+	/**
+	 * proceeds hour-wise until an hour with registered events has been
+	 * processed or a new day has begun; hour and day notifications are
+	 * issued for every hour passed.
+	 */
+	public void nextEventHour();
+
 	public void nextHour();
 
 	public void removeEvents(final Set<TimeSystemEvent> events);
 
+	/**
+	 * @return least loaded hour, ties being broken randomly
+	 */
 	public HourType suggestRandomHourType();
 
 	public HourType suggestRandomHourType(final HourType minHourType,
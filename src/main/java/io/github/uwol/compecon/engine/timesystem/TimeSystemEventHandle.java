@@ -19,18 +19,20 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem;
 
-import java.util.Set;
-
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
-
-public interface Day {
-
-	public void addEvent(final TimeSystemEvent event, final HourType hourType);
+/**
+ * handle of an event registration in the time system, which allows to cancel
+ * exactly this registration in O(1)
+ */
+public interface TimeSystemEventHandle {
 
-	public DayType getDayType();
+	public void cancel();
 
-	public Set<TimeSystemEvent> getEvents(final HourType hourType);
+	public TimeSystemEvent getEvent();
 
-	public void removeEvents(final Set<TimeSystemEvent> events);
+	/**
+	 * @return false, if the registration has been cancelled, has already been
+	 *         triggered as a one-time event, or refers to a point in time that
+	 *         will never occur
+	 */
+	public boolean isScheduled();
 }
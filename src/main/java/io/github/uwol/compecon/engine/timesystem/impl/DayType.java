@@ -27,14 +27,24 @@ public enum DayType {
 			26), DAY_27(27), DAY_28(28), DAY_29(29), DAY_30(30), DAY_31(31), EVERY(
 			-1);
 
-	public static DayType getDayType(final int dayNumber) {
+	private static final DayType[] DAY_TYPES = new DayType[32];
+
+	static {
 		for (final DayType dayType : DayType.values()) {
-			if (dayType.getDayNumber() == dayNumber) {
-				return dayType;
+			if (dayType.getDayNumber() >= 0) {
+				DAY_TYPES[dayType.getDayNumber()] = dayType;
 			}
 		}
+	}
 
-		return null;
+	public static DayType getDayType(final int dayNumber) {
+		if (dayNumber == EVERY.getDayNumber()) {
+			return EVERY;
+		}
+		if (dayNumber < 0 || dayNumber >= DAY_TYPES.length) {
+			return null;
+		}
+		return DAY_TYPES[dayNumber];
 	}
 
 	private int dayNumber;
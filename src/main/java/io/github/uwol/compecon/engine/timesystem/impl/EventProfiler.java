@@ -0,0 +1,257 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * accumulates number of dispatches, total and max wall time and allocated
+ * bytes per event class and hour of the day. Measurements are recorded into
+ * preallocated arrays, so that profiling does not allocate per event.
+ */
+public class EventProfiler {
+
+	protected class EventClassProfile {
+
+		protected final long[] allocatedBytesByHour = new long[TimingWheel.HOURS_PER_DAY];
+
+		protected final long[] maxNanosByHour = new long[TimingWheel.HOURS_PER_DAY];
+
+		protected final long[] numberOfEventsByHour = new long[TimingWheel.HOURS_PER_DAY];
+
+		protected final long[] totalNanosByHour = new long[TimingWheel.HOURS_PER_DAY];
+
+		protected long getAllocatedBytes() {
+			return sum(allocatedBytesByHour);
+		}
+
+		protected long getMaxNanos() {
+			long maxNanos = 0;
+			for (final long maxNanosOfHour : maxNanosByHour) {
+				maxNanos = Math.max(maxNanos, maxNanosOfHour);
+			}
+			return maxNanos;
+		}
+
+		protected long getNumberOfEvents() {
+			return sum(numberOfEventsByHour);
+		}
+
+		protected long getTotalNanos() {
+			return sum(totalNanosByHour);
+		}
+	}
+
+	protected static String formatSummary(final String name,
+			final long numberOfEvents, final long totalNanos,
+			final long maxNanos, final long allocatedBytes) {
+		return String.format(
+				"%s: count=%d, total=%.1f ms, max=%.1f us, allocated=%d KB",
+				name, numberOfEvents, totalNanos / 1000000.0,
+				maxNanos / 1000.0, allocatedBytes / 1024);
+	}
+
+	protected static long sum(final long[] values) {
+		long sum = 0;
+		for (final long value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	protected final Map<Class<? extends TimeSystemEvent>, EventClassProfile> eventClassProfiles = new HashMap<Class<? extends TimeSystemEvent>, EventClassProfile>();
+
+	/**
+	 * null, if the JVM does not measure allocations per thread
+	 */
+	protected final com.sun.management.ThreadMXBean threadMXBean;
+
+	public EventProfiler() {
+		final java.lang.management.ThreadMXBean platformThreadMXBean = ManagementFactory
+				.getThreadMXBean();
+		if (platformThreadMXBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) platformThreadMXBean)
+						.isThreadAllocatedMemorySupported()) {
+			threadMXBean = (com.sun.management.ThreadMXBean) platformThreadMXBean;
+			threadMXBean.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			threadMXBean = null;
+		}
+	}
+
+	protected EventClassProfile assureEventClassProfile(
+			final Class<? extends TimeSystemEvent> eventClass) {
+		EventClassProfile eventClassProfile = eventClassProfiles
+				.get(eventClass);
+		if (eventClassProfile == null) {
+			eventClassProfile = new EventClassProfile();
+			eventClassProfiles.put(eventClass, eventClassProfile);
+		}
+		return eventClassProfile;
+	}
+
+	/**
+	 * @return bytes allocated by the current thread so far; 0, if not
+	 *         supported
+	 */
+	public long getAllocatedBytes() {
+		if (threadMXBean == null) {
+			return 0;
+		}
+		return threadMXBean.getThreadAllocatedBytes(Thread.currentThread()
+				.getId());
+	}
+
+	/**
+	 * @return one line per event class, in descending order of total wall
+	 *         time
+	 */
+	public synchronized String[] getEventClassSummaries() {
+		final List<Entry<Class<? extends TimeSystemEvent>, EventClassProfile>> entries = new ArrayList<Entry<Class<? extends TimeSystemEvent>, EventClassProfile>>(
+				eventClassProfiles.entrySet());
+		Collections
+				.sort(entries,
+						new Comparator<Entry<Class<? extends TimeSystemEvent>, EventClassProfile>>() {
+							@Override
+							public int compare(
+									final Entry<Class<? extends TimeSystemEvent>, EventClassProfile> entry1,
+									final Entry<Class<? extends TimeSystemEvent>, EventClassProfile> entry2) {
+								return Long.compare(entry2.getValue()
+										.getTotalNanos(), entry1.getValue()
+										.getTotalNanos());
+							}
+						});
+
+		final String[] summaries = new String[entries.size()];
+		for (int i = 0; i < entries.size(); i++) {
+			final Class<? extends TimeSystemEvent> eventClass = entries.get(i)
+					.getKey();
+			final EventClassProfile eventClassProfile = entries.get(i)
+					.getValue();
+			summaries[i] = formatSummary(getName(eventClass),
+					eventClassProfile.getNumberOfEvents(),
+					eventClassProfile.getTotalNanos(),
+					eventClassProfile.getMaxNanos(),
+					eventClassProfile.getAllocatedBytes());
+		}
+		return summaries;
+	}
+
+	/**
+	 * @return one line per hour of the day, summed over all event classes
+	 */
+	public synchronized String[] getHourTypeSummaries() {
+		final String[] summaries = new String[TimingWheel.HOURS_PER_DAY];
+		for (int hour = 0; hour < TimingWheel.HOURS_PER_DAY; hour++) {
+			long numberOfEvents = 0;
+			long totalNanos = 0;
+			long maxNanos = 0;
+			long allocatedBytes = 0;
+			for (final EventClassProfile eventClassProfile : eventClassProfiles
+					.values()) {
+				numberOfEvents += eventClassProfile.numberOfEventsByHour[hour];
+				totalNanos += eventClassProfile.totalNanosByHour[hour];
+				maxNanos = Math.max(maxNanos,
+						eventClassProfile.maxNanosByHour[hour]);
+				allocatedBytes += eventClassProfile.allocatedBytesByHour[hour];
+			}
+			summaries[hour] = formatSummary(HourType.getHourType(hour)
+					.name(), numberOfEvents, totalNanos, maxNanos,
+					allocatedBytes);
+		}
+		return summaries;
+	}
+
+	/**
+	 * @return class name without package, including the names of enclosing
+	 *         classes
+	 */
+	protected String getName(final Class<? extends TimeSystemEvent> eventClass) {
+		final String name = eventClass.getName();
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	public synchronized long getNumberOfEvents(
+			final Class<? extends TimeSystemEvent> eventClass) {
+		final EventClassProfile eventClassProfile = eventClassProfiles
+				.get(eventClass);
+		return eventClassProfile == null ? 0 : eventClassProfile
+				.getNumberOfEvents();
+	}
+
+	public synchronized long[] getNumberOfEventsByHour() {
+		final long[] numberOfEventsByHour = new long[TimingWheel.HOURS_PER_DAY];
+		for (final EventClassProfile eventClassProfile : eventClassProfiles
+				.values()) {
+			for (int hour = 0; hour < TimingWheel.HOURS_PER_DAY; hour++) {
+				numberOfEventsByHour[hour] += eventClassProfile.numberOfEventsByHour[hour];
+			}
+		}
+		return numberOfEventsByHour;
+	}
+
+	public synchronized String getSummary() {
+		final StringBuilder summary = new StringBuilder("event profile:");
+		for (final String eventClassSummary : getEventClassSummaries()) {
+			summary.append(System.lineSeparator()).append("  ")
+					.append(eventClassSummary);
+		}
+		return summary.toString();
+	}
+
+	public synchronized double[] getTotalMillisByHour() {
+		final double[] totalMillisByHour = new double[TimingWheel.HOURS_PER_DAY];
+		for (final EventClassProfile eventClassProfile : eventClassProfiles
+				.values()) {
+			for (int hour = 0; hour < TimingWheel.HOURS_PER_DAY; hour++) {
+				totalMillisByHour[hour] += eventClassProfile.totalNanosByHour[hour] / 1000000.0;
+			}
+		}
+		return totalMillisByHour;
+	}
+
+	/**
+	 * records a dispatch of an event in the given hour of the day
+	 */
+	public synchronized void record(
+			final Class<? extends TimeSystemEvent> eventClass, final int hour,
+			final long nanos, final long allocatedBytes) {
+		final EventClassProfile eventClassProfile = assureEventClassProfile(eventClass);
+		eventClassProfile.numberOfEventsByHour[hour]++;
+		eventClassProfile.totalNanosByHour[hour] += nanos;
+		eventClassProfile.allocatedBytesByHour[hour] += allocatedBytes;
+		if (nanos > eventClassProfile.maxNanosByHour[hour]) {
+			eventClassProfile.maxNanosByHour[hour] = nanos;
+		}
+	}
+
+	public synchronized void reset() {
+		eventClassProfiles.clear();
+	}
+}
@@ -0,0 +1,165 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * tracks the load of each hour of the day as the number of registered events
+ * weighted by the measured dispatch cost of their event class, and assigns
+ * hours to new registrations so that per-hour peaks are flattened. Without
+ * measurements, each registration has a weight of 1, so that the assignment
+ * of hours does not depend on timing.
+ */
+public class HourLoadAllocator {
+
+	protected class EventClassLoad {
+
+		/**
+		 * exponential moving average of the dispatch duration in nanoseconds;
+		 * NaN, if not measured yet
+		 */
+		protected double averageCost = Double.NaN;
+
+		protected final int[] numberOfEventsByHour = new int[TimingWheel.HOURS_PER_DAY];
+	}
+
+	/**
+	 * weight of a new measurement in the moving average of dispatch costs
+	 */
+	protected static final double COST_SMOOTHING = 0.1;
+
+	protected final Map<Class<? extends TimeSystemEvent>, EventClassLoad> eventClassLoads = new HashMap<Class<? extends TimeSystemEvent>, EventClassLoad>();
+
+	protected EventClassLoad assureEventClassLoad(
+			final Class<? extends TimeSystemEvent> eventClass) {
+		EventClassLoad eventClassLoad = eventClassLoads.get(eventClass);
+		if (eventClassLoad == null) {
+			eventClassLoad = new EventClassLoad();
+			eventClassLoads.put(eventClass, eventClassLoad);
+		}
+		return eventClassLoad;
+	}
+
+	/**
+	 * adds delta registrations of the event class to each hour of the hour
+	 * mask
+	 */
+	public synchronized void count(
+			final Class<? extends TimeSystemEvent> eventClass,
+			final int hourMask, final int delta) {
+		final int[] numberOfEventsByHour = assureEventClassLoad(eventClass).numberOfEventsByHour;
+		for (int hour = 0; hour < TimingWheel.HOURS_PER_DAY; hour++) {
+			if ((hourMask & (1 << hour)) != 0) {
+				numberOfEventsByHour[hour] += delta;
+			}
+		}
+	}
+
+	/**
+	 * @return weight of a registration of the event class; event classes
+	 *         without measurement are weighted by the mean of the measured
+	 *         event classes
+	 */
+	protected double getCost(final EventClassLoad eventClassLoad,
+			final double defaultCost) {
+		if (Double.isNaN(eventClassLoad.averageCost)) {
+			return defaultCost;
+		}
+		return eventClassLoad.averageCost;
+	}
+
+	protected double getDefaultCost() {
+		double sumOfCosts = 0.0;
+		int numberOfMeasuredEventClasses = 0;
+		for (final EventClassLoad eventClassLoad : eventClassLoads.values()) {
+			if (!Double.isNaN(eventClassLoad.averageCost)) {
+				sumOfCosts += eventClassLoad.averageCost;
+				numberOfMeasuredEventClasses++;
+			}
+		}
+		return numberOfMeasuredEventClasses == 0 ? 1.0 : sumOfCosts
+				/ numberOfMeasuredEventClasses;
+	}
+
+	/**
+	 * @return load of each hour of the day; in nanoseconds, if dispatch costs
+	 *         have been measured, else in number of registrations
+	 */
+	public synchronized double[] getHourLoads() {
+		final double[] hourLoads = new double[TimingWheel.HOURS_PER_DAY];
+		final double defaultCost = getDefaultCost();
+		for (final EventClassLoad eventClassLoad : eventClassLoads.values()) {
+			final double cost = getCost(eventClassLoad, defaultCost);
+			for (int hour = 0; hour < TimingWheel.HOURS_PER_DAY; hour++) {
+				hourLoads[hour] += eventClassLoad.numberOfEventsByHour[hour]
+						* cost;
+			}
+		}
+		return hourLoads;
+	}
+
+	/**
+	 * records the dispatch duration of an event
+	 */
+	public synchronized void measure(
+			final Class<? extends TimeSystemEvent> eventClass,
+			final long nanos) {
+		final EventClassLoad eventClassLoad = assureEventClassLoad(eventClass);
+		if (Double.isNaN(eventClassLoad.averageCost)) {
+			eventClassLoad.averageCost = nanos;
+		} else {
+			eventClassLoad.averageCost += COST_SMOOTHING
+					* (nanos - eventClassLoad.averageCost);
+		}
+	}
+
+	/**
+	 * @return least loaded hour between the given hours, both inclusive; ties
+	 *         are broken randomly
+	 */
+	public synchronized int suggestHour(final int minHour, final int maxHour,
+			final Random random) {
+		assert (minHour <= maxHour);
+
+		final double[] hourLoads = getHourLoads();
+
+		int leastLoadedHour = -1;
+		int numberOfTies = 0;
+		for (int hour = minHour; hour <= maxHour; hour++) {
+			if (leastLoadedHour == -1
+					|| hourLoads[hour] < hourLoads[leastLoadedHour]) {
+				leastLoadedHour = hour;
+				numberOfTies = 1;
+			} else if (hourLoads[hour] == hourLoads[leastLoadedHour]) {
+				// reservoir sampling among hours with equal load
+				numberOfTies++;
+				if (random.nextInt(numberOfTies) == 0) {
+					leastLoadedHour = hour;
+				}
+			}
+		}
+		return leastLoadedHour;
+	}
+}
@@ -26,13 +26,24 @@ public enum HourType {
 			17), HOUR_18(18), HOUR_19(19), HOUR_20(20), HOUR_21(21), HOUR_22(22), HOUR_23(
 			23);
 
-	public static HourType getHourType(final int hourNumber) {
+	private static final HourType[] HOUR_TYPES = new HourType[24];
+
+	static {
 		for (final HourType hourType : HourType.values()) {
-			if (hourType.getHourNumber() == hourNumber) {
-				return hourType;
+			if (hourType.getHourNumber() >= 0) {
+				HOUR_TYPES[hourType.getHourNumber()] = hourType;
 			}
 		}
-		return null;
+	}
+
+	public static HourType getHourType(final int hourNumber) {
+		if (hourNumber == EVERY.getHourNumber()) {
+			return EVERY;
+		}
+		if (hourNumber < 0 || hourNumber >= HOUR_TYPES.length) {
+			return null;
+		}
+		return HOUR_TYPES[hourNumber];
 	}
 
 	private int hourNumber;
@@ -23,6 +23,16 @@ public enum MonthType {
 	EVERY(-1), JANUARY(0), FEBRUARY(1), MARCH(2), APRIL(3), MAY(4), JUNE(5), JULY(
 			6), AUGUST(7), SEPTEBER(8), OCTOBER(9), NOVEMBER(10), DECEMBER(11);
 
+	private static final MonthType[] MONTH_TYPES = new MonthType[12];
+
+	static {
+		for (final MonthType monthType : MonthType.values()) {
+			if (monthType.getMonthNumber() >= 0) {
+				MONTH_TYPES[monthType.getMonthNumber()] = monthType;
+			}
+		}
+	}
+
 	private int monthNumber;
 
 	private MonthType(final int monthNumber) {
@@ -34,11 +44,12 @@ public enum MonthType {
 	}
 
 	public static MonthType getMonthType(final int monthNumber) {
-		for (MonthType monthType : MonthType.values()) {
-			if (monthType.getMonthNumber() == monthNumber) {
-				return monthType;
-			}
+		if (monthNumber == EVERY.getMonthNumber()) {
+			return EVERY;
+		}
+		if (monthNumber < 0 || monthNumber >= MONTH_TYPES.length) {
+			return null;
 		}
-		return null;
+		return MONTH_TYPES[monthNumber];
 	}
 }
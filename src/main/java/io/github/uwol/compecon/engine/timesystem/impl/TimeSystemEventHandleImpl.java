@@ -0,0 +1,132 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem.impl;
+
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
+
+/**
+ * node of the intrusive, doubly linked slot lists of the timing wheel; unlinks
+ * itself on cancellation.
+ */
+public class TimeSystemEventHandleImpl implements TimeSystemEventHandle {
+
+	protected final DayType dayType;
+
+	/**
+	 * day number since 1970-01-01 for one-time events, otherwise -1
+	 */
+	protected int epochDay = -1;
+
+	protected final TimeSystemEvent event;
+
+	/**
+	 * bit i is set, if the event is due in hour i; recurring rules such as
+	 * hourly with exclusions thereby occupy a single registration
+	 */
+	protected final int hourMask;
+
+	protected final HourType hourType;
+
+	/**
+	 * true, if linked into an hour slot or the every-hour slot, and thereby
+	 * counted as due in the hours of the hour mask
+	 */
+	protected boolean inHourSlot = false;
+
+	protected final MonthType monthType;
+
+	protected TimeSystemEventHandleImpl next;
+
+	protected TimeSystemEventHandleImpl previous;
+
+	protected final TimingWheel timingWheel;
+
+	protected final int year;
+
+	/**
+	 * creates a sentinel of a slot list
+	 */
+	protected TimeSystemEventHandleImpl() {
+		this(null, null, -1, MonthType.EVERY, DayType.EVERY, HourType.EVERY,
+				TimingWheel.ALL_HOURS);
+		next = this;
+		previous = this;
+	}
+
+	protected TimeSystemEventHandleImpl(final TimingWheel timingWheel,
+			final TimeSystemEvent event, final int year,
+			final MonthType monthType, final DayType dayType,
+			final HourType hourType, final int hourMask) {
+		this.timingWheel = timingWheel;
+		this.event = event;
+		this.year = year;
+		this.monthType = monthType;
+		this.dayType = dayType;
+		this.hourType = hourType;
+		this.hourMask = hourMask;
+	}
+
+	@Override
+	public void cancel() {
+		timingWheel.cancel(this);
+	}
+
+	@Override
+	public TimeSystemEvent getEvent() {
+		return event;
+	}
+
+	protected boolean isOneTime() {
+		return epochDay != -1;
+	}
+
+	@Override
+	public boolean isScheduled() {
+		return next != null;
+	}
+
+	protected void linkBefore(final TimeSystemEventHandleImpl sentinel) {
+		assert (next == null);
+
+		next = sentinel;
+		previous = sentinel.previous;
+		previous.next = this;
+		sentinel.previous = this;
+	}
+
+	protected boolean matches(final int currentYear,
+			final MonthType currentMonthType, final DayType currentDayType,
+			final int currentHour) {
+		return (hourMask & (1 << currentHour)) != 0
+				&& (year == -1 || year == currentYear)
+				&& (MonthType.EVERY.equals(monthType) || monthType
+						.equals(currentMonthType))
+				&& (DayType.EVERY.equals(dayType) || dayType
+						.equals(currentDayType));
+	}
+
+	protected void unlink() {
+		previous.next = next;
+		next.previous = previous;
+		next = null;
+		previous = null;
+	}
+}
@@ -24,41 +24,110 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
 
 /**
  * Agents register their actions as events in the time system (observer
- * pattern).
+ * pattern). The clock is an hour tick; calendar fields are maintained as
+ * primitives from a precomputed table, so that no calendar computations are
+ * required per hour, and dates are created on request only.
  */
 public class TimeSystemImpl implements TimeSystem {
 
+	/**
+	 * day of month for each day of a common year (index 0) and a leap year
+	 * (index 1)
+	 */
+	private static final int[][] DAY_OF_MONTH_BY_DAY_OF_YEAR = new int[2][366];
+
+	private static final int HOURS_PER_DAY = 24;
+
+	/**
+	 * month, starting with 0, for each day of a common year (index 0) and a
+	 * leap year (index 1)
+	 */
+	private static final int[][] MONTH_BY_DAY_OF_YEAR = new int[2][366];
+
+	static {
+		for (int leap = 0; leap < 2; leap++) {
+			// 2000 is a leap year, 2001 is not
+			final int year = leap == 1 ? 2000 : 2001;
+			int dayOfYear = 0;
+			for (int month = 1; month <= 12; month++) {
+				for (int day = 1; day <= TimingWheel.getLengthOfMonth(year,
+						month); day++) {
+					MONTH_BY_DAY_OF_YEAR[leap][dayOfYear] = month - 1;
+					DAY_OF_MONTH_BY_DAY_OF_YEAR[leap][dayOfYear] = day;
+					dayOfYear++;
+				}
+			}
+		}
+	}
+
+	private static boolean isLeapYear(final int year) {
+		return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+	}
+
+	private int currentDayOfMonth;
+
+	private int currentDayOfYear = 0;
+
+	private int currentEpochDay;
+
+	private int currentHour = 0;
+
+	/**
+	 * month, starting with 0
+	 */
+	private int currentMonth;
+
+	private int currentYear;
+
 	private final SimpleDateFormat dayFormat = new SimpleDateFormat(
 			"dd.MM.yyyy HH:mm");
 
 	private int dayNumber = 0;
 
+	/**
+	 * dispatch list of the current hour, which is reused for each hour
+	 */
+	private final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>();
+
+	private final EventProfiler eventProfiler = new EventProfiler();
+
+	private boolean eventsTriggeredInCurrentHour = false;
+
 	private final List<TimeSystemEvent> externalEvents = new ArrayList<TimeSystemEvent>();
 
-	private GregorianCalendar gregorianCalendar = new GregorianCalendar();
+	private final HourLoadAllocator hourLoadAllocator = new HourLoadAllocator();
+
+	/**
+	 * number of hours passed since the start of the simulation
+	 */
+	private long hourTick = 0;
 
 	private final int startYear;
 
-	private final Map<Integer, YearImpl> years = new HashMap<Integer, YearImpl>();
+	private final TimingWheel timingWheel;
 
 	public TimeSystemImpl(final int year) {
-		gregorianCalendar = new GregorianCalendar(year,
-				MonthType.JANUARY.getMonthNumber(),
-				DayType.DAY_01.getDayNumber());
 		startYear = year;
+		currentYear = year;
+		currentMonth = MonthType.JANUARY.getMonthNumber();
+		currentDayOfMonth = DayType.DAY_01.getDayNumber();
+		currentEpochDay = TimingWheel.toEpochDay(year, currentMonth + 1,
+				currentDayOfMonth);
+		timingWheel = new TimingWheel(currentEpochDay, hourLoadAllocator);
+		// the first hour is not triggered
+		timingWheel.advanceHour(currentHour);
 	}
 
 	/**
@@ -66,14 +135,10 @@ public class TimeSystemImpl implements TimeSystem {
 	 *            -1 for every year
 	 */
 	@Override
-	public void addEvent(final TimeSystemEvent event, final int year,
-			final MonthType monthType, final DayType dayType,
+	public TimeSystemEventHandle addEvent(final TimeSystemEvent event,
+			final int year, final MonthType monthType, final DayType dayType,
 			final HourType hourType) {
-		if (!years.containsKey(year)) {
-			years.put(year, new YearImpl());
-		}
-
-		years.get(year).addEvent(event, monthType, dayType, hourType);
+		return timingWheel.schedule(event, year, monthType, dayType, hourType);
 	}
 
 	/**
@@ -81,41 +146,46 @@ public class TimeSystemImpl implements TimeSystem {
 	 *            -1 for every year
 	 */
 	@Override
-	public void addEventEvery(final TimeSystemEvent event, final int year,
-			final MonthType monthType, final DayType dayType,
+	public TimeSystemEventHandle addEventEvery(final TimeSystemEvent event,
+			final int year, final MonthType monthType, final DayType dayType,
 			final HourType exceptHourType) {
 		assert (exceptHourType != null);
 
-		if (!years.containsKey(year)) {
-			years.put(year, new YearImpl());
+		int hourMask = TimingWheel.ALL_HOURS;
+		if (!HourType.EVERY.equals(exceptHourType)) {
+			hourMask &= ~(1 << exceptHourType.getHourNumber());
 		}
 
-		for (final HourType hourType : HourType.values()) {
-			if (!HourType.EVERY.equals(hourType)
-					&& !exceptHourType.equals(hourType)) {
-				years.get(year).addEvent(event, monthType, dayType, hourType);
-			}
-		}
+		return timingWheel.scheduleHourly(event, year, monthType, dayType,
+				hourMask);
 	}
 
 	@Override
-	public void addEventForEveryDay(final TimeSystemEvent event) {
-		addEvent(event, -1, MonthType.EVERY, DayType.EVERY, HourType.HOUR_12);
+	public TimeSystemEventHandle addEventForEveryDay(
+			final TimeSystemEvent event) {
+		return addEvent(event, -1, MonthType.EVERY, DayType.EVERY,
+				HourType.HOUR_12);
 	}
 
 	@Override
-	public void addEventForEveryEvening(final TimeSystemEvent event) {
-		addEvent(event, -1, MonthType.EVERY, DayType.EVERY, HourType.HOUR_18);
+	public TimeSystemEventHandle addEventForEveryEvening(
+			final TimeSystemEvent event) {
+		return addEvent(event, -1, MonthType.EVERY, DayType.EVERY,
+				HourType.HOUR_18);
 	}
 
 	@Override
-	public void addEventForEveryHour(final TimeSystemEvent event) {
-		addEvent(event, -1, MonthType.EVERY, DayType.EVERY, HourType.EVERY);
+	public TimeSystemEventHandle addEventForEveryHour(
+			final TimeSystemEvent event) {
+		return addEvent(event, -1, MonthType.EVERY, DayType.EVERY,
+				HourType.EVERY);
 	}
 
 	@Override
-	public void addEventForEveryMorning(final TimeSystemEvent event) {
-		addEvent(event, -1, MonthType.EVERY, DayType.EVERY, HourType.HOUR_07);
+	public TimeSystemEventHandle addEventForEveryMorning(
+			final TimeSystemEvent event) {
+		return addEvent(event, -1, MonthType.EVERY, DayType.EVERY,
+				HourType.HOUR_07);
 	}
 
 	@Override
@@ -124,26 +194,51 @@ public class TimeSystemImpl implements TimeSystem {
 		externalEvents.add(timeSystemEvent);
 	}
 
+	/**
+	 * advances the calendar fields to the next day
+	 */
+	private void advanceCalendarDay() {
+		currentEpochDay++;
+		currentDayOfYear++;
+
+		if (currentDayOfYear == (isLeapYear(currentYear) ? 366 : 365)) {
+			currentYear++;
+			currentDayOfYear = 0;
+		}
+
+		final int leap = isLeapYear(currentYear) ? 1 : 0;
+		currentMonth = MONTH_BY_DAY_OF_YEAR[leap][currentDayOfYear];
+		currentDayOfMonth = DAY_OF_MONTH_BY_DAY_OF_YEAR[leap][currentDayOfYear];
+	}
+
 	@Override
 	public Date getCurrentDate() {
-		return gregorianCalendar.getTime();
+		return getDate(hourTick);
 	}
 
 	@Override
 	public int getCurrentDayNumberInMonth() {
-		return gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH);
+		return currentDayOfMonth;
 	}
 
 	@Override
 	public DayType getCurrentDayType() {
-		return DayType.getDayType(gregorianCalendar
-				.get(GregorianCalendar.DAY_OF_MONTH));
+		return DayType.getDayType(currentDayOfMonth);
+	}
+
+	@Override
+	public int getCurrentHourNumber() {
+		return currentHour;
+	}
+
+	@Override
+	public long getCurrentHourTick() {
+		return hourTick;
 	}
 
 	@Override
 	public HourType getCurrentHourType() {
-		return HourType.getHourType(gregorianCalendar
-				.get(GregorianCalendar.HOUR_OF_DAY));
+		return HourType.getHourType(currentHour);
 	}
 
 	/*
@@ -152,18 +247,44 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public int getCurrentMonthNumberInYear() {
-		return gregorianCalendar.get(GregorianCalendar.MONTH) + 1;
+		return currentMonth + 1;
 	}
 
 	@Override
 	public MonthType getCurrentMonthType() {
-		return MonthType.getMonthType(gregorianCalendar
-				.get(GregorianCalendar.MONTH));
+		return MonthType.getMonthType(currentMonth);
 	}
 
 	@Override
 	public int getCurrentYear() {
-		return gregorianCalendar.get(GregorianCalendar.YEAR);
+		return currentYear;
+	}
+
+	@Override
+	public Date getDate(final long hourTick) {
+		final GregorianCalendar gregorianCalendar = new GregorianCalendar(
+				startYear, MonthType.JANUARY.getMonthNumber(),
+				DayType.DAY_01.getDayNumber());
+		gregorianCalendar.add(GregorianCalendar.DAY_OF_YEAR,
+				(int) (hourTick / HOURS_PER_DAY));
+		gregorianCalendar.set(GregorianCalendar.HOUR_OF_DAY,
+				(int) (hourTick % HOURS_PER_DAY));
+		return gregorianCalendar.getTime();
+	}
+
+	@Override
+	public int getDayNumber() {
+		return dayNumber;
+	}
+
+	@Override
+	public EventProfiler getEventProfiler() {
+		return eventProfiler;
+	}
+
+	@Override
+	public double[] getHourLoads() {
+		return hourLoadAllocator.getHourLoads();
 	}
 
 	@Override
@@ -177,30 +298,61 @@ public class TimeSystemImpl implements TimeSystem {
 				.getInitializationPhaseInDays();
 	}
 
+	@Override
+	public void nextEventHour() {
+		do {
+			nextHour();
+		} while (!eventsTriggeredInCurrentHour && currentHour != 0);
+	}
+
 	@Override
 	public void nextHour() {
-		gregorianCalendar.add(GregorianCalendar.HOUR_OF_DAY, 1);
+		hourTick++;
+		currentHour++;
+
+		if (currentHour == HOURS_PER_DAY) {
+			currentHour = 0;
+			advanceCalendarDay();
+		}
+
 		ApplicationContext.getInstance().getLog()
-				.notifyTimeSystem_nextHour(getCurrentDate());
+				.notifyTimeSystem_nextHour(hourTick);
 
-		if (HourType.getHourType(gregorianCalendar
-				.get(GregorianCalendar.HOUR_OF_DAY)) == HourType.HOUR_00) {
+		if (currentHour == 0) {
 			ApplicationContext.getInstance().getLog()
-					.notifyTimeSystem_nextDay(getCurrentDate());
+					.notifyTimeSystem_nextDay(hourTick);
 			dayNumber++;
+			timingWheel.advanceDay(currentEpochDay);
+			printEventProfile();
 		}
 
 		triggerEvents();
 	}
 
+	/**
+	 * prints the event profile periodically, e.g. for headless runs
+	 */
+	private void printEventProfile() {
+		final int eventProfileIntervalInDays = ApplicationContext
+				.getInstance().getConfiguration().timeSystemConfig
+				.getEventProfileIntervalInDays();
+		if (eventProfileIntervalInDays > 0
+				&& dayNumber % eventProfileIntervalInDays == 0
+				&& ApplicationContext.getInstance().getConfiguration().timeSystemConfig
+						.getEventProfiling()) {
+			System.out.println(dayFormat.format(getCurrentDate()) + " "
+					+ eventProfiler.getSummary());
+		}
+	}
+
 	/*
 	 * methods for events induced by the dashboard
 	 */
 
 	@Override
 	public void removeEvents(final Set<TimeSystemEvent> events) {
-		for (final YearImpl year : years.values()) {
-			year.removeEvents(events);
+		for (final TimeSystemEvent event : events) {
+			timingWheel.cancelAll(event);
 		}
 	}
 
@@ -222,39 +374,36 @@ public class TimeSystemImpl implements TimeSystem {
 	@Override
 	public HourType suggestRandomHourType(final HourType minHourType,
 			final HourType maxHourType) {
-		final int limit = maxHourType.getHourNumber() + 1
-				- minHourType.getHourNumber();
-		final int randomNumber = ApplicationContext.getInstance()
-				.getRandomNumberGenerator().nextInt(limit);
-		return HourType.getHourType(minHourType.getHourNumber() + randomNumber);
+		// least loaded hour, so that per-hour peaks are flattened
+		final Random random = ApplicationContext.getInstance()
+				.getRandomNumberGenerator().getRandom();
+		return HourType.getHourType(hourLoadAllocator.suggestHour(
+				minHourType.getHourNumber(), maxHourType.getHourNumber(),
+				random));
 	}
 
 	@Override
 	public String toString() {
-		return dayFormat.format(gregorianCalendar.getTime());
+		return dayFormat.format(getCurrentDate());
 	}
 
 	private synchronized void triggerEvents() {
-		// determine current date
-		final YearImpl yearExact = years.get(getCurrentYear());
-		final YearImpl yearEvery = years.get(-1);
-
-		final MonthType currentMonthType = getCurrentMonthType();
-		final DayType currentDayType = getCurrentDayType();
 		final HourType currentHourType = getCurrentHourType();
 
-		// select events for this date
-		final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>();
+		// also in skipped hours, so that passed hours are not scheduled
+		timingWheel.advanceHour(currentHour);
 
-		if (yearExact != null) {
-			events.addAll(yearExact.getEvents(currentMonthType, currentDayType,
-					currentHourType));
+		// skip hours without registered events
+		eventsTriggeredInCurrentHour = timingWheel.hasEvents(currentHour)
+				|| (HourType.HOUR_00.equals(currentHourType) && !externalEvents
+						.isEmpty());
+		if (!eventsTriggeredInCurrentHour) {
+			return;
 		}
 
-		if (yearEvery != null) {
-			events.addAll(yearEvery.getEvents(currentMonthType, currentDayType,
-					currentHourType));
-		}
+		// select events for this date
+		timingWheel.collectEvents(currentYear, getCurrentMonthType(),
+				getCurrentDayType(), currentHour, events);
 
 		/*
 		 * important: every time this method is called, events have to be
@@ -265,30 +414,29 @@ public class TimeSystemImpl implements TimeSystem {
 				.getRandomNumberGenerator().getRandom();
 		Collections.shuffle(events, random);
 
+		final boolean measureCosts = ApplicationContext.getInstance()
+				.getConfiguration().timeSystemConfig
+				.getCostWeightedHourAllocation();
+		final boolean profileEvents = ApplicationContext.getInstance()
+				.getConfiguration().timeSystemConfig.getEventProfiling();
+
 		for (final TimeSystemEvent event : events) {
-			try {
-				/*
-				 * it may happen, that an event deconstructs an agent, and that
-				 * agent has registered other events for the same point in time
-				 * -> they are contained in the events-list -> check for
-				 * deconstruction
-				 */
-				if (!event.isDeconstructed()) {
-					event.onEvent();
-				}
-			} catch (final Exception e) {
-				e.printStackTrace();
+			/*
+			 * it may happen, that an event deconstructs an agent, and that
+			 * agent has registered other events for the same point in time ->
+			 * they are contained in the events-list -> check for
+			 * deconstruction
+			 */
+			if (!event.isDeconstructed()) {
+				triggerEvent(event, measureCosts, profileEvents);
 			}
 		}
+		events.clear();
 
 		if (HourType.HOUR_00.equals(currentHourType)) {
 			// potential external events from GUI
 			for (final TimeSystemEvent event : externalEvents) {
-				try {
-					event.onEvent();
-				} catch (final Exception e) {
-					e.printStackTrace();
-				}
+				triggerEvent(event, false, profileEvents);
 			}
 			externalEvents.clear();
 		}
@@ -296,4 +444,33 @@ public class TimeSystemImpl implements TimeSystem {
 		// flush state to database
 		HibernateUtil.flushSession();
 	}
+
+	private void triggerEvent(final TimeSystemEvent event,
+			final boolean measureCosts, final boolean profileEvents) {
+		try {
+			if (measureCosts || profileEvents) {
+				final long allocatedBytesBefore = profileEvents ? eventProfiler
+						.getAllocatedBytes() : 0;
+				final long start = System.nanoTime();
+				event.onEvent();
+				final long nanos = System.nanoTime() - start;
+
+				if (measureCosts) {
+					hourLoadAllocator.measure(event.getClass(), nanos);
+				}
+				if (profileEvents) {
+					eventProfiler.record(event.getClass(), currentHour, nanos,
+							eventProfiler.getAllocatedBytes()
+									- allocatedBytesBefore);
+				}
+			} else {
+				event.onEvent();
+			}
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
+
+		// resources between events are not attributed to the agent
+		ApplicationContext.getInstance().getLog().setAgentCurrentlyActive(null);
+	}
 }
\ No newline at end of file
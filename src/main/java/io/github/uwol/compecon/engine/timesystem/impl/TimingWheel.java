@@ -0,0 +1,312 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * hierarchical timing wheel of the time system. Recurring events are linked
+ * into one of 24 hour slots or, if due in several hours of a day, into the
+ * every-hour slot with an hour mask, which is expanded at dispatch time;
+ * one-time events are
+ * linked into a wheel of day slots and cascade into the hour slots at the
+ * start of their day. Scheduling and cancellation are O(1).
+ */
+public class TimingWheel {
+
+	protected static final int HOURS_PER_DAY = 24;
+
+	protected static final int ALL_HOURS = (1 << HOURS_PER_DAY) - 1;
+
+	protected static final int NUMBER_OF_DAY_SLOTS = 512;
+
+	/**
+	 * @param month
+	 *            1 to 12
+	 */
+	protected static int getLengthOfMonth(final int year, final int month) {
+		switch (month) {
+		case 2:
+			final boolean isLeapYear = (year % 4 == 0 && year % 100 != 0)
+					|| year % 400 == 0;
+			return isLeapYear ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/**
+	 * @param month
+	 *            1 to 12
+	 * @return number of days since 1970-01-01 in the proleptic Gregorian
+	 *         calendar
+	 */
+	public static int toEpochDay(final int year, final int month, final int day) {
+		final int y = month <= 2 ? year - 1 : year;
+		final int era = (y >= 0 ? y : y - 399) / 400;
+		final int yearOfEra = y - era * 400;
+		final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2)
+				/ 5 + day - 1;
+		final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra
+				/ 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	protected int currentEpochDay;
+
+	/**
+	 * hour of the current day, which the time system has reached, whether or
+	 * not events have been collected in it; -1 at the start of a day
+	 */
+	protected int currentHour = -1;
+
+	protected final TimeSystemEventHandleImpl[] daySlots = new TimeSystemEventHandleImpl[NUMBER_OF_DAY_SLOTS];
+
+	protected final TimeSystemEventHandleImpl everyHourSlot = new TimeSystemEventHandleImpl();
+
+	protected final Map<TimeSystemEvent, List<TimeSystemEventHandleImpl>> handlesOfEvents = new HashMap<TimeSystemEvent, List<TimeSystemEventHandleImpl>>();
+
+	protected final HourLoadAllocator hourLoadAllocator;
+
+	protected final TimeSystemEventHandleImpl[] hourSlots = new TimeSystemEventHandleImpl[HOURS_PER_DAY];
+
+	/**
+	 * number of registrations in the hour slots, which are due in the
+	 * respective hour, ignoring year, month and day constraints
+	 */
+	protected final int[] numberOfEventsByHour = new int[HOURS_PER_DAY];
+
+	public TimingWheel(final int epochDay,
+			final HourLoadAllocator hourLoadAllocator) {
+		currentEpochDay = epochDay;
+		this.hourLoadAllocator = hourLoadAllocator;
+
+		for (int i = 0; i < daySlots.length; i++) {
+			daySlots[i] = new TimeSystemEventHandleImpl();
+		}
+
+		for (int i = 0; i < hourSlots.length; i++) {
+			hourSlots[i] = new TimeSystemEventHandleImpl();
+		}
+	}
+
+	/**
+	 * moves the one-time events of the given day from the day wheel into the
+	 * hour slots
+	 */
+	public synchronized void advanceDay(final int epochDay) {
+		assert (epochDay > currentEpochDay);
+
+		currentEpochDay = epochDay;
+		currentHour = -1;
+
+		final TimeSystemEventHandleImpl daySlot = daySlots[epochDay
+				% NUMBER_OF_DAY_SLOTS];
+		TimeSystemEventHandleImpl handle = daySlot.next;
+		while (handle != daySlot) {
+			final TimeSystemEventHandleImpl next = handle.next;
+			// later rounds of the wheel remain in the slot
+			if (handle.epochDay == epochDay) {
+				unlink(handle);
+				linkIntoHourSlot(handle,
+						hourSlots[handle.hourType.getHourNumber()]);
+			}
+			handle = next;
+		}
+	}
+
+	/**
+	 * sets the hour of the current day, which the time system has reached;
+	 * one-time events are not scheduled for this or earlier hours
+	 */
+	public synchronized void advanceHour(final int hour) {
+		currentHour = hour;
+	}
+
+	public synchronized void cancel(final TimeSystemEventHandleImpl handle) {
+		if (handle.isScheduled()) {
+			unlink(handle);
+
+			final List<TimeSystemEventHandleImpl> handlesOfEvent = handlesOfEvents
+					.get(handle.event);
+			if (handlesOfEvent != null) {
+				handlesOfEvent.remove(handle);
+				if (handlesOfEvent.isEmpty()) {
+					handlesOfEvents.remove(handle.event);
+				}
+			}
+		}
+	}
+
+	public synchronized void cancelAll(final TimeSystemEvent event) {
+		final List<TimeSystemEventHandleImpl> handlesOfEvent = handlesOfEvents
+				.remove(event);
+		if (handlesOfEvent != null) {
+			for (final TimeSystemEventHandleImpl handle : handlesOfEvent) {
+				unlink(handle);
+			}
+		}
+	}
+
+	/**
+	 * appends the events due in the given hour of the current day to the
+	 * given list; one-time events are unscheduled thereby
+	 */
+	public synchronized void collectEvents(final int year,
+			final MonthType monthType, final DayType dayType, final int hour,
+			final List<TimeSystemEvent> events) {
+		collectEvents(everyHourSlot, year, monthType, dayType, hour, events);
+		collectEvents(hourSlots[hour], year, monthType, dayType, hour, events);
+	}
+
+	protected void collectEvents(final TimeSystemEventHandleImpl slot,
+			final int year, final MonthType monthType, final DayType dayType,
+			final int hour, final List<TimeSystemEvent> events) {
+		TimeSystemEventHandleImpl handle = slot.next;
+		while (handle != slot) {
+			final TimeSystemEventHandleImpl next = handle.next;
+			if (handle.matches(year, monthType, dayType, hour)) {
+				events.add(handle.event);
+
+				if (handle.isOneTime()) {
+					cancel(handle);
+				}
+			}
+			handle = next;
+		}
+	}
+
+	protected void countHours(final TimeSystemEventHandleImpl handle,
+			final int delta) {
+		for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+			if ((handle.hourMask & (1 << hour)) != 0) {
+				numberOfEventsByHour[hour] += delta;
+			}
+		}
+		hourLoadAllocator.count(handle.event.getClass(), handle.hourMask,
+				delta);
+	}
+
+	/**
+	 * @return true, if registrations are due in the given hour of the current
+	 *         day; might be true for hours, in which constraints on year,
+	 *         month or day are not met
+	 */
+	public synchronized boolean hasEvents(final int hour) {
+		return numberOfEventsByHour[hour] > 0;
+	}
+
+	protected void linkIntoHourSlot(final TimeSystemEventHandleImpl handle,
+			final TimeSystemEventHandleImpl hourSlot) {
+		handle.linkBefore(hourSlot);
+		handle.inHourSlot = true;
+		countHours(handle, 1);
+	}
+
+	protected void register(final TimeSystemEventHandleImpl handle) {
+		List<TimeSystemEventHandleImpl> handlesOfEvent = handlesOfEvents
+				.get(handle.event);
+		if (handlesOfEvent == null) {
+			handlesOfEvent = new ArrayList<TimeSystemEventHandleImpl>(1);
+			handlesOfEvents.put(handle.event, handlesOfEvent);
+		}
+		handlesOfEvent.add(handle);
+	}
+
+	public synchronized TimeSystemEventHandleImpl schedule(
+			final TimeSystemEvent event, final int year,
+			final MonthType monthType, final DayType dayType,
+			final HourType hourType) {
+		final int hourMask = HourType.EVERY.equals(hourType) ? ALL_HOURS
+				: 1 << hourType.getHourNumber();
+		final TimeSystemEventHandleImpl handle = new TimeSystemEventHandleImpl(
+				this, event, year, monthType, dayType, hourType, hourMask);
+
+		if (year != -1 && !MonthType.EVERY.equals(monthType)
+				&& !DayType.EVERY.equals(dayType)
+				&& !HourType.EVERY.equals(hourType)) {
+			final int month = monthType.getMonthNumber() + 1;
+
+			// the date does not exist
+			if (dayType.getDayNumber() > getLengthOfMonth(year, month)) {
+				return handle;
+			}
+
+			final int epochDay = toEpochDay(year, month,
+					dayType.getDayNumber());
+			final int hour = hourType.getHourNumber();
+
+			// the point in time has already passed
+			if (epochDay < currentEpochDay
+					|| (epochDay == currentEpochDay && hour <= currentHour)) {
+				return handle;
+			}
+
+			handle.epochDay = epochDay;
+
+			if (epochDay == currentEpochDay) {
+				linkIntoHourSlot(handle, hourSlots[hour]);
+			} else {
+				handle.linkBefore(daySlots[epochDay % NUMBER_OF_DAY_SLOTS]);
+			}
+		} else if (HourType.EVERY.equals(hourType)) {
+			linkIntoHourSlot(handle, everyHourSlot);
+		} else {
+			linkIntoHourSlot(handle, hourSlots[hourType.getHourNumber()]);
+		}
+
+		register(handle);
+		return handle;
+	}
+
+	/**
+	 * schedules a recurring event, which is due in every hour of the hour
+	 * mask
+	 */
+	public synchronized TimeSystemEventHandleImpl scheduleHourly(
+			final TimeSystemEvent event, final int year,
+			final MonthType monthType, final DayType dayType,
+			final int hourMask) {
+		final TimeSystemEventHandleImpl handle = new TimeSystemEventHandleImpl(
+				this, event, year, monthType, dayType, HourType.EVERY,
+				hourMask & ALL_HOURS);
+		linkIntoHourSlot(handle, everyHourSlot);
+		register(handle);
+		return handle;
+	}
+
+	protected void unlink(final TimeSystemEventHandleImpl handle) {
+		if (handle.inHourSlot) {
+			countHours(handle, -1);
+			handle.inHourSlot = false;
+		}
+		handle.unlink();
+	}
+}
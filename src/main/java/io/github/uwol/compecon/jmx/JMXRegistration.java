@@ -57,8 +57,15 @@ public class JMXRegistration {
 	public static void init() {
 		mBeans.clear();
 		try {
+			mBeans.put(new ObjectName("compecon.jmx:type=EventProfilerModel"),
+					new JmxEventProfilerModel());
+			mBeans.put(new ObjectName("compecon.jmx:type=MarketLatenciesModel"),
+					new JmxMarketLatenciesModel());
 			mBeans.put(new ObjectName("compecon.jmx:type=NumberOfAgentsModel"),
 					new JmxNumberOfAgentsModel());
+			mBeans.put(
+					new ObjectName("compecon.jmx:type=StatisticsEventBusModel"),
+					new JmxStatisticsEventBusModel());
 			mBeans.put(new ObjectName("compecon.jmx:type=TimeSystemModel"),
 					new JmxTimeSystemModel());
 
@@ -17,19 +17,17 @@ You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package io.github.uwol.compecon.engine.timesystem;
+package io.github.uwol.compecon.jmx;
 
-import java.util.Set;
+public interface JmxEventProfilerModelMBean {
 
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+	public String[] getEventClassSummaries();
 
-public interface Hour {
+	public String[] getHourTypeSummaries();
 
-	public void addEvent(final TimeSystemEvent event);
+	public long[] getNumberOfEventsByHour();
 
-	public Set<TimeSystemEvent> getEvents();
+	public double[] getTotalMillisByHour();
 
-	public HourType getHourType();
-
-	public void removeEvents(final Set<TimeSystemEvent> events);
+	public void reset();
 }
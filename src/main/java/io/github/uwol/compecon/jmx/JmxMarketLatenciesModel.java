@@ -17,41 +17,30 @@ You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package io.github.uwol.compecon.engine.timesystem.impl;
+package io.github.uwol.compecon.jmx;
 
-import java.util.HashSet;
-import java.util.Set;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.service.impl.MarketServiceLatencies;
 
-import io.github.uwol.compecon.engine.timesystem.Hour;
-import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+public class JmxMarketLatenciesModel implements JmxMarketLatenciesModelMBean {
 
-public class HourImpl implements Hour {
-
-	private final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
-
-	private final HourType hourType;
-
-	public HourImpl(final HourType hourType) {
-		this.hourType = hourType;
-	}
-
-	@Override
-	public void addEvent(final TimeSystemEvent event) {
-		events.add(event);
+	protected MarketServiceLatencies getMarketServiceLatencies() {
+		return ApplicationContext.getInstance().getMarketService()
+				.getMarketServiceLatencies();
 	}
 
 	@Override
-	public Set<TimeSystemEvent> getEvents() {
-		return events;
+	public String[] getLatencySummaries() {
+		return getMarketServiceLatencies().getLatencySummaries();
 	}
 
 	@Override
-	public HourType getHourType() {
-		return hourType;
+	public String[] getOperationSummaries() {
+		return getMarketServiceLatencies().getOperationSummaries();
 	}
 
 	@Override
-	public void removeEvents(final Set<TimeSystemEvent> events) {
-		this.events.removeAll(events);
+	public void reset() {
+		getMarketServiceLatencies().reset();
 	}
 }
@@ -17,22 +17,13 @@ You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package io.github.uwol.compecon.engine.timesystem;
+package io.github.uwol.compecon.jmx;
 
-import java.util.Set;
+public interface JmxMarketLatenciesModelMBean {
 
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
-import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
+	public String[] getLatencySummaries();
 
-public interface Year {
+	public String[] getOperationSummaries();
 
-	public void addEvent(final TimeSystemEvent event,
-			final MonthType monthType, final DayType dayType,
-			final HourType hourType);
-
-	public Set<TimeSystemEvent> getEvents(final MonthType monthType,
-			final DayType dayType, final HourType hourType);
-
-	public void removeEvents(final Set<TimeSystemEvent> events);
+	public void reset();
 }
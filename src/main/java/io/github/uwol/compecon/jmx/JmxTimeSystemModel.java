@@ -30,4 +30,9 @@ public class JmxTimeSystemModel implements JmxTimeSystemModelMBean {
 		return ApplicationContext.getInstance().getTimeSystem()
 				.getCurrentDate();
 	}
+
+	@Override
+	public double[] getHourLoads() {
+		return ApplicationContext.getInstance().getTimeSystem().getHourLoads();
+	}
 }
@@ -24,4 +24,6 @@ import java.util.Date;
 public interface JmxTimeSystemModelMBean {
 
 	public Date getCurrentDate();
+
+	public double[] getHourLoads();
 }
@@ -124,6 +124,8 @@ public class CeterisParibusSimulationImpl {
 		ApplicationContext.getInstance().getSimulationRunner()
 				.run(new GregorianCalendar(2000, 7, 1).getTime());
 		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
+		ApplicationContext.getInstance().getModelRegistry()
+				.getStatisticsEventBus().drain();
 
 		final double totalUtility = ApplicationContext.getInstance()
 				.getModelRegistry().getNationalEconomyModel(Currency.EURO).totalUtilityOutputModel
@@ -0,0 +1,55 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv.impl;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.AgentResourceAccounting;
+
+/**
+ * writes the CPU time and allocations attributed to each agent type over the
+ * whole simulation run
+ */
+public class AgentResourcesCsvWriterImpl extends CsvWriterImpl {
+
+	public AgentResourcesCsvWriterImpl(final String csvFileName) {
+		super(csvFileName);
+
+		writeCsvLine("currency", "agent type", "cpu ms", "allocated MB");
+	}
+
+	public void writeTotals(
+			final AgentResourceAccounting agentResourceAccounting) {
+		for (final Currency currency : Currency.values()) {
+			for (final Class<? extends Agent> agentType : ApplicationContext
+					.getInstance().getAgentFactory().getAgentTypes()) {
+				writeCsvLine(
+						currency.getIso4217Code(),
+						agentType.getSimpleName(),
+						Double.toString(agentResourceAccounting.getCpuNanos(
+								currency, agentType) / 1000000.0),
+						Double.toString(agentResourceAccounting
+								.getAllocatedBytes(currency, agentType)
+								/ (1024.0 * 1024.0)));
+			}
+		}
+	}
+}
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.impl;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.GregorianCalendar;
 
@@ -26,20 +27,12 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
-import io.github.uwol.compecon.engine.statistics.PricesModel;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.IndustryModel;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.PricingBehaviourModel;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.UtilityModel;
-import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporter.PeriodDataExportFormat;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.M1CsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.OutputCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.PriceCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.SoldCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.UtilityCsvWriterImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.AgentResourcesCsvWriterImpl;
 
 public class EvaluationSimulationImpl {
 
@@ -48,81 +41,18 @@ public class EvaluationSimulationImpl {
 		runSimulationIteration(2, 1);
 	}
 
-	protected static M1CsvWriterImpl registerM1FileWriter(final int scenario,
-			final int iteration) {
-		final PeriodDataAccumulatorTimeSeriesModel m1Model = ApplicationContext
-				.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).moneySupplyM1Model;
-		final String csvFileName = String.format("csv/%s_%s_m1.csv", scenario,
-				iteration);
-		final M1CsvWriterImpl m1FileWriter = new M1CsvWriterImpl(csvFileName,
-				m1Model);
-
-		m1Model.getTimeSeries().addChangeListener(m1FileWriter);
-
-		return m1FileWriter;
-	}
-
-	protected static OutputCsvWriterImpl registerOutputFileWriter(
-			final int scenario, final int iteration, final GoodType goodType) {
-		final IndustryModel industryModel = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(Currency.EURO).industryModels
-				.get(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_output.csv",
-				scenario, iteration, goodType);
-		final OutputCsvWriterImpl outputFileWriter = new OutputCsvWriterImpl(
-				csvFileName, industryModel, goodType);
-
-		industryModel.outputModel.getTimeSeries().addChangeListener(
-				outputFileWriter);
-
-		return outputFileWriter;
-	}
-
-	protected static PriceCsvWriterImpl registerPriceFileWriter(
-			final int scenario, final int iteration, final GoodType goodType) {
-		final PricesModel pricesModel = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(Currency.EURO).pricesModel;
-		final String csvFileName = String.format("csv/%s_%s_%s_prices.csv",
-				scenario, iteration, goodType);
-		final PriceCsvWriterImpl priceFileWriter = new PriceCsvWriterImpl(
-				csvFileName, pricesModel, goodType);
-
-		pricesModel.registerListener(priceFileWriter);
-
-		return priceFileWriter;
-	}
-
-	protected static SoldCsvWriterImpl registerSoldFileWriter(
-			final int scenario, final int iteration, final GoodType goodType) {
-		final PricingBehaviourModel pricingBehaviourModel = ApplicationContext
-				.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO)
-				.getPricingBehaviourModel(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_sold.csv",
-				scenario, iteration, goodType);
-		final SoldCsvWriterImpl soldFileWriter = new SoldCsvWriterImpl(
-				csvFileName, pricingBehaviourModel, goodType);
-
-		pricingBehaviourModel.soldModel.getTimeSeries().addChangeListener(
-				soldFileWriter);
-
-		return soldFileWriter;
-	}
-
-	protected static UtilityCsvWriterImpl registerUtilityFileWriter(
-			final int scenario, final int iteration) {
-		final UtilityModel utilityModel = ApplicationContext.getInstance()
-				.getModelRegistry().getNationalEconomyModel(Currency.EURO).householdsModel.utilityModel;
-		final String csvFileName = String.format("csv/%s_%s_utility.csv",
-				scenario, iteration);
-		final UtilityCsvWriterImpl utilityFileWriter = new UtilityCsvWriterImpl(
-				csvFileName, utilityModel);
-
-		utilityModel.utilityOutputModel.getTimeSeries().addChangeListener(
-				utilityFileWriter);
-
-		return utilityFileWriter;
+	/**
+	 * exports the time series with the given name of the euro economy
+	 */
+	protected static void export(final int scenario, final int iteration,
+			final String name, final String fileNameSuffix) {
+		final String fileName = String.format("csv/%s_%s_%s.csv.gz",
+				scenario, iteration, fileNameSuffix);
+		ApplicationContext
+				.getInstance()
+				.getPeriodDataExporter()
+				.export(Currency.EURO.getIso4217Code() + "/" + name,
+						new File(fileName), PeriodDataExportFormat.CSV_GZIP);
 	}
 
 	protected static void runSimulationIteration(final int scenario,
@@ -145,32 +75,24 @@ public class EvaluationSimulationImpl {
 		}
 
 		/*
-		 * register model listeners
+		 * register exports
 		 */
-		final PriceCsvWriterImpl coalPriceWriter = registerPriceFileWriter(
-				scenario, iteration, GoodType.COAL);
-		final PriceCsvWriterImpl wheatPriceWriter = registerPriceFileWriter(
-				scenario, iteration, GoodType.WHEAT);
-		final PriceCsvWriterImpl labourHourPriceWriter = registerPriceFileWriter(
-				scenario, iteration, GoodType.LABOURHOUR);
-
-		final OutputCsvWriterImpl coalOutputWriter = registerOutputFileWriter(
-				scenario, iteration, GoodType.COAL);
-		final OutputCsvWriterImpl wheatOutputWriter = registerOutputFileWriter(
-				scenario, iteration, GoodType.WHEAT);
-
-		final SoldCsvWriterImpl coalSoldWriter = registerSoldFileWriter(
-				scenario, iteration, GoodType.COAL);
-		final SoldCsvWriterImpl wheatSoldWriter = registerSoldFileWriter(
-				scenario, iteration, GoodType.WHEAT);
-		final SoldCsvWriterImpl labourHourSoldWriter = registerSoldFileWriter(
-				scenario, iteration, GoodType.LABOURHOUR);
-
-		final UtilityCsvWriterImpl utilityWriter = registerUtilityFileWriter(
-				scenario, iteration);
-
-		final M1CsvWriterImpl m1Writer = registerM1FileWriter(scenario,
-				iteration);
+		for (final GoodType goodType : new GoodType[] { GoodType.COAL,
+				GoodType.WHEAT, GoodType.LABOURHOUR }) {
+			export(scenario, iteration, "prices/" + goodType, goodType
+					+ "_prices");
+			export(scenario, iteration, "pricingBehaviour/" + goodType
+					+ "/sold", goodType + "_sold");
+		}
+
+		for (final GoodType goodType : new GoodType[] { GoodType.COAL,
+				GoodType.WHEAT }) {
+			export(scenario, iteration, "industries/" + goodType
+					+ "/output", goodType + "_output");
+		}
+
+		export(scenario, iteration, "households/utility/output", "utility");
+		export(scenario, iteration, "M1", "m1");
 
 		/*
 		 * register exogenous shock
@@ -193,24 +115,21 @@ public class EvaluationSimulationImpl {
 		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
 
 		/*
-		 * close writers
+		 * export agent resource accounting
 		 */
-		coalPriceWriter.close();
-		wheatPriceWriter.close();
-		labourHourPriceWriter.close();
-
-		coalSoldWriter.close();
-		wheatSoldWriter.close();
-		labourHourSoldWriter.close();
-
-		coalOutputWriter.close();
-		wheatOutputWriter.close();
-
-		m1Writer.close();
-		utilityWriter.close();
+		if (ApplicationContext.getInstance().getConfiguration().dashboardConfig
+				.getAgentResourceAccounting()) {
+			final AgentResourcesCsvWriterImpl agentResourcesWriter = new AgentResourcesCsvWriterImpl(
+					String.format("csv/%s_%s_agent_resources.csv", scenario,
+							iteration));
+			agentResourcesWriter.writeTotals(ApplicationContext.getInstance()
+					.getModelRegistry().getAgentResourceAccounting());
+			agentResourcesWriter.close();
+		}
 
 		/*
-		 * reset application context
+		 * reset application context, which closes the exports after the
+		 * period data pipeline has been drained
 		 */
 		ApplicationContext.getInstance().reset();
 	}
@@ -23,6 +23,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import io.github.uwol.compecon.economy.bookkeeping.LedgerTest;
 import io.github.uwol.compecon.economy.sectors.financial.CreditBankTest;
 import io.github.uwol.compecon.economy.sectors.household.HouseholdImplTest;
 import io.github.uwol.compecon.economy.sectors.industry.FactoryImplTest;
@@ -32,9 +33,26 @@ import io.github.uwol.compecon.engine.applicationcontext.TestingConfigurationTes
 import io.github.uwol.compecon.engine.dao.BankAccountDAOTest;
 import io.github.uwol.compecon.engine.dao.HouseholdDAOTest;
 import io.github.uwol.compecon.engine.dao.PropertyDAOTest;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.AbstractIndexedInMemoryDAOImplTest;
+import io.github.uwol.compecon.engine.dao.util.PersistentSortedSetTest;
+import io.github.uwol.compecon.engine.log.LogEventTest;
+import io.github.uwol.compecon.engine.log.LogImplTest;
 import io.github.uwol.compecon.engine.service.AgentServiceTest;
 import io.github.uwol.compecon.engine.service.MarketServiceTest;
 import io.github.uwol.compecon.engine.service.PropertyServiceTest;
+import io.github.uwol.compecon.engine.statistics.LatencyHistogramTest;
+import io.github.uwol.compecon.engine.statistics.MonetaryTransactionsModelTest;
+import io.github.uwol.compecon.engine.statistics.PeriodDataPipelineTest;
+import io.github.uwol.compecon.engine.statistics.PricesModelTest;
+import io.github.uwol.compecon.engine.statistics.QuantileSketchTest;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBusTest;
+import io.github.uwol.compecon.engine.statistics.accumulator.ConcurrentPeriodDataAccumulatorTest;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporterModelRegistryTest;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporterTest;
+import io.github.uwol.compecon.engine.statistics.store.CompressedPeriodDataStorageTest;
+import io.github.uwol.compecon.engine.statistics.tape.TradeTapeTest;
+import io.github.uwol.compecon.engine.statistics.timeseries.RingBufferPeriodDataStorageTest;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemTest;
 import io.github.uwol.compecon.math.CESFunctionTest;
 import io.github.uwol.compecon.math.CobbDouglasFunctionTest;
 import io.github.uwol.compecon.math.intertemporal.ModiglianiIntertemporalConsumptionFunctionTest;
@@ -46,9 +64,23 @@ import io.github.uwol.compecon.math.utility.CobbDouglasUtilityFunctionTest;
 @SuiteClasses({ MathUtilTest.class, InterdependenciesConfigurationTest.class,
 		NoDependenciesConfigurationTest.class, TestingConfigurationTest.class,
 		BankAccountDAOTest.class, HouseholdDAOTest.class,
-		PropertyDAOTest.class, AgentServiceTest.class, MarketServiceTest.class,
-		PropertyServiceTest.class, CreditBankTest.class,
-		HouseholdImplTest.class, FactoryImplTest.class,
+		PropertyDAOTest.class, AbstractIndexedInMemoryDAOImplTest.class,
+		PersistentSortedSetTest.class,
+		LogEventTest.class, LogImplTest.class,
+		AgentServiceTest.class, MarketServiceTest.class,
+		PropertyServiceTest.class, LatencyHistogramTest.class,
+		MonetaryTransactionsModelTest.class,
+		PeriodDataPipelineTest.class,
+		PricesModelTest.class, QuantileSketchTest.class,
+		StatisticsEventBusTest.class,
+		ConcurrentPeriodDataAccumulatorTest.class,
+		PeriodDataExporterTest.class,
+		PeriodDataExporterModelRegistryTest.class,
+		CompressedPeriodDataStorageTest.class,
+		RingBufferPeriodDataStorageTest.class, TradeTapeTest.class,
+		TimeSystemTest.class,
+		CreditBankTest.class, LedgerTest.class, HouseholdImplTest.class,
+		FactoryImplTest.class,
 		ModiglianiIntertemporalConsumptionFunctionTest.class,
 		CobbDouglasFunctionTest.class, CobbDouglasUtilityFunctionTest.class,
 		CobbDouglasProductionFunctionTest.class, CESFunctionTest.class })
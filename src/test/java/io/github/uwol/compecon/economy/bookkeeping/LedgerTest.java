@@ -0,0 +1,186 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.bookkeeping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.bookkeeping.impl.LedgerImpl;
+import io.github.uwol.compecon.economy.sectors.financial.Bank;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+
+public class LedgerTest extends CompEconTestSupport {
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().setLedger(new LedgerImpl(1 << 16));
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testBalancesDerivedFromJournal() {
+		final Currency currency = Currency.EURO;
+		final Ledger ledger = ApplicationContext.getInstance().getLedger();
+
+		final Household household1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(0);
+		final Household household2_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(1);
+
+		final BankAccount bankAccount1_EUR = household1_EUR
+				.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount bankAccount2_EUR = household2_EUR
+				.getBankAccountTransactionsDelegate().getBankAccount();
+		final Bank source = bankAccount1_EUR.getManagingBank();
+
+		final long positionBefore = ledger.getJournalPosition();
+
+		for (int i = 1; i < 100; i++) {
+			source.transferMoney(bankAccount1_EUR, bankAccount2_EUR, 10,
+					"Transaction" + i);
+		}
+
+		final LedgerSnapshot snapshot = ledger.snapshot();
+
+		assertEquals(-990.0, ledger.getBalance(bankAccount1_EUR), epsilon);
+		assertEquals(990.0, ledger.getBalance(bankAccount2_EUR), epsilon);
+		assertEquals(bankAccount1_EUR.getBalance(),
+				snapshot.getBalance(bankAccount1_EUR), epsilon);
+		assertEquals(bankAccount2_EUR.getBalance(),
+				snapshot.getBalance(bankAccount2_EUR), epsilon);
+
+		// postings after the snapshot are not contained in it
+		source.transferMoney(bankAccount1_EUR, bankAccount2_EUR, 10,
+				"Transaction");
+		assertEquals(990.0, snapshot.getBalance(bankAccount2_EUR), epsilon);
+		assertEquals(1000.0, ledger.getBalance(bankAccount2_EUR), epsilon);
+
+		// replaying the journal yields the transferred money
+		final double[] transferredToHouseholds = new double[1];
+		ledger.replay(positionBefore, new LedgerPostingHandler() {
+			@Override
+			public void onPosting(final int fromSlot, final int toSlot,
+					final double amount) {
+				if (Household.class.isAssignableFrom(ledger
+						.getOwnerType(toSlot))) {
+					transferredToHouseholds[0] += amount;
+				}
+			}
+		});
+		assertEquals(1000.0, transferredToHouseholds[0], epsilon);
+	}
+
+	@Test
+	public void testLedgerBalancesMatchBankAccounts() {
+		final Ledger ledger = ApplicationContext.getInstance().getLedger();
+
+		// transfers between customer accounts of all currencies
+		for (final Currency currency : Currency.values()) {
+			final Household household1 = ApplicationContext.getInstance()
+					.getAgentService().findHouseholds(currency).get(0);
+			final Household household2 = ApplicationContext.getInstance()
+					.getAgentService().findHouseholds(currency).get(1);
+			final BankAccount bankAccount1 = household1
+					.getBankAccountTransactionsDelegate().getBankAccount();
+			final BankAccount bankAccount2 = household2
+					.getBankAccountTransactionsDelegate().getBankAccount();
+
+			for (int i = 0; i < 100; i++) {
+				bankAccount1.getManagingBank().transferMoney(bankAccount1,
+						bankAccount2, 10 + i, "Transaction" + i);
+				bankAccount2.getManagingBank().transferMoney(bankAccount2,
+						bankAccount1, 5, "Transaction" + i);
+			}
+
+			assertTrue(bankAccount2.getBalance() > 0.0);
+
+			// closing evens up the balance of the account
+			bankAccount2.getManagingBank().closeCustomerAccount(household2);
+			assertEquals(0.0, ledger.getBalance(bankAccount2), epsilon);
+		}
+
+		for (final BankAccount bankAccount : ApplicationContext.getInstance()
+				.getBankAccountDAO().findAll()) {
+			assertEquals(bankAccount.getBalance(),
+					ledger.getBalance(bankAccount), epsilon);
+		}
+	}
+
+	@Test
+	public void testReleasedSlotsAreReused() {
+		final Ledger ledger = new LedgerImpl(0);
+		final BankAccount bankAccount1 = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(Currency.EURO).get(0)
+				.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount bankAccount2 = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(Currency.EURO).get(1)
+				.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount bankAccount3 = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(Currency.USDOLLAR).get(0)
+				.getBankAccountTransactionsDelegate().getBankAccount();
+		final int[] lastToSlot = new int[1];
+		final LedgerPostingHandler lastToSlotHandler = new LedgerPostingHandler() {
+			@Override
+			public void onPosting(final int fromSlot, final int toSlot,
+					final double amount) {
+				lastToSlot[0] = toSlot;
+			}
+		};
+
+		ledger.post(null, bankAccount1, Currency.EURO, 5.0);
+		ledger.replay(0, lastToSlotHandler);
+		final int releasedSlot = lastToSlot[0];
+
+		// the remaining balance leaves the banking system
+		ledger.release(bankAccount1);
+		assertEquals(0.0, ledger.getBalance(bankAccount1), epsilon);
+
+		// more postings than retained by the journal
+		for (int i = 0; i < 40000; i++) {
+			ledger.post(null, bankAccount2, Currency.EURO, 1.0);
+		}
+		assertEquals(40000.0, ledger.getBalance(bankAccount2), epsilon);
+
+		// the released slot is reused with a zero balance
+		ledger.post(null, bankAccount3, Currency.USDOLLAR, 2.0);
+		ledger.replay(ledger.getJournalPosition() - 1, lastToSlotHandler);
+		assertEquals(releasedSlot, lastToSlot[0]);
+		assertEquals(Currency.USDOLLAR, ledger.getCurrency(releasedSlot));
+		assertEquals(2.0, ledger.getBalance(bankAccount3), epsilon);
+		assertEquals(0.0, ledger.getBalance(bankAccount1), epsilon);
+	}
+}
@@ -20,6 +20,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.economy.sectors.household;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 
@@ -34,7 +35,8 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
-import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.statistics.AgentResourceAccounting;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 
 public class HouseholdImplTest extends CompEconTestSupport {
 
@@ -52,6 +54,42 @@ public class HouseholdImplTest extends CompEconTestSupport {
 		super.tearDown();
 	}
 
+	@Test
+	public void testAgentResourceAccounting() {
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(0);
+
+		for (final TimeSystemEventHandle timeSystemEventHandle : household1_EUR
+				.getTimeSystemEventHandles()) {
+			if (timeSystemEventHandle.getEvent() instanceof HouseholdImpl.DailyLifeEvent) {
+				timeSystemEventHandle.getEvent().onEvent();
+			}
+		}
+		ApplicationContext.getInstance().getLog()
+				.setAgentCurrentlyActive(null);
+
+		final AgentResourceAccounting agentResourceAccounting = ApplicationContext
+				.getInstance().getModelRegistry().getAgentResourceAccounting();
+		assertTrue(agentResourceAccounting.getCpuNanos(currency,
+				HouseholdImpl.class) > 0);
+		assertTrue(agentResourceAccounting.getAllocatedBytes(currency,
+				HouseholdImpl.class) > 0);
+		assertTrue(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).cpuTimeModels
+				.get(HouseholdImpl.class).getValue() > 0);
+		assertEquals(0, agentResourceAccounting.getCpuNanos(
+				Currency.USDOLLAR, HouseholdImpl.class));
+
+		// querying does not add rows to the summaries
+		final int numberOfSummaries = agentResourceAccounting.getSummaries().length;
+		agentResourceAccounting.getAllocatedBytes(Currency.YEN,
+				HouseholdImpl.class);
+		assertEquals(numberOfSummaries,
+				agentResourceAccounting.getSummaries().length);
+	}
+
 	@Test
 	public void testDailyLifeEvent() {
 		final Currency currency = Currency.EURO;
@@ -104,11 +142,11 @@ public class HouseholdImplTest extends CompEconTestSupport {
 
 		final int currentAge = household1_EUR.getAgeInDays();
 
-		for (final TimeSystemEvent timeSystemEvent : household1_EUR
-				.getTimeSystemEvents()) {
-			if (timeSystemEvent instanceof HouseholdImpl.DailyLifeEvent) {
+		for (final TimeSystemEventHandle timeSystemEventHandle : household1_EUR
+				.getTimeSystemEventHandles()) {
+			if (timeSystemEventHandle.getEvent() instanceof HouseholdImpl.DailyLifeEvent) {
 				// household 1 buys goods from factories and consumes them
-				timeSystemEvent.onEvent();
+				timeSystemEventHandle.getEvent().onEvent();
 			}
 		}
 
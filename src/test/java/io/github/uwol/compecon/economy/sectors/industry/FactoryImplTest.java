@@ -20,8 +20,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.economy.sectors.industry;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -29,12 +33,16 @@ import org.junit.Test;
 
 import io.github.uwol.compecon.CompEconTestSupport;
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.sectors.industry.impl.FactoryImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
-import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.dao.BankAccountDAO;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+import io.github.uwol.compecon.engine.dao.PropertyDAO;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEventHandle;
 
 public class FactoryImplTest extends CompEconTestSupport {
 
@@ -51,6 +59,82 @@ public class FactoryImplTest extends CompEconTestSupport {
 		super.tearDown();
 	}
 
+	@Test
+	public void testDeconstructionRemovesOwnStateOnly() {
+		final Currency currency = Currency.EURO;
+		final BankAccountDAO bankAccountDAO = ApplicationContext.getInstance()
+				.getBankAccountDAO();
+		final MarketOrderDAO marketOrderDAO = ApplicationContext.getInstance()
+				.getMarketOrderDAO();
+		final PropertyDAO propertyDAO = ApplicationContext.getInstance()
+				.getPropertyDAO();
+
+		final Factory factory1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findFactories(currency, GoodType.WHEAT)
+				.get(0);
+		final Factory factory2_EUR = ApplicationContext.getInstance()
+				.getAgentService().findFactories(currency, GoodType.WHEAT)
+				.get(1);
+
+		// both factories issue shares and offer them on the market
+		factory2_EUR.issueShares();
+		final int numberOfMarketOrdersBefore = marketOrderDAO.count();
+		factory1_EUR.issueShares();
+		final int numberOfOwnMarketOrders = marketOrderDAO.count()
+				- numberOfMarketOrdersBefore;
+
+		final List<TimeSystemEventHandle> ownTimeSystemEventHandles = new ArrayList<TimeSystemEventHandle>(
+				factory1_EUR.getTimeSystemEventHandles());
+		final List<BankAccount> ownBankAccounts = bankAccountDAO
+				.findAllBankAccountsOfAgent(factory1_EUR);
+		final int numberOfOwnIssuedProperties = propertyDAO
+				.findAllPropertiesIssuedByAgent(factory1_EUR).size();
+		final int numberOfIssuedPropertiesOfFactory2 = propertyDAO
+				.findAllPropertiesIssuedByAgent(factory2_EUR).size();
+
+		assertFalse(ownTimeSystemEventHandles.isEmpty());
+		assertTrue(numberOfOwnMarketOrders > 0);
+		assertFalse(ownBankAccounts.isEmpty());
+		assertTrue(numberOfOwnIssuedProperties > 0);
+
+		final int numberOfMarketOrders = marketOrderDAO.count();
+		final List<BankAccount> bankAccounts = bankAccountDAO.findAll();
+		final int numberOfProperties = propertyDAO.count();
+
+		factory1_EUR.deconstruct();
+		ApplicationContext.getInstance().getFactoryFactory()
+				.deleteFactory(factory1_EUR);
+
+		// own events, orders, bank accounts and issued properties are removed
+		for (final TimeSystemEventHandle timeSystemEventHandle : ownTimeSystemEventHandles) {
+			assertFalse(timeSystemEventHandle.isScheduled());
+		}
+		assertTrue(factory1_EUR.getTimeSystemEventHandles().isEmpty());
+		assertEquals(numberOfMarketOrders - numberOfOwnMarketOrders,
+				marketOrderDAO.count());
+		assertTrue(bankAccountDAO.findAllBankAccountsOfAgent(factory1_EUR)
+				.isEmpty());
+		assertEquals(numberOfProperties - numberOfOwnIssuedProperties,
+				propertyDAO.count());
+
+		// state of other agents is left untouched
+		for (final Household household : ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency)) {
+			for (final TimeSystemEventHandle timeSystemEventHandle : household
+					.getTimeSystemEventHandles()) {
+				assertTrue(timeSystemEventHandle.isScheduled());
+			}
+		}
+		for (final TimeSystemEventHandle timeSystemEventHandle : factory2_EUR
+				.getTimeSystemEventHandles()) {
+			assertTrue(timeSystemEventHandle.isScheduled());
+		}
+		bankAccounts.removeAll(ownBankAccounts);
+		assertTrue(bankAccountDAO.findAll().containsAll(bankAccounts));
+		assertEquals(numberOfIssuedPropertiesOfFactory2, propertyDAO
+				.findAllPropertiesIssuedByAgent(factory2_EUR).size());
+	}
+
 	@Test
 	public void testProductionEvent() {
 		final Currency currency = Currency.EURO;
@@ -81,11 +165,11 @@ public class FactoryImplTest extends CompEconTestSupport {
 						household2_EUR.getBankAccountTransactionsDelegate(),
 						16.0, 1.0);
 
-		for (final TimeSystemEvent timeSystemEvent : factory1_EUR
-				.getTimeSystemEvents()) {
-			if (timeSystemEvent instanceof FactoryImpl.ProductionEvent) {
+		for (final TimeSystemEventHandle timeSystemEventHandle : factory1_EUR
+				.getTimeSystemEventHandles()) {
+			if (timeSystemEventHandle.getEvent() instanceof FactoryImpl.ProductionEvent) {
 				// factory 1 buys LABOURHOUR from households and produces WHEAT
-				timeSystemEvent.onEvent();
+				timeSystemEventHandle.getEvent().onEvent();
 			}
 		}
 
@@ -149,11 +233,11 @@ public class FactoryImplTest extends CompEconTestSupport {
 		ApplicationContext.getInstance().getPropertyService()
 				.incrementGoodTypeAmount(factory1_EUR, GoodType.MACHINE, 10.0);
 
-		for (final TimeSystemEvent timeSystemEvent : factory1_EUR
-				.getTimeSystemEvents()) {
-			if (timeSystemEvent instanceof FactoryImpl.ProductionEvent) {
+		for (final TimeSystemEventHandle timeSystemEventHandle : factory1_EUR
+				.getTimeSystemEventHandles()) {
+			if (timeSystemEventHandle.getEvent() instanceof FactoryImpl.ProductionEvent) {
 				// factory 1 buys LABOURHOUR from households and produces WHEAT
-				timeSystemEvent.onEvent();
+				timeSystemEventHandle.getEvent().onEvent();
 			}
 		}
 
@@ -221,11 +305,11 @@ public class FactoryImplTest extends CompEconTestSupport {
 				.incrementGoodTypeAmount(factory1_EUR, GoodType.LABOURHOUR,
 						10.0);
 
-		for (final TimeSystemEvent timeSystemEvent : factory1_EUR
-				.getTimeSystemEvents()) {
-			if (timeSystemEvent instanceof FactoryImpl.ProductionEvent) {
+		for (final TimeSystemEventHandle timeSystemEventHandle : factory1_EUR
+				.getTimeSystemEventHandles()) {
+			if (timeSystemEventHandle.getEvent() instanceof FactoryImpl.ProductionEvent) {
 				// factory 1 buys LABOURHOUR from households and produces WHEAT
-				timeSystemEvent.onEvent();
+				timeSystemEventHandle.getEvent().onEvent();
 			}
 		}
 
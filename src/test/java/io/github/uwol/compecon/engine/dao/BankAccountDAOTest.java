@@ -22,12 +22,16 @@ package io.github.uwol.compecon.engine.dao;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
@@ -116,4 +120,125 @@ public class BankAccountDAOTest extends CompEconTestSupport {
 		assertEquals(0, ApplicationContext.getInstance().getBankAccountDAO()
 				.findAllBankAccountsOfAgent(household2_EUR).size());
 	}
+
+	@Test
+	public void testBalanceTotals() {
+		final Currency currency = Currency.EURO;
+		final BankAccountDAO bankAccountDAO = ApplicationContext.getInstance()
+				.getBankAccountDAO();
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findCreditBanks(currency).get(0);
+		final Household household1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(0);
+		final Household household2_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(1);
+
+		final BankAccount bankAccount1_EUR = creditBank1_EUR.openBankAccount(
+				household1_EUR, currency, true, "test bank account",
+				TermType.SHORT_TERM, MoneyType.DEPOSITS);
+		final BankAccount bankAccount2_EUR = creditBank1_EUR.openBankAccount(
+				household2_EUR, currency, true, "test bank account",
+				TermType.LONG_TERM, MoneyType.DEPOSITS);
+
+		assertEquals(2, bankAccountDAO.getNumberOfBankAccounts(
+				creditBank1_EUR, currency));
+		assertEquals(0, bankAccountDAO.getNumberOfBankAccounts(
+				creditBank1_EUR, Currency.USDOLLAR));
+
+		creditBank1_EUR.transferMoney(bankAccount1_EUR, bankAccount2_EUR, 10,
+				"Transaction");
+
+		assertEquals(10.0, bankAccountDAO.getSumOfPositiveBalances(
+				creditBank1_EUR, currency), epsilon);
+		assertEquals(10.0, bankAccountDAO.getSumOfPositiveBalances(
+				creditBank1_EUR, currency, TermType.LONG_TERM), epsilon);
+		assertEquals(0.0, bankAccountDAO.getSumOfPositiveBalances(
+				creditBank1_EUR, currency, TermType.SHORT_TERM), epsilon);
+		assertEquals(-10.0, bankAccountDAO.getSumOfNegativeBalances(
+				creditBank1_EUR, currency), epsilon);
+
+		// balance changes its sign
+		creditBank1_EUR.transferMoney(bankAccount2_EUR, bankAccount1_EUR, 15,
+				"Transaction");
+
+		assertEquals(5.0, bankAccountDAO.getSumOfPositiveBalances(
+				creditBank1_EUR, currency), epsilon);
+		assertEquals(-5.0, bankAccountDAO.getSumOfNegativeBalances(
+				creditBank1_EUR, currency), epsilon);
+
+		// deleted bank accounts are removed from the totals
+		ApplicationContext.getInstance().getBankAccountFactory()
+				.deleteAllBankAccounts(creditBank1_EUR, household1_EUR);
+
+		assertEquals(1, bankAccountDAO.getNumberOfBankAccounts(
+				creditBank1_EUR, currency));
+		assertEquals(0.0, bankAccountDAO.getSumOfPositiveBalances(
+				creditBank1_EUR, currency), epsilon);
+		assertEquals(-5.0, bankAccountDAO.getSumOfNegativeBalances(
+				creditBank1_EUR, currency), epsilon);
+	}
+
+	@Test
+	public void testBalanceTotalsMatchFullScanAfterManyTransfers() {
+		final Currency currency = Currency.EURO;
+		final BankAccountDAO bankAccountDAO = ApplicationContext.getInstance()
+				.getBankAccountDAO();
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findCreditBanks(currency).get(0);
+
+		final List<BankAccount> bankAccounts = new ArrayList<BankAccount>();
+		for (final Household household : ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency)) {
+			for (final TermType termType : TermType.values()) {
+				bankAccounts.add(creditBank1_EUR.openBankAccount(household,
+						currency, true, "test bank account", termType,
+						MoneyType.DEPOSITS));
+			}
+		}
+
+		// transfers of fractional amounts with large and small magnitudes
+		final Random random = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			final BankAccount from = bankAccounts.get(random
+					.nextInt(bankAccounts.size()));
+			final BankAccount to = bankAccounts.get(random.nextInt(bankAccounts
+					.size()));
+
+			if (from != to) {
+				final double amount = random.nextBoolean() ? random
+						.nextDouble() * 1000000.0 : random.nextDouble() / 1000.0;
+				creditBank1_EUR.transferMoney(from, to, amount, "Transaction");
+			}
+		}
+
+		double sumOfPositiveBalances = 0.0;
+		double sumOfNegativeBalances = 0.0;
+		double sumOfPositiveShortTermBalances = 0.0;
+		for (final BankAccount bankAccount : bankAccountDAO
+				.findAllBankAccountsManagedByBank(creditBank1_EUR)) {
+			if (currency.equals(bankAccount.getCurrency())) {
+				if (bankAccount.getBalance() > 0.0) {
+					sumOfPositiveBalances += bankAccount.getBalance();
+
+					if (TermType.SHORT_TERM.equals(bankAccount.getTermType())) {
+						sumOfPositiveShortTermBalances += bankAccount
+								.getBalance();
+					}
+				} else {
+					sumOfNegativeBalances += bankAccount.getBalance();
+				}
+			}
+		}
+
+		final double delta = 0.00000001;
+		assertEquals(sumOfPositiveBalances, bankAccountDAO
+				.getSumOfPositiveBalances(creditBank1_EUR, currency), delta);
+		assertEquals(sumOfNegativeBalances, bankAccountDAO
+				.getSumOfNegativeBalances(creditBank1_EUR, currency), delta);
+		assertEquals(sumOfPositiveShortTermBalances,
+				bankAccountDAO.getSumOfPositiveBalances(creditBank1_EUR,
+						currency, TermType.SHORT_TERM), delta);
+	}
 }
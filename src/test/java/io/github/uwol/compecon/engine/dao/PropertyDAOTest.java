@@ -49,6 +49,58 @@ public class PropertyDAOTest extends CompEconTestSupport {
 		super.tearDown();
 	}
 
+	@Test
+	public void testBondFaceValueTotals() {
+		final Currency currency = Currency.EURO;
+		final PropertyDAO propertyDAO = ApplicationContext.getInstance()
+				.getPropertyDAO();
+
+		// prepare
+		final State state_EUR = ApplicationContext.getInstance()
+				.getAgentService().findState(currency);
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findCreditBanks(currency).get(0);
+
+		final Bond bond1 = state_EUR.obtainBond(1000, creditBank1_EUR,
+				creditBank1_EUR.getBankAccountTransactionsDelegate());
+		state_EUR.obtainBond(500, creditBank1_EUR,
+				creditBank1_EUR.getBankAccountTransactionsDelegate());
+
+		assertEquals(1500.0,
+				propertyDAO.getFaceValueSumOfBondAssets(creditBank1_EUR),
+				epsilon);
+		assertEquals(1500.0,
+				propertyDAO.getFaceValueSumOfBondLiabilities(state_EUR),
+				epsilon);
+		assertEquals(0.0, propertyDAO.getFaceValueSumOfBondAssets(state_EUR),
+				epsilon);
+
+		// bonds owned by their issuer are neither assets nor liabilities
+		ApplicationContext.getInstance().getPropertyService()
+				.transferProperty(bond1, creditBank1_EUR, state_EUR);
+
+		assertEquals(500.0,
+				propertyDAO.getFaceValueSumOfBondAssets(creditBank1_EUR),
+				epsilon);
+		assertEquals(500.0,
+				propertyDAO.getFaceValueSumOfBondLiabilities(state_EUR),
+				epsilon);
+		assertEquals(0.0, propertyDAO.getFaceValueSumOfBondAssets(state_EUR),
+				epsilon);
+
+		// deconstructed bonds are removed
+		ApplicationContext.getInstance().getPropertyService()
+				.transferProperty(bond1, state_EUR, creditBank1_EUR);
+		bond1.deconstruct();
+
+		assertEquals(500.0,
+				propertyDAO.getFaceValueSumOfBondAssets(creditBank1_EUR),
+				epsilon);
+		assertEquals(500.0,
+				propertyDAO.getFaceValueSumOfBondLiabilities(state_EUR),
+				epsilon);
+	}
+
 	@Test
 	public void testCreateAndDeletePropertyOwnedAndIssuedBy() {
 		final Currency currency = Currency.EURO;
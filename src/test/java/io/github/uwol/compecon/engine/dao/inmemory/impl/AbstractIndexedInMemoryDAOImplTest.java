@@ -0,0 +1,132 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class AbstractIndexedInMemoryDAOImplTest {
+
+	protected static class IndexedDAO extends
+			AbstractIndexedInMemoryDAOImpl<Integer, String> {
+	}
+
+	protected static final int NUMBER_OF_KEYS = 8;
+
+	@Test
+	public void testConcurrentSaveAndDelete() throws InterruptedException {
+		final IndexedDAO dao = new IndexedDAO();
+		final int numberOfThreads = 4;
+		final int numberOfInstancesPerThread = 20000;
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<Thread>();
+		final List<Throwable> failures = new ArrayList<Throwable>();
+
+		for (int t = 0; t < numberOfThreads; t++) {
+			final int thread = t;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < numberOfInstancesPerThread; i++) {
+							dao.save(i % NUMBER_OF_KEYS, thread + "-" + i);
+
+							// delete every other instance of this thread
+							if (i % 2 == 1) {
+								dao.delete(thread + "-" + (i - 1));
+							}
+						}
+					} catch (final Throwable e) {
+						synchronized (failures) {
+							failures.add(e);
+						}
+					}
+				}
+			});
+		}
+
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		start.countDown();
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(failures.toString(), failures.isEmpty());
+		assertEquals(numberOfThreads * numberOfInstancesPerThread / 2,
+				dao.count());
+
+		final Set<String> indexedInstances = new HashSet<String>();
+		for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+			final List<String> instancesForKey = dao.getInstancesForKey(key);
+			if (instancesForKey != null) {
+				for (final String instance : instancesForKey) {
+					final int i = Integer.parseInt(instance.substring(instance
+							.indexOf('-') + 1));
+					assertEquals(1, i % 2);
+					assertEquals(key, i % NUMBER_OF_KEYS);
+					assertTrue(indexedInstances.add(instance));
+					assertEquals(1, dao.getKeysForInstance(instance).size());
+				}
+			}
+		}
+		assertEquals(dao.count(), indexedInstances.size());
+		assertNull(dao.getKeysForInstance("0-0"));
+	}
+
+	@Test(timeout = 10000)
+	public void testIndexConstructionIsLinear() {
+		final IndexedDAO dao = new IndexedDAO();
+		final int numberOfInstances = 200000;
+
+		// a copy-on-write index would copy the whole index per save
+		for (int i = 0; i < numberOfInstances; i++) {
+			dao.save(0, String.valueOf(i));
+		}
+
+		final List<String> instancesForKey = dao.getInstancesForKey(0);
+		assertEquals(numberOfInstances, instancesForKey.size());
+
+		// insertion order is kept
+		assertEquals("0", instancesForKey.get(0));
+		assertEquals(String.valueOf(numberOfInstances - 1),
+				instancesForKey.get(numberOfInstances - 1));
+
+		for (int i = 0; i < numberOfInstances; i++) {
+			dao.delete(String.valueOf(i));
+		}
+
+		assertNull(dao.getInstancesForKey(0));
+		assertEquals(0, dao.count());
+	}
+}
@@ -0,0 +1,88 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.uwol.compecon.engine.dao.util.PersistentSortedSet.Snapshot;
+
+public class PersistentSortedSetTest {
+
+	protected List<Integer> toList(final Iterable<Integer> iterable) {
+		final List<Integer> list = new ArrayList<Integer>();
+		for (final Integer element : iterable) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	@Test
+	public void testMatchesTreeSet() {
+		final PersistentSortedSet<Integer> set = new PersistentSortedSet<Integer>();
+		final TreeSet<Integer> expected = new TreeSet<Integer>();
+		final Random random = new Random(0);
+
+		for (int i = 0; i < 10000; i++) {
+			final Integer element = random.nextInt(500);
+			if (random.nextBoolean()) {
+				Assert.assertEquals(expected.add(element), set.add(element));
+			} else {
+				Assert.assertEquals(expected.remove(element),
+						set.remove(element));
+			}
+		}
+
+		Assert.assertEquals(expected.size(), set.size());
+		Assert.assertEquals(expected.first(), set.first());
+		Assert.assertEquals(new ArrayList<Integer>(expected), toList(set));
+	}
+
+	@Test
+	public void testSnapshotIsolation() {
+		final PersistentSortedSet<Integer> set = new PersistentSortedSet<Integer>();
+		set.add(3);
+		set.add(1);
+		set.add(2);
+
+		final Snapshot<Integer> snapshot = set.snapshot();
+		final Iterator<Integer> iterator = set.iterator();
+
+		set.remove(1);
+		set.add(0);
+		set.add(4);
+
+		Assert.assertEquals(3, snapshot.size());
+		Assert.assertEquals(Integer.valueOf(1), snapshot.first());
+		Assert.assertEquals(Integer.valueOf(1), iterator.next());
+		Assert.assertEquals(Integer.valueOf(2), iterator.next());
+		Assert.assertEquals(Integer.valueOf(3), iterator.next());
+		Assert.assertFalse(iterator.hasNext());
+
+		Assert.assertEquals(Integer.valueOf(0), set.first());
+		Assert.assertEquals(4, set.size());
+	}
+}
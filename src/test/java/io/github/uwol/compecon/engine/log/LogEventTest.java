@@ -0,0 +1,50 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.log;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+public class LogEventTest {
+
+	@Test
+	public void testFormat() {
+		assertEquals("price for 3.0 units of " + GoodType.WHEAT,
+				LogEvent.TRANSFER_PRICE.format(GoodType.WHEAT, Currency.EURO,
+						new double[] { 3.0 }));
+
+		assertEquals("dividend", LogEvent.TRANSFER.format("dividend",
+				Currency.EURO, new double[] { 0.0 }));
+
+		assertEquals(
+				"offered 10.0 units of " + GoodType.WHEAT + " for "
+						+ Currency.formatMoneySum(2.0)
+						+ " EUR per unit and sold 0.0 units ->  sold nothing"
+						+ " -> lowering price to "
+						+ Currency.formatMoneySum(1.5) + " " + Currency.EURO,
+				LogEvent.PRICE_SOLD_NOTHING.format(GoodType.WHEAT,
+						Currency.EURO,
+						new double[] { 10.0, 2.0, 0.0, 1.5, 0.0 }));
+	}
+}
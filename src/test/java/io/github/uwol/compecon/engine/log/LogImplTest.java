@@ -0,0 +1,103 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package io.github.uwol.compecon.engine.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel;
+
+public class LogImplTest extends CompEconTestSupport {
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testOnlySelectedAgentIsLogged() {
+		final Currency currency = Currency.EURO;
+		final Log log = ApplicationContext.getInstance().getLog();
+		final AgentDetailModel agentDetailModel = ApplicationContext
+				.getInstance().getModelRegistry().getAgentDetailModel();
+
+		final Household household1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(0);
+		final Household household2_EUR = ApplicationContext.getInstance()
+				.getAgentService().findHouseholds(currency).get(1);
+
+		log.setAgentSelectedByClient(household1_EUR);
+
+		// events of an unselected agent are not formatted
+		log.log(household2_EUR, LogEvent.TRANSFER, "dividend", currency, 0.0,
+				0.0, 0.0, 0.0, 0.0);
+		log.log((MarketParticipant) household2_EUR, LogEvent.TRANSFER,
+				"dividend", currency, 0.0, 0.0, 0.0, 0.0, 0.0);
+
+		assertTrue(agentDetailModel.getCurrentLog().getRows().isEmpty());
+
+		// events of the selected agent are
+		log.log(household1_EUR, LogEvent.TRANSFER, "dividend", currency, 0.0,
+				0.0, 0.0, 0.0, 0.0);
+
+		assertEquals(1, agentDetailModel.getCurrentLog().getRows().size());
+		assertTrue(agentDetailModel.getCurrentLog().getRows().getFirst()
+				.endsWith("dividend"));
+
+		// capital depreciation of an unselected factory
+		final Factory factory1_EUR = ApplicationContext.getInstance()
+				.getAgentService().findFactories(currency).get(0);
+		// has an industry model
+		final GoodType capitalGoodType = factory1_EUR.getProducedGoodType();
+		log.factory_onCapitalDepreciation(factory1_EUR, capitalGoodType, 1.0);
+
+		assertEquals(1, agentDetailModel.getCurrentLog().getRows().size());
+
+		log.setAgentSelectedByClient(factory1_EUR);
+		log.factory_onCapitalDepreciation(factory1_EUR, capitalGoodType, 1.0);
+
+		assertEquals(2, agentDetailModel.getCurrentLog().getRows().size());
+		assertTrue(agentDetailModel.getCurrentLog().getRows().getLast()
+				.contains("depreciation"));
+
+		log.setAgentSelectedByClient(null);
+	}
+}
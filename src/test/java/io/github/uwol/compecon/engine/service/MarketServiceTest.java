@@ -32,6 +32,7 @@ import org.junit.Test;
 
 import io.github.uwol.compecon.CompEconTestSupport;
 import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketOrder.CommodityType;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
@@ -42,6 +43,8 @@ import io.github.uwol.compecon.economy.security.equity.Share;
 import io.github.uwol.compecon.economy.security.equity.impl.ShareImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.MarketPriceFunction;
+import io.github.uwol.compecon.engine.service.impl.MarketServiceLatencies;
+import io.github.uwol.compecon.engine.service.impl.MarketServiceLatencies.Operation;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.price.PriceFunction.PriceFunctionConfig;
 
@@ -451,6 +454,21 @@ public class MarketServiceTest extends CompEconTestSupport {
 		assertEquals(-15.0, factory1_WHEAT_EUR
 				.getBankAccountTransactionsDelegate().getBankAccount()
 				.getBalance(), epsilon);
+
+		// check recorded latencies
+		final MarketServiceLatencies marketServiceLatencies = ApplicationContext
+				.getInstance().getMarketService().getMarketServiceLatencies();
+		assertEquals(
+				1,
+				marketServiceLatencies.getLatencyHistogram(Operation.BUY,
+						CommodityType.GOODTYPE).getTotalCount());
+		assertTrue(marketServiceLatencies.getLatencyHistogram(
+				Operation.PLACE_SELLING_OFFER, CommodityType.GOODTYPE)
+				.getTotalCount() > 0);
+		assertEquals(
+				0,
+				marketServiceLatencies.getLatencyHistogram(Operation.BUY,
+						CommodityType.CURRENCY).getTotalCount());
 	}
 
 	@Test
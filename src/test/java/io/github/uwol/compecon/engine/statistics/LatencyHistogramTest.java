@@ -0,0 +1,72 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testMerge() {
+		final LatencyHistogram latencyHistogram1 = new LatencyHistogram();
+		final LatencyHistogram latencyHistogram2 = new LatencyHistogram();
+		for (long value = 1; value <= 500; value++) {
+			latencyHistogram1.record(value);
+			latencyHistogram2.record(value + 500);
+		}
+
+		latencyHistogram1.add(latencyHistogram2);
+
+		Assert.assertEquals(1000, latencyHistogram1.getTotalCount());
+		Assert.assertEquals(1000, latencyHistogram1.getMax());
+		Assert.assertEquals(500.5, latencyHistogram1.getMean(), 0.0);
+
+		latencyHistogram1.reset();
+		Assert.assertEquals(0, latencyHistogram1.getTotalCount());
+		Assert.assertEquals(0, latencyHistogram1.getValueAtQuantile(0.5));
+	}
+
+	@Test
+	public void testQuantiles() {
+		final LatencyHistogram latencyHistogram = new LatencyHistogram();
+		for (long value = 1; value <= 100000; value++) {
+			latencyHistogram.record(value);
+		}
+
+		Assert.assertEquals(100000, latencyHistogram.getTotalCount());
+		Assert.assertEquals(100000, latencyHistogram.getMax());
+
+		// relative error is bounded by the width of the sub-buckets
+		final double relativeError = 1.0 / LatencyHistogram.SUB_BUCKETS;
+		Assert.assertEquals(50000,
+				latencyHistogram.getValueAtQuantile(0.5), 50000 * relativeError);
+		Assert.assertEquals(99000, latencyHistogram.getValueAtQuantile(0.99),
+				99000 * relativeError);
+		Assert.assertEquals(100000, latencyHistogram.getValueAtQuantile(1.0));
+
+		// small values are counted exactly
+		final LatencyHistogram smallValues = new LatencyHistogram();
+		smallValues.record(3);
+		smallValues.record(5);
+		Assert.assertEquals(3, smallValues.getValueAtQuantile(0.5));
+		Assert.assertEquals(5, smallValues.getValueAtQuantile(1.0));
+	}
+}
@@ -0,0 +1,144 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.financial.impl.CreditBankImpl;
+import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
+import io.github.uwol.compecon.economy.sectors.industry.impl.FactoryImpl;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.factory.AgentFactory;
+
+public class MonetaryTransactionsModelTest extends CompEconTestSupport {
+
+	/**
+	 * e. g. a proxy of a registered agent type
+	 */
+	protected static class HouseholdSubclass extends HouseholdImpl {
+	}
+
+	protected final double epsilon = 0.0001;
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testAgentTypeOrdinals() {
+		final AgentFactory agentFactory = ApplicationContext.getInstance()
+				.getAgentFactory();
+
+		for (int i = 0; i < agentFactory.getAgentTypes().size(); i++) {
+			assertEquals(i, agentFactory.getAgentTypeOrdinal(agentFactory
+					.getAgentTypes().get(i)));
+		}
+
+		// subclasses map to the ordinal of the registered agent type
+		assertEquals(agentFactory.getAgentTypeOrdinal(HouseholdImpl.class),
+				agentFactory.getAgentTypeOrdinal(HouseholdSubclass.class));
+
+		// again from the cache
+		assertEquals(agentFactory.getAgentTypeOrdinal(HouseholdImpl.class),
+				agentFactory.getAgentTypeOrdinal(HouseholdSubclass.class));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownAgentType() {
+		ApplicationContext.getInstance().getAgentFactory()
+				.getAgentTypeOrdinal(String.class);
+	}
+
+	@Test
+	public void testTransactionValuesOfClosedPeriods() {
+		final AgentFactory agentFactory = ApplicationContext.getInstance()
+				.getAgentFactory();
+		final int household = agentFactory
+				.getAgentTypeOrdinal(HouseholdImpl.class);
+		final int factory = agentFactory.getAgentTypeOrdinal(FactoryImpl.class);
+		final int creditBank = agentFactory
+				.getAgentTypeOrdinal(CreditBankImpl.class);
+
+		final MonetaryTransactionsModel monetaryTransactionsModel = new MonetaryTransactionsModel();
+
+		// first period
+		monetaryTransactionsModel.bank_onTransfer(HouseholdImpl.class,
+				FactoryImpl.class, Currency.EURO, 10.0);
+		monetaryTransactionsModel.bank_onTransfer(HouseholdSubclass.class,
+				FactoryImpl.class, Currency.EURO, 5.0);
+		monetaryTransactionsModel.bank_onTransfer(FactoryImpl.class,
+				HouseholdImpl.class, Currency.EURO, 3.0);
+
+		// transfers of the current period are not visible before closing it
+		assertEquals(0.0,
+				monetaryTransactionsModel.getTransactionValue(household,
+						factory), epsilon);
+
+		monetaryTransactionsModel.nextPeriod();
+
+		assertEquals(15.0,
+				monetaryTransactionsModel.getTransactionValue(household,
+						factory), epsilon);
+		assertEquals(3.0,
+				monetaryTransactionsModel.getTransactionValue(factory,
+						household), epsilon);
+		assertEquals(0.0,
+				monetaryTransactionsModel.getTransactionValue(household,
+						creditBank), epsilon);
+		assertEquals(15.0, monetaryTransactionsModel.getAdjacencyMatrix()
+				.get(HouseholdImpl.class).get(FactoryImpl.class).getAmount(),
+				epsilon);
+
+		// second period; the swapped matrix starts empty
+		monetaryTransactionsModel.bank_onTransfer(HouseholdImpl.class,
+				CreditBankImpl.class, Currency.EURO, 7.0);
+		monetaryTransactionsModel.nextPeriod();
+
+		assertEquals(0.0,
+				monetaryTransactionsModel.getTransactionValue(household,
+						factory), epsilon);
+		assertEquals(7.0,
+				monetaryTransactionsModel.getTransactionValue(household,
+						creditBank), epsilon);
+
+		// third period without transfers
+		monetaryTransactionsModel.nextPeriod();
+
+		assertEquals(0.0,
+				monetaryTransactionsModel.getTransactionValue(household,
+						creditBank), epsilon);
+	}
+}
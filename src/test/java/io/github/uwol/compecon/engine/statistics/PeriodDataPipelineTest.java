@@ -0,0 +1,139 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PeriodDataPipelineTest {
+
+	protected List<Runnable> createStages(final List<Integer> trace,
+			final int period) {
+		final List<Runnable> stages = new ArrayList<Runnable>();
+
+		for (int i = 0; i < 3; i++) {
+			final int stage = period * 10 + i;
+			stages.add(new Runnable() {
+				@Override
+				public void run() {
+					trace.add(stage);
+				}
+			});
+		}
+
+		return stages;
+	}
+
+	@Test
+	public void testInterruptDoesNotEndAwaitCompletion()
+			throws InterruptedException {
+		final PeriodDataPipeline periodDataPipeline = new PeriodDataPipeline(
+				true);
+		final CountDownLatch stageStarted = new CountDownLatch(1);
+		final List<Integer> trace = new ArrayList<Integer>();
+		final List<Runnable> stages = new ArrayList<Runnable>();
+		stages.add(new Runnable() {
+			@Override
+			public void run() {
+				stageStarted.countDown();
+				try {
+					Thread.sleep(200);
+				} catch (final InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				trace.add(0);
+			}
+		});
+
+		periodDataPipeline.submit(stages);
+		stageStarted.await();
+
+		Thread.currentThread().interrupt();
+		periodDataPipeline.awaitCompletion();
+
+		// the stage has finished and the interrupt is restored
+		Assert.assertTrue(Thread.interrupted());
+		Assert.assertEquals(Arrays.asList(0), trace);
+
+		periodDataPipeline.submit(createStages(trace, 1));
+		periodDataPipeline.shutdown();
+
+		Assert.assertEquals(Arrays.asList(0, 10, 11, 12), trace);
+	}
+
+	@Test
+	public void testPipelinedStagesRunInOrder() {
+		final PeriodDataPipeline periodDataPipeline = new PeriodDataPipeline(
+				true);
+		final List<Integer> trace = new ArrayList<Integer>();
+
+		for (int period = 0; period < 3; period++) {
+			periodDataPipeline.awaitCompletion();
+			periodDataPipeline.submit(createStages(trace, period));
+		}
+
+		periodDataPipeline.shutdown();
+
+		Assert.assertTrue(periodDataPipeline.isPipelined());
+		Assert.assertEquals(
+				Arrays.asList(0, 1, 2, 10, 11, 12, 20, 21, 22), trace);
+	}
+
+	@Test
+	public void testStageFailureIsRethrown() {
+		final PeriodDataPipeline periodDataPipeline = new PeriodDataPipeline(
+				true);
+		final List<Runnable> stages = new ArrayList<Runnable>();
+		stages.add(new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException();
+			}
+		});
+
+		periodDataPipeline.submit(stages);
+
+		try {
+			periodDataPipeline.awaitCompletion();
+			Assert.fail();
+		} catch (final RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		periodDataPipeline.shutdown();
+	}
+
+	@Test
+	public void testSynchronousStages() {
+		final PeriodDataPipeline periodDataPipeline = new PeriodDataPipeline(
+				false);
+		final List<Integer> trace = new ArrayList<Integer>();
+
+		periodDataPipeline.submit(createStages(trace, 0));
+
+		Assert.assertFalse(periodDataPipeline.isPipelined());
+		Assert.assertEquals(Arrays.asList(0, 1, 2), trace);
+	}
+}
@@ -0,0 +1,121 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceBarResolution;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
+
+public class PricesModelTest extends CompEconTestSupport {
+
+	protected final double epsilon = 0.0001;
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testBarsOfMultipleResolutions() {
+		final PricesModel pricesModel = new PricesModel(Currency.EURO);
+
+		// two trades on the first day, one on the last day of january and
+		// one on the first day of february
+		pricesModel.market_onTick(1.0, GoodType.COAL, 10.0, 0, 0);
+		pricesModel.market_onTick(3.0, GoodType.COAL, 10.0, 5, 0);
+		pricesModel.market_onTick(0.5, GoodType.COAL, 10.0, 30 * 24 + 1, 30);
+		pricesModel.market_onTick(2.0, GoodType.COAL, 10.0, 31 * 24 + 1, 31);
+
+		final PriceModel priceModel = pricesModel.getPriceModelsForGoodTypes()
+				.get(GoodType.COAL);
+
+		final PriceBars hourBars = priceModel
+				.getPriceBars(PriceBarResolution.HOUR);
+		assertEquals(4, hourBars.getItemCount());
+		assertEquals(5, hourBars.getPeriodIndex(1));
+
+		final PriceBars dayBars = priceModel
+				.getPriceBars(PriceBarResolution.DAY);
+		assertEquals(3, dayBars.getItemCount());
+		assertEquals(1.0, dayBars.getOpen(0), epsilon);
+		assertEquals(3.0, dayBars.getHigh(0), epsilon);
+		assertEquals(1.0, dayBars.getLow(0), epsilon);
+		assertEquals(3.0, dayBars.getClose(0), epsilon);
+		assertEquals(20.0, dayBars.getVolume(0), epsilon);
+		assertEquals(0, dayBars.getHourTick(0));
+
+		final PriceBars monthBars = priceModel
+				.getPriceBars(PriceBarResolution.MONTH);
+		assertEquals(2, monthBars.getItemCount());
+		assertEquals(1, monthBars.getPeriodIndex(1)
+				- monthBars.getPeriodIndex(0));
+		assertEquals(1.0, monthBars.getOpen(0), epsilon);
+		assertEquals(3.0, monthBars.getHigh(0), epsilon);
+		assertEquals(0.5, monthBars.getLow(0), epsilon);
+		assertEquals(0.5, monthBars.getClose(0), epsilon);
+		assertEquals(30.0, monthBars.getVolume(0), epsilon);
+		assertEquals(2.0, monthBars.getOpen(1), epsilon);
+
+		assertFalse(pricesModel.getPriceModelsForGoodTypes().containsKey(
+				GoodType.WHEAT));
+	}
+
+	@Test
+	public void testRingBufferOverwritesOldestBars() {
+		final PriceBars priceBars = new PriceBars(3);
+
+		for (int i = 0; i < 5; i++) {
+			priceBars.tick(i, i, 1.0, i);
+			priceBars.tick(i, i + 0.5, 1.0, i);
+		}
+		// trades of past periods are added to the newest bar
+		priceBars.tick(2, 10.0, 1.0, 2);
+
+		assertEquals(3, priceBars.getItemCount());
+		assertEquals(5, priceBars.getNumberOfOpenedBars());
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(i + 2, priceBars.getPeriodIndex(i));
+			assertEquals(i + 2, priceBars.getOpen(i), epsilon);
+		}
+
+		assertEquals(3.5, priceBars.getClose(1), epsilon);
+		assertEquals(10.0, priceBars.getHigh(2), epsilon);
+		assertEquals(10.0, priceBars.getClose(2), epsilon);
+		assertEquals(3.0, priceBars.getVolume(2), epsilon);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+
+public class QuantileSketchTest {
+
+	protected final double relativeAccuracy = 0.01;
+
+	@Test
+	public void testEstimatesMatchExactEvaluation() {
+		final PeriodDataDistributionModel exactModel = new PeriodDataDistributionModel(
+				Currency.EURO, 0.0);
+		final PeriodDataDistributionModel sketchModel = new PeriodDataDistributionModel(
+				Currency.EURO, relativeAccuracy);
+
+		// log-normally distributed incomes, some of them zero
+		final Random random = new Random(0);
+		for (int i = 0; i < 100000; i++) {
+			final double value = i % 50 == 0 ? 0.0 : Math.exp(5.0 + random
+					.nextGaussian());
+			exactModel.add(value);
+			sketchModel.add(value);
+		}
+
+		exactModel.nextPeriod();
+		sketchModel.nextPeriod();
+
+		final SummaryStatisticalData exact = exactModel
+				.getSummaryStatisticalData();
+		final SummaryStatisticalData estimated = sketchModel
+				.getSummaryStatisticalData();
+
+		Assert.assertNull(estimated.originalValues);
+		Assert.assertEquals(exact.numberOfValues, estimated.numberOfValues);
+		Assert.assertEquals(exact.yTotalSum, estimated.yTotalSum,
+				exact.yTotalSum * 1E-9);
+
+		Assert.assertEquals(exact.quantil5Percent, estimated.quantil5Percent,
+				exact.quantil5Percent * relativeAccuracy);
+		Assert.assertEquals(exact.quantil50Percent,
+				estimated.quantil50Percent, exact.quantil50Percent
+						* relativeAccuracy);
+		Assert.assertEquals(exact.quantil99Percent,
+				estimated.quantil99Percent, exact.quantil99Percent
+						* relativeAccuracy);
+
+		for (int i = 0; i < exact.xWithPercentY.length; i++) {
+			Assert.assertEquals(exact.xWithPercentY[i],
+					estimated.xWithPercentY[i], exact.xWithPercentY[i]
+							* relativeAccuracy);
+		}
+
+		for (int i = 1; i < exact.ySumAtPercentOfX.length; i++) {
+			Assert.assertEquals(exact.ySumAtPercentOfX[i] / exact.yTotalSum,
+					estimated.ySumAtPercentOfX[i] / estimated.yTotalSum,
+					relativeAccuracy);
+		}
+
+		Assert.assertEquals(exact.gini, estimated.gini, relativeAccuracy);
+	}
+
+	@Test
+	public void testMerge() {
+		final QuantileSketch quantileSketch = new QuantileSketch(
+				relativeAccuracy);
+		final QuantileSketch quantileSketch1 = new QuantileSketch(
+				relativeAccuracy);
+		final QuantileSketch quantileSketch2 = new QuantileSketch(
+				relativeAccuracy);
+
+		for (int value = 0; value <= 1000; value++) {
+			quantileSketch.add(value);
+			quantileSketch.add(value * 1000.0);
+
+			// workers fill sketches of disjoint value ranges
+			quantileSketch1.add(value);
+			quantileSketch2.add(value * 1000.0);
+		}
+
+		quantileSketch1.merge(quantileSketch2);
+
+		Assert.assertEquals(quantileSketch.getTotalCount(),
+				quantileSketch1.getTotalCount());
+		Assert.assertEquals(quantileSketch.getTotalSum(),
+				quantileSketch1.getTotalSum(), 0.0);
+		Assert.assertEquals(1000000.0, quantileSketch1.getMax(), 0.0);
+
+		for (double quantile = 0.0; quantile <= 1.0; quantile += 0.05) {
+			Assert.assertEquals(quantileSketch.getValueAtQuantile(quantile),
+					quantileSketch1.getValueAtQuantile(quantile), 0.0);
+		}
+		Assert.assertEquals(quantileSketch.getGini(),
+				quantileSketch1.getGini(), 1E-9);
+	}
+}
@@ -0,0 +1,118 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBus.StatisticsEventBusPolicy;
+import io.github.uwol.compecon.engine.statistics.StatisticsEventBus.StatisticsEventType;
+
+public class StatisticsEventBusTest extends CompEconTestSupport {
+
+	protected final int NUMBER_OF_EVENTS = 1000;
+
+	protected void publishKeyInterestRates(
+			final StatisticsEventBus statisticsEventBus) {
+		for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+			for (final Currency currency : Currency.values()) {
+				statisticsEventBus.publish(
+						StatisticsEventType.KEY_INTEREST_RATE, currency, null,
+						null, null, 1.0, 0);
+			}
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testBlockingBusAppliesAllEvents() {
+		final ModelRegistry modelRegistry = ApplicationContext.getInstance()
+				.getModelRegistry();
+		final StatisticsEventBus statisticsEventBus = new StatisticsEventBus(
+				modelRegistry, StatisticsEventBusPolicy.BLOCK, 4, 2);
+
+		publishKeyInterestRates(statisticsEventBus);
+		statisticsEventBus.drain();
+
+		for (final Currency currency : Currency.values()) {
+			assertEquals(NUMBER_OF_EVENTS, modelRegistry
+					.getNationalEconomyModel(currency).keyInterestRateModel
+					.getValue(), epsilon);
+		}
+		assertEquals(0, statisticsEventBus.getNumberOfDroppedEvents());
+		assertEquals(0, statisticsEventBus.getNumberOfPendingEvents());
+
+		statisticsEventBus.shutdown();
+	}
+
+	@Test
+	public void testDroppingBusCountsDroppedEvents() {
+		final ModelRegistry modelRegistry = ApplicationContext.getInstance()
+				.getModelRegistry();
+		final StatisticsEventBus statisticsEventBus = new StatisticsEventBus(
+				modelRegistry, StatisticsEventBusPolicy.DROP, 4, 1);
+
+		publishKeyInterestRates(statisticsEventBus);
+		statisticsEventBus.shutdown();
+
+		double applied = 0;
+		for (final Currency currency : Currency.values()) {
+			applied += modelRegistry.getNationalEconomyModel(currency).keyInterestRateModel
+					.getValue();
+		}
+		assertEquals(NUMBER_OF_EVENTS * Currency.values().length, applied
+				+ statisticsEventBus.getNumberOfDroppedEvents(), epsilon);
+	}
+
+	@Test
+	public void testSynchronousBusAppliesOnPublication() {
+		final ModelRegistry modelRegistry = ApplicationContext.getInstance()
+				.getModelRegistry();
+		final StatisticsEventBus statisticsEventBus = modelRegistry
+				.getStatisticsEventBus();
+
+		assertEquals(StatisticsEventBusPolicy.SYNCHRONOUS,
+				statisticsEventBus.getPolicy());
+
+		statisticsEventBus.publish(StatisticsEventType.PRICE_INDEX,
+				Currency.EURO, null, null, null, 2.0, 0);
+
+		assertEquals(2.0, modelRegistry.getNationalEconomyModel(Currency.EURO).priceIndexModel
+				.getValue(), epsilon);
+	}
+}
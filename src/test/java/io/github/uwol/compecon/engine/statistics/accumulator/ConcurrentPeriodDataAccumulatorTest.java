@@ -0,0 +1,100 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.accumulator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentPeriodDataAccumulatorTest {
+
+	protected final int numberOfAdds = 10000;
+
+	protected final int numberOfThreads = 4;
+
+	protected double accumulateConcurrently(
+			final PeriodDataAccumulator periodDataAccumulator)
+			throws InterruptedException {
+		final Thread[] threads = new Thread[numberOfThreads];
+
+		for (int i = 0; i < numberOfThreads; i++) {
+			final int threadNumber = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < numberOfAdds; j++) {
+						periodDataAccumulator.add(0.1 * (threadNumber + 1));
+					}
+				}
+			});
+		}
+
+		// start in reverse order, so that cells are registered out of order
+		for (int i = numberOfThreads - 1; i >= 0; i--) {
+			threads[i].start();
+		}
+
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		return periodDataAccumulator.getAmount();
+	}
+
+	@Test
+	public void testConcurrentAdd() throws InterruptedException {
+		final ConcurrentPeriodDataAccumulator periodDataAccumulator = new ConcurrentPeriodDataAccumulator();
+
+		final double amount = accumulateConcurrently(periodDataAccumulator);
+		Assert.assertEquals(numberOfAdds * 0.1 * (1 + 2 + 3 + 4), amount,
+				0.0001);
+
+		// the combined sum does not depend on the scheduling of threads
+		for (int i = 0; i < 5; i++) {
+			Assert.assertEquals(amount,
+					accumulateConcurrently(new ConcurrentPeriodDataAccumulator()),
+					0.0);
+		}
+
+		periodDataAccumulator.reset();
+		Assert.assertEquals(0.0, periodDataAccumulator.getAmount(), 0.0);
+
+		periodDataAccumulator.add(1.0);
+		Assert.assertEquals(1.0, periodDataAccumulator.getAmount(), 0.0);
+	}
+
+	@Test
+	public void testCellsOfTerminatedThreadsArePruned()
+			throws InterruptedException {
+		final ConcurrentPeriodDataAccumulator periodDataAccumulator = new ConcurrentPeriodDataAccumulator();
+
+		periodDataAccumulator.add(1.0);
+		accumulateConcurrently(periodDataAccumulator);
+		Assert.assertEquals(numberOfThreads + 1,
+				periodDataAccumulator.cells.length);
+
+		// only the cell of the current thread survives
+		periodDataAccumulator.reset();
+		Assert.assertEquals(1, periodDataAccumulator.cells.length);
+
+		periodDataAccumulator.add(1.0);
+		Assert.assertEquals(1.0, periodDataAccumulator.getAmount(), 0.0);
+		Assert.assertEquals(1, periodDataAccumulator.cells.length);
+	}
+}
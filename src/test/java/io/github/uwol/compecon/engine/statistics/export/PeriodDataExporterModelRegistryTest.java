@@ -0,0 +1,153 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporter.PeriodDataExportFormat;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage;
+
+public class PeriodDataExporterModelRegistryTest extends CompEconTestSupport {
+
+	protected static final String STATISTICS_PACKAGE = "io.github.uwol.compecon.engine.statistics";
+
+	/**
+	 * collects the period data storages reachable from the object via fields,
+	 * maps, collections and arrays of statistics models
+	 */
+	protected static void collectPeriodDataStorages(final Object object,
+			final Set<Object> visited, final Set<PeriodDataStorage> storages)
+			throws IllegalAccessException {
+		if (object == null || !visited.add(object)) {
+			return;
+		}
+
+		if (object instanceof PeriodDataStorage) {
+			storages.add((PeriodDataStorage) object);
+		} else if (object instanceof Map) {
+			for (final Object value : ((Map<?, ?>) object).values()) {
+				collectPeriodDataStorages(value, visited, storages);
+			}
+		} else if (object instanceof Collection) {
+			for (final Object element : (Collection<?>) object) {
+				collectPeriodDataStorages(element, visited, storages);
+			}
+		} else if (object instanceof Object[]) {
+			for (final Object element : (Object[]) object) {
+				collectPeriodDataStorages(element, visited, storages);
+			}
+		} else {
+			for (Class<?> clazz = object.getClass(); clazz != null
+					&& clazz.getName().startsWith(STATISTICS_PACKAGE); clazz = clazz
+					.getSuperclass()) {
+				for (final Field field : clazz.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())
+							&& !field.isSynthetic()
+							&& !field.getType().isPrimitive()) {
+						field.setAccessible(true);
+						collectPeriodDataStorages(field.get(object), visited,
+								storages);
+					}
+				}
+			}
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testEveryModelIsExportableByName() throws IOException,
+			IllegalAccessException {
+		final PeriodDataExporter periodDataExporter = ApplicationContext
+				.getInstance().getPeriodDataExporter();
+
+		final Set<PeriodDataStorage> storages = Collections
+				.newSetFromMap(new IdentityHashMap<PeriodDataStorage, Boolean>());
+		collectPeriodDataStorages(ApplicationContext.getInstance()
+				.getModelRegistry(), Collections
+				.newSetFromMap(new IdentityHashMap<Object, Boolean>()),
+				storages);
+		assertTrue(storages.size() > 0);
+
+		final Set<PeriodDataStorage> registeredStorages = Collections
+				.newSetFromMap(new IdentityHashMap<PeriodDataStorage, Boolean>());
+		registeredStorages.addAll(periodDataExporter.periodDataStorages
+				.values());
+		assertEquals(storages, registeredStorages);
+		assertEquals(storages.size(), periodDataExporter.getNames().size());
+
+		final File directory = Files.createTempDirectory("compecon-test-export")
+				.toFile();
+		final List<File> files = new ArrayList<File>();
+
+		try {
+			for (final String name : periodDataExporter.getNames()) {
+				final File file = new File(directory, files.size() + ".bin");
+				files.add(file);
+				periodDataExporter.export(name, file,
+						PeriodDataExportFormat.COLUMNAR);
+			}
+
+			ApplicationContext.getInstance().getModelRegistry().nextPeriod();
+			ApplicationContext.getInstance().getModelRegistry()
+					.getPeriodDataPipeline().awaitCompletion();
+			periodDataExporter.close();
+
+			for (final File file : files) {
+				assertTrue(file.exists());
+			}
+		} finally {
+			for (final File file : files) {
+				file.delete();
+			}
+			directory.delete();
+		}
+	}
+}
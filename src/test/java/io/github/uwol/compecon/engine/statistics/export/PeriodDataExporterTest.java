@@ -0,0 +1,207 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Test;
+
+import io.github.uwol.compecon.engine.statistics.export.PeriodDataExporter.PeriodDataExportFormat;
+import io.github.uwol.compecon.engine.statistics.timeseries.RingBufferPeriodDataStorage;
+
+public class PeriodDataExporterTest {
+
+	protected final double epsilon = 0.0001;
+
+	@Test
+	public void testCloseUnregistersListeners() throws IOException {
+		final File directory = Files.createTempDirectory("compecon-test-export")
+				.toFile();
+		final File csvFile = new File(directory, "m1.csv.gz");
+
+		try {
+			final RingBufferPeriodDataStorage m1Storage = new RingBufferPeriodDataStorage(
+					"EUR M1", 10);
+
+			final PeriodDataExporter periodDataExporter = new PeriodDataExporter();
+			periodDataExporter.register("EUR M1", m1Storage);
+			periodDataExporter.export("EUR M1", csvFile,
+					PeriodDataExportFormat.CSV_GZIP);
+
+			final Date startDate = new GregorianCalendar(2000, 0, 1).getTime();
+			m1Storage.addOrUpdate(startDate, 1.0);
+			periodDataExporter.close();
+			assertEquals(1, periodDataExporter.numberOfAppendedRows);
+
+			// periods closed after the export do not reach the exporter
+			m1Storage.addOrUpdate(DateUtils.addDays(startDate, 1), 2.0);
+			assertEquals(1, periodDataExporter.numberOfAppendedRows);
+			assertTrue(periodDataExporter.listeners.isEmpty());
+		} finally {
+			assertTrue(csvFile.delete());
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testExportByTitle() throws IOException {
+		final File directory = Files.createTempDirectory("compecon-test-export")
+				.toFile();
+		final File csvFile = new File(directory, "m1.csv.gz");
+		final File columnarFile = new File(directory, "output.bin");
+
+		try {
+			final RingBufferPeriodDataStorage m1Storage = new RingBufferPeriodDataStorage(
+					"EUR M1", 10);
+			final RingBufferPeriodDataStorage outputStorage = new RingBufferPeriodDataStorage(
+					"EUR COAL output", 10);
+			final RingBufferPeriodDataStorage duplicateStorage = new RingBufferPeriodDataStorage(
+					"EUR M1", 10);
+
+			final PeriodDataExporter periodDataExporter = new PeriodDataExporter();
+			periodDataExporter.register("EUR M1", m1Storage);
+			periodDataExporter.register("EUR COAL output", outputStorage);
+			assertEquals(2, periodDataExporter.getNames().size());
+
+			try {
+				periodDataExporter.register("EUR M1", duplicateStorage);
+				fail();
+			} catch (final IllegalArgumentException e) {
+				// names are unique
+			}
+
+			periodDataExporter.export("EUR M1", csvFile,
+					PeriodDataExportFormat.CSV_GZIP);
+			periodDataExporter.export("EUR COAL output", columnarFile,
+					PeriodDataExportFormat.COLUMNAR);
+
+			// more rows than fit into a batch and a columnar block
+			final int numberOfDays = 10000;
+			final Date startDate = new GregorianCalendar(2000, 0, 1).getTime();
+			for (int i = 0; i < numberOfDays; i++) {
+				final Date date = DateUtils.addDays(startDate, i);
+				m1Storage.addOrUpdate(date, i * 0.25);
+				outputStorage.addOrUpdate(date, -i);
+				duplicateStorage.addOrUpdate(date, 1.0);
+			}
+
+			periodDataExporter.close();
+
+			final BufferedReader reader = new BufferedReader(
+					new InputStreamReader(new GZIPInputStream(
+							new FileInputStream(csvFile))));
+			try {
+				assertEquals("date;EUR M1", reader.readLine());
+				assertEquals("2000-01-01;0.0", reader.readLine());
+				assertEquals("2000-01-02;0.25", reader.readLine());
+
+				int numberOfLines = 2;
+				while (reader.readLine() != null) {
+					numberOfLines++;
+				}
+				assertEquals(numberOfDays, numberOfLines);
+			} finally {
+				reader.close();
+			}
+
+			final ColumnarPeriodDataReader columnarReader = new ColumnarPeriodDataReader(
+					columnarFile);
+			assertEquals(numberOfDays, columnarReader.getNumberOfRows());
+			for (int i = 0; i < numberOfDays; i++) {
+				assertEquals(DateUtils.addDays(startDate, i).getTime(),
+						columnarReader.getDate(i));
+				assertEquals(-i, columnarReader.getValue(i), epsilon);
+			}
+		} finally {
+			assertTrue(csvFile.delete());
+			assertTrue(columnarFile.delete());
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testFailedWriterDoesNotBlockAppending() throws IOException,
+			InterruptedException {
+		final File directory = Files.createTempDirectory("compecon-test-export")
+				.toFile();
+		final File csvFile = new File(directory, "m1.csv.gz");
+
+		try {
+			final RingBufferPeriodDataStorage m1Storage = new RingBufferPeriodDataStorage(
+					"EUR M1", 10);
+
+			final PeriodDataExporter periodDataExporter = new PeriodDataExporter();
+			periodDataExporter.register("EUR M1", m1Storage);
+			periodDataExporter.export("EUR M1", csvFile,
+					PeriodDataExportFormat.CSV_GZIP);
+
+			// the writer fails while all free batches are in use
+			periodDataExporter.freeBatches.clear();
+			periodDataExporter.failure = new IOException();
+
+			try {
+				periodDataExporter.takeFreeBatch();
+				fail();
+			} catch (final RuntimeException e) {
+				assertTrue(e.getCause() instanceof IOException);
+			}
+
+			periodDataExporter.failure = null;
+
+			// the writer has stopped
+			final Thread writerThread = periodDataExporter.writerThread;
+			periodDataExporter.handOver(PeriodDataExporter.END_OF_EXPORT);
+			writerThread.join();
+			assertFalse(writerThread.isAlive());
+
+			try {
+				periodDataExporter.takeFreeBatch();
+				fail();
+			} catch (final IllegalStateException e) {
+				// expected
+			}
+
+			periodDataExporter.close();
+		} finally {
+			assertTrue(csvFile.delete());
+			directory.delete();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownTitle() {
+		new PeriodDataExporter().export("unknown", new File("unknown"),
+				PeriodDataExportFormat.COLUMNAR);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.Random;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Test;
+
+public class CompressedPeriodDataStorageTest {
+
+	protected final double epsilon = 0.0001;
+
+	@Test
+	public void testFullHistoryIsDecoded() {
+		// budget 0 spills all sealed blocks to the memory-mapped file
+		final PeriodDataStore periodDataStore = new PeriodDataStore(0);
+		final CompressedPeriodDataStorage periodDataStorage = new CompressedPeriodDataStorage(
+				periodDataStore, "test");
+
+		final Random random = new Random(0);
+		final int numberOfDays = 2000;
+		final Date[] dates = new Date[numberOfDays];
+		final double[] values = new double[numberOfDays];
+		Date date = new Date(0);
+
+		for (int i = 0; i < numberOfDays; i++) {
+			// irregular gaps and times of day
+			date = DateUtils.addDays(date, i % 100 == 0 ? 1 + random.nextInt(
+					400) : 1);
+			dates[i] = DateUtils.addMinutes(date, random.nextInt(60));
+			values[i] = i % 3 == 0 ? values[Math.max(0, i - 1)] : random
+					.nextGaussian() * 1000.0;
+			periodDataStorage.addOrUpdate(dates[i], values[i]);
+		}
+
+		assertEquals(numberOfDays, periodDataStorage.getItemCount());
+		assertTrue(periodDataStore.getMappedBytes() > 0);
+
+		for (int i = 0; i < numberOfDays; i++) {
+			assertEquals(dates[i], periodDataStorage.getDate(i));
+			assertEquals(values[i], periodDataStorage.getValue(i), 0.0);
+		}
+
+		final long[] readDates = new long[500];
+		final double[] readValues = new double[500];
+		periodDataStorage.read(numberOfDays - 500, numberOfDays, readDates,
+				readValues);
+
+		for (int i = 0; i < 500; i++) {
+			assertEquals(dates[numberOfDays - 500 + i].getTime(),
+					readDates[i]);
+			assertEquals(values[numberOfDays - 500 + i], readValues[i], 0.0);
+		}
+
+		periodDataStore.close();
+	}
+
+	@Test
+	public void testSameDayIsUpdated() {
+		final PeriodDataStore periodDataStore = new PeriodDataStore(1024);
+		final CompressedPeriodDataStorage periodDataStorage = new CompressedPeriodDataStorage(
+				periodDataStore, "test");
+
+		final Date date = new Date(0);
+		periodDataStorage.addOrUpdate(date, 1.0);
+		periodDataStorage.addOrUpdate(DateUtils.addHours(date, 1), 2.0);
+		periodDataStorage.addOrUpdate(DateUtils.addDays(date, 1), 3.0);
+
+		assertEquals(2, periodDataStorage.getItemCount());
+		assertEquals(2.0, periodDataStorage.getValue(0), epsilon);
+		assertEquals(3.0, periodDataStorage.getValue(1), epsilon);
+		assertEquals(date, periodDataStorage.getDate(0));
+	}
+}
@@ -0,0 +1,205 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.tape;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.tape.TradeTapeReader.TradeTapeListener;
+
+public class TradeTapeTest {
+
+	protected final double epsilon = 0.0001;
+
+	protected void delete(final File directory) {
+		for (final File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test(timeout = 10000)
+	public void testFailedWriterDoesNotBlockRecording() throws IOException {
+		final File directory = Files.createTempDirectory("compecon-test-tape")
+				.toFile();
+
+		try {
+			final TradeTape tradeTape = new TradeTape(directory,
+					TradeTape.HEADER_SIZE + 1000 * TradeTape.RECORD_SIZE);
+
+			// the writer fails while all free batches are in use
+			tradeTape.freeBatches.clear();
+			tradeTape.failure = new IOException();
+
+			try {
+				tradeTape.takeFreeBatch();
+				fail();
+			} catch (final RuntimeException e) {
+				assertTrue(e.getCause() instanceof IOException);
+			}
+
+			tradeTape.failure = null;
+			tradeTape.close();
+			assertFalse(tradeTape.writerThread.isAlive());
+
+			// the writer has stopped
+			tradeTape.freeBatches.clear();
+
+			try {
+				tradeTape.takeFreeBatch();
+				fail();
+			} catch (final IllegalStateException e) {
+				// expected
+			}
+		} finally {
+			delete(directory);
+		}
+	}
+
+	@Test
+	public void testEarlierTapeInDirectoryIsNotReplayed() throws IOException {
+		final File directory = Files.createTempDirectory("compecon-test-tape")
+				.toFile();
+
+		try {
+			final TradeTape earlierTradeTape = new TradeTape(directory,
+					TradeTape.HEADER_SIZE + 1000 * TradeTape.RECORD_SIZE);
+			for (int i = 0; i < 2500; i++) {
+				earlierTradeTape.record(i, Currency.EURO, GoodType.COAL, null,
+						1.0, 1.0, -1, -1);
+			}
+			earlierTradeTape.close();
+			assertTrue(TradeTape.getSegmentFile(directory, 2).exists());
+
+			// larger segments, fewer records
+			final TradeTape tradeTape = new TradeTape(directory,
+					TradeTape.HEADER_SIZE + 2000 * TradeTape.RECORD_SIZE);
+			for (int i = 0; i < 300; i++) {
+				tradeTape.record(i, Currency.USDOLLAR, GoodType.WHEAT, null,
+						2.0, 3.0, -1, -1);
+			}
+			tradeTape.close();
+			assertFalse(TradeTape.getSegmentFile(directory, 1).exists());
+			assertEquals(TradeTape.HEADER_SIZE + 2000 * TradeTape.RECORD_SIZE,
+					TradeTape.getSegmentFile(directory, 0).length());
+
+			final TradeTapeReader tradeTapeReader = new TradeTapeReader(
+					directory);
+			assertEquals(300, tradeTapeReader.getNumberOfRecords());
+			for (int i = 0; i < 300; i++) {
+				assertEquals(i, tradeTapeReader.getHourTick(i));
+				assertEquals(Currency.USDOLLAR, tradeTapeReader.getCurrency(i));
+				assertEquals(GoodType.WHEAT, tradeTapeReader.getGoodType(i));
+			}
+		} finally {
+			delete(directory);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSegmentSizeIsValidated() throws IOException {
+		final File directory = Files.createTempDirectory("compecon-test-tape")
+				.toFile();
+
+		try {
+			new TradeTape(directory, 2048L * 1024L * 1024L);
+		} finally {
+			delete(directory);
+		}
+	}
+
+	@Test
+	public void testRecordsAreReadBackAcrossSegments() throws IOException {
+		final File directory = Files.createTempDirectory("compecon-test-tape")
+				.toFile();
+
+		try {
+			// small segments force the writer to roll several files
+			final TradeTape tradeTape = new TradeTape(directory,
+					TradeTape.HEADER_SIZE + 1000 * TradeTape.RECORD_SIZE);
+			final int numberOfRecords = 5000;
+
+			for (int i = 0; i < numberOfRecords; i++) {
+				if (i % 2 == 0) {
+					tradeTape.record(i / 10, Currency.EURO,
+							GoodType.values()[i % GoodType.values().length],
+							null, i * 0.5, i, i, -1);
+				} else {
+					tradeTape.record(i / 10, Currency.USDOLLAR, null,
+							Currency.YEN, i * 0.5, i, -1, i);
+				}
+			}
+
+			tradeTape.flush();
+			assertEquals(numberOfRecords, tradeTape.getNumberOfRecordedRecords());
+			tradeTape.close();
+
+			assertTrue(TradeTape.getSegmentFile(directory, 4).exists());
+
+			final TradeTapeReader tradeTapeReader = new TradeTapeReader(
+					directory);
+			assertEquals(numberOfRecords, tradeTapeReader.getNumberOfRecords());
+
+			assertEquals(123 / 10, tradeTapeReader.getHourTick(123));
+			assertEquals(Currency.USDOLLAR, tradeTapeReader.getCurrency(123));
+			assertNull(tradeTapeReader.getGoodType(123));
+			assertEquals(Currency.YEN,
+					tradeTapeReader.getCommodityCurrency(123));
+			assertEquals(4321 * 0.5, tradeTapeReader.getPricePerUnit(4321),
+					epsilon);
+			assertEquals(4000, tradeTapeReader.getAmount(4000), epsilon);
+			assertEquals(
+					GoodType.values()[4000 % GoodType.values().length],
+					tradeTapeReader.getGoodType(4000));
+			assertEquals(4000, tradeTapeReader.getBuyerId(4000));
+			assertEquals(-1, tradeTapeReader.getSellerId(4000));
+
+			final long[] numberOfReplayedRecords = new long[1];
+			tradeTapeReader.replay(new TradeTapeListener() {
+				@Override
+				public void onTrade(final long hourTick,
+						final Currency currency, final GoodType goodType,
+						final Currency commodityCurrency,
+						final double pricePerUnit, final double amount,
+						final int buyerId, final int sellerId) {
+					final long i = numberOfReplayedRecords[0]++;
+					assertEquals(i / 10, hourTick);
+					assertEquals(i * 0.5, pricePerUnit, epsilon);
+					assertEquals(i % 2 == 0, goodType != null);
+					assertEquals(i % 2 == 0, commodityCurrency == null);
+				}
+			});
+			assertEquals(numberOfRecords, numberOfReplayedRecords[0]);
+		} finally {
+			delete(directory);
+		}
+	}
+}
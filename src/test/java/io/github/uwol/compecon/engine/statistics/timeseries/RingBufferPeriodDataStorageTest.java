@@ -0,0 +1,95 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Test;
+
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataStorage.PeriodDataStorageListener;
+
+public class RingBufferPeriodDataStorageTest {
+
+	protected final double epsilon = 0.0001;
+
+	@Test
+	public void testNextLocalDayIsAppended() {
+		final RingBufferPeriodDataStorage periodDataStorage = new RingBufferPeriodDataStorage(
+				"test", 3);
+
+		// local time, as the day boundaries are those of the default time zone
+		final Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2000, Calendar.MARCH, 1, 23, 0);
+		periodDataStorage.addOrUpdate(calendar.getTime(), 1.0);
+		calendar.set(2000, Calendar.MARCH, 1, 0, 0);
+		periodDataStorage.addOrUpdate(calendar.getTime(), 2.0);
+		calendar.set(2000, Calendar.MARCH, 2, 1, 0);
+		periodDataStorage.addOrUpdate(calendar.getTime(), 3.0);
+
+		assertEquals(2, periodDataStorage.getItemCount());
+		assertEquals(2.0, periodDataStorage.getValue(0), epsilon);
+		assertEquals(3.0, periodDataStorage.getValue(1), epsilon);
+	}
+
+	@Test
+	public void testOldestPeriodsAreOverwritten() {
+		final RingBufferPeriodDataStorage periodDataStorage = new RingBufferPeriodDataStorage(
+				"test", 3);
+		final Date startDate = new Date(0);
+
+		for (int i = 0; i < 5; i++) {
+			periodDataStorage.addOrUpdate(DateUtils.addDays(startDate, i), i);
+		}
+
+		assertEquals(3, periodDataStorage.getItemCount());
+		assertEquals(2.0, periodDataStorage.getValue(0), epsilon);
+		assertEquals(4.0, periodDataStorage.getValue(2), epsilon);
+		assertEquals(DateUtils.addDays(startDate, 2),
+				periodDataStorage.getDate(0));
+	}
+
+	@Test
+	public void testSameDayIsUpdated() {
+		final RingBufferPeriodDataStorage periodDataStorage = new RingBufferPeriodDataStorage(
+				"test", 3);
+		final List<Double> notifiedValues = new ArrayList<Double>();
+		periodDataStorage.registerListener(new PeriodDataStorageListener() {
+			@Override
+			public void notifyPeriodClosed(final Date date, final double value) {
+				notifiedValues.add(value);
+			}
+		});
+
+		final Date date = new Date(0);
+		periodDataStorage.addOrUpdate(date, 1.0);
+		periodDataStorage.addOrUpdate(DateUtils.addHours(date, 1), 2.0);
+
+		assertEquals(1, periodDataStorage.getItemCount());
+		assertEquals(2.0, periodDataStorage.getValue(0), epsilon);
+		assertEquals(2, notifiedValues.size());
+	}
+}
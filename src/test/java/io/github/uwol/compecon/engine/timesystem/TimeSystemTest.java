@@ -0,0 +1,274 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem;
+
+import java.io.IOException;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.impl.DayType;
+import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
+
+public class TimeSystemTest extends CompEconTestSupport {
+
+	protected static class CountingEvent implements TimeSystemEvent {
+
+		protected int numberOfEvents = 0;
+
+		@Override
+		public boolean isDeconstructed() {
+			return false;
+		}
+
+		@Override
+		public void onEvent() {
+			numberOfEvents++;
+		}
+	}
+
+	protected void nextDays(final int numberOfDays) {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+		for (int i = 0; i < numberOfDays * 24; i++) {
+			timeSystem.nextHour();
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testCalendar() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+		final GregorianCalendar gregorianCalendar = new GregorianCalendar(
+				timeSystem.getCurrentYear(), 0, 1);
+
+		// covers the leap year 2004
+		for (int day = 0; day < 5 * 365; day++) {
+			Assert.assertEquals(gregorianCalendar.get(GregorianCalendar.YEAR),
+					timeSystem.getCurrentYear());
+			Assert.assertEquals(
+					gregorianCalendar.get(GregorianCalendar.MONTH) + 1,
+					timeSystem.getCurrentMonthNumberInYear());
+			Assert.assertEquals(
+					gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH),
+					timeSystem.getCurrentDayNumberInMonth());
+			Assert.assertEquals(day, timeSystem.getDayNumber());
+			Assert.assertEquals(day * 24L, timeSystem.getCurrentHourTick());
+			Assert.assertEquals(gregorianCalendar.getTime(),
+					timeSystem.getCurrentDate());
+
+			nextDays(1);
+			gregorianCalendar.add(GregorianCalendar.DAY_OF_MONTH, 1);
+		}
+	}
+
+	@Test
+	public void testEventProfiler() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+
+		timeSystem.addEventForEveryMorning(new CountingEvent());
+		timeSystem.addEventForEveryEvening(new CountingEvent());
+
+		nextDays(2);
+
+		Assert.assertEquals(4, timeSystem.getEventProfiler()
+				.getNumberOfEvents(CountingEvent.class));
+		final long[] numberOfEventsByHour = timeSystem.getEventProfiler()
+				.getNumberOfEventsByHour();
+		Assert.assertEquals(2, numberOfEventsByHour[7]);
+		Assert.assertEquals(2, numberOfEventsByHour[18]);
+		Assert.assertEquals(0, numberOfEventsByHour[12]);
+		Assert.assertEquals(1,
+				timeSystem.getEventProfiler().getEventClassSummaries().length);
+
+		timeSystem.getEventProfiler().reset();
+		Assert.assertEquals(0, timeSystem.getEventProfiler()
+				.getNumberOfEvents(CountingEvent.class));
+	}
+
+	@Test
+	public void testNextEventHour() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+
+		final CountingEvent inTheMorning = new CountingEvent();
+		timeSystem.addEventForEveryMorning(inTheMorning);
+
+		// skips to the event
+		timeSystem.nextEventHour();
+		Assert.assertEquals(7, timeSystem.getCurrentHourNumber());
+		Assert.assertEquals(1, inTheMorning.numberOfEvents);
+
+		// stops at the start of the next day
+		timeSystem.nextEventHour();
+		Assert.assertEquals(0, timeSystem.getCurrentHourNumber());
+		Assert.assertEquals(1, timeSystem.getDayNumber());
+
+		timeSystem.nextEventHour();
+		Assert.assertEquals(7, timeSystem.getCurrentHourNumber());
+		Assert.assertEquals(2, inTheMorning.numberOfEvents);
+	}
+
+	@Test
+	public void testOneTimeEvent() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+		final int year = timeSystem.getCurrentYear();
+
+		// beyond the day wheel, so that the event cascades in a later round
+		final CountingEvent inTwoYears = new CountingEvent();
+		final TimeSystemEventHandle handle = timeSystem.addEvent(inTwoYears,
+				year + 2, MonthType.JANUARY, DayType.DAY_03, HourType.HOUR_05);
+
+		// does never occur
+		final CountingEvent inThePast = new CountingEvent();
+		Assert.assertFalse(timeSystem.addEvent(inThePast, year - 1,
+				MonthType.JANUARY, DayType.DAY_03, HourType.HOUR_05)
+				.isScheduled());
+		final CountingEvent invalidDate = new CountingEvent();
+		Assert.assertFalse(timeSystem.addEvent(invalidDate, year + 1,
+				MonthType.FEBRUARY, DayType.DAY_30, HourType.HOUR_05)
+				.isScheduled());
+
+		nextDays(365 + 365 + 2);
+		Assert.assertEquals(0, inTwoYears.numberOfEvents);
+		Assert.assertTrue(handle.isScheduled());
+
+		nextDays(1);
+		Assert.assertEquals(1, inTwoYears.numberOfEvents);
+		Assert.assertFalse(handle.isScheduled());
+
+		nextDays(400);
+		Assert.assertEquals(1, inTwoYears.numberOfEvents);
+		Assert.assertEquals(0, inThePast.numberOfEvents);
+		Assert.assertEquals(0, invalidDate.numberOfEvents);
+	}
+
+	@Test
+	public void testPassedHourOfCurrentDay() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+		final int year = timeSystem.getCurrentYear();
+
+		// the first hour of the simulation is never triggered
+		Assert.assertFalse(timeSystem.addEvent(new CountingEvent(), year,
+				MonthType.JANUARY, DayType.DAY_01, HourType.HOUR_00)
+				.isScheduled());
+
+		// hours without events are skipped by the time system
+		for (int i = 0; i < 10; i++) {
+			timeSystem.nextHour();
+		}
+
+		final CountingEvent inThePast = new CountingEvent();
+		Assert.assertFalse(timeSystem.addEvent(inThePast, year,
+				MonthType.JANUARY, DayType.DAY_01, HourType.HOUR_05)
+				.isScheduled());
+		final CountingEvent inTheFuture = new CountingEvent();
+		Assert.assertTrue(timeSystem.addEvent(inTheFuture, year,
+				MonthType.JANUARY, DayType.DAY_01, HourType.HOUR_15)
+				.isScheduled());
+
+		nextDays(1);
+		Assert.assertEquals(0, inThePast.numberOfEvents);
+		Assert.assertEquals(1, inTheFuture.numberOfEvents);
+	}
+
+	@Test
+	public void testRecurringEvents() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+
+		final CountingEvent everyDay = new CountingEvent();
+		final TimeSystemEventHandle everyDayHandle = timeSystem
+				.addEventForEveryDay(everyDay);
+		final CountingEvent everyHour = new CountingEvent();
+		timeSystem.addEventForEveryHour(everyHour);
+		final CountingEvent onDay02 = new CountingEvent();
+		timeSystem.addEvent(onDay02, -1, MonthType.EVERY, DayType.DAY_02,
+				HourType.HOUR_12);
+		final CountingEvent everyHourExcept00 = new CountingEvent();
+		final TimeSystemEventHandle everyHourExcept00Handle = timeSystem
+				.addEventEvery(everyHourExcept00, -1, MonthType.EVERY,
+						DayType.EVERY, HourType.HOUR_00);
+
+		nextDays(3);
+		Assert.assertEquals(3, everyDay.numberOfEvents);
+		Assert.assertEquals(3 * 24, everyHour.numberOfEvents);
+		Assert.assertEquals(1, onDay02.numberOfEvents);
+		Assert.assertEquals(3 * 23, everyHourExcept00.numberOfEvents);
+
+		everyDayHandle.cancel();
+		everyHourExcept00Handle.cancel();
+		final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+		events.add(everyHour);
+		timeSystem.removeEvents(events);
+
+		nextDays(3);
+		Assert.assertEquals(3, everyDay.numberOfEvents);
+		Assert.assertEquals(3 * 24, everyHour.numberOfEvents);
+		Assert.assertEquals(1, onDay02.numberOfEvents);
+		Assert.assertEquals(3 * 23, everyHourExcept00.numberOfEvents);
+	}
+
+	@Test
+	public void testSuggestHourType() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance()
+				.getTimeSystem();
+		final CountingEvent event = new CountingEvent();
+
+		for (int i = 0; i < 3 * 22; i++) {
+			final double[] hourLoads = timeSystem.getHourLoads();
+			final HourType hourType = timeSystem.suggestRandomHourType();
+			final int hour = hourType.getHourNumber();
+
+			// least loaded hour of the eligible ones
+			Assert.assertTrue(hour >= 1 && hour <= 22);
+			for (int otherHour = 1; otherHour <= 22; otherHour++) {
+				Assert.assertTrue(hourLoads[hour] <= hourLoads[otherHour]);
+			}
+
+			timeSystem.addEvent(event, -1, MonthType.EVERY, DayType.EVERY,
+					hourType);
+			Assert.assertEquals(hourLoads[hour] + 1.0,
+					timeSystem.getHourLoads()[hour], 0.0);
+		}
+	}
+}